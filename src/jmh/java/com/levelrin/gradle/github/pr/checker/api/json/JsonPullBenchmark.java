@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import com.jayway.jsonpath.JsonPath;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * It measures the cost of checking a pull request while looking for the head SHA.
+ * That's reading the number and the SHAs of the head and base of a full pull request.
+ * 'reparse' reads them the way {@link BaseJsonPull} used to,
+ * which parses the whole JSON for each field
+ * and serializes the head and base again to parse them once more.
+ * 'parseOnce' uses {@link BaseJsonPull}, which parses the JSON only once.
+ * 'sliced' uses {@link SlicedJsonPull}, which scans the bytes without parsing them.
+ * Please run it by './gradlew jmh'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonPullBenchmark {
+
+    /**
+     * The number of labels in the pull request.
+     * They make the pull request as large as a real one, which is a few kilobytes.
+     */
+    private static final int LABELS = 10;
+
+    /**
+     * A pull request that looks like the one from the API.
+     */
+    private String raw;
+
+    /**
+     * The {@link JsonPullBenchmark#raw} in UTF-8 as it arrives from the network.
+     */
+    private byte[] bytes;
+
+    /**
+     * Create the pull request.
+     */
+    @Setup
+    public void setup() {
+        final StringBuilder labels = new StringBuilder();
+        for (int index = 0; index < LABELS; index = index + 1) {
+            if (index > 0) {
+                labels.append(", ");
+            }
+            labels.append(
+                String.format(
+                    "{\"id\": %d, \"name\": \"label%d\", \"color\": \"f29513\", "
+                        + "\"url\": \"https://api.github.com/repos/octocat/Hello-World"
+                        + "/labels/%d\", "
+                        + "\"description\": \"Something isn't working\", \"default\": false}",
+                    index,
+                    index,
+                    index
+                )
+            );
+        }
+        this.raw = String.format(
+            "{\"url\": \"https://api.github.com/repos/octocat/Hello-World/pulls/1347\", "
+                + "\"number\": 1347, \"state\": \"open\", \"title\": \"Amazing new feature\", "
+                + "\"body\": \"Please pull these awesome changes in!\", "
+                + "\"updated_at\": \"2011-01-26T19:01:12Z\", \"labels\": [%s], "
+                + "\"head\": %s, \"base\": %s}",
+            labels,
+            this.branch("new-topic", "6dcb09b5b57875f334f61aebed695e2e4193db5e"),
+            this.branch("master", "7f1e2d3c4b5a69788796a5b4c3d2e1f0a9b8c7d6")
+        );
+        this.bytes = this.raw.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the fields by parsing the JSON for each of them.
+     * @param blackhole It consumes the fields.
+     */
+    @Benchmark
+    public void reparse(final Blackhole blackhole) {
+        final int number = JsonPath.read(this.raw, "$.number");
+        blackhole.consume(number);
+        final Map<String, Object> head = JsonPath.read(this.raw, "$.head");
+        final String sha = JsonPath.read(JsonPath.parse(head).jsonString(), "$.sha");
+        blackhole.consume(sha);
+        final Map<String, Object> base = JsonPath.read(this.raw, "$.base");
+        final String target = JsonPath.read(JsonPath.parse(base).jsonString(), "$.sha");
+        blackhole.consume(target);
+    }
+
+    /**
+     * Read the fields via {@link BaseJsonPull}.
+     * @param blackhole It consumes the fields.
+     */
+    @Benchmark
+    public void parseOnce(final Blackhole blackhole) {
+        final BaseJsonPull pull = new BaseJsonPull(this.raw);
+        blackhole.consume(pull.number());
+        blackhole.consume(pull.head().sha());
+        blackhole.consume(pull.base().sha());
+    }
+
+    /**
+     * Read the fields via {@link SlicedJsonPull}.
+     * @param blackhole It consumes the fields.
+     */
+    @Benchmark
+    public void sliced(final Blackhole blackhole) {
+        final SlicedJsonPull pull = new SlicedJsonPull(this.bytes);
+        blackhole.consume(pull.number());
+        blackhole.consume(pull.head().sha());
+        blackhole.consume(pull.base().sha());
+    }
+
+    /**
+     * Create the head or base of a pull request.
+     * @param ref The branch name.
+     * @param sha The commit SHA.
+     * @return The JSON.
+     */
+    private String branch(final String ref, final String sha) {
+        return String.format(
+            "{\"label\": \"octocat:%s\", \"ref\": \"%s\", \"sha\": \"%s\", "
+                + "\"user\": {\"login\": \"octocat\", \"id\": 1, \"type\": \"User\", "
+                + "\"url\": \"https://api.github.com/users/octocat\"}, "
+                + "\"repo\": {\"id\": 1296269, \"name\": \"Hello-World\", "
+                + "\"full_name\": \"octocat/Hello-World\", \"private\": false, "
+                + "\"description\": \"This your first repo!\", \"fork\": false, "
+                + "\"url\": \"https://api.github.com/repos/octocat/Hello-World\", "
+                + "\"default_branch\": \"master\", \"open_issues_count\": 0, "
+                + "\"pushed_at\": \"2011-01-26T19:06:43Z\"}}",
+            ref,
+            ref,
+            sha
+        );
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.ConcurrentApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeGitHubServer;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * It compares the ways of running the page fetches against a local stand-in server.
+ * 'async' uses the selector thread of the JDK's client.
+ * 'threads' uses {@link Workers#executor()}, which is virtual threads on JDK 21 or later.
+ * 'platform' always uses the bounded platform pool to compare with the virtual threads.
+ * The server responds slowly like the real API, so the threads spend most of the time waiting.
+ * Please run it by './gradlew jmh'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FetchBenchmark {
+
+    /**
+     * The number of pull requests on the server.
+     */
+    private static final int PULLS = 2000;
+
+    /**
+     * The maximum number of pages in flight.
+     */
+    private static final int CONCURRENCY = 16;
+
+    /**
+     * The latency of each response in milliseconds.
+     */
+    private static final int LATENCY = 20;
+
+    /**
+     * The way of running the requests.
+     */
+    @Param({"async", "threads", "platform"})
+    private String mode;
+
+    /**
+     * The local stand-in of the API.
+     */
+    private FakeGitHubServer server;
+
+    /**
+     * It runs the requests if the mode is not 'async'.
+     */
+    private Optional<ExecutorService> executor;
+
+    /**
+     * It lists the pull requests from the server.
+     */
+    private ConcurrentApiPulls pulls;
+
+    /**
+     * Start the server and prepare the client of the mode.
+     * @throws IOException If it fails to start the server.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.server = new FakeGitHubServer(
+            PULLS,
+            Duration.ofMillis(LATENCY),
+            Duration.ZERO,
+            0
+        );
+        final GitHubPrExtension extension = ProjectBuilder.builder()
+            .build()
+            .getObjects()
+            .newInstance(GitHubPrExtension.class);
+        extension.getDomain().set(this.server.domain());
+        extension.getOwner().set("levelrin");
+        extension.getRepo().set("benchmark");
+        extension.getToken().set("token");
+        final Workers workers = new Workers(CONCURRENCY);
+        if ("threads".equals(this.mode)) {
+            this.executor = Optional.of(workers.executor());
+        } else if ("platform".equals(this.mode)) {
+            this.executor = Optional.of(workers.platform());
+        } else {
+            this.executor = Optional.empty();
+        }
+        HttpClient http = HttpClient.newHttpClient();
+        if (this.executor.isPresent()) {
+            http = new ThreadedHttpClient(http, this.executor.get());
+        }
+        this.pulls = new ConcurrentApiPulls(http, extension, CONCURRENCY);
+    }
+
+    /**
+     * Stop the server and the threads.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executor.ifPresent(ExecutorService::shutdown);
+        this.server.close();
+    }
+
+    /**
+     * List all pull requests on the server.
+     * @return The pull requests.
+     */
+    @Benchmark
+    public List<BaseJsonPull> list() {
+        return this.pulls.list();
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * It compares {@link LogPrStore} with {@link FilePrStore}.
+ * Both stores have as many pull requests as a busy repository.
+ * Each update changes a few of them like a sync of {@link PrStore} does.
+ * Please run it by './gradlew jmh'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrStoreBenchmark {
+
+    /**
+     * The number of pull requests in the stores.
+     */
+    private static final int PULLS = 5000;
+
+    /**
+     * The number of pull requests in each update.
+     */
+    private static final int BATCH = 10;
+
+    /**
+     * The directory that contains the stores.
+     */
+    private Path dir;
+
+    /**
+     * The store that appends the changes.
+     */
+    private PrStore log;
+
+    /**
+     * The store that rewrites the whole file.
+     */
+    private PrStore file;
+
+    /**
+     * It makes every update different.
+     */
+    private int round;
+
+    /**
+     * Fill the stores with the pull requests.
+     * @throws IOException If it fails to write.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("pr-store-benchmark");
+        this.log = new LogPrStore(this.dir.resolve("log"));
+        this.file = new FilePrStore(this.dir.resolve("file"));
+        final List<BaseJsonPull> pulls = new ArrayList<>(PULLS);
+        for (int number = 1; number <= PULLS; number = number + 1) {
+            pulls.add(this.pull(number, String.format("%040x", number)));
+        }
+        this.log.update(pulls, "2022-01-01T00:00:00Z");
+        this.file.update(pulls, "2022-01-01T00:00:00Z");
+    }
+
+    /**
+     * Delete the stores.
+     * @throws IOException If it fails to delete.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            final Iterator<Path> deepest = paths.sorted(Comparator.reverseOrder()).iterator();
+            while (deepest.hasNext()) {
+                Files.delete(deepest.next());
+            }
+        }
+    }
+
+    /**
+     * Update a few pull requests of the log.
+     * @throws IOException If it fails to write.
+     */
+    @Benchmark
+    public void logUpdate() throws IOException {
+        this.log.update(this.batch(), "2022-01-02T00:00:00Z");
+    }
+
+    /**
+     * Update a few pull requests of the file.
+     * @throws IOException If it fails to write.
+     */
+    @Benchmark
+    public void fileUpdate() throws IOException {
+        this.file.update(this.batch(), "2022-01-02T00:00:00Z");
+    }
+
+    /**
+     * Find a pull request in the log.
+     * @return The pull request.
+     * @throws IOException If it fails to read.
+     */
+    @Benchmark
+    public Optional<BaseJsonPull> logFind() throws IOException {
+        return this.log.find(this.sha());
+    }
+
+    /**
+     * Find a pull request in the file.
+     * @return The pull request.
+     * @throws IOException If it fails to read.
+     */
+    @Benchmark
+    public Optional<BaseJsonPull> fileFind() throws IOException {
+        return this.file.find(this.sha());
+    }
+
+    /**
+     * Create the next batch of updated pull requests.
+     * @return Pull requests whose head SHAs have changed.
+     */
+    private List<BaseJsonPull> batch() {
+        this.round = this.round + 1;
+        final List<BaseJsonPull> result = new ArrayList<>(BATCH);
+        for (int index = 0; index < BATCH; index = index + 1) {
+            final int number = (this.round * BATCH + index) % PULLS + 1;
+            result.add(this.pull(number, String.format("%032x%08x", number, this.round)));
+        }
+        return result;
+    }
+
+    /**
+     * Choose the next pull request to find.
+     * @return The head SHA of one of the pull requests we stored in the beginning.
+     */
+    private String sha() {
+        this.round = this.round + 1;
+        return String.format("%040x", this.round % PULLS + 1);
+    }
+
+    /**
+     * Create a pull request that looks like the one from the API.
+     * @param number The pull request number.
+     * @param sha The head SHA.
+     * @return The pull request.
+     */
+    private BaseJsonPull pull(final int number, final String sha) {
+        return new BaseJsonPull(
+            String.format(
+                "{\"number\": %d, \"state\": \"open\", \"updated_at\": \"2022-01-01T00:00:00Z\", "
+                    + "\"head\": {\"sha\": \"%s\", \"ref\": \"feature%d\"}, "
+                    + "\"base\": {\"sha\": \"%s\", \"ref\": \"main\"}}",
+                number,
+                sha,
+                number,
+                "0123456789abcdef0123456789abcdef01234567"
+            )
+        );
+    }
+
+}
@@ -7,7 +7,9 @@
 
 package com.levelrin.gradle.github.pr.checker;
 
+import java.time.Duration;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 
 /**
@@ -48,6 +50,133 @@ public abstract class GitHubPrExtension {
      */
     public abstract Property<String> getToken();
 
+    /**
+     * The base branch of the pull request such as 'main'.
+     * We will look for the pull request among the ones whose base is this branch first.
+     * It's optional. If it's not set, we won't filter the pull requests by the base.
+     * @return Base branch name.
+     */
+    public abstract Property<String> getBase();
+
+    /**
+     * The API we use to get the pull requests.
+     * It's either 'rest' or 'graphql'.
+     * The 'graphql' one transfers much less data because it asks only for
+     * the number, head SHA, and base SHA of the pull requests.
+     * However, the generated 'pr.json' will have only those fields.
+     * Also, some off-brand GitHub may not support it.
+     * It's optional and the default value is 'rest'.
+     * @return Backend name.
+     */
+    public abstract Property<String> getBackend();
+
+    /**
+     * The maximum number of pages we fetch at the same time.
+     * If it's greater than 1, we will read the last page number from the 'Link' header
+     * of the first response and fetch the remaining pages concurrently.
+     * Otherwise, we will fetch the pages one by one.
+     * It's optional and the default value is 1.
+     * @return The maximum number of concurrent requests.
+     */
+    public abstract Property<Integer> getConcurrency();
+
+    /**
+     * How we send the concurrent requests.
+     * It's either 'async' or 'threads'.
+     * The 'async' one uses the asynchronous API of the HTTP client.
+     * The 'threads' one blocks a thread for each request
+     * while it waits for the deadline, the retries, and the rate limit.
+     * On JDK 21 or later, they are virtual threads, which are cheap even for hundreds of requests.
+     * On older JDKs, they are platform threads as many as {@link GitHubPrExtension#getConcurrency()}.
+     * It's optional and the default value is 'async'.
+     * @return Execution mode.
+     */
+    public abstract Property<String> getExecution();
+
+    /**
+     * The number of times we try a request again
+     * if the server responds with 5xx or the connection fails.
+     * We wait longer and longer between the attempts.
+     * It's optional and the default value is 2.
+     * @return The number of retries.
+     */
+    public abstract Property<Integer> getRetries();
+
+    /**
+     * If a request takes longer than this percentile of the recent latencies,
+     * we send the same request again and use whichever response arrives first.
+     * It should be between 0 and 1 such as 0.95.
+     * It's optional and we don't send such requests if it's not set.
+     * @return The percentile of the latency.
+     */
+    public abstract Property<Double> getHedgePercentile();
+
+    /**
+     * How long we wait for a connection to the server.
+     * It's optional and the default value is 10 seconds.
+     * @return Connect timeout.
+     */
+    public abstract Property<Duration> getConnectTimeout();
+
+    /**
+     * How long we wait for the response of a request.
+     * A retried request gets the same time again.
+     * It's optional and the default value is 30 seconds.
+     * @return Per-request timeout.
+     */
+    public abstract Property<Duration> getRequestTimeout();
+
+    /**
+     * How long the 'generateRawPrInfo' task may spend on the requests in total.
+     * While we go through the pages, each page gets its share of the remaining time.
+     * Once the time runs out, the task fails with the time spent on each request.
+     * It's optional and there is no limit if it's not set.
+     * @return Task deadline.
+     */
+    public abstract Property<Duration> getDeadline();
+
+    /**
+     * The event payload of the CI that triggered the build.
+     * If it has the pull request of the local HEAD, we use it without calling the API.
+     * It's optional and the default value is the 'GITHUB_EVENT_PATH' environment variable,
+     * which GitHub Actions sets.
+     * @return Event payload file.
+     */
+    public abstract RegularFileProperty getEventFile();
+
+    /**
+     * The file we record the API responses in or play them from.
+     * With a recorded cassette, the build doesn't need the network at all.
+     * It's useful for offline builds and for measuring the plugin without the network noise.
+     * All projects of the build record in the same cassette if they point to the same file.
+     * While it's set, we don't use the pull request index under the Gradle user home,
+     * so replaying sends the same requests as recording did.
+     * It's optional. If it's not set, we always call the API.
+     * @return Cassette file.
+     */
+    public abstract RegularFileProperty getCassette();
+
+    /**
+     * Whether we 'record' the API responses in the cassette or 'replay' them from it.
+     * Recording replaces the old cassette.
+     * Replaying fails if the cassette doesn't have the response of a request.
+     * It's optional and the default value is 'replay'.
+     * It doesn't matter if {@link GitHubPrExtension#getCassette()} is not set.
+     * @return Cassette mode.
+     */
+    public abstract Property<String> getCassetteMode();
+
+    /**
+     * We will store the API responses in this directory
+     * and send conditional requests next time.
+     * It's optional and the default value is 'caches/github-pr-checker/http'
+     * under the Gradle user home so that the builds on the same machine can share it.
+     * We delete the entries that haven't been used for 30 days.
+     * It's safe to delete the directory to clear the cache.
+     * @return Cache directory.
+     */
+    public abstract DirectoryProperty getCacheDir();
+
     /**
      * We will generate the PR information in this directory.
      * @return Output directory.
@@ -7,15 +7,52 @@
 
 package com.levelrin.gradle.github.pr.checker;
 
+import com.levelrin.gradle.github.pr.checker.api.ApiPulls;
 import com.levelrin.gradle.github.pr.checker.api.BaseApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.CommitApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.ConcurrentApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.GraphqlApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.IndexedApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.NarrowedApiPulls;
+import com.levelrin.gradle.github.pr.checker.api.PullsFilter;
+import com.levelrin.gradle.github.pr.checker.api.PullsService;
+import com.levelrin.gradle.github.pr.checker.api.SharedApiPulls;
+import com.levelrin.gradle.github.pr.checker.http.Backoff;
+import com.levelrin.gradle.github.pr.checker.http.Cassette;
+import com.levelrin.gradle.github.pr.checker.http.Deadline;
+import com.levelrin.gradle.github.pr.checker.http.DeadlineHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.EtagHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.GzipHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.HedgedHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.HttpClientService;
+import com.levelrin.gradle.github.pr.checker.http.MeteredHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.Metrics;
+import com.levelrin.gradle.github.pr.checker.http.RateLimitedHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.RecordingHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.ReplayingHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.RetryingHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.SharedHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.ThreadedHttpClient;
+import com.levelrin.gradle.github.pr.checker.http.Traffic;
+import com.levelrin.gradle.github.pr.checker.http.Workers;
+import com.levelrin.gradle.github.pr.checker.source.EventPrSource;
+import com.levelrin.gradle.github.pr.checker.store.LogPrStore;
 import com.levelrin.gradle.github.pr.checker.task.GenerateCommitList;
 import com.levelrin.gradle.github.pr.checker.task.GenerateRawPrInfo;
+import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -23,6 +60,46 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class GitHubPrPlugin implements Plugin<Project> {
 
+    /**
+     * The name of the backend that uses the REST API.
+     */
+    private static final String REST = "rest";
+
+    /**
+     * The name of the backend that uses the GraphQL API.
+     */
+    private static final String GRAPHQL = "graphql";
+
+    /**
+     * The cassette mode that records the responses.
+     */
+    private static final String RECORD = "record";
+
+    /**
+     * The cassette mode that plays the recorded responses.
+     */
+    private static final String REPLAY = "replay";
+
+    /**
+     * The execution mode that sends the concurrent requests asynchronously.
+     */
+    private static final String ASYNC = "async";
+
+    /**
+     * The execution mode that sends the concurrent requests on blocking threads.
+     */
+    private static final String THREADS = "threads";
+
+    /**
+     * The default connect timeout.
+     */
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The default per-request timeout.
+     */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
     @Override
     @SuppressWarnings("ExecutableStatementCount")
     public void apply(final @NotNull Project project) {
@@ -30,14 +107,126 @@ public final class GitHubPrPlugin implements Plugin<Project> {
             "githubPr",
             GitHubPrExtension.class
         );
+        extension.getCacheDir().convention(
+            project.getLayout().dir(
+                project.provider(
+                    () -> new File(
+                        project.getGradle().getGradleUserHomeDir(),
+                        "caches/github-pr-checker/http"
+                    )
+                )
+            )
+        );
+        extension.getEventFile().convention(
+            project.getLayout().getProjectDirectory().file(
+                project.getProviders().environmentVariable("GITHUB_EVENT_PATH")
+            )
+        );
+        // All projects of the build share the connections.
+        final Provider<HttpClientService> service = project.getGradle()
+            .getSharedServices()
+            .registerIfAbsent(
+                "githubPrHttpClient",
+                HttpClientService.class,
+                spec -> {
+                    // It doesn't have any parameters.
+                }
+            );
+        // All projects of the build look for the same pull request.
+        final Provider<PullsService> searches = project.getGradle()
+            .getSharedServices()
+            .registerIfAbsent(
+                "githubPrSearches",
+                PullsService.class,
+                spec -> {
+                    // It doesn't have any parameters.
+                }
+            );
         final String githubGroup = "github pr";
         final String prTask = "generateRawPrInfo";
         project.getTasks().register(prTask, GenerateRawPrInfo.class, task -> {
             task.setGroup(githubGroup);
+            task.usesService(service);
+            task.usesService(searches);
+            if (!extension.getDomain().isPresent()) {
+                extension.getDomain().set("https://api.github.com");
+            }
+            final Metrics metrics = new Metrics();
+            // Each attempt is measured without the waits for the rate limit.
+            HttpClient network = new RateLimitedHttpClient(
+                new MeteredHttpClient(
+                    new SharedHttpClient(
+                        service,
+                        extension.getConnectTimeout().getOrElse(CONNECT_TIMEOUT)
+                    ),
+                    metrics
+                ),
+                extension.getConcurrency().getOrElse(1)
+            );
+            if (extension.getHedgePercentile().isPresent()) {
+                network = new HedgedHttpClient(network, extension.getHedgePercentile().get());
+            }
+            final Traffic traffic = new Traffic();
+            final Deadline deadline = this.deadline(extension);
+            // The conditional requests of the cache go through the rate limit as well.
+            // The cache and the cassette store the compressed bodies.
+            // The deadline covers the retries and the waits for the rate limit.
+            final HttpClient http = this.threaded(
+                extension,
+                service,
+                new DeadlineHttpClient(
+                    new GzipHttpClient(
+                        this.cassette(
+                            extension,
+                            service,
+                            new EtagHttpClient(
+                                new RetryingHttpClient(
+                                    network,
+                                    new Backoff(extension.getRetries().getOrElse(2))
+                                ),
+                                extension.getCacheDir().get().getAsFile().toPath()
+                            )
+                        ),
+                        traffic
+                    ),
+                    deadline
+                )
+            );
+            task.doLast(
+                action -> {
+                    Logging.getLogger(GitHubPrPlugin.class).info(
+                        "Compressed responses: {}.",
+                        traffic
+                    );
+                    Logging.getLogger(GitHubPrPlugin.class).info(
+                        "Time spent on each request:{}{}",
+                        System.lineSeparator(),
+                        deadline
+                    );
+                    try {
+                        metrics.write(
+                            task.getOutputDir().file("metrics.json").get().getAsFile().toPath()
+                        );
+                    } catch (final IOException exception) {
+                        throw new IllegalStateException(
+                            "Failed to generate the 'metrics.json' file.",
+                            exception
+                        );
+                    }
+                }
+            );
+            // The event payload of the CI may have the pull request already.
             task.constructor(
-                new BaseApiPulls(
-                    HttpClient.newHttpClient(),
-                    extension
+                new EventPrSource(
+                    () -> Optional.ofNullable(extension.getEventFile().getOrNull()).map(
+                        file -> file.getAsFile().toPath()
+                    ),
+                    extension,
+                    new SharedApiPulls(
+                        this.pulls(project, extension, http),
+                        extension,
+                        () -> searches.get().flights()
+                    )
                 ),
                 () -> {
                     try {
@@ -52,9 +241,6 @@ public final class GitHubPrPlugin implements Plugin<Project> {
                     }
                 }
             );
-            if (!extension.getDomain().isPresent()) {
-                extension.getDomain().set("https://api.github.com");
-            }
             task.getDomain().set(extension.getDomain().get());
             task.getOwner().set(extension.getOwner().get());
             task.getRepo().set(extension.getRepo().get());
@@ -69,4 +255,166 @@ public final class GitHubPrPlugin implements Plugin<Project> {
         });
     }
 
+    /**
+     * Choose the implementation of {@link ApiPulls} based on the user's build configuration.
+     * @param project It's for locating the local Git repository.
+     * @param extension The user's build configuration.
+     * @param http It's for calling the API.
+     * @return The pull requests.
+     */
+    private ApiPulls pulls(final Project project, final GitHubPrExtension extension, final HttpClient http) {
+        final String backend = extension.getBackend().getOrElse(REST);
+        final ApiPulls result;
+        if (GRAPHQL.equals(backend)) {
+            result = new GraphqlApiPulls(http, extension);
+        } else if (REST.equals(backend)) {
+            final ApiPulls listing;
+            final int concurrency = extension.getConcurrency().getOrElse(1);
+            // Gradle reads the branch once per build without touching the project.
+            final Provider<String> head = project.getProviders()
+                .of(
+                    LocalBranch.class,
+                    spec -> spec.getParameters().getRoot().set(project.getRootDir())
+                )
+                .map(branch -> String.format("%s:%s", extension.getOwner().get(), branch));
+            final PullsFilter filter = new PullsFilter(
+                () -> Optional.ofNullable(head.getOrNull()),
+                () -> Optional.ofNullable(extension.getBase().getOrNull())
+            );
+            if (concurrency > 1) {
+                listing = new ConcurrentApiPulls(http, extension, concurrency);
+            } else {
+                listing = new BaseApiPulls(http, extension, new PullsFilter());
+            }
+            final ApiPulls narrowed = new NarrowedApiPulls(
+                filter,
+                new BaseApiPulls(http, extension, filter),
+                listing
+            );
+            final ApiPulls indexed;
+            if (extension.getCassette().isPresent()) {
+                // The index changes the requests by what the earlier builds have seen,
+                // so the cassette wouldn't replay the same requests.
+                indexed = narrowed;
+            } else {
+                indexed = new IndexedApiPulls(
+                    http,
+                    extension,
+                    new LogPrStore(this.index(project, extension)),
+                    narrowed
+                );
+            }
+            result = new CommitApiPulls(http, extension, indexed);
+        } else {
+            throw new IllegalStateException(
+                String.format(
+                    "Unknown backend: '%s'. It should be either '%s' or '%s'.",
+                    backend,
+                    REST,
+                    GRAPHQL
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Record the responses in the cassette or play them from it
+     * based on the user's build configuration.
+     * While playing, the origin is never used, so nothing goes over the network.
+     * All projects of the build share the cassette of the file,
+     * so recording in one project doesn't erase what the others have recorded.
+     * @param extension The user's build configuration.
+     * @param service It keeps the cassettes of the build.
+     * @param origin It's for calling the API.
+     * @return The origin as it is if the cassette is not set.
+     */
+    private HttpClient cassette(final GitHubPrExtension extension, final Provider<HttpClientService> service, final HttpClient origin) {
+        HttpClient result = origin;
+        if (extension.getCassette().isPresent()) {
+            final Path path = extension.getCassette().get().getAsFile().toPath();
+            final Supplier<Cassette> cassette = () -> service.get().cassette(path);
+            final String mode = extension.getCassetteMode().getOrElse(REPLAY);
+            if (REPLAY.equals(mode)) {
+                result = new ReplayingHttpClient(origin, cassette);
+            } else if (RECORD.equals(mode)) {
+                result = new RecordingHttpClient(origin, cassette);
+            } else {
+                throw new IllegalStateException(
+                    String.format(
+                        "Unknown cassette mode: '%s'. It should be either '%s' or '%s'.",
+                        mode,
+                        RECORD,
+                        REPLAY
+                    )
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Send the concurrent requests on the threads of {@link Workers}
+     * if the user's build configuration asks for it.
+     * @param extension The user's build configuration.
+     * @param service It owns the threads.
+     * @param origin It's for calling the API.
+     * @return The origin as it is in the 'async' mode.
+     */
+    private HttpClient threaded(final GitHubPrExtension extension, final Provider<HttpClientService> service, final HttpClient origin) {
+        final String mode = extension.getExecution().getOrElse(ASYNC);
+        final HttpClient result;
+        if (ASYNC.equals(mode)) {
+            result = origin;
+        } else if (THREADS.equals(mode)) {
+            final int bound = extension.getConcurrency().getOrElse(1);
+            // The service creates the threads on the first request and stops them with the build.
+            result = new ThreadedHttpClient(
+                origin,
+                task -> service.get().workers(bound).execute(task)
+            );
+        } else {
+            throw new IllegalStateException(
+                String.format(
+                    "Unknown execution mode: '%s'. It should be either '%s' or '%s'.",
+                    mode,
+                    ASYNC,
+                    THREADS
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Create the time budget of the requests based on the user's build configuration.
+     * @param extension The user's build configuration.
+     * @return The deadline.
+     */
+    private Deadline deadline(final GitHubPrExtension extension) {
+        final Duration request = extension.getRequestTimeout().getOrElse(REQUEST_TIMEOUT);
+        final Deadline result;
+        if (extension.getDeadline().isPresent()) {
+            result = new Deadline(request, extension.getDeadline().get());
+        } else {
+            result = new Deadline(request);
+        }
+        return result;
+    }
+
+    /**
+     * Locate the pull request index of the repository.
+     * It's under the Gradle user home so that all workspaces of the repository share it.
+     * @param project It's for locating the Gradle user home.
+     * @param extension The user's build configuration.
+     * @return Something like '~/.gradle/caches/github-pr-checker/pulls/api.github.com/owner/repo'.
+     */
+    private Path index(final Project project, final GitHubPrExtension extension) {
+        return project.getGradle().getGradleUserHomeDir().toPath()
+            .resolve("caches/github-pr-checker/pulls")
+            .resolve(URI.create(extension.getDomain().get()).getHost())
+            .resolve(extension.getOwner().get())
+            .resolve(extension.getRepo().get());
+    }
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker;
+
+import java.io.IOException;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+
+/**
+ * It reads the name of the local branch from the Git repository.
+ * Gradle obtains it at most once per build, so we don't open the repository
+ * every time we need the branch.
+ * It doesn't need the project, so the configuration cache can keep it
+ * and still read the current branch of each build.
+ * It has no value if the HEAD is detached.
+ */
+public abstract class LocalBranch implements ValueSource<String, LocalBranch.Parameters> {
+
+    @Override
+    public String obtain() {
+        try (Git git = Git.open(this.getParameters().getRoot().get().getAsFile())) {
+            final String full = git.getRepository().getFullBranch();
+            String result = null;
+            if (full != null && full.startsWith(Constants.R_HEADS)) {
+                result = Repository.shortenRefName(full);
+            }
+            return result;
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                "Failed to get the local branch name.",
+                exception
+            );
+        }
+    }
+
+    /**
+     * The parameters of {@link LocalBranch}.
+     */
+    public interface Parameters extends ValueSourceParameters {
+
+        /**
+         * The directory of the Git repository.
+         * @return Root directory of the project.
+         */
+        DirectoryProperty getRoot();
+
+    }
+
+}
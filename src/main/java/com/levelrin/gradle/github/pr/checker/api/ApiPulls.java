@@ -8,13 +8,17 @@
 package com.levelrin.gradle.github.pr.checker.api;
 
 import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.source.PrSource;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * It's responsible for getting the list of pull requests.
  * https://docs.github.com/en/rest/reference/pulls#list-pull-requests
  */
-public interface ApiPulls {
+public interface ApiPulls extends PrSource {
 
     /**
      * Call the API and return the list of pull requests.
@@ -23,4 +27,32 @@ public interface ApiPulls {
      */
     List<BaseJsonPull> list();
 
+    /**
+     * Return the pull requests as a stream.
+     * Implementations may fetch the pages lazily while the stream is consumed.
+     * The caller should close the stream if it doesn't consume all of them
+     * so that the implementations can release the resources such as requests in flight.
+     * By default, it's the same as {@link ApiPulls#list()}.
+     * @return Stream of pull requests.
+     */
+    default Stream<JsonPull> stream() {
+        return this.list().stream().map(pull -> pull);
+    }
+
+    /**
+     * Find the pull request whose head SHA is the specified one.
+     * By default, it goes through {@link ApiPulls#stream()} and stops at the first match.
+     * Implementations may use a cheaper way to find it.
+     * @param sha The head SHA of the pull request.
+     * @return Empty if there is no such pull request.
+     */
+    @Override
+    default Optional<JsonPull> find(final String sha) {
+        try (Stream<JsonPull> pulls = this.stream()) {
+            return pulls
+                .filter(pull -> pull.head().sha().equals(sha))
+                .findFirst();
+        }
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * It's a GET request for the API under the repository.
+ * For example, the path 'pulls' means '{domain}/repos/{owner}/{repo}/pulls'.
+ */
+public final class ApiRequest {
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * The path after '{domain}/repos/{owner}/{repo}/'.
+     * It may contain the query string.
+     */
+    private final String path;
+
+    /**
+     * Constructor.
+     * @param apiParams See {@link ApiRequest#apiParams}.
+     * @param path See {@link ApiRequest#path}.
+     */
+    public ApiRequest(final GitHubPrExtension apiParams, final String path) {
+        this.apiParams = apiParams;
+        this.path = path;
+    }
+
+    /**
+     * Build the request.
+     * @return The request object.
+     */
+    public HttpRequest value() {
+        return HttpRequest
+            .newBuilder(
+                URI.create(
+                    String.format(
+                        "%s/repos/%s/%s/%s",
+                        this.apiParams.getDomain().get(),
+                        this.apiParams.getOwner().get(),
+                        this.apiParams.getRepo().get(),
+                        this.path
+                    )
+                )
+            )
+            .GET()
+            .header("Accept", "application/vnd.github.v3+json")
+            .header(
+                "Authorization",
+                String.format(
+                    "token %s",
+                    this.apiParams.getToken().get()
+                )
+            )
+            .build();
+    }
+
+}
@@ -7,20 +7,36 @@
 
 package com.levelrin.gradle.github.pr.checker.api;
 
-import com.jayway.jsonpath.JsonPath;
 import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
 import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonSlices;
+import com.levelrin.gradle.github.pr.checker.api.json.Projection;
+import com.levelrin.gradle.github.pr.checker.api.json.SlicedJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.StreamedPulls;
 import java.io.IOException;
-import java.net.URI;
+import java.io.InputStream;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import net.minidev.json.JSONArray;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A base implementation of {@link ApiPulls}.
+ * It walks through the pages one by one.
+ * The {@link BaseApiPulls#stream()} fetches the next page only when the consumer reaches it.
+ * It parses each pull request while the response body is still arriving.
+ * Please close the stream to release the response if you don't consume it to the end.
+ * The listed pull requests have only some fields to save memory.
+ * However, the one from {@link BaseApiPulls#find(String)} has all fields.
+ * It holds only one pull request of the page at a time while it looks for the one.
  */
 public final class BaseApiPulls implements ApiPulls {
 
@@ -35,71 +51,149 @@ public final class BaseApiPulls implements ApiPulls {
     private final GitHubPrExtension apiParams;
 
     /**
-     * Constructor.
+     * It narrows down the list on the server side.
+     */
+    private final PullsFilter filter;
+
+    /**
+     * It takes the JSON of a pull request and returns the pull request we keep in the list.
+     */
+    private final Function<String, BaseJsonPull> projection;
+
+    /**
+     * Secondary constructor.
+     * It lists all pull requests.
      * @param http See {@link BaseApiPulls#http}.
      * @param apiParams See {@link BaseApiPulls#apiParams}.
      */
     public BaseApiPulls(final HttpClient http, final GitHubPrExtension apiParams) {
+        this(http, apiParams, new PullsFilter());
+    }
+
+    /**
+     * Secondary constructor.
+     * It keeps the number, head SHA, and base SHA of the listed pull requests.
+     * @param http See {@link BaseApiPulls#http}.
+     * @param apiParams See {@link BaseApiPulls#apiParams}.
+     * @param filter See {@link BaseApiPulls#filter}.
+     */
+    public BaseApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final PullsFilter filter) {
+        this(http, apiParams, filter, new Projection());
+    }
+
+    /**
+     * Secondary constructor.
+     * The pull requests in the list keep the text of the projected fields.
+     * @param http See {@link BaseApiPulls#http}.
+     * @param apiParams See {@link BaseApiPulls#apiParams}.
+     * @param filter See {@link BaseApiPulls#filter}.
+     * @param projection The fields we keep as text.
+     */
+    public BaseApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final PullsFilter filter, final Projection projection) {
+        this(http, apiParams, filter, raw -> new BaseJsonPull(projection.apply(raw)));
+    }
+
+    /**
+     * Primary constructor.
+     * @param http See {@link BaseApiPulls#http}.
+     * @param apiParams See {@link BaseApiPulls#apiParams}.
+     * @param filter See {@link BaseApiPulls#filter}.
+     * @param projection See {@link BaseApiPulls#projection}.
+     */
+    public BaseApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final PullsFilter filter, final Function<String, BaseJsonPull> projection) {
         this.http = http;
         this.apiParams = apiParams;
+        this.filter = filter;
+        this.projection = projection;
     }
 
     @Override
     public List<BaseJsonPull> list() {
         final List<BaseJsonPull> result = new ArrayList<>();
-        final int max = 100;
-        int page = 1;
-        List<BaseJsonPull> current;
-        do {
-            current = this.list(page);
-            result.addAll(current);
-            page = page + 1;
-        } while (current.size() == max);
+        try (SequentialPages<BaseJsonPull> pages = this.pages()) {
+            pages.forEachRemaining(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        final SequentialPages<BaseJsonPull> pages = this.pages();
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                pages,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).<JsonPull>map(pull -> pull).onClose(pages::close);
+    }
+
+    /**
+     * Go through the pull requests until we find the one.
+     * Unlike {@link BaseApiPulls#list()}, it keeps all fields of the pull request we return.
+     * It reads the pull requests one by one from the network
+     * and checks the head SHA of each in its bytes.
+     * So, we hold only one pull request at a time,
+     * and we don't create the string or the parsed tree of the ones we skip.
+     * It doesn't use the projection because it keeps nothing but the one we return.
+     * The pull request we return is the exact bytes of it in the page.
+     * @param sha The head SHA of the pull request.
+     * @return Empty if there is no such pull request.
+     */
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        Optional<JsonPull> result = Optional.empty();
+        try (SequentialPages<JsonPull> pages = new SequentialPages<>(
+            this::response,
+            this::sliced
+        )) {
+            while (result.isEmpty() && pages.hasNext()) {
+                final JsonPull pull = pages.next();
+                if (pull.head().sha().equals(sha)) {
+                    result = Optional.of(pull);
+                }
+            }
+        }
         return result;
     }
 
     /**
-     * Call the API and return the list of pull requests of the specified page.
+     * Iterate the pull requests while parsing each page as we read it from the network.
+     * @return The pull requests with the fields we keep.
+     */
+    private SequentialPages<BaseJsonPull> pages() {
+        return new SequentialPages<>(
+            this::response,
+            body -> new StreamedPulls(body, this.projection)
+        );
+    }
+
+    /**
+     * Slice the page into pull requests without parsing them.
+     * @param body The response body of a page.
+     * @return The pull requests we read from the body as the caller asks for them.
+     */
+    private Iterator<JsonPull> sliced(final InputStream body) {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                new JsonSlices(body),
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).<JsonPull>map(SlicedJsonPull::new).iterator();
+    }
+
+    /**
+     * Call the API and return the response of the specified page.
      * @param page The page number.
-     * @return List of pull requests.
+     * @return The response whose body is a JSON array of pull requests.
      */
-    private List<BaseJsonPull> list(final int page) {
+    private HttpResponse<InputStream> response(final int page) {
         try {
-            final HttpResponse<String> response = this.http.send(
-                HttpRequest
-                    .newBuilder(
-                        URI.create(
-                            String.format(
-                                "%s/repos/%s/%s/pulls?per_page=100&page=%d",
-                                this.apiParams.getDomain().get(),
-                                this.apiParams.getOwner().get(),
-                                this.apiParams.getRepo().get(),
-                                page
-                            )
-                        )
-                    )
-                    .GET()
-                    .header("Accept", "application/vnd.github.v3+json")
-                    .header(
-                        "Authorization",
-                        String.format(
-                            "token %s",
-                            this.apiParams.getToken().get()
-                        )
-                    )
-                    .build(),
-                HttpResponse.BodyHandlers.ofString()
+            return this.http.send(
+                new PullsRequest(this.apiParams, this.filter, page).value(),
+                HttpResponse.BodyHandlers.ofInputStream()
             );
-            final JSONArray pulls = JsonPath.read(response.body(), "$.[*]");
-            final List<BaseJsonPull> result = new ArrayList<>();
-            for (final Object pull : pulls) {
-                result.add(
-                    new BaseJsonPull(
-                        JsonPath.parse(pull).jsonString()
-                    )
-                );
-            }
-            return result;
         } catch (final IOException | InterruptedException exception) {
             throw new IllegalStateException(
                 "Failed to get the list of pull requests via API",
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPulls;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link ApiPulls} that finds the pull request by the commit SHA.
+ * It calls the API that lists pull requests associated with a commit.
+ * https://docs.github.com/en/rest/reference/commits#list-pull-requests-associated-with-a-commit
+ * So, it needs only one request to find the pull request.
+ * Some off-brand GitHub such as GitBucket may not have the API.
+ * In such case, we will use the fallback, which goes through all pull requests.
+ * We also use the fallback if the API doesn't know the commit yet,
+ * which may happen right after a push.
+ * Any other error such as a bad token fails the search instead of going through all pages.
+ */
+public final class CommitApiPulls implements ApiPulls {
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The status code when the API or the commit doesn't exist.
+     */
+    private static final int NOT_FOUND = 404;
+
+    /**
+     * The status code when the API can't process the commit.
+     */
+    private static final int UNPROCESSABLE = 422;
+
+    /**
+     * It's for calling the API.
+     */
+    private final HttpClient http;
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * We will use this if the API is unavailable.
+     * We also use this for listing all pull requests.
+     */
+    private final ApiPulls fallback;
+
+    /**
+     * Constructor.
+     * @param http See {@link CommitApiPulls#http}.
+     * @param apiParams See {@link CommitApiPulls#apiParams}.
+     * @param fallback See {@link CommitApiPulls#fallback}.
+     */
+    public CommitApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final ApiPulls fallback) {
+        this.http = http;
+        this.apiParams = apiParams;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<BaseJsonPull> list() {
+        return this.fallback.list();
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        return this.fallback.stream();
+    }
+
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        final HttpResponse<String> response;
+        try {
+            response = this.http.send(
+                new ApiRequest(
+                    this.apiParams,
+                    String.format("commits/%s/pulls", sha)
+                ).value(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+        } catch (final IOException | InterruptedException exception) {
+            throw new IllegalStateException(
+                String.format(
+                    "Failed to get the pull requests associated with the commit %s via API",
+                    sha
+                ),
+                exception
+            );
+        }
+        final int status = response.statusCode();
+        Optional<JsonPull> result = Optional.empty();
+        if (status == OK) {
+            // The API returns closed and merged pull requests that contain the commit as well.
+            // We only want the open one whose head is the commit.
+            result = new JsonPulls(response.body())
+                .list()
+                .stream()
+                .filter(pull -> "open".equals(pull.state()) && pull.head().sha().equals(sha))
+                .<JsonPull>map(pull -> pull)
+                .findFirst();
+        } else if (status != NOT_FOUND && status != UNPROCESSABLE) {
+            throw new IllegalStateException(
+                String.format(
+                    "The API responded with the status %d: %s",
+                    status,
+                    response.body()
+                )
+            );
+        }
+        if (result.isEmpty()) {
+            // The API is unavailable, or it hasn't associated the commit with the pull request yet.
+            result = this.fallback.find(sha);
+        }
+        return result;
+    }
+
+}
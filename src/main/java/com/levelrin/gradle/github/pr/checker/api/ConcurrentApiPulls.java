@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPulls;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonView;
+import com.levelrin.gradle.github.pr.checker.api.json.Projection;
+import com.levelrin.gradle.github.pr.checker.api.json.SlicedJsonPull;
+import com.levelrin.gradle.github.pr.checker.http.LinkHeader;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An implementation of {@link ApiPulls} that fetches pages concurrently.
+ * It reads the 'last' link from the first response to know how many pages there are.
+ * After that, it fetches the remaining pages in parallel.
+ * If the server doesn't tell us the last page, it will be the same as {@link BaseApiPulls}
+ * because we cannot know the number of pages in advance.
+ * In that case, it goes on to the next page one by one as long as the pages are full.
+ * Closing the {@link ConcurrentApiPulls#stream()} cancels the requests in flight.
+ * The listed pull requests have only some fields to save memory.
+ * However, the one from {@link ConcurrentApiPulls#find(String)} has all fields.
+ * Looking for a pull request doesn't parse the pages.
+ * It slices each page into {@link SlicedJsonPull} and reads the head SHA from the bytes.
+ */
+public final class ConcurrentApiPulls implements ApiPulls {
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The maximum number of pull requests in a page.
+     */
+    private static final int MAX = 100;
+
+    /**
+     * It's for calling the API.
+     */
+    private final HttpClient http;
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * The maximum number of requests in flight at the same time.
+     */
+    private final int concurrency;
+
+    /**
+     * It takes the JSON of a pull request and returns the pull request we keep in the list.
+     */
+    private final Function<String, BaseJsonPull> projection;
+
+    /**
+     * Secondary constructor.
+     * It keeps the number, head SHA, and base SHA of the listed pull requests.
+     * @param http See {@link ConcurrentApiPulls#http}.
+     * @param apiParams See {@link ConcurrentApiPulls#apiParams}.
+     * @param concurrency See {@link ConcurrentApiPulls#concurrency}.
+     */
+    public ConcurrentApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final int concurrency) {
+        this(http, apiParams, concurrency, new Projection());
+    }
+
+    /**
+     * Secondary constructor.
+     * The pull requests in the list keep the text of the projected fields.
+     * @param http See {@link ConcurrentApiPulls#http}.
+     * @param apiParams See {@link ConcurrentApiPulls#apiParams}.
+     * @param concurrency See {@link ConcurrentApiPulls#concurrency}.
+     * @param projection The fields we keep as text.
+     */
+    public ConcurrentApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final int concurrency, final Projection projection) {
+        this(http, apiParams, concurrency, raw -> new BaseJsonPull(projection.apply(raw)));
+    }
+
+    /**
+     * Primary constructor.
+     * @param http See {@link ConcurrentApiPulls#http}.
+     * @param apiParams See {@link ConcurrentApiPulls#apiParams}.
+     * @param concurrency See {@link ConcurrentApiPulls#concurrency}.
+     * @param projection See {@link ConcurrentApiPulls#projection}.
+     */
+    public ConcurrentApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final int concurrency, final Function<String, BaseJsonPull> projection) {
+        this.http = http;
+        this.apiParams = apiParams;
+        this.concurrency = concurrency;
+        this.projection = projection;
+    }
+
+    @Override
+    public List<BaseJsonPull> list() {
+        try (Stream<JsonPull> pulls = this.stream()) {
+            return pulls.map(BaseJsonPull.class::cast).collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        return this.pulls(
+            body -> new JsonPulls(new String(body, StandardCharsets.UTF_8), this.projection).list()
+        );
+    }
+
+    /**
+     * Go through the pull requests until we find the one.
+     * Unlike {@link ConcurrentApiPulls#list()}, it keeps all fields of the pull request we return.
+     * The pull request we return is the exact bytes of it in the page.
+     * Unlike {@link BaseApiPulls#find(String)}, it holds the pages in flight as a whole
+     * because they arrive in parallel.
+     * @param sha The head SHA of the pull request.
+     * @return Empty if there is no such pull request.
+     */
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        try (Stream<JsonPull> pulls = this.pulls(this::sliced)) {
+            return pulls
+                .filter(pull -> pull.head().sha().equals(sha))
+                .findFirst();
+        }
+    }
+
+    /**
+     * Slice the page into pull requests without parsing them.
+     * @param body The response body of a page.
+     * @return The pull requests that share the bytes of the page.
+     */
+    private List<SlicedJsonPull> sliced(final byte[] body) {
+        return new JsonView(body).elements()
+            .stream()
+            .map(SlicedJsonPull::new)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetch the pages concurrently and return the pull requests of them.
+     * @param parse It takes the response body of a page and returns the pull requests of it.
+     * @param <T> The type of the pull requests.
+     * @return Stream of pull requests.
+     */
+    private <T extends JsonPull> Stream<JsonPull> pulls(final Function<byte[], List<T>> parse) {
+        final HttpResponse<byte[]> first;
+        try {
+            first = this.http.send(
+                new PullsRequest(this.apiParams, 1).value(),
+                HttpResponse.BodyHandlers.ofByteArray()
+            );
+        } catch (final IOException | InterruptedException exception) {
+            throw new IllegalStateException(
+                "Failed to get the first page of pull requests via API",
+                exception
+            );
+        }
+        if (first.statusCode() != OK) {
+            throw new IllegalStateException(
+                String.format(
+                    "The API responded with the status %d to the first page of pull requests: %s",
+                    first.statusCode(),
+                    new String(first.body(), StandardCharsets.UTF_8)
+                )
+            );
+        }
+        final List<T> head = parse.apply(first.body());
+        final OptionalInt last = new LinkHeader(first.headers()).last();
+        final Stream<T> rest;
+        if (last.isEmpty() && head.size() == MAX) {
+            rest = this.sequential(parse);
+        } else {
+            final ConcurrentPages<T> pages = new ConcurrentPages<>(
+                page -> this.http.sendAsync(
+                    new PullsRequest(this.apiParams, page).value(),
+                    HttpResponse.BodyHandlers.ofByteArray()
+                ),
+                last.orElse(1),
+                this.concurrency,
+                parse
+            ).start();
+            rest = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                    pages,
+                    Spliterator.ORDERED | Spliterator.NONNULL
+                ),
+                false
+            ).flatMap(List::stream).onClose(pages::close);
+        }
+        return Stream.concat(head.stream(), rest).map(pull -> pull);
+    }
+
+    /**
+     * Fetch the pages after the first one one by one.
+     * We do this if the server doesn't tell us the last page, such as GitBucket,
+     * but the first page is full, so there may be more.
+     * @param parse It takes the response body of a page and returns the pull requests of it.
+     * @param <T> The type of the pull requests.
+     * @return Stream of the pull requests from the page 2.
+     */
+    private <T extends JsonPull> Stream<T> sequential(final Function<byte[], List<T>> parse) {
+        final SequentialPages<T> pages = new SequentialPages<>(
+            // The pages count from 1 there, but we already have the first one.
+            page -> {
+                try {
+                    return this.http.send(
+                        new PullsRequest(this.apiParams, page + 1).value(),
+                        HttpResponse.BodyHandlers.ofInputStream()
+                    );
+                } catch (final IOException | InterruptedException exception) {
+                    throw new IllegalStateException(
+                        String.format(
+                            "Failed to get the page %d of pull requests via API",
+                            page + 1
+                        ),
+                        exception
+                    );
+                }
+            },
+            body -> parse.apply(body.readAllBytes()).iterator()
+        );
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                pages,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(pages::close);
+    }
+
+}
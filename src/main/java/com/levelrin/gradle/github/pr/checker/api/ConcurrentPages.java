@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * It iterates the pages from 2 to the last one while fetching them concurrently.
+ * The pages are returned in order.
+ * It starts the requests up to the concurrency cap,
+ * and each completed request starts the request for the next page.
+ * A page that is not '200 OK' counts as a failed request.
+ * Once it's closed or any request fails, it stops starting new requests
+ * and cancels the requests in flight.
+ * @param <T> The type of the pull requests.
+ */
+public final class ConcurrentPages<T> implements Iterator<List<T>>, AutoCloseable {
+
+    /**
+     * The first page this object is responsible for.
+     * The first page of all is fetched by the caller to find the last page.
+     */
+    private static final int FIRST = 2;
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * It takes the page number and sends the request of the page asynchronously.
+     */
+    private final IntFunction<CompletableFuture<HttpResponse<byte[]>>> fetch;
+
+    /**
+     * The last page number.
+     */
+    private final int last;
+
+    /**
+     * The maximum number of requests in flight at the same time.
+     */
+    private final int concurrency;
+
+    /**
+     * It takes the response body of a page and returns the pull requests of it.
+     */
+    private final Function<byte[], List<T>> parse;
+
+    /**
+     * Responses in the page order.
+     * The index 0 represents the page 2.
+     */
+    private final List<CompletableFuture<HttpResponse<byte[]>>> pages;
+
+    /**
+     * The requests in flight.
+     * We keep them to cancel when we don't need them anymore.
+     */
+    private final Queue<CompletableFuture<HttpResponse<byte[]>>> inFlight;
+
+    /**
+     * The page number we will send the request next.
+     */
+    private final AtomicInteger cursor;
+
+    /**
+     * The page number the caller will receive next.
+     */
+    private final AtomicInteger consumed;
+
+    /**
+     * Whether this object is closed.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * Constructor.
+     * @param fetch See {@link ConcurrentPages#fetch}.
+     * @param last See {@link ConcurrentPages#last}.
+     * @param concurrency See {@link ConcurrentPages#concurrency}.
+     * @param parse See {@link ConcurrentPages#parse}.
+     */
+    public ConcurrentPages(final IntFunction<CompletableFuture<HttpResponse<byte[]>>> fetch, final int last, final int concurrency, final Function<byte[], List<T>> parse) {
+        this.fetch = fetch;
+        this.last = last;
+        this.concurrency = concurrency;
+        this.parse = parse;
+        this.pages = new ArrayList<>(Math.max(0, last - 1));
+        for (int page = FIRST; page <= last; page = page + 1) {
+            this.pages.add(new CompletableFuture<>());
+        }
+        this.inFlight = new ConcurrentLinkedQueue<>();
+        this.cursor = new AtomicInteger(FIRST);
+        this.consumed = new AtomicInteger(FIRST);
+        this.closed = new AtomicBoolean();
+    }
+
+    /**
+     * Start sending the requests up to the concurrency cap.
+     * @return Itself.
+     */
+    public ConcurrentPages<T> start() {
+        for (int slot = 0; slot < Math.max(1, this.concurrency); slot = slot + 1) {
+            this.launch();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.consumed.get() <= this.last;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("There are no more pages.");
+        }
+        final int page = this.consumed.getAndIncrement();
+        try {
+            final byte[] body = this.pages.get(page - FIRST).join().body();
+            // We don't need the body of the consumed page anymore.
+            this.pages.set(page - FIRST, CompletableFuture.completedFuture(null));
+            return this.parse.apply(body);
+        } catch (final CompletionException | CancellationException exception) {
+            this.close();
+            throw new IllegalStateException(
+                String.format(
+                    "Failed to get the page %d of pull requests via API",
+                    page
+                ),
+                exception
+            );
+        }
+    }
+
+    @Override
+    public void close() {
+        this.abort(new CancellationException("The pages are closed."));
+    }
+
+    /**
+     * Send the request for the next page if there is any.
+     * Once the request is completed, it will send the request for another page.
+     */
+    private void launch() {
+        final int page = this.cursor.getAndIncrement();
+        if (page <= this.last && !this.closed.get()) {
+            final CompletableFuture<HttpResponse<byte[]>> request = this.fetch.apply(page);
+            this.inFlight.add(request);
+            request.whenComplete((response, error) -> {
+                this.inFlight.remove(request);
+                if (error != null) {
+                    this.abort(error);
+                } else if (response.statusCode() == OK) {
+                    this.pages.get(page - FIRST).complete(response);
+                    this.launch();
+                } else {
+                    this.abort(this.rejected(page, response));
+                }
+            });
+        }
+    }
+
+    /**
+     * Describe the response that is not '200 OK'.
+     * @param page The page number.
+     * @param response The response of the page.
+     * @return The error that has the status and the body of the response.
+     */
+    private IllegalStateException rejected(final int page, final HttpResponse<byte[]> response) {
+        return new IllegalStateException(
+            String.format(
+                "The API responded with the status %d to the page %d of pull requests: %s",
+                response.statusCode(),
+                page,
+                new String(response.body(), StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    /**
+     * Stop sending new requests and cancel the requests in flight.
+     * The pages that are not completed yet will fail with the specified error.
+     * @param error The reason.
+     */
+    private void abort(final Throwable error) {
+        this.closed.set(true);
+        // The cancelled requests abort again, so the pages get the original error first.
+        this.pages.forEach(page -> page.completeExceptionally(error));
+        this.inFlight.forEach(request -> request.cancel(true));
+    }
+
+}
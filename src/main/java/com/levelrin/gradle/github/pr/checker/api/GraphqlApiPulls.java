@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An implementation of {@link ApiPulls} that uses the GraphQL API.
+ * https://docs.github.com/en/graphql
+ * The REST API returns every detail of the pull requests.
+ * On the other hand, this one asks only for the number, head SHA, and base SHA.
+ * As a result, the response is about a hundred times smaller.
+ * Please note that the pull requests only have those three fields.
+ */
+public final class GraphqlApiPulls implements ApiPulls {
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * It's for calling the API.
+     */
+    private final HttpClient http;
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * Constructor.
+     * @param http See {@link GraphqlApiPulls#http}.
+     * @param apiParams See {@link GraphqlApiPulls#apiParams}.
+     */
+    public GraphqlApiPulls(final HttpClient http, final GitHubPrExtension apiParams) {
+        this.http = http;
+        this.apiParams = apiParams;
+    }
+
+    @Override
+    public List<BaseJsonPull> list() {
+        final List<BaseJsonPull> result = new ArrayList<>();
+        new GraphqlPages(this::body).forEachRemaining(result::addAll);
+        return result;
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                new GraphqlPages(this::body),
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).flatMap(List::stream);
+    }
+
+    /**
+     * Call the API and return the response body of the page after the cursor.
+     * @param cursor The cursor of the previous page.
+     * @return The response body.
+     */
+    private String body(final Optional<String> cursor) {
+        final HttpResponse<String> response;
+        try {
+            response = this.http.send(
+                new GraphqlRequest(this.apiParams, cursor).value(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+        } catch (final IOException | InterruptedException exception) {
+            throw new IllegalStateException(
+                "Failed to get the list of pull requests via GraphQL API",
+                exception
+            );
+        }
+        if (response.statusCode() != OK) {
+            throw new IllegalStateException(
+                String.format(
+                    "The GraphQL API responded with the status %d: %s",
+                    response.statusCode(),
+                    response.body()
+                )
+            );
+        }
+        return response.body();
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.GraphqlPage;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * It iterates the GraphQL pages of pull requests one by one.
+ * It follows the cursor of the previous page.
+ * It fetches the next page only when the caller asks for it.
+ */
+public final class GraphqlPages implements Iterator<List<BaseJsonPull>> {
+
+    /**
+     * It takes the cursor of the previous page and returns the response body of the next page.
+     * The cursor is empty for the first page.
+     */
+    private final Function<Optional<String>, String> fetch;
+
+    /**
+     * The cursor of the previous page.
+     */
+    private Optional<String> cursor;
+
+    /**
+     * Whether there is a next page.
+     */
+    private boolean more;
+
+    /**
+     * Constructor.
+     * @param fetch See {@link GraphqlPages#fetch}.
+     */
+    public GraphqlPages(final Function<Optional<String>, String> fetch) {
+        this.fetch = fetch;
+        this.cursor = Optional.empty();
+        this.more = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.more;
+    }
+
+    @Override
+    public List<BaseJsonPull> next() {
+        if (!this.more) {
+            throw new NoSuchElementException("There are no more pages.");
+        }
+        final GraphqlPage page = new GraphqlPage(this.fetch.apply(this.cursor));
+        final List<BaseJsonPull> result = page.list();
+        this.cursor = page.next();
+        this.more = this.cursor.isPresent();
+        return result;
+    }
+
+}
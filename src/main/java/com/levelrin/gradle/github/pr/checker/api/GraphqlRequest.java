@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * It's the GraphQL request for a page of open pull requests.
+ * https://docs.github.com/en/graphql/reference/objects#pullrequest
+ * It selects only the fields we use so that the response is tiny.
+ */
+public final class GraphqlRequest {
+
+    /**
+     * The GraphQL query.
+     * The 'after' argument is the cursor of the previous page.
+     */
+    private static final String QUERY = String.join(
+        " ",
+        "query($owner: String!, $repo: String!, $cursor: String) {",
+        "repository(owner: $owner, name: $repo) {",
+        "pullRequests(states: OPEN, first: 100, after: $cursor) {",
+        "pageInfo { hasNextPage endCursor }",
+        "nodes { number headRefOid baseRefOid }",
+        "}",
+        "}",
+        "}"
+    );
+
+    /**
+     * The suffix of the REST API domain of GitHub Enterprise Server.
+     */
+    private static final String ENTERPRISE = "/api/v3";
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * The cursor of the previous page.
+     * It's empty for the first page.
+     */
+    private final Optional<String> cursor;
+
+    /**
+     * Constructor.
+     * @param apiParams See {@link GraphqlRequest#apiParams}.
+     * @param cursor See {@link GraphqlRequest#cursor}.
+     */
+    public GraphqlRequest(final GitHubPrExtension apiParams, final Optional<String> cursor) {
+        this.apiParams = apiParams;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Build the request.
+     * @return The request object.
+     */
+    public HttpRequest value() {
+        final Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("owner", this.apiParams.getOwner().get());
+        variables.put("repo", this.apiParams.getRepo().get());
+        this.cursor.ifPresent(value -> variables.put("cursor", value));
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("query", QUERY);
+        body.put("variables", variables);
+        return HttpRequest
+            .newBuilder(URI.create(this.endpoint()))
+            .POST(HttpRequest.BodyPublishers.ofString(JsonPath.parse(body).jsonString()))
+            .header("Content-Type", "application/json")
+            .header(
+                "Authorization",
+                String.format(
+                    "token %s",
+                    this.apiParams.getToken().get()
+                )
+            )
+            .build();
+    }
+
+    /**
+     * Figure out the GraphQL endpoint from the domain of the REST API.
+     * It's '{domain}/graphql' on GitHub.com.
+     * GitHub Enterprise Server uses '/api/graphql' instead of '/api/v3'.
+     * @return The URL of the GraphQL endpoint.
+     */
+    private String endpoint() {
+        final String domain = this.apiParams.getDomain().get();
+        final String result;
+        if (domain.endsWith(ENTERPRISE)) {
+            result = String.format(
+                "%s/api/graphql",
+                domain.substring(0, domain.length() - ENTERPRISE.length())
+            );
+        } else {
+            result = String.format("%s/graphql", domain);
+        }
+        return result;
+    }
+
+}
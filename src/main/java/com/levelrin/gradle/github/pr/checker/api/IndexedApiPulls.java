@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.Projection;
+import com.levelrin.gradle.github.pr.checker.api.json.StreamedPulls;
+import com.levelrin.gradle.github.pr.checker.store.PrStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.gradle.api.logging.Logging;
+
+/**
+ * An implementation of {@link ApiPulls} that remembers the pull requests across builds.
+ * It keeps the head SHA, number, and the last update time of each open pull request in a store.
+ * Before looking for a pull request, it synchronizes the store with the server.
+ * It walks through the pull requests ordered by the last update time
+ * and stops once it reaches the ones it has seen in the last synchronization.
+ * A new commit updates the pull request, so the one we look for is usually on the first page.
+ * If the pull request hasn't changed since then, we get it by the number from the store.
+ * The first synchronization goes through all pull requests.
+ * So, if it doesn't find the pull request, the pull request doesn't exist,
+ * and we don't ask the origin to list them all again.
+ * If the store doesn't have the pull request, we use the origin.
+ * Some off-brand GitHub such as GitBucket may not tell the update time.
+ * In such case, we don't store anything and always use the origin.
+ * The index only saves time, so we also use the origin if the store fails
+ * or can't take the head SHA, which may happen with off-brand GitHub.
+ * The store keeps one pull request per head SHA.
+ * If several open pull requests share the head, we keep the one updated most recently,
+ * which is also the one the synchronization finds first.
+ * If that one gets closed, we forget the head and the origin finds the others.
+ */
+public final class IndexedApiPulls implements ApiPulls {
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * It's for calling the API.
+     */
+    private final HttpClient http;
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * It stores the pull requests of the repository.
+     */
+    private final PrStore store;
+
+    /**
+     * We use this if the store doesn't have the pull request.
+     * We also use this for listing all pull requests.
+     */
+    private final ApiPulls origin;
+
+    /**
+     * Constructor.
+     * @param http See {@link IndexedApiPulls#http}.
+     * @param apiParams See {@link IndexedApiPulls#apiParams}.
+     * @param store See {@link IndexedApiPulls#store}.
+     * @param origin See {@link IndexedApiPulls#origin}.
+     */
+    public IndexedApiPulls(final HttpClient http, final GitHubPrExtension apiParams, final PrStore store, final ApiPulls origin) {
+        this.http = http;
+        this.apiParams = apiParams;
+        this.store = store;
+        this.origin = origin;
+    }
+
+    @Override
+    public List<BaseJsonPull> list() {
+        return this.origin.list();
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        return this.origin.stream();
+    }
+
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        Optional<JsonPull> result;
+        boolean complete;
+        try {
+            final Synced synced = this.synced(sha);
+            result = synced.pull();
+            complete = synced.complete();
+            if (result.isEmpty() && !complete) {
+                final Optional<BaseJsonPull> stored = this.store.find(sha);
+                if (stored.isPresent()) {
+                    result = this.current(stored.get().number(), sha);
+                }
+            }
+        } catch (final IOException | IllegalArgumentException exception) {
+            Logging.getLogger(IndexedApiPulls.class).warn(
+                "Failed to use the pull request index. We look for the pull request without it.",
+                exception
+            );
+            result = Optional.empty();
+            complete = false;
+        }
+        if (result.isEmpty() && !complete) {
+            result = this.origin.find(sha);
+        }
+        return result;
+    }
+
+    /**
+     * Store the pull requests updated since the last synchronization.
+     * @param sha The head SHA we are looking for.
+     * @return The pull request if we have seen it, and whether we have seen them all.
+     * @throws IOException If it fails to use the store.
+     */
+    private Synced synced(final String sha) throws IOException {
+        final Optional<Instant> watermark = this.store.watermark().map(Instant::parse);
+        final List<BaseJsonPull> updated = new ArrayList<>();
+        final Set<String> heads = new HashSet<>();
+        Optional<JsonPull> result = Optional.empty();
+        boolean stopped = false;
+        try (SequentialPages<BaseJsonPull> pages = new SequentialPages<>(
+            this::response,
+            StreamedPulls::new
+        )) {
+            while (!stopped && pages.hasNext()) {
+                final BaseJsonPull pull = pages.next();
+                final Optional<String> time = pull.updatedAt();
+                if (time.isEmpty() || this.seen(time.get(), watermark)) {
+                    stopped = true;
+                } else {
+                    // The later ones of the same head are older, so they don't replace it.
+                    if (heads.add(pull.head().sha())) {
+                        updated.add(this.minimal(pull));
+                    }
+                    if (result.isEmpty() && pull.head().sha().equals(sha)) {
+                        result = Optional.of(pull);
+                    }
+                }
+            }
+        }
+        if (!updated.isEmpty()) {
+            // The pages are ordered by the update time, so the first one is the latest.
+            this.store.update(updated, updated.get(0).updatedAt().orElseThrow());
+        }
+        // The first synchronization that went to the end has seen all open pull requests.
+        return new Synced(result, watermark.isEmpty() && !stopped);
+    }
+
+    /**
+     * Check whether we had seen the pull request in the last synchronization.
+     * @param time The last update time of the pull request.
+     * @param watermark The watermark of the store.
+     * @return True if the pull request hasn't been updated since then.
+     */
+    private boolean seen(final String time, final Optional<Instant> watermark) {
+        return watermark.isPresent() && Instant.parse(time).isBefore(watermark.get());
+    }
+
+    /**
+     * Get the pull request by the number and check that it's still the one we are looking for.
+     * We forget it if it has been closed since the last synchronization.
+     * @param number The pull request number.
+     * @param sha The head SHA we are looking for.
+     * @return Empty if it's not the one anymore.
+     * @throws IOException If it fails to use the store.
+     */
+    private Optional<JsonPull> current(final int number, final String sha) throws IOException {
+        final HttpResponse<String> response;
+        try {
+            response = this.http.send(
+                new ApiRequest(this.apiParams, String.format("pulls/%d", number)).value(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+        } catch (final IOException | InterruptedException exception) {
+            throw new IllegalStateException(
+                String.format("Failed to get the pull request #%d via API", number),
+                exception
+            );
+        }
+        Optional<JsonPull> result = Optional.empty();
+        if (response.statusCode() == OK) {
+            final BaseJsonPull pull = new BaseJsonPull(response.body());
+            if ("open".equals(pull.state()) && pull.head().sha().equals(sha)) {
+                result = Optional.of(pull);
+            }
+        }
+        if (result.isEmpty()) {
+            this.store.remove(sha);
+        }
+        return result;
+    }
+
+    /**
+     * Keep only the fields we need to find the pull request later.
+     * The full JSON of a pull request is a few kilobytes, and there can be thousands of them.
+     * @param pull The pull request from the API.
+     * @return The pull request with the number, head SHA, base SHA, and update time only.
+     */
+    private BaseJsonPull minimal(final BaseJsonPull pull) {
+        return new BaseJsonPull(
+            new Projection(List.of("updated_at")).apply(pull.toString())
+        );
+    }
+
+    /**
+     * Call the API and return the response of the specified page.
+     * The most recently updated pull requests come first.
+     * @param page The page number.
+     * @return The response whose body is a JSON array of pull requests.
+     */
+    private HttpResponse<InputStream> response(final int page) {
+        try {
+            return this.http.send(
+                new ApiRequest(
+                    this.apiParams,
+                    String.format("pulls?per_page=100&page=%d&sort=updated&direction=desc", page)
+                ).value(),
+                HttpResponse.BodyHandlers.ofInputStream()
+            );
+        } catch (final IOException | InterruptedException exception) {
+            throw new IllegalStateException(
+                "Failed to get the list of pull requests via API",
+                exception
+            );
+        }
+    }
+
+    /**
+     * The outcome of a synchronization.
+     */
+    private static final class Synced {
+
+        /**
+         * The pull request we have seen while synchronizing.
+         */
+        private final Optional<JsonPull> found;
+
+        /**
+         * Whether we have seen all open pull requests.
+         */
+        private final boolean whole;
+
+        /**
+         * Constructor.
+         * @param found See {@link Synced#found}.
+         * @param whole See {@link Synced#whole}.
+         */
+        Synced(final Optional<JsonPull> found, final boolean whole) {
+            this.found = found;
+            this.whole = whole;
+        }
+
+        /**
+         * Return the pull request we have seen while synchronizing.
+         * @return Empty if we haven't seen it.
+         */
+        Optional<JsonPull> pull() {
+            return this.found;
+        }
+
+        /**
+         * Check whether we have seen all open pull requests.
+         * If so, we don't have to list them again when we haven't seen the one.
+         * @return True if nothing else can have the head SHA.
+         */
+        boolean complete() {
+            return this.whole;
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link ApiPulls} that looks for the pull request in a filtered list first.
+ * The filtered list usually has only one or two pull requests.
+ * However, the filter may not match the pull request.
+ * For example, the head owner of a pull request from a fork is not the repository owner.
+ * In such case, we will go through the full list.
+ */
+public final class NarrowedApiPulls implements ApiPulls {
+
+    /**
+     * The filter of the narrowed list.
+     * We skip the narrowed list if the filter doesn't filter anything.
+     */
+    private final PullsFilter filter;
+
+    /**
+     * The list filtered by {@link NarrowedApiPulls#filter}.
+     */
+    private final ApiPulls narrowed;
+
+    /**
+     * The list of all pull requests.
+     */
+    private final ApiPulls full;
+
+    /**
+     * Constructor.
+     * @param filter See {@link NarrowedApiPulls#filter}.
+     * @param narrowed See {@link NarrowedApiPulls#narrowed}.
+     * @param full See {@link NarrowedApiPulls#full}.
+     */
+    public NarrowedApiPulls(final PullsFilter filter, final ApiPulls narrowed, final ApiPulls full) {
+        this.filter = filter;
+        this.narrowed = narrowed;
+        this.full = full;
+    }
+
+    @Override
+    public List<BaseJsonPull> list() {
+        return this.full.list();
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        return this.full.stream();
+    }
+
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        Optional<JsonPull> result = Optional.empty();
+        if (this.filter.active()) {
+            result = this.narrowed.find(sha);
+        }
+        if (result.isEmpty()) {
+            result = this.full.find(sha);
+        }
+        return result;
+    }
+
+}
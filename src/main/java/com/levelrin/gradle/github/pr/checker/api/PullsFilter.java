@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * It narrows down the pull request list on the server side.
+ * It uses the 'head' and 'base' parameters of the API.
+ * https://docs.github.com/en/rest/reference/pulls#list-pull-requests
+ * The values are evaluated when we build the request
+ * because reading them may require the local Git repository.
+ */
+public final class PullsFilter {
+
+    /**
+     * It returns the head in the format of 'owner:branch'.
+     * It's empty if we cannot determine the head.
+     */
+    private final Supplier<Optional<String>> head;
+
+    /**
+     * It returns the name of the base branch.
+     * It's empty if we cannot determine the base.
+     */
+    private final Supplier<Optional<String>> base;
+
+    /**
+     * Secondary constructor.
+     * It doesn't filter anything.
+     */
+    public PullsFilter() {
+        this(Optional::empty, Optional::empty);
+    }
+
+    /**
+     * Primary constructor.
+     * @param head See {@link PullsFilter#head}.
+     * @param base See {@link PullsFilter#base}.
+     */
+    public PullsFilter(final Supplier<Optional<String>> head, final Supplier<Optional<String>> base) {
+        this.head = head;
+        this.base = base;
+    }
+
+    /**
+     * Check if it filters anything.
+     * @return True if we know either the head or the base.
+     */
+    public boolean active() {
+        return this.head.get().isPresent() || this.base.get().isPresent();
+    }
+
+    /**
+     * Build the query parameters.
+     * @return Something like '&amp;head=levelrin%3Afeature&amp;base=main' or an empty string.
+     */
+    public String query() {
+        final StringBuilder result = new StringBuilder();
+        this.head.get().ifPresent(
+            value -> result
+                .append("&head=")
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8))
+        );
+        this.base.get().ifPresent(
+            value -> result
+                .append("&base=")
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8))
+        );
+        return result.toString();
+    }
+
+}
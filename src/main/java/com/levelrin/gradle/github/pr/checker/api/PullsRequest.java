@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import java.net.http.HttpRequest;
+
+/**
+ * It's the request for a page of the pull request list.
+ * https://docs.github.com/en/rest/reference/pulls#list-pull-requests
+ */
+public final class PullsRequest {
+
+    /**
+     * It contains the necessary information to call the API.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * It narrows down the list on the server side.
+     */
+    private final PullsFilter filter;
+
+    /**
+     * The page number.
+     */
+    private final int page;
+
+    /**
+     * Secondary constructor.
+     * It requests the page without any filter.
+     * @param apiParams See {@link PullsRequest#apiParams}.
+     * @param page See {@link PullsRequest#page}.
+     */
+    public PullsRequest(final GitHubPrExtension apiParams, final int page) {
+        this(apiParams, new PullsFilter(), page);
+    }
+
+    /**
+     * Primary constructor.
+     * @param apiParams See {@link PullsRequest#apiParams}.
+     * @param filter See {@link PullsRequest#filter}.
+     * @param page See {@link PullsRequest#page}.
+     */
+    public PullsRequest(final GitHubPrExtension apiParams, final PullsFilter filter, final int page) {
+        this.apiParams = apiParams;
+        this.filter = filter;
+        this.page = page;
+    }
+
+    /**
+     * Build the request.
+     * @return The request object.
+     */
+    public HttpRequest value() {
+        return new ApiRequest(
+            this.apiParams,
+            String.format("pulls?per_page=100&page=%d%s", this.page, this.filter.query())
+        ).value();
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import java.util.List;
+import java.util.Optional;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * It keeps the searches of pull requests for the whole build.
+ * See {@link SharedApiPulls}.
+ * Like the HTTP client, the results don't outlive the build
+ * because the pull requests may change between builds.
+ */
+public abstract class PullsService implements BuildService<BuildServiceParameters.None> {
+
+    /**
+     * The searches of the build.
+     */
+    private final SingleFlight<List<String>, Optional<JsonPull>> flights;
+
+    /**
+     * Constructor.
+     */
+    public PullsService() {
+        this.flights = new SingleFlight<>();
+    }
+
+    /**
+     * Return the searches of the build.
+     * @return The searches.
+     */
+    public final SingleFlight<List<String>, Optional<JsonPull>> flights() {
+        return this.flights;
+    }
+
+}
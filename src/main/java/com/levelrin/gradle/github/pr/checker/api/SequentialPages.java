@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.http.LinkHeader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * It iterates the pull requests of all pages one by one.
+ * How to read the pull requests from a response body is up to the {@link Reading}.
+ * For example, {@link com.levelrin.gradle.github.pr.checker.api.json.StreamedPulls}
+ * parses the body while reading it from the network.
+ * It fetches the next page only when the caller reaches the end of the current page.
+ * It fails if the server doesn't respond to a page with '200 OK'.
+ * Closing it discards the rest of the current response.
+ * @param <T> The type of the pull requests.
+ */
+public final class SequentialPages<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * The maximum number of pull requests in a page.
+     */
+    private static final int MAX = 100;
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * It takes the page number and returns the response of the page.
+     */
+    private final IntFunction<HttpResponse<InputStream>> fetch;
+
+    /**
+     * It reads the pull requests from the response body of a page.
+     */
+    private final Reading<T> reading;
+
+    /**
+     * The page number we fetched last time.
+     */
+    private int page;
+
+    /**
+     * The response body of the current page.
+     */
+    private InputStream body;
+
+    /**
+     * The pull requests of the current page.
+     */
+    private Iterator<T> current;
+
+    /**
+     * The 'Link' header of the current page.
+     */
+    private LinkHeader link;
+
+    /**
+     * The number of pull requests we have read from the current page.
+     */
+    private int count;
+
+    /**
+     * Constructor.
+     * @param fetch See {@link SequentialPages#fetch}.
+     * @param reading See {@link SequentialPages#reading}.
+     */
+    public SequentialPages(final IntFunction<HttpResponse<InputStream>> fetch, final Reading<T> reading) {
+        this.fetch = fetch;
+        this.reading = reading;
+        this.body = InputStream.nullInputStream();
+        this.current = Collections.emptyIterator();
+        this.link = new LinkHeader(HttpHeaders.of(Map.of(), (name, value) -> true));
+    }
+
+    @Override
+    public boolean hasNext() {
+        boolean result = this.current.hasNext();
+        while (!result && this.another()) {
+            this.open();
+            result = this.current.hasNext();
+        }
+        return result;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("There are no more pull requests.");
+        }
+        this.count = this.count + 1;
+        return this.current.next();
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.body.close();
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                "Failed to close the response of the pull requests.",
+                exception
+            );
+        }
+    }
+
+    /**
+     * Check if there might be a page after the current one.
+     * @return True if we should fetch the next page.
+     */
+    private boolean another() {
+        final boolean result;
+        if (this.page == 0) {
+            result = true;
+        } else if (this.link.exists()) {
+            // We trust the 'Link' header if the server sends it.
+            result = this.link.next().isPresent();
+        } else {
+            // Otherwise, a full page means there might be a next page.
+            result = this.count == MAX;
+        }
+        return result;
+    }
+
+    /**
+     * Release the current page and fetch the next one.
+     */
+    private void open() {
+        this.close();
+        this.page = this.page + 1;
+        final HttpResponse<InputStream> response = this.fetch.apply(this.page);
+        this.link = new LinkHeader(response.headers());
+        this.count = 0;
+        this.body = response.body();
+        try {
+            if (response.statusCode() != OK) {
+                // Otherwise, we would read the error message as a short last page.
+                throw new IllegalStateException(
+                    String.format(
+                        "The API responded with the status %d to the page %d of pull requests: %s",
+                        response.statusCode(),
+                        this.page,
+                        new String(this.body.readAllBytes(), StandardCharsets.UTF_8)
+                    )
+                );
+            }
+            this.current = this.reading.read(this.body);
+        } catch (final IOException exception) {
+            throw new IllegalStateException(
+                String.format("Failed to read the page %d of pull requests.", this.page),
+                exception
+            );
+        }
+    }
+
+    /**
+     * It reads the pull requests from the response body of a page.
+     * @param <T> The type of the pull requests.
+     */
+    @FunctionalInterface
+    public interface Reading<T> {
+
+        /**
+         * Start reading the pull requests.
+         * @param body The response body whose content is a JSON array of pull requests.
+         * @return The pull requests of the page.
+         * @throws IOException If it fails to read the body.
+         */
+        Iterator<T> read(InputStream body) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link ApiPulls} that shares the search among the projects of the build.
+ * In a multi-project build, every project that applies the plugin looks for the same pull request.
+ * Only the first one calls the API, and the others get the same result.
+ * The search is identified by the domain, owner, repo, and head SHA.
+ */
+public final class SharedApiPulls implements ApiPulls {
+
+    /**
+     * The pull requests that actually call the API.
+     */
+    private final ApiPulls origin;
+
+    /**
+     * It contains the necessary information to identify the search.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * The searches of the build.
+     * We don't touch it until the first search.
+     */
+    private final Supplier<SingleFlight<List<String>, Optional<JsonPull>>> flights;
+
+    /**
+     * Constructor.
+     * @param origin See {@link SharedApiPulls#origin}.
+     * @param apiParams See {@link SharedApiPulls#apiParams}.
+     * @param flights See {@link SharedApiPulls#flights}.
+     */
+    public SharedApiPulls(final ApiPulls origin, final GitHubPrExtension apiParams, final Supplier<SingleFlight<List<String>, Optional<JsonPull>>> flights) {
+        this.origin = origin;
+        this.apiParams = apiParams;
+        this.flights = flights;
+    }
+
+    @Override
+    public List<BaseJsonPull> list() {
+        return this.origin.list();
+    }
+
+    @Override
+    public Stream<JsonPull> stream() {
+        return this.origin.stream();
+    }
+
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        return this.flights.get().value(
+            List.of(
+                this.apiParams.getDomain().get(),
+                this.apiParams.getOwner().get(),
+                this.apiParams.getRepo().get(),
+                sha
+            ),
+            () -> this.origin.find(sha)
+        );
+    }
+
+}
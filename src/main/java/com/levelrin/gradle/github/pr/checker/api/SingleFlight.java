@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * It makes sure that we compute the value of each key only once.
+ * The first caller of a key computes the value.
+ * The callers that come while it's computing wait for the same result.
+ * The callers that come later get the stored result.
+ * If the computation fails, we forget it so that the later callers can try again.
+ * It's thread-safe.
+ * @param <K> The type of the key.
+ * @param <V> The type of the value.
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * The results and the computations in flight.
+     */
+    private final Map<K, CompletableFuture<V>> flights;
+
+    /**
+     * Constructor.
+     */
+    public SingleFlight() {
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Return the value of the key.
+     * @param key The key.
+     * @param origin It computes the value if nobody has done it yet.
+     * @return The value.
+     */
+    public V value(final K key, final Supplier<V> origin) {
+        final CompletableFuture<V> mine = new CompletableFuture<>();
+        final CompletableFuture<V> flight = this.flights.putIfAbsent(key, mine);
+        final V result;
+        if (flight == null) {
+            boolean done = false;
+            try {
+                result = origin.get();
+                mine.complete(result);
+                done = true;
+            } finally {
+                if (!done) {
+                    this.flights.remove(key, mine);
+                    mine.completeExceptionally(
+                        new IllegalStateException("The computation we waited for has failed.")
+                    );
+                }
+            }
+        } else {
+            try {
+                result = flight.join();
+            } catch (final CompletionException exception) {
+                throw new IllegalStateException(
+                    "Another caller failed to compute the value.",
+                    exception.getCause()
+                );
+            }
+        }
+        return result;
+    }
+
+}
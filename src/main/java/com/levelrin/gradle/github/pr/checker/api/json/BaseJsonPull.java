@@ -8,24 +8,84 @@
 package com.levelrin.gradle.github.pr.checker.api.json;
 
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.ReadContext;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * It represents the JSON of a pull request.
+ * It parses the JSON on the first read and keeps the parsed document,
+ * so reading the number and the SHAs of a pull request parses it only once.
+ * The 'head' and 'base' share the parsed document as well.
  */
 public final class BaseJsonPull implements JsonPull {
 
+    /**
+     * The path of the pull request number.
+     */
+    private static final JsonPath NUMBER = JsonPath.compile("$.number");
+
+    /**
+     * The path of the head.
+     */
+    private static final JsonPath HEAD = JsonPath.compile("$.head");
+
+    /**
+     * The path of the base.
+     */
+    private static final JsonPath BASE = JsonPath.compile("$.base");
+
+    /**
+     * The path of the last update time.
+     */
+    private static final JsonPath UPDATED_AT = JsonPath.compile("$.updated_at");
+
+    /**
+     * The path of the state.
+     */
+    private static final JsonPath STATE = JsonPath.compile("$.state");
+
     /**
      * A pull request information from GitHub.
+     * It writes the parsed JSON as text if we keep the parsed one only.
      */
-    private final String raw;
+    private final Supplier<String> raw;
 
     /**
-     * Constructor.
-     * @param raw See {@link BaseJsonPull#raw}.
+     * The parsed {@link BaseJsonPull#raw}.
+     * It's null until the first read.
+     * Two threads may parse it at the same time on the first read,
+     * which is harmless because both documents are the same.
+     */
+    private volatile ReadContext json;
+
+    /**
+     * Secondary constructor.
+     * @param raw A pull request information from GitHub.
      */
     public BaseJsonPull(final String raw) {
+        this(() -> raw, null);
+    }
+
+    /**
+     * Secondary constructor.
+     * It keeps the parsed JSON only, which may share its parts with other pull requests.
+     * @param json A pull request information from GitHub, which has been parsed already.
+     */
+    public BaseJsonPull(final ReadContext json) {
+        this(json::jsonString, json);
+    }
+
+    /**
+     * Primary constructor.
+     * @param raw See {@link BaseJsonPull#raw}.
+     * @param json See {@link BaseJsonPull#json}.
+     */
+    private BaseJsonPull(final Supplier<String> raw, final ReadContext json) {
         this.raw = raw;
+        this.json = json;
     }
 
     /**
@@ -34,7 +94,7 @@ public final class BaseJsonPull implements JsonPull {
      */
     @Override
     public int number() {
-        return JsonPath.read(this.raw, "$.number");
+        return this.parsed().read(NUMBER);
     }
 
     /**
@@ -43,23 +103,55 @@ public final class BaseJsonPull implements JsonPull {
      */
     @Override
     public JsonHead head() {
-        final Map<String, Object> json = JsonPath.read(this.raw, "$.head");
-        return new JsonHead(
-            JsonPath.parse(json).jsonString()
-        );
+        final Map<String, Object> head = this.parsed().read(HEAD);
+        return new JsonHead(JsonPath.parse(head));
     }
 
     @Override
     public JsonBase base() {
-        final Map<String, Object> json = JsonPath.read(this.raw, "$.base");
-        return new JsonBase(
-            JsonPath.parse(json).jsonString()
-        );
+        final Map<String, Object> base = this.parsed().read(BASE);
+        return new JsonBase(JsonPath.parse(base));
+    }
+
+    /**
+     * Parse and return the last time the pull request was updated.
+     * @return Something like '2011-01-26T19:01:12Z'. Empty if the server doesn't tell.
+     */
+    public Optional<String> updatedAt() {
+        Optional<String> result;
+        try {
+            result = Optional.ofNullable(this.parsed().read(UPDATED_AT));
+        } catch (final PathNotFoundException exception) {
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Parse and return the state of the pull request.
+     * @return Either 'open' or 'closed'.
+     */
+    public String state() {
+        return this.parsed().read(STATE);
     }
 
     @Override
     public String toString() {
-        return this.raw;
+        return this.raw.get();
+    }
+
+    /**
+     * Return the parsed JSON.
+     * It parses the JSON only on the first call.
+     * @return The parsed JSON.
+     */
+    private ReadContext parsed() {
+        ReadContext result = this.json;
+        if (result == null) {
+            result = JsonPath.parse(this.raw.get());
+            this.json = result;
+        }
+        return result;
     }
 
 }
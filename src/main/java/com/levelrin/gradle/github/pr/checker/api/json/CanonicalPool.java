@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * It makes the equal parts of parsed JSON share one instance.
+ * The pull requests of a repository repeat a lot of the same values.
+ * For example, 'base.repo' is the same repository for all of them,
+ * and the users, labels, and URLs are the same for many of them.
+ * It goes through the parsed JSON from the leaves and replaces each object, array, and string
+ * with the equal one it has seen before.
+ * The objects and arrays it returns are unmodifiable because other pull requests may share them.
+ * Two objects with the same members in a different order are equal,
+ * so the second one is written in the order of the first one.
+ * It holds the values weakly, so they are gone once no pull request refers to them.
+ * In other words, it's a canonicalizing mapping described in {@link WeakReference}.
+ */
+public final class CanonicalPool implements UnaryOperator<Object> {
+
+    /**
+     * The load factor of the objects we create.
+     * They are never resized, so we let their tables be full.
+     */
+    private static final float FULL = 1.0f;
+
+    /**
+     * The values we have seen, keyed by themselves.
+     */
+    private final Map<Object, WeakReference<Object>> values;
+
+    /**
+     * Secondary constructor.
+     */
+    public CanonicalPool() {
+        this(new WeakHashMap<>());
+    }
+
+    /**
+     * Primary constructor.
+     * @param values See {@link CanonicalPool#values}.
+     */
+    public CanonicalPool(final Map<Object, WeakReference<Object>> values) {
+        this.values = values;
+    }
+
+    /**
+     * Return the shared instance that is equal to the parsed JSON.
+     * @param json An object, array, string, number, boolean, or null.
+     * @return The shared instance. Numbers, booleans, and null are returned as they are.
+     */
+    @Override
+    public Object apply(final Object json) {
+        final Object result;
+        if (json instanceof Map) {
+            result = this.shared(this.object((Map<?, ?>) json));
+        } else if (json instanceof List) {
+            result = this.shared(this.array((List<?>) json));
+        } else if (json instanceof String) {
+            result = this.shared(json);
+        } else {
+            result = json;
+        }
+        return result;
+    }
+
+    /**
+     * Create an unmodifiable object whose members are shared instances.
+     * @param json The parsed object.
+     * @return The object.
+     */
+    private Map<String, Object> object(final Map<?, ?> json) {
+        final Map<String, Object> result = new LinkedHashMap<>(json.size(), FULL);
+        json.forEach((name, value) -> result.put((String) this.apply(name), this.apply(value)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Create an unmodifiable array whose elements are shared instances.
+     * @param json The parsed array.
+     * @return The array.
+     */
+    private List<Object> array(final List<?> json) {
+        final List<Object> result = new ArrayList<>(json.size());
+        json.forEach(element -> result.add(this.apply(element)));
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Return the instance we have seen if it's equal to the value.
+     * Otherwise, remember the value and return it.
+     * @param value The value whose parts are shared instances already.
+     * @return The shared instance.
+     */
+    private Object shared(final Object value) {
+        synchronized (this.values) {
+            Object result = null;
+            final WeakReference<Object> seen = this.values.get(value);
+            if (seen != null) {
+                result = seen.get();
+            }
+            if (result == null) {
+                this.values.put(value, new WeakReference<>(value));
+                result = value;
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * It represents a page of pull requests from the GraphQL API.
+ * The response looks like this:
+ * {
+ *   "data": {
+ *     "repository": {
+ *       "pullRequests": {
+ *         "pageInfo": {"hasNextPage": true, "endCursor": "Y3Vyc29yOnYyOpHOAAAAAQ=="},
+ *         "nodes": [{"number": 1, "headRefOid": "aaa", "baseRefOid": "bbb"}]
+ *       }
+ *     }
+ *   }
+ * }
+ * Each node is converted into the shape of the REST API like
+ * {"number": 1, "head": {"sha": "aaa"}, "base": {"sha": "bbb"}}
+ * so that {@link BaseJsonPull} can read it.
+ */
+public final class GraphqlPage {
+
+    /**
+     * The path to the pull request connection.
+     */
+    private static final String CONNECTION = "$.data.repository.pullRequests";
+
+    /**
+     * The response body of the GraphQL API.
+     */
+    private final String raw;
+
+    /**
+     * Constructor.
+     * @param raw See {@link GraphqlPage#raw}.
+     */
+    public GraphqlPage(final String raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * Return the pull requests in the page.
+     * @return List of pull requests in the shape of the REST API.
+     */
+    public List<BaseJsonPull> list() {
+        final List<Map<String, Object>> nodes = this.document().read(
+            String.format("%s.nodes", CONNECTION)
+        );
+        final List<BaseJsonPull> result = new ArrayList<>(nodes.size());
+        for (final Map<String, Object> node : nodes) {
+            result.add(
+                new BaseJsonPull(
+                    JsonPath.parse(
+                        Map.of(
+                            "number", node.get("number"),
+                            "head", Map.of("sha", node.get("headRefOid")),
+                            "base", Map.of("sha", node.get("baseRefOid"))
+                        )
+                    ).jsonString()
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Return the cursor for the next page.
+     * @return Empty if this is the last page.
+     */
+    public Optional<String> next() {
+        final DocumentContext document = this.document();
+        final boolean more = document.read(String.format("%s.pageInfo.hasNextPage", CONNECTION));
+        final Optional<String> result;
+        if (more) {
+            final String cursor = document.read(String.format("%s.pageInfo.endCursor", CONNECTION));
+            result = Optional.of(cursor);
+        } else {
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Parse the response and make sure it doesn't have errors.
+     * GraphQL responds with 200 even if the query failed.
+     * @return The parsed response.
+     */
+    private DocumentContext document() {
+        final DocumentContext result = JsonPath.parse(this.raw);
+        final Map<String, Object> root = result.json();
+        if (root.containsKey("errors")) {
+            throw new IllegalStateException(
+                String.format(
+                    "The GraphQL API responded with errors: %s",
+                    JsonPath.parse(root.get("errors")).jsonString()
+                )
+            );
+        }
+        return result;
+    }
+
+}
@@ -8,6 +8,8 @@
 package com.levelrin.gradle.github.pr.checker.api.json;
 
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+import java.util.function.Supplier;
 
 /**
  * It represents the 'base' of a pull request in JSON.
@@ -15,24 +17,45 @@ import com.jayway.jsonpath.JsonPath;
 public final class JsonBase {
 
     /**
-     * The 'base' of a pull request in JSON.
+     * The path of the sha.
      */
-    private final String raw;
+    private static final JsonPath SHA = JsonPath.compile("$.sha");
 
     /**
-     * Constructor.
-     * @param raw See {@link JsonBase#raw}.
+     * It reads the sha when we need it.
+     */
+    private final Supplier<String> sha;
+
+    /**
+     * Secondary constructor.
+     * @param raw The 'base' of a pull request in JSON.
      */
     public JsonBase(final String raw) {
-        this.raw = raw;
+        this(JsonPath.parse(raw));
+    }
+
+    /**
+     * Secondary constructor.
+     * @param json The 'base' of a pull request that has been parsed already.
+     */
+    public JsonBase(final ReadContext json) {
+        this(() -> json.read(SHA));
+    }
+
+    /**
+     * Primary constructor.
+     * @param sha See {@link JsonBase#sha}.
+     */
+    public JsonBase(final Supplier<String> sha) {
+        this.sha = sha;
     }
 
     /**
-     * Parse the JSON and return the sha.
+     * Return the sha.
      * @return The sha.
      */
     public String sha() {
-        return JsonPath.read(this.raw, "$.sha");
+        return this.sha.get();
     }
 
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * It reads the elements of a JSON array one by one from the input stream.
+ * Each element is returned as the original text without parsing it into a tree.
+ * It decodes the slices of {@link JsonSlices}, so both share the same tokenizer.
+ * It reads the next element only when the caller asks for it.
+ * For example, the JSON '[{"a": 1}, {"b": [2, 3]}]' gives '{"a": 1}' and '{"b": [2, 3]}'.
+ */
+public final class JsonElements implements Iterator<String>, Closeable {
+
+    /**
+     * The elements in UTF-8.
+     */
+    private final JsonSlices slices;
+
+    /**
+     * Secondary constructor.
+     * @param input The source of the JSON array in UTF-8.
+     */
+    public JsonElements(final InputStream input) {
+        this(new JsonSlices(input));
+    }
+
+    /**
+     * Primary constructor.
+     * @param slices See {@link JsonElements#slices}.
+     */
+    public JsonElements(final JsonSlices slices) {
+        this.slices = slices;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.slices.hasNext();
+    }
+
+    @Override
+    public String next() {
+        return this.slices.next().toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.slices.close();
+    }
+
+}
@@ -9,6 +9,9 @@ package com.levelrin.gradle.github.pr.checker.api.json;
 
 /**
  * It represents the JSON of a pull request.
+ * The {@link Object#toString()} method of the implementations
+ * should return the JSON as it is.
+ * We will write that to the 'pr.json' file.
  */
 public interface JsonPull {
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * It represents a page of pull requests in JSON.
+ * In other words, it's a JSON array of pull requests.
+ */
+public final class JsonPulls {
+
+    /**
+     * The response body of the API that lists pull requests.
+     */
+    private final String raw;
+
+    /**
+     * It takes the JSON of a pull request and returns the pull request we keep.
+     */
+    private final Function<String, BaseJsonPull> projection;
+
+    /**
+     * Secondary constructor.
+     * It keeps the full JSON of each pull request.
+     * @param raw See {@link JsonPulls#raw}.
+     */
+    public JsonPulls(final String raw) {
+        this(raw, BaseJsonPull::new);
+    }
+
+    /**
+     * Primary constructor.
+     * @param raw See {@link JsonPulls#raw}.
+     * @param projection See {@link JsonPulls#projection}.
+     */
+    public JsonPulls(final String raw, final Function<String, BaseJsonPull> projection) {
+        this.raw = raw;
+        this.projection = projection;
+    }
+
+    /**
+     * Split the JSON array and return each element as an object.
+     * Each element keeps its original text, so we don't parse and serialize it again.
+     * Unless the projection drops some fields.
+     * @return List of pull requests.
+     */
+    public List<BaseJsonPull> list() {
+        final List<BaseJsonPull> result = new ArrayList<>();
+        new JsonElements(
+            new ByteArrayInputStream(this.raw.getBytes(StandardCharsets.UTF_8))
+        ).forEachRemaining(
+            element -> result.add(this.projection.apply(element))
+        );
+        return result;
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * It reads the elements of a JSON array one by one from the input stream
+ * and returns each of them as a {@link JsonView} over the bytes of the page.
+ * It keeps the bytes it has read so far in a single array,
+ * so the views point into that array instead of copying each element.
+ * It doesn't decode the text into a string either, so the caller can scan the bytes with the view.
+ * It reads the next element only when the caller asks for it.
+ * So, a caller that stops early doesn't read the rest of the array.
+ */
+@SuppressWarnings("PMD.GodClass")
+public final class JsonSlices implements Iterator<JsonView>, Closeable {
+
+    /**
+     * It represents the end of the input.
+     */
+    private static final int EOF = -1;
+
+    /**
+     * The initial size of the page.
+     */
+    private static final int BUFFER = 8192;
+
+    /**
+     * The source of the JSON array in UTF-8.
+     */
+    private final InputStream input;
+
+    /**
+     * The bytes we have read so far.
+     * It grows as needed, and the views we returned keep the array they point into.
+     */
+    private byte[] page;
+
+    /**
+     * The position of the next byte in the page.
+     */
+    private int position;
+
+    /**
+     * The number of bytes we have read into the page.
+     */
+    private int limit;
+
+    /**
+     * Whether the input has no more bytes.
+     */
+    private boolean exhausted;
+
+    /**
+     * Whether we have read the opening bracket of the array.
+     */
+    private boolean started;
+
+    /**
+     * Whether we have read the closing bracket of the array.
+     */
+    private boolean finished;
+
+    /**
+     * Constructor.
+     * @param input See {@link JsonSlices#input}.
+     */
+    public JsonSlices(final InputStream input) {
+        this.input = input;
+        this.page = new byte[BUFFER];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.started) {
+            this.started = true;
+            if (this.nonBlank() != '[') {
+                throw new IllegalStateException("The JSON is not an array.");
+            }
+            this.blank();
+            if (this.peek() == ']') {
+                this.position = this.position + 1;
+                this.finished = true;
+            }
+        }
+        return !this.finished;
+    }
+
+    @Override
+    public JsonView next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("There are no more elements in the JSON array.");
+        }
+        final int first = this.nonBlank();
+        final int start = this.position - 1;
+        if (first == '{' || first == '[') {
+            this.nested();
+        } else if (first == '"') {
+            this.string();
+        } else {
+            this.scalar();
+        }
+        final int end = this.position;
+        final int separator = this.nonBlank();
+        if (separator == ']') {
+            this.finished = true;
+        } else if (separator != ',') {
+            throw new IllegalStateException(
+                String.format("Unexpected character in the JSON array: %c", (char) separator)
+            );
+        }
+        return new JsonView(this.page, start, end - start);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    /**
+     * Read an object or an array.
+     * The opening character is already consumed.
+     */
+    private void nested() {
+        int depth = 1;
+        while (depth > 0) {
+            final int current = this.required();
+            if (current == '"') {
+                this.string();
+            } else if (current == '{' || current == '[') {
+                depth = depth + 1;
+            } else if (current == '}' || current == ']') {
+                depth = depth - 1;
+            }
+        }
+    }
+
+    /**
+     * Read a string including the closing quote.
+     * The opening quote is already consumed.
+     */
+    private void string() {
+        int current = this.required();
+        while (current != '"') {
+            if (current == '\\') {
+                this.required();
+            }
+            current = this.required();
+        }
+    }
+
+    /**
+     * Read a number, true, false, or null.
+     * The first character is already consumed.
+     * It leaves the character after the value unread.
+     */
+    private void scalar() {
+        int current = this.peek();
+        while (current != ',' && current != ']' && current != EOF && !this.whitespace(current)) {
+            this.position = this.position + 1;
+            current = this.peek();
+        }
+    }
+
+    /**
+     * Read the next byte that is not a whitespace.
+     * @return The byte.
+     */
+    private int nonBlank() {
+        this.blank();
+        return this.required();
+    }
+
+    /**
+     * Skip the whitespaces without consuming the byte after them.
+     */
+    private void blank() {
+        while (this.whitespace(this.peek())) {
+            this.position = this.position + 1;
+        }
+    }
+
+    /**
+     * Check if the byte is a whitespace in JSON.
+     * @param current The byte.
+     * @return True if it's a space, tab, line feed, or carriage return.
+     */
+    private boolean whitespace(final int current) {
+        return current == ' ' || current == '\t' || current == '\n' || current == '\r';
+    }
+
+    /**
+     * Read the next byte that must exist.
+     * @return The byte.
+     */
+    private int required() {
+        final int current = this.peek();
+        if (current == EOF) {
+            throw new IllegalStateException("The JSON array ended unexpectedly.");
+        }
+        this.position = this.position + 1;
+        return current;
+    }
+
+    /**
+     * Look at the next byte without consuming it.
+     * @return The byte from 0 to 255 or {@link JsonSlices#EOF}.
+     */
+    private int peek() {
+        if (this.position == this.limit) {
+            this.fill();
+        }
+        final int result;
+        if (this.position == this.limit) {
+            result = EOF;
+        } else {
+            result = Byte.toUnsignedInt(this.page[this.position]);
+        }
+        return result;
+    }
+
+    /**
+     * Read the next chunk from the input stream into the page.
+     * It grows the page if it's full.
+     * The views we returned keep the old array, so we don't have to touch them.
+     */
+    private void fill() {
+        if (!this.exhausted) {
+            if (this.limit == this.page.length) {
+                this.page = Arrays.copyOf(this.page, this.page.length * 2);
+            }
+            try {
+                int count = this.input.read(this.page, this.limit, this.page.length - this.limit);
+                while (count == 0) {
+                    count = this.input.read(this.page, this.limit, this.page.length - this.limit);
+                }
+                if (count == EOF) {
+                    this.exhausted = true;
+                } else {
+                    this.limit = this.limit + count;
+                }
+            } catch (final IOException exception) {
+                throw new IllegalStateException("Failed to read the JSON array.", exception);
+            }
+        }
+    }
+
+}
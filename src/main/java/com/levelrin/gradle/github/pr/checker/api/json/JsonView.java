@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * It represents a JSON value in a byte array without copying or parsing it.
+ * It only remembers where the value starts and ends in the array.
+ * Reading a member or an element scans the bytes on demand and returns another view.
+ * So, many views can share the same response body.
+ * Decoding happens only when we ask for a string or a number.
+ * The keys of an object are compared byte by byte, so it doesn't find an escaped key.
+ * For example, the member 'sha' of '{"ref": "main", "sha": "abc"}' is the view of '"abc"'.
+ */
+@SuppressWarnings("PMD.GodClass")
+public final class JsonView {
+
+    /**
+     * The number of hex digits in a unicode escape sequence.
+     */
+    private static final int UNICODE = 4;
+
+    /**
+     * The radix of a unicode escape sequence.
+     */
+    private static final int HEX = 16;
+
+    /**
+     * The characters that can follow a backslash except 'u'.
+     */
+    private static final String ESCAPES = "\"\\/bfnrt";
+
+    /**
+     * The characters that {@link JsonView#ESCAPES} represent in the same order.
+     */
+    private static final String ESCAPED = "\"\\/\b\f\n\r\t";
+
+    /**
+     * The bytes of JSON in UTF-8, which may contain other values as well.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The index of the first byte of the value.
+     */
+    private final int start;
+
+    /**
+     * The index after the last byte of the value.
+     */
+    private final int end;
+
+    /**
+     * Secondary constructor.
+     * It represents the whole bytes.
+     * @param bytes See {@link JsonView#bytes}.
+     */
+    public JsonView(final byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Primary constructor.
+     * @param bytes See {@link JsonView#bytes}.
+     * @param offset See {@link JsonView#start}.
+     * @param length The number of bytes of the value.
+     */
+    public JsonView(final byte[] bytes, final int offset, final int length) {
+        this.bytes = bytes;
+        this.start = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Return the elements of the array.
+     * @return The views of the elements in order.
+     */
+    public List<JsonView> elements() {
+        final List<JsonView> result = new ArrayList<>();
+        int position = this.blank(this.start);
+        this.expect(position, '[');
+        position = this.blank(position + 1);
+        boolean finished = this.at(position) == ']';
+        while (!finished) {
+            final int after = this.value(position);
+            result.add(new JsonView(this.bytes, position, after - position));
+            position = this.blank(after);
+            finished = this.separator(position, ']');
+            position = this.blank(position + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Find the member of the object.
+     * It looks at the top level of the object only.
+     * @param name The key of the member.
+     * @return Empty if the object doesn't have the key.
+     */
+    public Optional<JsonView> member(final String name) {
+        final byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        Optional<JsonView> result = Optional.empty();
+        int position = this.blank(this.start);
+        this.expect(position, '{');
+        position = this.blank(position + 1);
+        boolean finished = this.at(position) == '}';
+        while (!finished && result.isEmpty()) {
+            this.expect(position, '"');
+            final int after = this.string(position);
+            final boolean found = Arrays.equals(
+                this.bytes, position + 1, after - 1, key, 0, key.length
+            );
+            position = this.blank(after);
+            this.expect(position, ':');
+            position = this.blank(position + 1);
+            final int next = this.value(position);
+            if (found) {
+                result = Optional.of(new JsonView(this.bytes, position, next - position));
+            }
+            position = this.blank(next);
+            finished = this.separator(position, '}');
+            position = this.blank(position + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Decode the string.
+     * @return The string without the quotes and escape sequences.
+     */
+    public String text() {
+        final int first = this.blank(this.start);
+        this.expect(first, '"');
+        final int last = this.string(first) - 1;
+        final StringBuilder result = new StringBuilder(last - first);
+        int from = first + 1;
+        int position = from;
+        while (position < last) {
+            if (this.bytes[position] == '\\') {
+                result.append(
+                    new String(this.bytes, from, position - from, StandardCharsets.UTF_8)
+                );
+                position = this.escape(position + 1, result);
+                from = position;
+            } else {
+                position = position + 1;
+            }
+        }
+        result.append(new String(this.bytes, from, last - from, StandardCharsets.UTF_8));
+        return result.toString();
+    }
+
+    /**
+     * Decode the integer.
+     * @return The number.
+     */
+    public int integer() {
+        return Integer.parseInt(this.toString().strip());
+    }
+
+    /**
+     * Return the original text of the value.
+     * @return The JSON as it is in the bytes.
+     */
+    @Override
+    public String toString() {
+        return new String(this.bytes, this.start, this.end - this.start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode an escape sequence.
+     * @param position The index of the character after the backslash.
+     * @param result It will contain the decoded character.
+     * @return The index after the escape sequence.
+     */
+    private int escape(final int position, final StringBuilder result) {
+        final int next;
+        final char current = (char) this.at(position);
+        if (current == 'u') {
+            result.append(
+                (char) Integer.parseInt(
+                    new String(this.bytes, position + 1, UNICODE, StandardCharsets.US_ASCII),
+                    HEX
+                )
+            );
+            next = position + 1 + UNICODE;
+        } else {
+            final int index = ESCAPES.indexOf(current);
+            if (index < 0) {
+                throw new IllegalStateException(
+                    String.format("Unexpected escape sequence in the JSON: \\%c", current)
+                );
+            }
+            result.append(ESCAPED.charAt(index));
+            next = position + 1;
+        }
+        return next;
+    }
+
+    /**
+     * Skip the value that starts at the position.
+     * @param position The index of the first byte of the value.
+     * @return The index after the value.
+     */
+    private int value(final int position) {
+        final int result;
+        final byte first = this.at(position);
+        if (first == '"') {
+            result = this.string(position);
+        } else if (first == '{' || first == '[') {
+            result = this.nested(position);
+        } else {
+            result = this.scalar(position);
+        }
+        return result;
+    }
+
+    /**
+     * Skip an object or an array.
+     * @param position The index of the opening character.
+     * @return The index after the closing character.
+     */
+    private int nested(final int position) {
+        int depth = 1;
+        int current = position + 1;
+        while (depth > 0) {
+            final byte character = this.at(current);
+            if (character == '"') {
+                current = this.string(current);
+            } else {
+                if (character == '{' || character == '[') {
+                    depth = depth + 1;
+                } else if (character == '}' || character == ']') {
+                    depth = depth - 1;
+                }
+                current = current + 1;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Skip a string.
+     * @param position The index of the opening quote.
+     * @return The index after the closing quote.
+     */
+    private int string(final int position) {
+        int current = position + 1;
+        while (this.at(current) != '"') {
+            if (this.bytes[current] == '\\') {
+                current = current + 1;
+            }
+            current = current + 1;
+        }
+        return current + 1;
+    }
+
+    /**
+     * Skip a number, true, false, or null.
+     * @param position The index of the first character.
+     * @return The index after the last character.
+     */
+    private int scalar(final int position) {
+        int current = position;
+        while (current < this.end && this.bytes[current] != ','
+            && this.bytes[current] != ']' && this.bytes[current] != '}'
+            && !this.whitespace(current)) {
+            current = current + 1;
+        }
+        return current;
+    }
+
+    /**
+     * Check the character after a member or an element.
+     * @param position The index of the character.
+     * @param close The closing character of the object or the array.
+     * @return True if it's the closing character, false if it's a comma.
+     */
+    private boolean separator(final int position, final char close) {
+        final byte character = this.at(position);
+        if (character != ',' && character != close) {
+            throw new IllegalStateException(
+                String.format("Unexpected character in the JSON: %c", (char) character)
+            );
+        }
+        return character == close;
+    }
+
+    /**
+     * Make sure the character at the position is the expected one.
+     * @param position The index of the character.
+     * @param expected The expected character.
+     */
+    private void expect(final int position, final char expected) {
+        if (this.at(position) != expected) {
+            throw new IllegalStateException(
+                String.format(
+                    "Expected '%c' but got '%c' in the JSON.",
+                    expected,
+                    (char) this.bytes[position]
+                )
+            );
+        }
+    }
+
+    /**
+     * Skip the whitespaces.
+     * @param position The index to start from.
+     * @return The index of the next character that is not a whitespace.
+     */
+    private int blank(final int position) {
+        int current = position;
+        while (current < this.end && this.whitespace(current)) {
+            current = current + 1;
+        }
+        return current;
+    }
+
+    /**
+     * Check if the character is a whitespace in JSON.
+     * @param position The index of the character.
+     * @return True if it's a space, tab, line feed, or carriage return.
+     */
+    private boolean whitespace(final int position) {
+        final byte character = this.bytes[position];
+        return character == ' ' || character == '\t' || character == '\n' || character == '\r';
+    }
+
+    /**
+     * Return the byte at the position that must exist.
+     * @param position The index of the byte.
+     * @return The byte.
+     */
+    private byte at(final int position) {
+        if (position >= this.end) {
+            throw new IllegalStateException("The JSON ended unexpectedly.");
+        }
+        return this.bytes[position];
+    }
+
+}
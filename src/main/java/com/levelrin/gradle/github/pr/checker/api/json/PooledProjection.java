@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import com.jayway.jsonpath.JsonPath;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * It keeps only the specified fields of a pull request like {@link Projection}
+ * and lets the pull requests share the equal parts of them.
+ * The pull request keeps the parsed fields instead of the text,
+ * so the repeated objects and strings such as repositories, users, and URLs
+ * are stored only once in the list.
+ * The text is written again on {@link BaseJsonPull#toString()}.
+ * It's worth it when the fields have large objects.
+ * Otherwise, the parsed fields may take more memory than the text.
+ * It's for the lists of all pull requests.
+ * There is nothing to share while we look for a pull request by its head SHA
+ * because we drop each pull request that doesn't match right away.
+ */
+public final class PooledProjection implements Function<String, BaseJsonPull> {
+
+    /**
+     * It chooses the fields to keep.
+     */
+    private final Projection projection;
+
+    /**
+     * It returns the shared instance of the parsed JSON.
+     */
+    private final UnaryOperator<Object> pool;
+
+    /**
+     * Secondary constructor.
+     * @param projection See {@link PooledProjection#projection}.
+     */
+    public PooledProjection(final Projection projection) {
+        this(projection, new CanonicalPool());
+    }
+
+    /**
+     * Primary constructor.
+     * @param projection See {@link PooledProjection#projection}.
+     * @param pool See {@link PooledProjection#pool}.
+     */
+    public PooledProjection(final Projection projection, final UnaryOperator<Object> pool) {
+        this.projection = projection;
+        this.pool = pool;
+    }
+
+    /**
+     * Keep only the fields and share the equal parts with the other pull requests.
+     * The pull request itself is not shared because the number is unique.
+     * @param raw The JSON of a pull request.
+     * @return The pull request that has the fields only.
+     */
+    @Override
+    public BaseJsonPull apply(final String raw) {
+        final Map<String, Object> fields = this.projection.tree(raw);
+        final Map<Object, Object> result = new LinkedHashMap<>();
+        fields.forEach((name, value) -> result.put(this.pool.apply(name), this.pool.apply(value)));
+        return new BaseJsonPull(JsonPath.parse(result));
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * It keeps only the specified fields of a JSON object and drops the rest.
+ * The full JSON of a pull request is a few kilobytes because of the body, users, repositories,
+ * and links, while we only need a few fields to find the pull request.
+ * A field can be nested like 'head.sha'.
+ * The fields that don't exist or are null are left out.
+ * It always keeps 'number', 'head.sha', and 'base.sha' on top of the specified fields
+ * because we can't find or match a pull request without them.
+ */
+public final class Projection implements UnaryOperator<String> {
+
+    /**
+     * The fields we always keep.
+     */
+    private static final List<String> KEYS = List.of("number", "head.sha", "base.sha");
+
+    /**
+     * The fields to keep such as 'number' and 'head.sha'.
+     */
+    private final List<String> fields;
+
+    /**
+     * Secondary constructor.
+     * It keeps the fields we need to find a pull request by its head SHA only.
+     */
+    public Projection() {
+        this(List.of());
+    }
+
+    /**
+     * Primary constructor.
+     * @param fields The fields to keep in addition to {@link Projection#KEYS}.
+     */
+    public Projection(final List<String> fields) {
+        this.fields = Stream.concat(KEYS.stream(), fields.stream())
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Keep only the fields.
+     * @param raw The JSON object.
+     * @return The JSON object that has the fields only.
+     */
+    @Override
+    public String apply(final String raw) {
+        return JsonPath.parse(this.tree(raw)).jsonString();
+    }
+
+    /**
+     * Keep only the fields without writing them as text.
+     * @param raw The JSON object.
+     * @return The parsed JSON object that has the fields only.
+     */
+    public Map<String, Object> tree(final String raw) {
+        final DocumentContext json = JsonPath.parse(raw);
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (final String field : this.fields) {
+            this.value(json, field).ifPresent(value -> this.put(result, field.split("\\."), value));
+        }
+        return result;
+    }
+
+    /**
+     * Read the value of the field.
+     * @param json The JSON object.
+     * @param field The field such as 'head.sha'.
+     * @return Empty if the field doesn't exist.
+     */
+    private Optional<Object> value(final DocumentContext json, final String field) {
+        Optional<Object> result;
+        try {
+            result = Optional.ofNullable(json.read(String.format("$.%s", field)));
+        } catch (final PathNotFoundException exception) {
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Put the value at the path while creating the parent objects.
+     * @param json The JSON object we are building.
+     * @param names The names of the path such as ['head', 'sha'].
+     * @param value The value.
+     */
+    @SuppressWarnings("unchecked")
+    private void put(final Map<String, Object> json, final String[] names, final Object value) {
+        Map<String, Object> parent = json;
+        for (int index = 0; index < names.length - 1; index = index + 1) {
+            parent = (Map<String, Object>) parent.computeIfAbsent(
+                names[index],
+                name -> new LinkedHashMap<String, Object>()
+            );
+        }
+        parent.put(names[names.length - 1], value);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+/**
+ * It represents the JSON of a pull request as a slice of the response body.
+ * Unlike {@link BaseJsonPull}, it neither copies the JSON into a string nor parses it into a tree.
+ * It scans the bytes only for the fields we read.
+ * So, going through the pull requests of a page costs almost nothing but the page itself.
+ * The {@link SlicedJsonPull#toString()} returns the exact bytes of the pull request in the page.
+ */
+public final class SlicedJsonPull implements JsonPull {
+
+    /**
+     * The pull request in the page.
+     */
+    private final JsonView view;
+
+    /**
+     * Secondary constructor.
+     * @param raw The JSON of a pull request in UTF-8.
+     */
+    public SlicedJsonPull(final byte[] raw) {
+        this(new JsonView(raw));
+    }
+
+    /**
+     * Primary constructor.
+     * @param view See {@link SlicedJsonPull#view}.
+     */
+    public SlicedJsonPull(final JsonView view) {
+        this.view = view;
+    }
+
+    @Override
+    public int number() {
+        return this.field(this.view, "number").integer();
+    }
+
+    @Override
+    public JsonHead head() {
+        return new JsonHead(
+            () -> this.field(this.field(this.view, "head"), "sha").text()
+        );
+    }
+
+    @Override
+    public JsonBase base() {
+        return new JsonBase(
+            () -> this.field(this.field(this.view, "base"), "sha").text()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return this.view.toString();
+    }
+
+    /**
+     * Return the member that must exist.
+     * @param json The object.
+     * @param name The key of the member.
+     * @return The value of the member.
+     */
+    private JsonView field(final JsonView json, final String name) {
+        return json.member(name).orElseThrow(
+            () -> new IllegalStateException(
+                String.format("The pull request doesn't have '%s'.", name)
+            )
+        );
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * It reads the pull requests of a page one by one from the response body.
+ * It parses the body while reading it from the network.
+ * So, it holds only one pull request in memory at a time.
+ * It may keep only some fields of each pull request to save memory.
+ */
+public final class StreamedPulls implements Iterator<BaseJsonPull> {
+
+    /**
+     * The pull requests in JSON.
+     */
+    private final JsonElements elements;
+
+    /**
+     * It takes the JSON of a pull request and returns the pull request we keep.
+     */
+    private final Function<String, BaseJsonPull> projection;
+
+    /**
+     * Secondary constructor.
+     * It keeps the full JSON of each pull request.
+     * @param body The response body whose content is a JSON array of pull requests.
+     */
+    public StreamedPulls(final InputStream body) {
+        this(body, BaseJsonPull::new);
+    }
+
+    /**
+     * Primary constructor.
+     * @param body The response body whose content is a JSON array of pull requests.
+     * @param projection See {@link StreamedPulls#projection}.
+     */
+    public StreamedPulls(final InputStream body, final Function<String, BaseJsonPull> projection) {
+        this.elements = new JsonElements(body);
+        this.projection = projection;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.elements.hasNext();
+    }
+
+    @Override
+    public BaseJsonPull next() {
+        return this.projection.apply(this.elements.next());
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * It interrupts the thread that created it once the time runs out.
+ * It's for stopping a blocking call, such as {@link java.net.http.HttpClient#send},
+ * that doesn't take a timeout of its own.
+ * Closing it disarms the alarm.
+ * If the alarm has rung just before that, closing it clears the interrupt
+ * so that the thread doesn't get it later on something else.
+ */
+public final class Alarm implements AutoCloseable {
+
+    /**
+     * The thread we interrupt.
+     */
+    private final Thread owner;
+
+    /**
+     * It completes when the time runs out.
+     */
+    private final CompletableFuture<Void> timer;
+
+    /**
+     * We ring and disarm the alarm while holding it.
+     */
+    private final Object lock;
+
+    /**
+     * Whether the alarm has rung.
+     */
+    private boolean rung;
+
+    /**
+     * Whether the alarm is disarmed.
+     */
+    private boolean disarmed;
+
+    /**
+     * Constructor.
+     * It starts counting down right away.
+     * @param after How long the thread may take.
+     */
+    public Alarm(final Duration after) {
+        this.owner = Thread.currentThread();
+        this.lock = new Object();
+        this.timer = new CompletableFuture<Void>().completeOnTimeout(
+            null,
+            Math.max(0, after.toNanos()),
+            TimeUnit.NANOSECONDS
+        );
+        this.timer.thenRun(this::ring);
+    }
+
+    /**
+     * Check if the alarm has interrupted the thread.
+     * @return True if the time has run out.
+     */
+    public boolean rung() {
+        synchronized (this.lock) {
+            return this.rung;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.timer.cancel(false);
+        final boolean late;
+        synchronized (this.lock) {
+            this.disarmed = true;
+            late = this.rung;
+        }
+        if (late) {
+            // The caller has seen the alarm, or the call ended right before it.
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Interrupt the thread unless the alarm is disarmed.
+     */
+    private void ring() {
+        synchronized (this.lock) {
+            if (!this.disarmed) {
+                this.rung = true;
+                this.owner.interrupt();
+            }
+        }
+    }
+
+}
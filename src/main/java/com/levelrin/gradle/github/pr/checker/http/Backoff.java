@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * It decides how many times we try a request and how long we wait between the attempts.
+ * The wait grows exponentially and it's randomized (so-called full jitter)
+ * so that many builds don't hit the server at the same moment.
+ * https://aws.amazon.com/blogs/architecture/exponential-backoff-and-jitter/
+ */
+public final class Backoff {
+
+    /**
+     * The default wait before the second attempt.
+     */
+    private static final Duration BASE = Duration.ofMillis(500);
+
+    /**
+     * The default maximum wait.
+     */
+    private static final Duration CAP = Duration.ofSeconds(10);
+
+    /**
+     * The maximum number of attempts including the first one.
+     */
+    private final int attempts;
+
+    /**
+     * The wait before the second attempt without jitter.
+     */
+    private final Duration base;
+
+    /**
+     * The maximum wait.
+     */
+    private final Duration cap;
+
+    /**
+     * It returns a random number between 0 (inclusive) and 1 (exclusive).
+     */
+    private final DoubleSupplier random;
+
+    /**
+     * Secondary constructor.
+     * @param retries The number of retries after the first attempt.
+     */
+    public Backoff(final int retries) {
+        this(retries + 1, BASE, CAP, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Primary constructor.
+     * @param attempts See {@link Backoff#attempts}.
+     * @param base See {@link Backoff#base}.
+     * @param cap See {@link Backoff#cap}.
+     * @param random See {@link Backoff#random}.
+     */
+    public Backoff(final int attempts, final Duration base, final Duration cap, final DoubleSupplier random) {
+        this.attempts = attempts;
+        this.base = base;
+        this.cap = cap;
+        this.random = random;
+    }
+
+    /**
+     * Check if we can try again after the specified attempt.
+     * @param attempt The number of the failed attempt starting from 1.
+     * @return True if there is another attempt.
+     */
+    public boolean allows(final int attempt) {
+        return attempt < this.attempts;
+    }
+
+    /**
+     * Decide how long we wait after the specified attempt.
+     * @param attempt The number of the failed attempt starting from 1.
+     * @return A random duration between zero and min(cap, base * 2^(attempt - 1)).
+     */
+    public Duration delay(final int attempt) {
+        final long ceiling = Math.min(
+            this.cap.toMillis(),
+            this.base.toMillis() << Math.min(attempt - 1, Long.SIZE - 2)
+        );
+        return Duration.ofMillis((long) (ceiling * this.random.getAsDouble()));
+    }
+
+}
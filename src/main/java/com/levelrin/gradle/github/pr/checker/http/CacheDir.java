@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * It's the directory of the {@link CacheFile}s.
+ * The builds keep asking for new URIs, such as the commits of new pull requests,
+ * so the directory would grow forever if nothing deleted the entries.
+ * We delete the entries that nobody has used for a while.
+ * An entry is used when we store it or the server says '304 Not Modified' for it.
+ * Deleting the whole directory by hand is safe as well.
+ * We will send unconditional requests and fill it again.
+ */
+public final class CacheDir {
+
+    /**
+     * The location of the directory.
+     */
+    private final Path path;
+
+    /**
+     * How long an entry may stay unused before we delete it.
+     */
+    private final Duration unused;
+
+    /**
+     * Constructor.
+     * @param path See {@link CacheDir#path}.
+     * @param unused See {@link CacheDir#unused}.
+     */
+    public CacheDir(final Path path, final Duration unused) {
+        this.path = path;
+        this.unused = unused;
+    }
+
+    /**
+     * Delete the entries that haven't been used for a while.
+     * It also deletes the temporary files that a crashed build has left.
+     * Other builds may share the directory, so an entry may disappear while we look at it.
+     * @param now The current time.
+     * @throws IOException If it fails to list or delete the files.
+     */
+    public void evict(final Instant now) throws IOException {
+        if (Files.isDirectory(this.path)) {
+            final Instant before = now.minus(this.unused);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.path)) {
+                for (final Path file : files) {
+                    if (this.stale(file, before)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if the file hasn't been used since the time.
+     * @param file The file in the directory.
+     * @param before The time of the last use we keep.
+     * @return False if it's not a file or it doesn't exist anymore.
+     * @throws IOException If it fails to read the last modified time.
+     */
+    private boolean stale(final Path file, final Instant before) throws IOException {
+        boolean result;
+        try {
+            result = Files.isRegularFile(file)
+                && Files.getLastModifiedTime(file).toInstant().isBefore(before);
+        } catch (final NoSuchFileException exception) {
+            // Another build has deleted it already.
+            result = false;
+        }
+        return result;
+    }
+
+}
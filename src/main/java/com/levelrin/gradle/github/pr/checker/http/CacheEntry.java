@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpHeaders;
+
+/**
+ * It's a response we stored.
+ * It contains the headers and the raw body bytes.
+ */
+public final class CacheEntry {
+
+    /**
+     * Response headers.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Raw response body.
+     * It's not decoded, so it may be compressed if the server compressed it.
+     */
+    private final byte[] body;
+
+    /**
+     * Constructor.
+     * @param headers See {@link CacheEntry#headers}.
+     * @param body See {@link CacheEntry#body}.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public CacheEntry(final HttpHeaders headers, final byte[] body) {
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Return the headers.
+     * @return Response headers.
+     */
+    public HttpHeaders headers() {
+        return this.headers;
+    }
+
+    /**
+     * Return the raw body.
+     * @return Response body.
+     */
+    public byte[] body() {
+        return this.body.clone();
+    }
+
+}
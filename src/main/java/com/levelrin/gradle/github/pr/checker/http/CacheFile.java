@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpHeaders;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * It's a file that stores a {@link CacheEntry}.
+ * The file format is like this:
+ * [number of header values]([name][value])*[body length][body].
+ * The numbers are written by {@link DataOutputStream#writeInt(int)}
+ * and the strings are written by {@link DataOutputStream#writeUTF(String)}.
+ */
+public final class CacheFile {
+
+    /**
+     * The location of the file.
+     */
+    private final Path path;
+
+    /**
+     * Constructor.
+     * @param path See {@link CacheFile#path}.
+     */
+    public CacheFile(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Read the entry from the file.
+     * @return Empty if the file doesn't exist or it's broken.
+     */
+    public Optional<CacheEntry> entry() {
+        Optional<CacheEntry> result = Optional.empty();
+        if (Files.isRegularFile(this.path)) {
+            try (InputStream stream = Files.newInputStream(this.path);
+                DataInputStream input = new DataInputStream(stream)) {
+                final Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                final int count = input.readInt();
+                for (int index = 0; index < count; index = index + 1) {
+                    final String name = input.readUTF();
+                    map.computeIfAbsent(name, key -> new ArrayList<>(1)).add(input.readUTF());
+                }
+                final byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                result = Optional.of(
+                    new CacheEntry(HttpHeaders.of(map, (name, value) -> true), bytes)
+                );
+            } catch (final IOException exception) {
+                // A broken entry is the same as no entry.
+                // We will overwrite it with a fresh one.
+                result = Optional.empty();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mark the entry as used so that {@link CacheDir#evict(Instant)} keeps it.
+     * @param now The current time.
+     * @throws IOException If it fails to update the last modified time.
+     */
+    public void touch(final Instant now) throws IOException {
+        Files.setLastModifiedTime(this.path, FileTime.from(now));
+    }
+
+    /**
+     * Write the entry to the file.
+     * It writes to a temporary file first and moves it,
+     * so concurrent readers never see a half-written entry.
+     * @param entry The entry to store.
+     * @throws IOException If it fails to write.
+     */
+    public void save(final CacheEntry entry) throws IOException {
+        final Path dir = this.path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        final Path temp = Files.createTempFile(dir, this.path.getFileName().toString(), ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp);
+            DataOutputStream output = new DataOutputStream(stream)) {
+            final Map<String, List<String>> map = entry.headers().map();
+            output.writeInt(map.values().stream().mapToInt(List::size).sum());
+            for (final Map.Entry<String, List<String>> header : map.entrySet()) {
+                for (final String value : header.getValue()) {
+                    output.writeUTF(header.getKey());
+                    output.writeUTF(value);
+                }
+            }
+            final byte[] body = entry.body();
+            output.writeInt(body.length);
+            output.write(body);
+        }
+        Files.move(
+            temp,
+            this.path,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+
+}
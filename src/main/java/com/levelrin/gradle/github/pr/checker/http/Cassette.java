@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpHeaders;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.gradle.api.logging.Logging;
+
+/**
+ * It's a file that stores the {@link Recording}s of a build.
+ * The file is a sequence of recordings like this:
+ * ([key][status][number of header values]([name][value])*[body length][body])*.
+ * The numbers are written by {@link DataOutputStream#writeInt(int)}
+ * and the strings are written by {@link DataOutputStream#writeUTF(String)}.
+ * The bodies are stored as they came over the wire, which are usually compressed.
+ * We append each recording as soon as we get it.
+ * The first recording of the instance replaces the old file,
+ * so the file has the recordings of one build only.
+ * Thus, the build must have only one instance per file.
+ * The plugin gets it from {@link HttpClientService#cassette(Path)}.
+ * If the same request is recorded twice, the later one wins.
+ * It's thread-safe.
+ */
+public final class Cassette {
+
+    /**
+     * The location of the file.
+     */
+    private final Path path;
+
+    /**
+     * The recordings we have read from the file or recorded, by their keys.
+     */
+    private final Map<String, Recording> recordings;
+
+    /**
+     * Whether we have read the file into {@link Cassette#recordings}.
+     */
+    private boolean loaded;
+
+    /**
+     * Whether we have replaced the old file.
+     */
+    private boolean erased;
+
+    /**
+     * Constructor.
+     * @param path See {@link Cassette#path}.
+     */
+    public Cassette(final Path path) {
+        this.path = path;
+        this.recordings = new HashMap<>();
+    }
+
+    /**
+     * Find the recording of the request.
+     * @param key See {@link RequestKey}.
+     * @return Empty if we haven't recorded the request.
+     * @throws IOException If it fails to read the file.
+     */
+    public synchronized Optional<Recording> recording(final String key) throws IOException {
+        if (!this.loaded) {
+            this.load();
+        }
+        return Optional.ofNullable(this.recordings.get(key));
+    }
+
+    /**
+     * Append the recording to the file.
+     * @param recording The recording to store.
+     * @throws IOException If it fails to write.
+     */
+    public synchronized void record(final Recording recording) throws IOException {
+        final OpenOption mode;
+        if (this.erased) {
+            mode = StandardOpenOption.APPEND;
+        } else {
+            Files.createDirectories(this.path.toAbsolutePath().getParent());
+            mode = StandardOpenOption.TRUNCATE_EXISTING;
+            this.recordings.clear();
+            this.loaded = true;
+            this.erased = true;
+        }
+        try (OutputStream stream = Files.newOutputStream(
+            this.path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            mode
+        );
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+            output.writeUTF(recording.key());
+            output.writeInt(recording.status());
+            final Map<String, List<String>> map = recording.headers().map();
+            output.writeInt(map.values().stream().mapToInt(List::size).sum());
+            for (final Map.Entry<String, List<String>> header : map.entrySet()) {
+                for (final String value : header.getValue()) {
+                    output.writeUTF(header.getKey());
+                    output.writeUTF(value);
+                }
+            }
+            final byte[] body = recording.body();
+            output.writeInt(body.length);
+            output.write(body);
+        }
+        this.recordings.put(recording.key(), recording);
+    }
+
+    /**
+     * Read all recordings from the file.
+     * A half-written recording at the end is ignored.
+     * @throws IOException If it fails to read the file.
+     */
+    private void load() throws IOException {
+        if (Files.isRegularFile(this.path)) {
+            try (InputStream stream = Files.newInputStream(this.path);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+                while (input.available() > 0) {
+                    final Recording recording = this.read(input);
+                    this.recordings.put(recording.key(), recording);
+                }
+            } catch (final EOFException exception) {
+                // The build was interrupted while recording.
+                Logging.getLogger(Cassette.class).warn(
+                    "The cassette {} ends with a half-written recording. We ignore it.",
+                    this.path
+                );
+            }
+        }
+        this.loaded = true;
+    }
+
+    /**
+     * Read the next recording.
+     * @param input The file.
+     * @return The recording.
+     * @throws IOException If it fails to read.
+     */
+    private Recording read(final DataInputStream input) throws IOException {
+        final String key = input.readUTF();
+        final int status = input.readInt();
+        final Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final int count = input.readInt();
+        for (int index = 0; index < count; index = index + 1) {
+            final String name = input.readUTF();
+            map.computeIfAbsent(name, absent -> new ArrayList<>(1)).add(input.readUTF());
+        }
+        final byte[] body = new byte[input.readInt()];
+        input.readFully(body);
+        return new Recording(key, status, HttpHeaders.of(map, (name, value) -> true), body);
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * It's the time budget of a task that all of its requests share.
+ * The clock starts with the first request.
+ * A request may not take longer than the per-request timeout.
+ * If we know how many pages are left, it may not take longer than its share
+ * of the remaining budget either, so that a slow page doesn't eat the budget of the others.
+ * It remembers how long each request took so that we can tell where the time went.
+ * It's thread-safe.
+ */
+public final class Deadline {
+
+    /**
+     * It means there is no budget for the whole task.
+     */
+    private static final Duration UNLIMITED = Duration.ofNanos(Long.MAX_VALUE);
+
+    /**
+     * The maximum time of a request.
+     */
+    private final Duration request;
+
+    /**
+     * The maximum time of all requests together.
+     */
+    private final Duration budget;
+
+    /**
+     * It tells the current time.
+     */
+    private final Clock clock;
+
+    /**
+     * The time of the first request.
+     */
+    private final AtomicReference<Instant> start;
+
+    /**
+     * The number of pages left in the current listing.
+     * It's 0 if we don't know.
+     */
+    private final AtomicInteger pages;
+
+    /**
+     * Something like 'GET /repos/owner/repo/pulls?page=1: 812 ms'.
+     */
+    private final Queue<String> phases;
+
+    /**
+     * Secondary constructor.
+     * There is no budget for the whole task.
+     * @param request See {@link Deadline#request}.
+     */
+    public Deadline(final Duration request) {
+        this(request, UNLIMITED);
+    }
+
+    /**
+     * Secondary constructor.
+     * @param request See {@link Deadline#request}.
+     * @param budget See {@link Deadline#budget}.
+     */
+    public Deadline(final Duration request, final Duration budget) {
+        this(request, budget, Clock.systemUTC());
+    }
+
+    /**
+     * Primary constructor.
+     * @param request See {@link Deadline#request}.
+     * @param budget See {@link Deadline#budget}.
+     * @param clock See {@link Deadline#clock}.
+     */
+    public Deadline(final Duration request, final Duration budget, final Clock clock) {
+        this.request = request;
+        this.budget = budget;
+        this.clock = clock;
+        this.start = new AtomicReference<>();
+        this.pages = new AtomicInteger();
+        this.phases = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Return the current time.
+     * The first call starts the clock.
+     * @return The current time.
+     */
+    public Instant now() {
+        final Instant result = this.clock.instant();
+        this.start.compareAndSet(null, result);
+        return result;
+    }
+
+    /**
+     * Calculate how much of the budget is left.
+     * @return It may be negative if the budget has run out.
+     */
+    public Duration remaining() {
+        final Instant now = this.now();
+        return this.budget.minus(Duration.between(this.start.get(), now));
+    }
+
+    /**
+     * Decide the timeout of the next request.
+     * @param parallel The number of other requests in flight.
+     * @return The per-request timeout or the share of the remaining budget, whichever is shorter.
+     * @throws HttpTimeoutException If the budget has run out.
+     */
+    public Duration timeout(final int parallel) throws HttpTimeoutException {
+        final Duration left = this.remaining();
+        if (left.isNegative() || left.isZero()) {
+            throw this.expired();
+        }
+        Duration share = left;
+        final int outstanding = this.pages.get();
+        if (outstanding > 1) {
+            // The requests in flight use the budget at the same time.
+            share = left.dividedBy(outstanding).multipliedBy(Math.min(parallel + 1, outstanding));
+        }
+        Duration result = this.request;
+        if (share.compareTo(result) < 0) {
+            result = share;
+        }
+        return result;
+    }
+
+    /**
+     * Tell how many pages are left in the listing we are going through.
+     * @param left The number of pages after the one we have just received.
+     */
+    public void pages(final int left) {
+        this.pages.set(Math.max(0, left));
+    }
+
+    /**
+     * Remember how long a request took.
+     * @param phase Something like 'GET /repos/owner/repo/pulls?page=1'.
+     * @param since When the request started.
+     * @param outcome Something like 'ok' or 'timed out'.
+     */
+    public void spent(final String phase, final Instant since, final String outcome) {
+        this.phases.add(
+            String.format(
+                "%s: %d ms (%s)",
+                phase,
+                Duration.between(since, this.clock.instant()).toMillis(),
+                outcome
+            )
+        );
+    }
+
+    /**
+     * Create the exception that tells the budget has run out.
+     * @return The exception with the time spent on each request.
+     */
+    public HttpTimeoutException expired() {
+        return this.exceeded(String.format("The deadline of %s has passed.", this.budget));
+    }
+
+    /**
+     * Create the exception that tells a request took too long.
+     * @param reason Which time limit was exceeded.
+     * @return The exception with the time spent on each request.
+     */
+    public HttpTimeoutException exceeded(final String reason) {
+        return new HttpTimeoutException(
+            String.format("%s Time spent on each request:%n%s", reason, this)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.join(System.lineSeparator(), this.phases);
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A decorator of {@link HttpClient} that keeps the requests within the {@link Deadline}.
+ * It sets the timeout of each request, and it fails the request as soon as the budget runs out
+ * even if the decorators below are waiting for a retry or the rate limit.
+ * The budget also covers the body, which may be read as a stream after the response is returned.
+ * All paginated listings go through it, so it reads the 'Link' header of each page
+ * to tell the deadline how many pages are left.
+ * The exception tells how long each request took.
+ * The blocking {@link DeadlineHttpClient#send} stays on the caller's thread
+ * and interrupts it with an {@link Alarm} once the budget runs out.
+ */
+public final class DeadlineHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The budget of the requests.
+     */
+    private final Deadline deadline;
+
+    /**
+     * The number of requests in flight.
+     */
+    private final AtomicInteger inFlight;
+
+    /**
+     * Constructor.
+     * @param origin The client we decorate.
+     * @param deadline See {@link DeadlineHttpClient#deadline}.
+     */
+    public DeadlineHttpClient(final HttpClient origin, final Deadline deadline) {
+        super(origin);
+        this.deadline = deadline;
+        this.inFlight = new AtomicInteger();
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        final Duration timeout = this.deadline.timeout(this.inFlight.get());
+        final String phase = this.phase(request);
+        final Instant since = this.deadline.now();
+        this.inFlight.incrementAndGet();
+        try (Alarm alarm = new Alarm(this.deadline.remaining())) {
+            final HttpResponse<T> result;
+            try {
+                result = super.send(
+                    new RequestCopy(request).builder().timeout(timeout).build(),
+                    this.handler(handler, phase, since)
+                );
+            } catch (final InterruptedException | IOException exception) {
+                if (alarm.rung()) {
+                    // The budget ran out while the decorators below were blocking.
+                    this.deadline.spent(phase, since, "unfinished");
+                    throw this.deadline.expired();
+                }
+                if (exception instanceof HttpTimeoutException) {
+                    this.deadline.spent(phase, since, "timed out");
+                    throw this.deadline.exceeded(
+                        String.format("%s didn't respond within %s.", phase, timeout)
+                    );
+                }
+                this.deadline.spent(phase, since, exception.getClass().getSimpleName());
+                throw exception;
+            }
+            if (alarm.rung()) {
+                // Someone below swallowed the interrupt, but the budget is gone anyway.
+                this.discard(result);
+                this.deadline.spent(phase, since, "unfinished");
+                throw this.deadline.expired();
+            }
+            this.deadline.spent(phase, since, String.valueOf(result.statusCode()));
+            this.paginated(request, result.headers());
+            return result;
+        } finally {
+            this.inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> result;
+        try {
+            final Duration timeout = this.deadline.timeout(this.inFlight.get());
+            final Duration left = this.deadline.remaining();
+            final String phase = this.phase(request);
+            final Instant since = this.deadline.now();
+            this.inFlight.incrementAndGet();
+            final CompletableFuture<HttpResponse<T>> source = super.sendAsync(
+                new RequestCopy(request).builder().timeout(timeout).build(),
+                this.handler(handler, phase, since)
+            );
+            result = this.linked(
+                source,
+                source.copy()
+                    .orTimeout(left.toNanos(), TimeUnit.NANOSECONDS)
+                    .handle((response, error) -> {
+                        this.inFlight.decrementAndGet();
+                        if (error != null) {
+                            final Throwable cause = this.unwrapped(error);
+                            final Throwable thrown;
+                            if (cause instanceof TimeoutException) {
+                                source.cancel(true);
+                                this.deadline.spent(phase, since, "unfinished");
+                                thrown = this.deadline.expired();
+                            } else if (cause instanceof HttpTimeoutException) {
+                                this.deadline.spent(phase, since, "timed out");
+                                thrown = this.deadline.exceeded(
+                                    String.format("%s didn't respond within %s.", phase, timeout)
+                                );
+                            } else {
+                                this.deadline.spent(phase, since, cause.getClass().getSimpleName());
+                                thrown = cause;
+                            }
+                            throw new CompletionException(thrown);
+                        }
+                        this.deadline.spent(phase, since, String.valueOf(response.statusCode()));
+                        this.paginated(request, response.headers());
+                        return response;
+                    })
+            );
+        } catch (final HttpTimeoutException exception) {
+            result = CompletableFuture.failedFuture(exception);
+        }
+        return result;
+    }
+
+    /**
+     * Wrap the body handler so that the body fails once the budget runs out.
+     * @param handler The original body handler.
+     * @param phase Something like 'GET /repos/owner/repo/pulls?page=1'.
+     * @param since When the request started.
+     * @param <T> The type of the body.
+     * @return The body handler.
+     */
+    private <T> HttpResponse.BodyHandler<T> handler(final HttpResponse.BodyHandler<T> handler, final String phase, final Instant since) {
+        return info -> new DeadlineSubscriber<>(
+            handler.apply(info),
+            this.deadline.remaining(),
+            () -> {
+                this.deadline.spent(phase, since, "body unfinished");
+                return this.deadline.expired();
+            }
+        );
+    }
+
+    /**
+     * Tell the deadline how many pages are left if the response is a page of a listing.
+     * @param request The request of the page.
+     * @param headers The headers of the response.
+     */
+    private void paginated(final HttpRequest request, final HttpHeaders headers) {
+        final LinkHeader link = new LinkHeader(headers);
+        if (link.exists()) {
+            final OptionalInt last = link.last();
+            final OptionalInt current = new PageNumber(request.uri()).value();
+            if (last.isPresent() && current.isPresent()) {
+                this.deadline.pages(last.getAsInt() - current.getAsInt());
+            } else {
+                // We have received the last page.
+                this.deadline.pages(0);
+            }
+        }
+    }
+
+    /**
+     * Name the request in the time report.
+     * @param request The request.
+     * @return Something like 'GET /repos/owner/repo/pulls?page=1'.
+     */
+    private String phase(final HttpRequest request) {
+        return String.format("%s %s", request.method(), this.path(request));
+    }
+
+    /**
+     * Describe the request without the scheme and host.
+     * @param request The request.
+     * @return Something like '/repos/owner/repo/pulls?per_page=100&amp;page=1'.
+     */
+    private String path(final HttpRequest request) {
+        final StringBuilder result = new StringBuilder(request.uri().getRawPath());
+        if (request.uri().getRawQuery() != null) {
+            result.append('?').append(request.uri().getRawQuery());
+        }
+        return result.toString();
+    }
+
+    /**
+     * Remove the wrappers of {@link CompletableFuture}.
+     * @param error The error from the future.
+     * @return The actual error.
+     */
+    private Throwable unwrapped(final Throwable error) {
+        Throwable result = error;
+        while (result instanceof CompletionException && result.getCause() != null) {
+            result = result.getCause();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * It fails the body if it doesn't arrive in time.
+ * The timeout of the request only covers the time until the headers arrive.
+ * However, we read some bodies as a stream after the response is returned,
+ * and a body may stall in the middle of the transfer.
+ * Once the time runs out, it cancels the subscription and passes the error to the origin.
+ * For example, the reader of {@link HttpResponse.BodySubscribers#ofInputStream()}
+ * gets an {@link java.io.IOException} instead of waiting forever.
+ * @param <T> The type of the body.
+ */
+public final class DeadlineSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    /**
+     * The subscriber we decorate.
+     */
+    private final HttpResponse.BodySubscriber<T> origin;
+
+    /**
+     * It completes when the body is over, or it fails when the time runs out.
+     */
+    private final CompletableFuture<Void> finished;
+
+    /**
+     * It creates the error we pass to the origin when the time runs out.
+     */
+    private final Supplier<? extends Throwable> expired;
+
+    /**
+     * We pass the signals to the origin one at a time while holding it.
+     */
+    private final Object lock;
+
+    /**
+     * The subscription of the body. It's null until the body starts.
+     */
+    private Flow.Subscription subscription;
+
+    /**
+     * Whether we have passed the end of the body or an error to the origin.
+     */
+    private boolean over;
+
+    /**
+     * Secondary constructor.
+     * @param origin See {@link DeadlineSubscriber#origin}.
+     * @param left The time left for the body.
+     * @param expired See {@link DeadlineSubscriber#expired}.
+     */
+    public DeadlineSubscriber(final HttpResponse.BodySubscriber<T> origin, final Duration left, final Supplier<? extends Throwable> expired) {
+        this(
+            origin,
+            new CompletableFuture<Void>().orTimeout(left.toNanos(), TimeUnit.NANOSECONDS),
+            expired
+        );
+    }
+
+    /**
+     * Primary constructor.
+     * @param origin See {@link DeadlineSubscriber#origin}.
+     * @param finished See {@link DeadlineSubscriber#finished}.
+     * @param expired See {@link DeadlineSubscriber#expired}.
+     */
+    public DeadlineSubscriber(final HttpResponse.BodySubscriber<T> origin, final CompletableFuture<Void> finished, final Supplier<? extends Throwable> expired) {
+        this.origin = origin;
+        this.finished = finished;
+        this.expired = expired;
+        this.lock = new Object();
+        this.finished.whenComplete((nothing, error) -> {
+            if (error != null) {
+                this.expire();
+            }
+        });
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.origin.getBody();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        synchronized (this.lock) {
+            this.subscription = subscription;
+            this.origin.onSubscribe(subscription);
+        }
+        // The time may have run out before the body started.
+        if (this.finished.isCompletedExceptionally()) {
+            this.expire();
+        }
+    }
+
+    @Override
+    public void onNext(final List<ByteBuffer> item) {
+        synchronized (this.lock) {
+            if (!this.over) {
+                this.origin.onNext(item);
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        synchronized (this.lock) {
+            if (!this.over) {
+                this.over = true;
+                this.origin.onError(throwable);
+            }
+        }
+        this.finished.complete(null);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this.lock) {
+            if (!this.over) {
+                this.over = true;
+                this.origin.onComplete();
+            }
+        }
+        this.finished.complete(null);
+    }
+
+    /**
+     * Stop the body because the time has run out.
+     * It does nothing if the body hasn't started or is already over.
+     */
+    private void expire() {
+        synchronized (this.lock) {
+            if (this.subscription != null && !this.over) {
+                this.over = true;
+                this.subscription.cancel();
+                this.origin.onError(this.expired.get());
+            }
+        }
+    }
+
+}
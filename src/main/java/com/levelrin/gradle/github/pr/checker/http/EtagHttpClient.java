@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.gradle.api.logging.Logging;
+
+/**
+ * It's a decorator of {@link HttpClient} that caches GET responses on the disk.
+ * It stores each response body together with its 'ETag' and 'Last-Modified'.
+ * Next time, it sends a conditional request with 'If-None-Match' and 'If-Modified-Since'.
+ * If the server says '304 Not Modified', it returns the stored body as a '200 OK' response.
+ * GitHub doesn't count such responses against the rate limit.
+ * https://docs.github.com/en/rest/overview/resources-in-the-rest-api#conditional-requests
+ * The entries are keyed by the hash of the URI and the 'Authorization' header,
+ * so different tokens never share an entry and the token is not stored.
+ * The first time it stores an entry, it deletes the entries unused for {@link #UNUSED}
+ * so that the directory doesn't grow forever.
+ */
+public final class EtagHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The status code of '200 OK'.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The status code of '304 Not Modified'.
+     */
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * The name of the header that contains the entity tag.
+     */
+    private static final String ETAG = "ETag";
+
+    /**
+     * The name of the header that contains the last modified time.
+     */
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    /**
+     * How long an entry may stay unused before we delete it.
+     */
+    private static final Duration UNUSED = Duration.ofDays(30);
+
+    /**
+     * The directory that contains the cache entries.
+     */
+    private final Path dir;
+
+    /**
+     * Whether we have deleted the unused entries.
+     * We do it once per client because it lists the whole directory.
+     */
+    private final AtomicBoolean evicted;
+
+    /**
+     * Constructor.
+     * @param origin The client we decorate.
+     * @param dir See {@link EtagHttpClient#dir}.
+     */
+    public EtagHttpClient(final HttpClient origin, final Path dir) {
+        super(origin);
+        this.dir = dir;
+        this.evicted = new AtomicBoolean();
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        final HttpResponse<T> result;
+        if ("GET".equals(request.method())) {
+            final CacheFile file = this.file(request);
+            final Optional<CacheEntry> entry = file.entry();
+            result = this.revised(
+                super.send(this.conditional(request, entry), this.handler(file, entry, handler)),
+                entry
+            );
+        } else {
+            result = super.send(request, handler);
+        }
+        return result;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final CompletableFuture<HttpResponse<T>> result;
+        if ("GET".equals(request.method())) {
+            final CacheFile file = this.file(request);
+            final Optional<CacheEntry> entry = file.entry();
+            final CompletableFuture<HttpResponse<T>> source = super.sendAsync(
+                this.conditional(request, entry),
+                this.handler(file, entry, handler)
+            );
+            result = this.linked(
+                source,
+                source.thenApply(response -> this.revised(response, entry))
+            );
+        } else {
+            result = super.sendAsync(request, handler);
+        }
+        return result;
+    }
+
+    /**
+     * Find the cache file of the request.
+     * @param request The request.
+     * @return The cache file that may not exist yet.
+     */
+    private CacheFile file(final HttpRequest request) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available.", exception);
+        }
+        digest.update(request.uri().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(
+            request.headers()
+                .firstValue("Authorization")
+                .orElse("")
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        return new CacheFile(
+            this.dir.resolve(
+                String.format("%064x", new BigInteger(1, digest.digest()))
+            )
+        );
+    }
+
+    /**
+     * Add the conditional headers to the request if we have the entry.
+     * @param request The original request.
+     * @param entry The stored response.
+     * @return The conditional request.
+     */
+    private HttpRequest conditional(final HttpRequest request, final Optional<CacheEntry> entry) {
+        HttpRequest result = request;
+        if (entry.isPresent()) {
+            final HttpHeaders stored = entry.get().headers();
+            final HttpRequest.Builder builder = new RequestCopy(request).builder();
+            stored.firstValue(ETAG).ifPresent(value -> builder.header("If-None-Match", value));
+            stored.firstValue(LAST_MODIFIED).ifPresent(
+                value -> builder.header("If-Modified-Since", value)
+            );
+            result = builder.build();
+        }
+        return result;
+    }
+
+    /**
+     * Decorate the body handler.
+     * If the server says '304 Not Modified', the origin will receive the stored body.
+     * If the server gives us a new body with validators, we will store it.
+     * @param file The cache file.
+     * @param entry The stored response.
+     * @param origin The original body handler.
+     * @param <T> The type of the body.
+     * @return The decorated body handler.
+     */
+    private <T> HttpResponse.BodyHandler<T> handler(final CacheFile file, final Optional<CacheEntry> entry, final HttpResponse.BodyHandler<T> origin) {
+        return info -> {
+            final HttpResponse.BodySubscriber<T> result;
+            if (info.statusCode() == NOT_MODIFIED && entry.isPresent()) {
+                this.touched(file);
+                final HttpHeaders merged = this.merged(entry.get(), info.headers());
+                result = new ReplayedSubscriber<>(
+                    origin.apply(
+                        new HttpResponse.ResponseInfo() {
+                            @Override
+                            public int statusCode() {
+                                return OK;
+                            }
+
+                            @Override
+                            public HttpHeaders headers() {
+                                return merged;
+                            }
+
+                            @Override
+                            public HttpClient.Version version() {
+                                return info.version();
+                            }
+                        }
+                    ),
+                    entry.get().body()
+                );
+            } else if (info.statusCode() == OK
+                && (info.headers().firstValue(ETAG).isPresent()
+                || info.headers().firstValue(LAST_MODIFIED).isPresent())) {
+                result = new TeeSubscriber<>(
+                    origin.apply(info),
+                    bytes -> {
+                        try {
+                            file.save(new CacheEntry(info.headers(), bytes));
+                        } catch (final IOException exception) {
+                            // The cache is only an optimization.
+                            // We don't want to fail the request because of it.
+                            Logging.getLogger(EtagHttpClient.class).warn(
+                                "Failed to store the response in the cache.",
+                                exception
+                            );
+                        }
+                        this.evict();
+                    }
+                );
+            } else {
+                result = origin.apply(info);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Mark the entry as used so that the eviction keeps it.
+     * @param file The cache file the server says is still fresh.
+     */
+    private void touched(final CacheFile file) {
+        try {
+            file.touch(Instant.now());
+        } catch (final IOException exception) {
+            // The worst case is that we store the entry again after the eviction.
+            Logging.getLogger(EtagHttpClient.class).debug(
+                "Failed to mark the cache entry as used.",
+                exception
+            );
+        }
+    }
+
+    /**
+     * Delete the unused entries unless we have done it already.
+     */
+    private void evict() {
+        if (!this.evicted.getAndSet(true)) {
+            try {
+                new CacheDir(this.dir, UNUSED).evict(Instant.now());
+            } catch (final IOException exception) {
+                // We will try again in the next build.
+                Logging.getLogger(EtagHttpClient.class).warn(
+                    "Failed to delete the unused entries of the cache.",
+                    exception
+                );
+            }
+        }
+    }
+
+    /**
+     * Present the '304 Not Modified' response as the stored '200 OK' response.
+     * @param response The response from the server.
+     * @param entry The stored response.
+     * @param <T> The type of the body.
+     * @return The revised response if it was '304 Not Modified'.
+     */
+    private <T> HttpResponse<T> revised(final HttpResponse<T> response, final Optional<CacheEntry> entry) {
+        HttpResponse<T> result = response;
+        if (response.statusCode() == NOT_MODIFIED && entry.isPresent()) {
+            result = new RevisedResponse<>(
+                response,
+                OK,
+                this.merged(entry.get(), response.headers())
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Update the stored headers with the headers of the '304 Not Modified' response.
+     * The '304 Not Modified' response doesn't have the headers about the body.
+     * So, we keep them from the stored one.
+     * @param entry The stored response.
+     * @param fresh The headers of the '304 Not Modified' response.
+     * @return Merged headers.
+     */
+    private HttpHeaders merged(final CacheEntry entry, final HttpHeaders fresh) {
+        final Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        map.putAll(entry.headers().map());
+        fresh.map().forEach((name, values) -> {
+            if (!"Content-Length".equalsIgnoreCase(name)) {
+                map.put(name, values);
+            }
+        });
+        return HttpHeaders.of(map, (name, value) -> true);
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * The measurements of a request and its response.
+ * The durations start when the request is handed to the network.
+ * Note that the JDK client doesn't tell us how long the DNS lookup and connection took.
+ * They are part of the time to the first byte if the request opened a new connection.
+ */
+public final class Exchange {
+
+    /**
+     * Something like 'GET /repos/levelrin/test/pulls?page=2'.
+     */
+    private final String request;
+
+    /**
+     * The page number of the list. It's empty if the request is not about a page.
+     */
+    private final OptionalInt page;
+
+    /**
+     * HTTP status code.
+     */
+    private final int status;
+
+    /**
+     * The time until we received the status line and the headers.
+     */
+    private final Duration first;
+
+    /**
+     * The time it took to receive the body after the headers.
+     */
+    private final Duration transfer;
+
+    /**
+     * The number of body bytes we received over the wire.
+     */
+    private final long bytes;
+
+    /**
+     * The remaining quota of the rate limit after this request.
+     * It's empty if the server doesn't tell us.
+     */
+    private final OptionalLong remaining;
+
+    /**
+     * Constructor.
+     * @param request See {@link Exchange#request}.
+     * @param page See {@link Exchange#page}.
+     * @param status See {@link Exchange#status}.
+     * @param first See {@link Exchange#first}.
+     * @param transfer See {@link Exchange#transfer}.
+     * @param bytes See {@link Exchange#bytes}.
+     * @param remaining See {@link Exchange#remaining}.
+     */
+    public Exchange(final String request, final OptionalInt page, final int status, final Duration first, final Duration transfer, final long bytes, final OptionalLong remaining) {
+        this.request = request;
+        this.page = page;
+        this.status = status;
+        this.first = first;
+        this.transfer = transfer;
+        this.bytes = bytes;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Return HTTP status code.
+     * @return Status code.
+     */
+    public int status() {
+        return this.status;
+    }
+
+    /**
+     * Return the time until we received the headers.
+     * @return Time to the first byte.
+     */
+    public Duration first() {
+        return this.first;
+    }
+
+    /**
+     * Return the time it took to receive the body.
+     * @return Body transfer time.
+     */
+    public Duration transfer() {
+        return this.transfer;
+    }
+
+    /**
+     * Return the number of body bytes over the wire.
+     * @return The number of bytes.
+     */
+    public long bytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Return the remaining quota of the rate limit.
+     * @return Empty if the server doesn't tell us.
+     */
+    public OptionalLong remaining() {
+        return this.remaining;
+    }
+
+    /**
+     * Convert it to a map, which becomes a JSON object.
+     * The absent values are null.
+     * @return The map.
+     */
+    public Map<String, Object> map() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("request", this.request);
+        result.put("page", null);
+        this.page.ifPresent(number -> result.put("page", number));
+        result.put("status", this.status);
+        result.put("firstByteMicros", this.first.toNanos() / Histogram.NANOS);
+        result.put("transferMicros", this.transfer.toNanos() / Histogram.NANOS);
+        result.put("bytes", this.bytes);
+        result.put("rateLimitRemaining", null);
+        this.remaining.ifPresent(quota -> result.put("rateLimitRemaining", quota));
+        return result;
+    }
+
+}
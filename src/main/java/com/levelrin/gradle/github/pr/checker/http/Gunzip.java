@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * It decompresses a gzip body chunk by chunk as the chunks arrive.
+ * Unlike {@link java.util.zip.GZIPInputStream}, it never blocks waiting for more bytes,
+ * so we can use it inside a {@link java.net.http.HttpResponse.BodySubscriber}.
+ * It supports a single gzip member, which is what the servers send.
+ * https://www.rfc-editor.org/rfc/rfc1952
+ */
+final class Gunzip implements AutoCloseable {
+
+    /**
+     * The first byte of the gzip magic number.
+     */
+    private static final int ID1 = 0x1f;
+
+    /**
+     * The second byte of the gzip magic number.
+     */
+    private static final int ID2 = 0x8b;
+
+    /**
+     * The compression method of deflate.
+     */
+    private static final int DEFLATE = 8;
+
+    /**
+     * The position of the flags in the header.
+     */
+    private static final int FLG = 3;
+
+    /**
+     * The size of the header fields that are always present.
+     */
+    private static final int FIXED = 10;
+
+    /**
+     * The flag of the extra field.
+     */
+    private static final int FEXTRA = 4;
+
+    /**
+     * The flag of the original file name.
+     */
+    private static final int FNAME = 8;
+
+    /**
+     * The flag of the comment.
+     */
+    private static final int FCOMMENT = 16;
+
+    /**
+     * The flag of the header checksum.
+     */
+    private static final int FHCRC = 2;
+
+    /**
+     * The size of the trailer that has the checksum and the size.
+     */
+    private static final int TRAILER = 8;
+
+    /**
+     * The size of the numbers in the trailer.
+     */
+    private static final int WORD = 4;
+
+    /**
+     * The mask to read the size modulo 2^32 as the trailer has it.
+     */
+    private static final long UINT = 0xffff_ffffL;
+
+    /**
+     * The number of bits in a byte.
+     */
+    private static final int BYTE = 8;
+
+    /**
+     * The mask to read a byte as unsigned.
+     */
+    private static final int MASK = 0xff;
+
+    /**
+     * The size of each decompressed chunk.
+     */
+    private static final int CHUNK = 8192;
+
+    /**
+     * It decompresses the deflate data after the header.
+     */
+    private final Inflater inflater;
+
+    /**
+     * The checksum of the decompressed bytes.
+     */
+    private final CRC32 crc;
+
+    /**
+     * The bytes of the header until it's complete.
+     */
+    private final ByteArrayOutputStream head;
+
+    /**
+     * The bytes after the deflate data.
+     */
+    private final ByteArrayOutputStream trailer;
+
+    /**
+     * Whether we have read the header.
+     */
+    private boolean started;
+
+    /**
+     * Whether we have received any bytes.
+     */
+    private boolean received;
+
+    /**
+     * The number of decompressed bytes.
+     */
+    private long size;
+
+    /**
+     * Constructor.
+     */
+    Gunzip() {
+        this.inflater = new Inflater(true);
+        this.crc = new CRC32();
+        this.head = new ByteArrayOutputStream();
+        this.trailer = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Decompress the next chunk.
+     * @param input The compressed bytes.
+     * @return The decompressed bytes. It can be empty if the chunk was too small.
+     * @throws IOException If the bytes are not gzip.
+     */
+    public List<ByteBuffer> update(final ByteBuffer input) throws IOException {
+        final byte[] bytes = new byte[input.remaining()];
+        input.get(bytes);
+        this.received = this.received || bytes.length > 0;
+        final List<ByteBuffer> result = new ArrayList<>();
+        if (this.inflater.finished()) {
+            this.trailer.writeBytes(bytes);
+        } else if (this.started) {
+            this.inflate(bytes, 0, bytes.length, result);
+        } else {
+            this.head.writeBytes(bytes);
+            final byte[] pending = this.head.toByteArray();
+            final int header = this.header(pending);
+            if (header >= 0) {
+                this.started = true;
+                this.inflate(pending, header, pending.length - header, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check that the body was complete and intact.
+     * An empty body is fine because some responses don't have one.
+     * @throws IOException If the body is truncated or corrupted.
+     */
+    public void finish() throws IOException {
+        if (this.received) {
+            final byte[] tail = this.trailer.toByteArray();
+            if (!this.inflater.finished() || tail.length < TRAILER) {
+                throw new IOException("The gzip body ended unexpectedly.");
+            }
+            if (this.little(tail, 0) != this.crc.getValue()
+                || this.little(tail, WORD) != (this.size & UINT)) {
+                throw new IOException("The gzip body is corrupted.");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.inflater.end();
+    }
+
+    /**
+     * Find where the header ends.
+     * @param bytes The bytes we have received so far.
+     * @return The size of the header. It's -1 if the header is not complete yet.
+     * @throws IOException If the bytes are not gzip.
+     */
+    private int header(final byte[] bytes) throws IOException {
+        int result = -1;
+        if (bytes.length >= FIXED) {
+            if ((bytes[0] & MASK) != ID1 || (bytes[1] & MASK) != ID2 || bytes[2] != DEFLATE) {
+                throw new IOException("The body is not gzip.");
+            }
+            final int flags = bytes[FLG];
+            long position = FIXED;
+            if ((flags & FEXTRA) != 0) {
+                position = this.extra(bytes, position);
+            }
+            if ((flags & FNAME) != 0) {
+                position = this.terminated(bytes, position);
+            }
+            if ((flags & FCOMMENT) != 0) {
+                position = this.terminated(bytes, position);
+            }
+            if ((flags & FHCRC) != 0) {
+                position = position + 2;
+            }
+            if (position <= bytes.length) {
+                result = (int) position;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Skip the extra field that starts with its length.
+     * @param bytes The bytes we have received so far.
+     * @param start Where the field starts.
+     * @return Where the next field starts. It's beyond the bytes if the field is not complete.
+     */
+    private long extra(final byte[] bytes, final long start) {
+        long result = Integer.MAX_VALUE;
+        if (start + 2 <= bytes.length) {
+            final int index = (int) start;
+            result = start + 2 + ((bytes[index] & MASK) | (bytes[index + 1] & MASK) << BYTE);
+        }
+        return result;
+    }
+
+    /**
+     * Skip a zero-terminated field.
+     * @param bytes The bytes we have received so far.
+     * @param start Where the field starts.
+     * @return Where the next field starts. It's beyond the bytes if the field is not complete.
+     */
+    private long terminated(final byte[] bytes, final long start) {
+        long result = Integer.MAX_VALUE;
+        for (long index = start; index < bytes.length; index = index + 1) {
+            if (bytes[(int) index] == 0) {
+                result = index + 1;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decompress the deflate data.
+     * The bytes after the deflate data go to the trailer.
+     * @param bytes The compressed bytes.
+     * @param offset Where the compressed bytes start.
+     * @param length The number of the compressed bytes.
+     * @param result It collects the decompressed bytes.
+     * @throws IOException If the deflate data is corrupted.
+     */
+    private void inflate(final byte[] bytes, final int offset, final int length, final List<ByteBuffer> result) throws IOException {
+        this.inflater.setInput(bytes, offset, length);
+        try {
+            while (!this.inflater.finished() && !this.inflater.needsInput()) {
+                final byte[] chunk = new byte[CHUNK];
+                final int inflated = this.inflater.inflate(chunk);
+                if (inflated > 0) {
+                    this.crc.update(chunk, 0, inflated);
+                    this.size = this.size + inflated;
+                    result.add(ByteBuffer.wrap(chunk, 0, inflated));
+                } else if (this.inflater.needsDictionary()) {
+                    throw new IOException("The gzip body requires a dictionary.");
+                }
+            }
+        } catch (final DataFormatException exception) {
+            throw new IOException("The gzip body is corrupted.", exception);
+        }
+        if (this.inflater.finished()) {
+            final int remaining = this.inflater.getRemaining();
+            this.trailer.write(bytes, offset + length - remaining, remaining);
+        }
+    }
+
+    /**
+     * Read a little-endian unsigned 32-bit number.
+     * @param bytes The bytes.
+     * @param offset Where the number starts.
+     * @return The number.
+     */
+    private long little(final byte[] bytes, final int offset) {
+        long result = 0;
+        for (int index = WORD - 1; index >= 0; index = index - 1) {
+            result = result << BYTE | bytes[offset + index] & MASK;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * It decompresses a gzip body before passing it to the origin.
+ * The origin receives the decompressed chunks as they arrive,
+ * so the whole body is never kept in memory unless the origin does that.
+ * @param <T> The type of the body.
+ */
+final class GunzipSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    /**
+     * The subscriber we decorate.
+     */
+    private final HttpResponse.BodySubscriber<T> origin;
+
+    /**
+     * It decompresses the chunks.
+     */
+    private final Gunzip gunzip;
+
+    /**
+     * It counts the bytes.
+     */
+    private final Traffic traffic;
+
+    /**
+     * The subscription of the body.
+     */
+    private Flow.Subscription subscription;
+
+    /**
+     * Whether we gave up the body because it's not valid gzip.
+     */
+    private boolean failed;
+
+    /**
+     * Constructor.
+     * @param origin See {@link GunzipSubscriber#origin}.
+     * @param traffic See {@link GunzipSubscriber#traffic}.
+     */
+    GunzipSubscriber(final HttpResponse.BodySubscriber<T> origin, final Traffic traffic) {
+        this.origin = origin;
+        this.gunzip = new Gunzip();
+        this.traffic = traffic;
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.origin.getBody();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription upstream) {
+        this.subscription = upstream;
+        this.origin.onSubscribe(upstream);
+    }
+
+    @Override
+    public void onNext(final List<ByteBuffer> item) {
+        if (!this.failed) {
+            final List<ByteBuffer> decoded = new ArrayList<>();
+            long received = 0;
+            long inflated = 0;
+            try {
+                for (final ByteBuffer buffer : item) {
+                    received = received + buffer.remaining();
+                    for (final ByteBuffer chunk : this.gunzip.update(buffer)) {
+                        inflated = inflated + chunk.remaining();
+                        decoded.add(chunk);
+                    }
+                }
+            } catch (final IOException exception) {
+                this.fail(exception);
+            }
+            this.traffic.record(received, inflated);
+            if (this.failed) {
+                this.subscription.cancel();
+            } else if (decoded.isEmpty()) {
+                // The origin is still waiting for the item it asked for.
+                this.subscription.request(1);
+            } else {
+                this.origin.onNext(decoded);
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        if (!this.failed) {
+            this.fail(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!this.failed) {
+            try {
+                this.gunzip.finish();
+                this.gunzip.close();
+                this.origin.onComplete();
+            } catch (final IOException exception) {
+                this.fail(exception);
+            }
+        }
+    }
+
+    /**
+     * Release the decompressor and tell the origin the error.
+     * @param error The reason.
+     */
+    private void fail(final Throwable error) {
+        this.failed = true;
+        this.gunzip.close();
+        this.origin.onError(error);
+    }
+
+}
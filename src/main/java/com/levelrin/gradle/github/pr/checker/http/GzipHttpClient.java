@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * It's a decorator of {@link HttpClient} that asks the server to compress the responses.
+ * The JSON of the API is repetitive, so gzip makes it several times smaller over the wire.
+ * It decompresses the body while it's arriving, so the body handlers get plain bytes.
+ * Please note that the response headers still say 'Content-Encoding: gzip'.
+ * It should be the outermost decorator that reads the bodies,
+ * so the cache below stores the compressed bytes.
+ */
+public final class GzipHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The name of the request header.
+     */
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    /**
+     * The name of the encoding.
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * It counts the bytes of the compressed responses.
+     */
+    private final Traffic traffic;
+
+    /**
+     * Constructor.
+     * @param origin The client we decorate.
+     * @param traffic See {@link GzipHttpClient#traffic}.
+     */
+    public GzipHttpClient(final HttpClient origin, final Traffic traffic) {
+        super(origin);
+        this.traffic = traffic;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        return super.send(this.negotiated(request), this.handler(handler));
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        return super.sendAsync(this.negotiated(request), this.handler(handler));
+    }
+
+    /**
+     * Tell the server that we accept gzip.
+     * We leave the request as it is if the caller has chosen the encoding already.
+     * @param request The original request.
+     * @return The request with the 'Accept-Encoding' header.
+     */
+    private HttpRequest negotiated(final HttpRequest request) {
+        HttpRequest result = request;
+        if (request.headers().firstValue(ACCEPT_ENCODING).isEmpty()) {
+            result = new RequestCopy(request).builder().header(ACCEPT_ENCODING, GZIP).build();
+        }
+        return result;
+    }
+
+    /**
+     * Decorate the body handler to decompress the body if the server compressed it.
+     * @param origin The original body handler.
+     * @param <T> The type of the body.
+     * @return The decorated body handler.
+     */
+    private <T> HttpResponse.BodyHandler<T> handler(final HttpResponse.BodyHandler<T> origin) {
+        return info -> {
+            final HttpResponse.BodySubscriber<T> result;
+            if (GZIP.equalsIgnoreCase(info.headers().firstValue("Content-Encoding").orElse(""))) {
+                result = new GunzipSubscriber<>(origin.apply(info), this.traffic);
+            } else {
+                result = origin.apply(info);
+            }
+            return result;
+        };
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A decorator of {@link HttpClient} that sends hedged requests.
+ * https://research.google/pubs/pub40801/
+ * If a GET request takes longer than the specified percentile of the recent latencies,
+ * it sends the same request again and uses whichever response arrives first.
+ * So, an occasional slow response doesn't block the whole build.
+ * It costs a few extra requests, which is a small fraction of all requests.
+ * It doesn't hedge until it has enough samples of the latency.
+ * Even the blocking {@link HedgedHttpClient#send} races the two requests on futures.
+ */
+public final class HedgedHttpClient extends HttpClientEnvelope {
+
+    /**
+     * A number between 0 and 1 such as 0.95.
+     * We send a hedged request if the first one takes longer than this percentile.
+     */
+    private final double percentile;
+
+    /**
+     * The latencies of the recent responses.
+     */
+    private final Latencies latencies;
+
+    /**
+     * Secondary constructor.
+     * @param origin The client we decorate.
+     * @param percentile See {@link HedgedHttpClient#percentile}.
+     */
+    public HedgedHttpClient(final HttpClient origin, final double percentile) {
+        this(origin, percentile, new Latencies());
+    }
+
+    /**
+     * Primary constructor.
+     * @param origin The client we decorate.
+     * @param percentile See {@link HedgedHttpClient#percentile}.
+     * @param latencies See {@link HedgedHttpClient#latencies}.
+     */
+    public HedgedHttpClient(final HttpClient origin, final double percentile, final Latencies latencies) {
+        super(origin);
+        this.percentile = percentile;
+        this.latencies = latencies;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        final HttpResponse<T> result;
+        if (this.threshold(request).isPresent()) {
+            try {
+                result = this.sendAsync(request, handler).get();
+            } catch (final ExecutionException exception) {
+                final Throwable cause = exception.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Failed to send the hedged request.", cause);
+            }
+        } else {
+            final long start = System.nanoTime();
+            result = super.send(request, handler);
+            this.latencies.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return result;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final Optional<Duration> threshold = this.threshold(request);
+        final CompletableFuture<HttpResponse<T>> result;
+        if (threshold.isPresent()) {
+            final Race<T> race = new Race<>();
+            race.join(this.timed(request, handler));
+            CompletableFuture.delayedExecutor(
+                threshold.get().toNanos(),
+                TimeUnit.NANOSECONDS
+            ).execute(() -> {
+                if (!race.over()) {
+                    race.join(this.timed(request, handler));
+                }
+            });
+            result = race.winner();
+        } else {
+            result = this.timed(request, handler);
+        }
+        return result;
+    }
+
+    /**
+     * Send the request and record the latency.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param <T> The type of the body.
+     * @return The future of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> timed(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<T>> result = super.sendAsync(request, handler);
+        result.thenRun(() -> this.latencies.record(Duration.ofNanos(System.nanoTime() - start)));
+        return result;
+    }
+
+    /**
+     * Decide how long we wait before sending the hedged request.
+     * @param request The request.
+     * @return Empty if we should not hedge the request.
+     */
+    private Optional<Duration> threshold(final HttpRequest request) {
+        Optional<Duration> result = Optional.empty();
+        if ("GET".equals(request.method())) {
+            result = this.latencies.percentile(this.percentile);
+        }
+        return result;
+    }
+
+}
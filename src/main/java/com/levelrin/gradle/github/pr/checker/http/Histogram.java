@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * It counts the latencies in buckets of fixed upper bounds.
+ * The bounds grow roughly exponentially from 1 millisecond to 10 seconds,
+ * and the last bucket takes everything slower than that.
+ * The buckets are the same for every build, so the reports of many builds can be added up.
+ */
+public final class Histogram {
+
+    /**
+     * The number of nanoseconds in a microsecond.
+     */
+    static final long NANOS = 1000;
+
+    /**
+     * The upper bounds of the buckets in milliseconds.
+     */
+    private static final long[] BOUNDS = {
+        1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10_000,
+    };
+
+    /**
+     * The counts of the buckets.
+     * It has one more element than the bounds for the overflow.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * The sum of all latencies in microseconds.
+     */
+    private final LongAdder sum;
+
+    /**
+     * The slowest latency in microseconds.
+     */
+    private final LongAccumulator max;
+
+    /**
+     * Constructor.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BOUNDS.length + 1);
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Count a latency.
+     * @param latency The latency.
+     */
+    public void record(final Duration latency) {
+        final long millis = latency.toMillis();
+        int bucket = 0;
+        while (bucket < BOUNDS.length && millis >= BOUNDS[bucket]) {
+            bucket = bucket + 1;
+        }
+        this.counts.incrementAndGet(bucket);
+        final long micros = latency.toNanos() / NANOS;
+        this.sum.add(micros);
+        this.max.accumulate(micros);
+    }
+
+    /**
+     * Convert it to a map, which becomes a JSON object.
+     * Each bucket counts the latencies less than its bound in milliseconds.
+     * The bound of the last bucket is null, which means infinity.
+     * @return The map.
+     */
+    public Map<String, Object> map() {
+        final List<Map<String, Object>> buckets = new ArrayList<>(this.counts.length());
+        long count = 0;
+        for (int index = 0; index < this.counts.length(); index = index + 1) {
+            final Map<String, Object> bucket = new LinkedHashMap<>();
+            if (index < BOUNDS.length) {
+                bucket.put("lessThanMillis", BOUNDS[index]);
+            } else {
+                bucket.put("lessThanMillis", null);
+            }
+            bucket.put("count", this.counts.get(index));
+            buckets.add(bucket);
+            count = count + this.counts.get(index);
+        }
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count);
+        result.put("sumMicros", this.sum.sum());
+        result.put("maxMicros", this.max.get());
+        result.put("buckets", buckets);
+        return result;
+    }
+
+}
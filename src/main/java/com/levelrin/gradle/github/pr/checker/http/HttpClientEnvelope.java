@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import org.gradle.api.logging.Logging;
+
+/**
+ * It delegates everything to the origin.
+ * The decorators of {@link HttpClient} can extend this
+ * and override the methods that send requests only.
+ * They can reach the origin via super.send(...) and super.sendAsync(...).
+ * The origin may be given lazily so that it's not created until it's used.
+ */
+public abstract class HttpClientEnvelope extends HttpClient {
+
+    /**
+     * The client we decorate.
+     */
+    private final Supplier<HttpClient> origin;
+
+    /**
+     * Secondary constructor.
+     * @param origin The client we decorate.
+     */
+    protected HttpClientEnvelope(final HttpClient origin) {
+        this(() -> origin);
+    }
+
+    /**
+     * Primary constructor.
+     * @param origin See {@link HttpClientEnvelope#origin}.
+     */
+    protected HttpClientEnvelope(final Supplier<HttpClient> origin) {
+        super();
+        this.origin = origin;
+    }
+
+    @Override
+    public final Optional<CookieHandler> cookieHandler() {
+        return this.origin.get().cookieHandler();
+    }
+
+    @Override
+    public final Optional<Duration> connectTimeout() {
+        return this.origin.get().connectTimeout();
+    }
+
+    @Override
+    public final Redirect followRedirects() {
+        return this.origin.get().followRedirects();
+    }
+
+    @Override
+    public final Optional<ProxySelector> proxy() {
+        return this.origin.get().proxy();
+    }
+
+    @Override
+    public final SSLContext sslContext() {
+        return this.origin.get().sslContext();
+    }
+
+    @Override
+    public final SSLParameters sslParameters() {
+        return this.origin.get().sslParameters();
+    }
+
+    @Override
+    public final Optional<Authenticator> authenticator() {
+        return this.origin.get().authenticator();
+    }
+
+    @Override
+    public final Version version() {
+        return this.origin.get().version();
+    }
+
+    @Override
+    public final Optional<Executor> executor() {
+        return this.origin.get().executor();
+    }
+
+    /**
+     * Send the request via the origin.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param <T> The type of the body.
+     * @return The response.
+     * @throws IOException If the origin fails to send.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        return this.origin.get().send(request, handler);
+    }
+
+    /**
+     * Send the request asynchronously via the origin.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param <T> The type of the body.
+     * @return The future of the response.
+     */
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        return this.origin.get().sendAsync(request, handler);
+    }
+
+    /**
+     * We don't use HTTP/2 push promises.
+     * So, we ignore the push promise handler
+     * to let the decorators override only one asynchronous method.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param push The push promise handler.
+     * @param <T> The type of the body.
+     * @return The future of the response.
+     */
+    @Override
+    public final <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler, final HttpResponse.PushPromiseHandler<T> push) {
+        return this.sendAsync(request, handler);
+    }
+
+    /**
+     * Make the derived future cancel the original one when it's cancelled.
+     * The {@link CompletableFuture#cancel(boolean)} doesn't propagate to the source
+     * of {@link CompletableFuture#thenApply(java.util.function.Function)} and so on.
+     * However, the caller expects the request to be cancelled.
+     * @param source The original future.
+     * @param derived The future derived from the source.
+     * @param <S> The type of the source.
+     * @param <D> The type of the derived one.
+     * @return The derived future.
+     */
+    protected final <S, D> CompletableFuture<D> linked(
+        final CompletableFuture<S> source,
+        final CompletableFuture<D> derived
+    ) {
+        derived.whenComplete((result, error) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    /**
+     * Release the response we are not going to return.
+     * For example, an unread input stream holds the connection.
+     * @param response The response we don't need.
+     */
+    protected final void discard(final HttpResponse<?> response) {
+        if (response.body() instanceof Closeable) {
+            try {
+                ((Closeable) response.body()).close();
+            } catch (final IOException exception) {
+                Logging.getLogger(HttpClientEnvelope.class).debug(
+                    "Failed to discard the response.",
+                    exception
+                );
+            }
+        }
+    }
+
+}
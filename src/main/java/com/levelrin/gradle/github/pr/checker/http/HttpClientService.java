@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * It shares the {@link HttpClient} among all tasks and projects of the build.
+ * The client keeps the connections alive and reuses them with HTTP/2,
+ * so we pay the TCP and TLS handshake only once per build.
+ * The sharing is build-scoped, so the next build opens its connections again.
+ * Gradle creates this service when a task asks for it for the first time
+ * and closes it at the end of the build.
+ * Closing it drops the clients and stops their threads,
+ * so nothing of the plugin stays in the daemon between builds.
+ * We don't keep the clients in a static holder for the whole daemon on purpose.
+ * The daemon may load the plugin in a new class loader for the next build,
+ * and a static holder would keep the old one alive along with its threads and sockets.
+ * Also, nothing would close the idle connections while the daemon waits for the next build.
+ * It also keeps one {@link Cassette} per file for the build,
+ * so the projects that record into the same file don't erase each other's recordings.
+ */
+public abstract class HttpClientService
+    implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+
+    /**
+     * The key of the client without the connect timeout.
+     * A connect timeout must be positive, so it's not a real one.
+     */
+    private static final Duration UNTIMED = Duration.ZERO;
+
+    /**
+     * The clients keyed by their connect timeouts.
+     */
+    private final Map<Duration, HttpClient> clients;
+
+    /**
+     * The threads the clients run their tasks on.
+     */
+    private final ExecutorService threads;
+
+    /**
+     * The threads of {@link Workers} that block on the requests, keyed by their bound.
+     */
+    private final Map<Integer, ExecutorService> workers;
+
+    /**
+     * The cassettes of the build keyed by their absolute paths.
+     */
+    private final Map<Path, Cassette> cassettes;
+
+    /**
+     * Constructor.
+     */
+    public HttpClientService() {
+        final AtomicInteger counter = new AtomicInteger();
+        this.clients = new ConcurrentHashMap<>();
+        this.workers = new ConcurrentHashMap<>();
+        this.cassettes = new ConcurrentHashMap<>();
+        this.threads = Executors.newCachedThreadPool(
+            task -> {
+                final Thread thread = new Thread(
+                    task,
+                    String.format("github-pr-http-%d", counter.incrementAndGet())
+                );
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    /**
+     * Return the shared client.
+     * It's created on the first call.
+     * @return The client.
+     */
+    public final HttpClient client() {
+        return this.clients.computeIfAbsent(UNTIMED, timeout -> this.builder().build());
+    }
+
+    /**
+     * Return the shared client that gives up connecting after the timeout.
+     * The connect timeout belongs to the client rather than the request,
+     * so the tasks that use the same timeout share a client.
+     * @param connect The connect timeout.
+     * @return The client.
+     */
+    public final HttpClient client(final Duration connect) {
+        return this.clients.computeIfAbsent(
+            connect,
+            timeout -> this.builder().connectTimeout(timeout).build()
+        );
+    }
+
+    /**
+     * Return the shared threads that block on the requests.
+     * The tasks that use the same bound share them.
+     * @param bound The number of platform threads if the JDK doesn't have virtual threads.
+     * @return The executor of {@link Workers}.
+     */
+    public final ExecutorService workers(final int bound) {
+        return this.workers.computeIfAbsent(bound, size -> new Workers(size).executor());
+    }
+
+    /**
+     * Return the cassette of the file that all tasks of the build share.
+     * The cassette replaces the old file on its first recording,
+     * so there must be one instance per file for the build.
+     * @param path The location of the file.
+     * @return The cassette.
+     */
+    public final Cassette cassette(final Path path) {
+        return this.cassettes.computeIfAbsent(path.toAbsolutePath().normalize(), Cassette::new);
+    }
+
+    /**
+     * Drop the clients and stop their threads.
+     * The JDK client stops its own selector thread once nothing refers to it.
+     */
+    @Override
+    public void close() {
+        this.clients.clear();
+        this.threads.shutdown();
+        this.workers.values().forEach(ExecutorService::shutdown);
+        this.workers.clear();
+        this.cassettes.clear();
+    }
+
+    /**
+     * Start building a client that runs on our threads.
+     * The JDK client keeps idle HTTP/1.1 connections alive as well
+     * in case the server doesn't support HTTP/2.
+     * @return The builder.
+     */
+    private HttpClient.Builder builder() {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .executor(this.threads);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * It remembers the latencies of the recent responses.
+ * It's thread-safe.
+ */
+public final class Latencies {
+
+    /**
+     * The default number of samples we keep.
+     */
+    private static final int WINDOW = 128;
+
+    /**
+     * The default minimum number of samples for a meaningful percentile.
+     */
+    private static final int MINIMUM = 8;
+
+    /**
+     * The recent latencies in nanoseconds.
+     * It's a ring buffer.
+     * We also use it as the lock.
+     */
+    private final long[] samples;
+
+    /**
+     * We don't calculate the percentile until we have this many samples.
+     */
+    private final int minimum;
+
+    /**
+     * The total number of samples recorded so far.
+     */
+    private long count;
+
+    /**
+     * Secondary constructor.
+     */
+    public Latencies() {
+        this(WINDOW, MINIMUM);
+    }
+
+    /**
+     * Primary constructor.
+     * @param window The number of samples we keep.
+     * @param minimum See {@link Latencies#minimum}.
+     */
+    public Latencies(final int window, final int minimum) {
+        this.samples = new long[window];
+        this.minimum = minimum;
+    }
+
+    /**
+     * Record a latency.
+     * @param latency The time it took to get the response.
+     */
+    public void record(final Duration latency) {
+        synchronized (this.samples) {
+            this.samples[(int) (this.count % this.samples.length)] = latency.toNanos();
+            this.count = this.count + 1;
+        }
+    }
+
+    /**
+     * Calculate the percentile of the recent latencies.
+     * @param percentile A number between 0 and 1 such as 0.95.
+     * @return Empty if we don't have enough samples yet.
+     */
+    public Optional<Duration> percentile(final double percentile) {
+        final long[] sorted;
+        synchronized (this.samples) {
+            sorted = Arrays.copyOf(
+                this.samples,
+                (int) Math.min(this.count, this.samples.length)
+            );
+        }
+        Optional<Duration> result = Optional.empty();
+        if (sorted.length >= this.minimum && sorted.length > 0) {
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+            result = Optional.of(
+                Duration.ofNanos(sorted[Math.max(0, Math.min(rank, sorted.length - 1))])
+            );
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * It represents the 'Link' header of a paginated response.
+ * https://docs.github.com/en/rest/guides/traversing-with-pagination
+ *
+ * The value looks like this:
+ * &lt;https://api.github.com/repositories/1300192/pulls?per_page=100&amp;page=2&gt;; rel="next",
+ * &lt;https://api.github.com/repositories/1300192/pulls?per_page=100&amp;page=34&gt;; rel="last"
+ */
+public final class LinkHeader {
+
+    /**
+     * It captures the URI of a link as the group 'uri' and its relation as the group 'rel'.
+     */
+    private static final Pattern LINK = Pattern.compile(
+        "<(?<uri>[^>]*)>\\s*;\\s*rel=\"(?<rel>[a-z]+)\""
+    );
+
+    /**
+     * Response headers.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Constructor.
+     * @param headers See {@link LinkHeader#headers}.
+     */
+    public LinkHeader(final HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * Check if the response has the 'Link' header.
+     * GitHub doesn't send the header if everything fits in one page.
+     * Some off-brand GitHub may not send it at all.
+     * @return True if the header exists.
+     */
+    public boolean exists() {
+        return this.headers.firstValue("Link").isPresent();
+    }
+
+    /**
+     * Return the page number of the 'next' link.
+     * @return Empty if there is no next page.
+     */
+    public OptionalInt next() {
+        return this.page("next");
+    }
+
+    /**
+     * Return the page number of the 'last' link.
+     * @return Empty if the current page is the last one.
+     */
+    public OptionalInt last() {
+        return this.page("last");
+    }
+
+    /**
+     * Find the page number of the link that has the specified relation.
+     * @param rel Relation such as 'next' or 'last'.
+     * @return Empty if there is no such link.
+     */
+    private OptionalInt page(final String rel) {
+        OptionalInt result = OptionalInt.empty();
+        final Matcher matcher = LINK.matcher(
+            this.headers.firstValue("Link").orElse("")
+        );
+        while (matcher.find()) {
+            if (rel.equals(matcher.group("rel"))) {
+                result = new PageNumber(URI.create(matcher.group("uri"))).value();
+                break;
+            }
+        }
+        return result;
+    }
+
+}
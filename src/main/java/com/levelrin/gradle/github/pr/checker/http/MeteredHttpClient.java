@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * It measures each request and gives the measurements to {@link Metrics}.
+ * It should be close to the network, below the retries and the rate limit,
+ * so that each attempt is measured on its own and the waits are not counted.
+ * Only the requests that got a response are measured.
+ */
+public final class MeteredHttpClient extends HttpClientEnvelope {
+
+    /**
+     * It collects the measurements.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Constructor.
+     * @param origin The client we decorate.
+     * @param metrics See {@link MeteredHttpClient#metrics}.
+     */
+    public MeteredHttpClient(final HttpClient origin, final Metrics metrics) {
+        super(origin);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        return super.send(request, this.handler(request, System.nanoTime(), handler));
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        return super.sendAsync(request, this.handler(request, System.nanoTime(), handler));
+    }
+
+    /**
+     * Decorate the body handler to measure the response.
+     * The client calls the handler once it has received the headers.
+     * @param request The request.
+     * @param start When we sent the request in {@link System#nanoTime()}.
+     * @param origin The original body handler.
+     * @param <T> The type of the body.
+     * @return The decorated body handler.
+     */
+    private <T> HttpResponse.BodyHandler<T> handler(final HttpRequest request, final long start, final HttpResponse.BodyHandler<T> origin) {
+        return info -> {
+            final long headers = System.nanoTime();
+            return new MeteredSubscriber<>(
+                origin.apply(info),
+                bytes -> this.metrics.record(
+                    new Exchange(
+                        this.name(request),
+                        new PageNumber(request.uri()).value(),
+                        info.statusCode(),
+                        Duration.ofNanos(headers - start),
+                        Duration.ofNanos(System.nanoTime() - headers),
+                        bytes,
+                        info.headers().firstValueAsLong("X-RateLimit-Remaining")
+                    )
+                )
+            );
+        };
+    }
+
+    /**
+     * Describe the request without the domain.
+     * @param request The request.
+     * @return Something like 'GET /repos/levelrin/test/pulls?page=2'.
+     */
+    private String name(final HttpRequest request) {
+        final StringBuilder result = new StringBuilder()
+            .append(request.method())
+            .append(' ')
+            .append(request.uri().getRawPath());
+        if (request.uri().getRawQuery() != null) {
+            result.append('?').append(request.uri().getRawQuery());
+        }
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * It passes the body to the origin as it is while counting the bytes.
+ * Once the body is completed or failed, it gives the number of bytes to the sink.
+ * @param <T> The type of the body.
+ */
+final class MeteredSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    /**
+     * The subscriber we decorate.
+     */
+    private final HttpResponse.BodySubscriber<T> origin;
+
+    /**
+     * It takes the number of bytes once the body is over.
+     */
+    private final LongConsumer sink;
+
+    /**
+     * Whether we have given the number to the sink.
+     */
+    private final AtomicBoolean over;
+
+    /**
+     * The number of bytes so far.
+     */
+    private long bytes;
+
+    /**
+     * Constructor.
+     * @param origin See {@link MeteredSubscriber#origin}.
+     * @param sink See {@link MeteredSubscriber#sink}.
+     */
+    MeteredSubscriber(final HttpResponse.BodySubscriber<T> origin, final LongConsumer sink) {
+        this.origin = origin;
+        this.sink = sink;
+        this.over = new AtomicBoolean();
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.origin.getBody();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        this.origin.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(final List<ByteBuffer> item) {
+        for (final ByteBuffer buffer : item) {
+            this.bytes = this.bytes + buffer.remaining();
+        }
+        this.origin.onNext(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        this.finish();
+        this.origin.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        this.finish();
+        this.origin.onComplete();
+    }
+
+    /**
+     * Give the number of bytes to the sink only once.
+     */
+    private void finish() {
+        if (this.over.compareAndSet(false, true)) {
+            this.sink.accept(this.bytes);
+        }
+    }
+
+}
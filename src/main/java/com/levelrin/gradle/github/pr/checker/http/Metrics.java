@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.jayway.jsonpath.JsonPath;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * It collects the measurements of the requests of a build.
+ * It aggregates the latencies into histograms
+ * and writes everything as a JSON report like this:
+ * {
+ *   "requests": 3,
+ *   "bytes": 91234,
+ *   "statuses": {"200": 2, "304": 1},
+ *   "rateLimitRemaining": 4987,
+ *   "firstByte": {"count": 3, "sumMicros": ..., "maxMicros": ..., "buckets": [...]},
+ *   "transfer": {...},
+ *   "total": {...},
+ *   "exchanges": [{"request": "GET /repos/levelrin/test/pulls?page=1", "page": 1, ...}]
+ * }
+ * The 'rateLimitRemaining' is the lowest remaining quota we have seen.
+ */
+public final class Metrics {
+
+    /**
+     * The measurements in the order of completion.
+     */
+    private final Queue<Exchange> exchanges;
+
+    /**
+     * The time to the first byte.
+     */
+    private final Histogram first;
+
+    /**
+     * The body transfer time.
+     */
+    private final Histogram transfer;
+
+    /**
+     * The time of the whole response.
+     */
+    private final Histogram total;
+
+    /**
+     * Constructor.
+     */
+    public Metrics() {
+        this.exchanges = new ConcurrentLinkedQueue<>();
+        this.first = new Histogram();
+        this.transfer = new Histogram();
+        this.total = new Histogram();
+    }
+
+    /**
+     * Add the measurements of a request.
+     * @param exchange The measurements.
+     */
+    public void record(final Exchange exchange) {
+        this.exchanges.add(exchange);
+        this.first.record(exchange.first());
+        this.transfer.record(exchange.transfer());
+        this.total.record(exchange.first().plus(exchange.transfer()));
+    }
+
+    /**
+     * Write the report.
+     * @param path The report file. It's overwritten if it exists.
+     * @throws IOException If it fails to write.
+     */
+    public void write(final Path path) throws IOException {
+        Files.writeString(path, this.toString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Return the report.
+     * @return The JSON.
+     */
+    @Override
+    public String toString() {
+        final List<Map<String, Object>> list = new ArrayList<>();
+        final Map<String, Long> statuses = new TreeMap<>();
+        long bytes = 0;
+        OptionalLong remaining = OptionalLong.empty();
+        for (final Exchange exchange : this.exchanges) {
+            list.add(exchange.map());
+            statuses.merge(String.valueOf(exchange.status()), 1L, Long::sum);
+            bytes = bytes + exchange.bytes();
+            if (exchange.remaining().isPresent() && (remaining.isEmpty()
+                || exchange.remaining().getAsLong() < remaining.getAsLong())) {
+                remaining = exchange.remaining();
+            }
+        }
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", list.size());
+        report.put("bytes", bytes);
+        report.put("statuses", statuses);
+        report.put("rateLimitRemaining", null);
+        remaining.ifPresent(quota -> report.put("rateLimitRemaining", quota));
+        report.put("firstByte", this.first.map());
+        report.put("transfer", this.transfer.map());
+        report.put("total", this.total.map());
+        report.put("exchanges", list);
+        return JsonPath.parse(report).jsonString();
+    }
+
+}
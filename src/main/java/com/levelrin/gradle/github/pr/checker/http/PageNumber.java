@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.URI;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * It represents the page number in the query of a URI.
+ * The URI can be the one we request or the one in the 'Link' header.
+ * For example, it's 2 for 'https://api.github.com/repos/o/r/pulls?per_page=100&amp;page=2'.
+ */
+public final class PageNumber {
+
+    /**
+     * It captures the page number of the query.
+     */
+    private static final Pattern PAGE = Pattern.compile("(?:^|&)page=(?<page>\\d+)");
+
+    /**
+     * The URI that may have the page number.
+     */
+    private final URI uri;
+
+    /**
+     * Constructor.
+     * @param uri See {@link PageNumber#uri}.
+     */
+    public PageNumber(final URI uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Find the page number.
+     * @return Empty if the URI is not about a page.
+     */
+    public OptionalInt value() {
+        OptionalInt result = OptionalInt.empty();
+        if (this.uri.getRawQuery() != null) {
+            final Matcher matcher = PAGE.matcher(this.uri.getRawQuery());
+            if (matcher.find()) {
+                result = OptionalInt.of(Integer.parseInt(matcher.group("page")));
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * It decides when each request can be sent.
+ * It limits the number of requests in flight
+ * and holds all of them back while the rate limit is in effect.
+ * The limit of requests in flight shrinks as the remaining quota shrinks.
+ * It's thread-safe.
+ */
+public final class Quota {
+
+    /**
+     * The maximum number of requests in flight.
+     */
+    private final int max;
+
+    /**
+     * It tells the current time.
+     */
+    private final Clock clock;
+
+    /**
+     * The requests waiting for their turn.
+     * We also use it as the lock.
+     */
+    private final Deque<CompletableFuture<Void>> waiting;
+
+    /**
+     * The number of requests in flight.
+     */
+    private int flying;
+
+    /**
+     * The current limit of requests in flight.
+     */
+    private int allowed;
+
+    /**
+     * We don't let any request go until this time.
+     */
+    private Instant resume;
+
+    /**
+     * Whether we have scheduled to wake up at {@link Quota#resume}.
+     */
+    private boolean scheduled;
+
+    /**
+     * Secondary constructor.
+     * @param max See {@link Quota#max}.
+     */
+    public Quota(final int max) {
+        this(max, Clock.systemUTC());
+    }
+
+    /**
+     * Primary constructor.
+     * @param max See {@link Quota#max}.
+     * @param clock See {@link Quota#clock}.
+     */
+    public Quota(final int max, final Clock clock) {
+        this.max = Math.max(1, max);
+        this.clock = clock;
+        this.waiting = new ArrayDeque<>();
+        this.allowed = this.max;
+        this.resume = Instant.EPOCH;
+    }
+
+    /**
+     * Wait for the turn to send a request.
+     * The caller must call {@link Quota#release()} once the request is done.
+     * @return It completes when the request can be sent.
+     */
+    public CompletableFuture<Void> acquire() {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        synchronized (this.waiting) {
+            this.waiting.add(result);
+        }
+        this.drain();
+        return result;
+    }
+
+    /**
+     * Give the turn back.
+     */
+    public void release() {
+        synchronized (this.waiting) {
+            this.flying = this.flying - 1;
+        }
+        this.drain();
+    }
+
+    /**
+     * Adjust the limit of requests in flight based on the latest response.
+     * If the quota is used up, it holds the requests back until the reset time.
+     * @param limit The rate limit information of the latest response.
+     */
+    public void update(final RateLimit limit) {
+        synchronized (this.waiting) {
+            this.allowed = limit.allowed(this.max);
+            limit.exhausted().ifPresent(this::postpone);
+        }
+        this.drain();
+    }
+
+    /**
+     * Hold all requests back until the specified time.
+     * @param until The time when the requests can go again.
+     */
+    public void pause(final Instant until) {
+        synchronized (this.waiting) {
+            this.postpone(until);
+        }
+        this.drain();
+    }
+
+    /**
+     * Push {@link Quota#resume} back.
+     * The caller must hold the lock.
+     * @param until The new resume time. It's ignored if it's earlier than the current one.
+     */
+    private void postpone(final Instant until) {
+        if (until.isAfter(this.resume)) {
+            this.resume = until;
+        }
+    }
+
+    /**
+     * Let the waiting requests go as long as the limit allows.
+     */
+    private void drain() {
+        final List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this.waiting) {
+            final Duration delay = Duration.between(this.clock.instant(), this.resume);
+            if (delay.isNegative() || delay.isZero()) {
+                while (this.flying < this.allowed && !this.waiting.isEmpty()) {
+                    final CompletableFuture<Void> next = this.waiting.poll();
+                    if (!next.isDone()) {
+                        this.flying = this.flying + 1;
+                        granted.add(next);
+                    }
+                }
+            } else if (!this.scheduled && !this.waiting.isEmpty()) {
+                this.scheduled = true;
+                CompletableFuture.runAsync(
+                    this::wake,
+                    CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
+                );
+            }
+        }
+        for (final CompletableFuture<Void> next : granted) {
+            // The caller may have given up waiting in the meantime.
+            if (!next.complete(null)) {
+                this.release();
+            }
+        }
+    }
+
+    /**
+     * It's called when the pause is over.
+     */
+    private void wake() {
+        synchronized (this.waiting) {
+            this.scheduled = false;
+        }
+        this.drain();
+    }
+
+}
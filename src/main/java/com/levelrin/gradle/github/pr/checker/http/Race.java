@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * It takes the first response among the identical requests.
+ * The other requests are cancelled once the winner is decided.
+ * It fails only if all the requests fail.
+ * @param <T> The type of the body.
+ */
+public final class Race<T> {
+
+    /**
+     * The response of the winner.
+     */
+    private final CompletableFuture<HttpResponse<T>> winner;
+
+    /**
+     * The requests that joined the race.
+     */
+    private final List<CompletableFuture<HttpResponse<T>>> runners;
+
+    /**
+     * The number of requests still running.
+     */
+    private final AtomicInteger running;
+
+    /**
+     * Constructor.
+     */
+    public Race() {
+        this.winner = new CompletableFuture<>();
+        this.runners = new CopyOnWriteArrayList<>();
+        this.running = new AtomicInteger();
+        this.winner.whenComplete(
+            (response, error) -> this.runners.forEach(runner -> runner.cancel(true))
+        );
+    }
+
+    /**
+     * Let the request join the race.
+     * @param runner The future of the request.
+     */
+    public void join(final CompletableFuture<HttpResponse<T>> runner) {
+        this.running.incrementAndGet();
+        this.runners.add(runner);
+        runner.whenComplete((response, error) -> {
+            if (error == null) {
+                if (!this.winner.complete(response)) {
+                    this.discard(response);
+                }
+            } else if (this.running.decrementAndGet() == 0) {
+                this.winner.completeExceptionally(error);
+            }
+        });
+        if (this.winner.isDone()) {
+            runner.cancel(true);
+        }
+    }
+
+    /**
+     * Check if the winner is decided or all the requests failed.
+     * @return True if it's over.
+     */
+    public boolean over() {
+        return this.winner.isDone();
+    }
+
+    /**
+     * Return the future of the winner.
+     * Cancelling it cancels all the requests.
+     * @return The future of the response.
+     */
+    public CompletableFuture<HttpResponse<T>> winner() {
+        return this.winner;
+    }
+
+    /**
+     * Release the response that lost the race.
+     * For example, an unread input stream holds the connection.
+     * @param response The response we don't need.
+     */
+    private void discard(final HttpResponse<T> response) {
+        if (response.body() instanceof Closeable) {
+            try {
+                ((Closeable) response.body()).close();
+            } catch (final IOException exception) {
+                Logging.getLogger(Race.class).debug("Failed to discard the response.", exception);
+            }
+        }
+    }
+
+}
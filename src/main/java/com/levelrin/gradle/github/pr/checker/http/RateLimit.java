@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * It reads the rate limit information from a response.
+ * https://docs.github.com/en/rest/overview/resources-in-the-rest-api#rate-limiting
+ * The headers look like this:
+ * X-RateLimit-Limit: 5000
+ * X-RateLimit-Remaining: 4987
+ * X-RateLimit-Reset: 1350085394
+ * Retry-After: 60
+ * The secondary rate limit may come without those headers.
+ * In that case, only the message of the 403 response tells us about it.
+ */
+public final class RateLimit {
+
+    /**
+     * The status code GitHub uses for the rate limit.
+     */
+    private static final int FORBIDDEN = 403;
+
+    /**
+     * The status code of the standard rate limit.
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * GitHub asks us to wait at least one minute
+     * if the secondary rate limit doesn't tell us how long.
+     */
+    private static final Duration DEFAULT_WAIT = Duration.ofMinutes(1);
+
+    /**
+     * We start slowing down when the remaining quota is less than
+     * this fraction of the limit.
+     */
+    private static final int RESERVE = 10;
+
+    /**
+     * The phrase in the message of the 403 response of the secondary rate limit.
+     * For example, 'You have exceeded a secondary rate limit. Please wait a few minutes...'.
+     */
+    private static final String SECONDARY = "secondary rate limit";
+
+    /**
+     * HTTP status code.
+     */
+    private final int status;
+
+    /**
+     * Response headers.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Response body as text.
+     * It's empty if we didn't read it.
+     */
+    private final String body;
+
+    /**
+     * Secondary constructor.
+     * @param status See {@link RateLimit#status}.
+     * @param headers See {@link RateLimit#headers}.
+     */
+    public RateLimit(final int status, final HttpHeaders headers) {
+        this(status, headers, "");
+    }
+
+    /**
+     * Primary constructor.
+     * @param status See {@link RateLimit#status}.
+     * @param headers See {@link RateLimit#headers}.
+     * @param body See {@link RateLimit#body}.
+     */
+    public RateLimit(final int status, final HttpHeaders headers, final String body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Decide how many requests can be in flight based on the remaining quota.
+     * We use the full concurrency until the quota falls into the last 10% of the limit.
+     * After that, the concurrency shrinks in proportion to the remaining quota.
+     * @param max The maximum concurrency.
+     * @return The number of requests that can be in flight. It's at least 1.
+     */
+    public int allowed(final int max) {
+        final OptionalLong remaining = this.number("X-RateLimit-Remaining");
+        final OptionalLong limit = this.number("X-RateLimit-Limit");
+        int result = max;
+        if (remaining.isPresent() && limit.isPresent()) {
+            final long reserve = Math.max(1, limit.getAsLong() / RESERVE);
+            if (remaining.getAsLong() < reserve) {
+                result = (int) Math.max(1, max * remaining.getAsLong() / reserve);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check if the quota is used up.
+     * @return The time when the quota will be reset. Empty if there is quota left.
+     */
+    public Optional<Instant> exhausted() {
+        Optional<Instant> result = Optional.empty();
+        if (this.number("X-RateLimit-Remaining").orElse(1) == 0) {
+            result = this.reset();
+        }
+        return result;
+    }
+
+    /**
+     * Check if the request was rejected due to the rate limit.
+     * A 403 is about the rate limit only if the headers or the message say so.
+     * Otherwise, it's about the permission, and trying again won't help.
+     * @param now The current time.
+     * @return The time when we can try again. Empty if it wasn't rejected.
+     */
+    public Optional<Instant> blocked(final Instant now) {
+        Optional<Instant> result = Optional.empty();
+        if (this.status == FORBIDDEN || this.status == TOO_MANY) {
+            final OptionalLong retry = this.number("Retry-After");
+            if (retry.isPresent()) {
+                result = Optional.of(now.plusSeconds(retry.getAsLong()));
+            } else if (this.number("X-RateLimit-Remaining").orElse(1) == 0) {
+                result = Optional.of(this.reset().orElse(now.plus(DEFAULT_WAIT)));
+            } else if (this.status == TOO_MANY || this.secondary()) {
+                result = Optional.of(now.plus(DEFAULT_WAIT));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check if the message says the secondary rate limit rejected the request.
+     * @return True if it does.
+     */
+    private boolean secondary() {
+        return this.body.toLowerCase(Locale.ROOT).contains(SECONDARY);
+    }
+
+    /**
+     * Return the time when the quota will be reset.
+     * @return Empty if the header doesn't exist.
+     */
+    private Optional<Instant> reset() {
+        final OptionalLong seconds = this.number("X-RateLimit-Reset");
+        Optional<Instant> result = Optional.empty();
+        if (seconds.isPresent()) {
+            result = Optional.of(Instant.ofEpochSecond(seconds.getAsLong()));
+        }
+        return result;
+    }
+
+    /**
+     * Read the header as a number.
+     * @param name Header name.
+     * @return Empty if the header doesn't exist or it's not a number.
+     */
+    private OptionalLong number(final String name) {
+        OptionalLong result = OptionalLong.empty();
+        final Optional<String> value = this.headers.firstValue(name);
+        if (value.isPresent() && value.get().trim().matches("\\d+")) {
+            result = OptionalLong.of(Long.parseLong(value.get().trim()));
+        }
+        return result;
+    }
+
+}
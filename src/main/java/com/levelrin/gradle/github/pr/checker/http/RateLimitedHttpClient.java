@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.gradle.api.logging.Logging;
+
+/**
+ * A decorator of {@link HttpClient} that respects the rate limit of GitHub.
+ * It reads the rate limit headers of every response and passes them to the {@link Quota}.
+ * So, the requests in flight decrease as the remaining quota decreases.
+ * If a request is rejected due to the rate limit, it waits until the reset time and tries again
+ * instead of failing the build.
+ * It reads the message of a 403 response as well
+ * because the secondary rate limit may not have the headers.
+ * It's useful when many builds share the same token.
+ */
+public final class RateLimitedHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The maximum number of attempts for a request rejected by the rate limit.
+     */
+    private static final int ATTEMPTS = 3;
+
+    /**
+     * The status code GitHub uses for the secondary rate limit as well as the permission.
+     */
+    private static final int FORBIDDEN = 403;
+
+    /**
+     * It decides when each request can be sent.
+     */
+    private final Quota quota;
+
+    /**
+     * It tells the current time.
+     */
+    private final Clock clock;
+
+    /**
+     * Secondary constructor.
+     * @param origin The client we decorate.
+     * @param concurrency The maximum number of requests in flight.
+     */
+    public RateLimitedHttpClient(final HttpClient origin, final int concurrency) {
+        this(origin, new Quota(concurrency), Clock.systemUTC());
+    }
+
+    /**
+     * Primary constructor.
+     * @param origin The client we decorate.
+     * @param quota See {@link RateLimitedHttpClient#quota}.
+     * @param clock See {@link RateLimitedHttpClient#clock}.
+     */
+    public RateLimitedHttpClient(final HttpClient origin, final Quota quota, final Clock clock) {
+        super(origin);
+        this.quota = quota;
+        this.clock = clock;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        HttpResponse<T> result;
+        Optional<Instant> blocked;
+        int attempt = 1;
+        do {
+            final AtomicReference<String> message = new AtomicReference<>("");
+            this.await(this.quota.acquire());
+            try {
+                result = super.send(request, this.handler(handler, message::set));
+            } finally {
+                this.quota.release();
+            }
+            blocked = this.inspect(result, message.get(), attempt);
+            if (blocked.isPresent()) {
+                this.discard(result);
+            }
+            attempt = attempt + 1;
+        } while (blocked.isPresent());
+        return result;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        return this.attempt(request, handler, 1);
+    }
+
+    /**
+     * Send the request asynchronously when the quota allows.
+     * Cancelling the future gives up waiting for the quota,
+     * cancels the request in flight, and stops trying again.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param attempt The number of this attempt starting from 1.
+     * @param <T> The type of the body.
+     * @return The future of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> attempt(final HttpRequest request, final HttpResponse.BodyHandler<T> handler, final int attempt) {
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        final CompletableFuture<Void> permit = this.quota.acquire();
+        this.linked(permit, result);
+        permit.thenAccept(granted -> {
+            if (result.isDone()) {
+                // The caller gave up while the turn was coming.
+                this.quota.release();
+            } else {
+                final AtomicReference<String> message = new AtomicReference<>("");
+                final CompletableFuture<HttpResponse<T>> sent = super.sendAsync(
+                    request,
+                    this.handler(handler, message::set)
+                );
+                this.linked(sent, result);
+                sent.whenComplete((response, error) -> {
+                    this.quota.release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else if (this.inspect(response, message.get(), attempt).isPresent()) {
+                        this.discard(response);
+                        this.retried(request, handler, attempt, result);
+                    } else {
+                        result.complete(response);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Try the request again unless the caller has given up.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param attempt The number of the attempt that was rejected.
+     * @param result The future the caller has. It completes with the next attempt.
+     * @param <T> The type of the body.
+     */
+    private <T> void retried(final HttpRequest request, final HttpResponse.BodyHandler<T> handler, final int attempt, final CompletableFuture<HttpResponse<T>> result) {
+        if (!result.isDone()) {
+            final CompletableFuture<HttpResponse<T>> next = this.attempt(
+                request,
+                handler,
+                attempt + 1
+            );
+            this.linked(next, result);
+            next.whenComplete((response, error) -> {
+                if (error == null) {
+                    result.complete(response);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+    }
+
+    /**
+     * Wrap the body handler so that we can read the message of a 403 response.
+     * We read the whole body of a 403 before the origin does
+     * because the origin may be a stream the caller reads after we decide to try again.
+     * Such a body is a short message, so it's cheap to keep.
+     * @param handler The original body handler.
+     * @param message It takes the body of a 403 response as text.
+     * @param <T> The type of the body.
+     * @return The body handler.
+     */
+    private <T> HttpResponse.BodyHandler<T> handler(final HttpResponse.BodyHandler<T> handler, final Consumer<String> message) {
+        return info -> {
+            final HttpResponse.BodySubscriber<T> result;
+            if (info.statusCode() == FORBIDDEN) {
+                result = HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    bytes -> {
+                        message.accept(new String(bytes, StandardCharsets.UTF_8));
+                        return this.replayed(handler.apply(info), bytes);
+                    }
+                );
+            } else {
+                result = handler.apply(info);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Give the bytes we have read to the original subscriber and take its body.
+     * The subscribers of the JDK complete their bodies as soon as they get the bytes.
+     * @param origin The original subscriber.
+     * @param bytes The whole body.
+     * @param <T> The type of the body.
+     * @return The body of the original subscriber.
+     */
+    private <T> T replayed(final HttpResponse.BodySubscriber<T> origin, final byte[] bytes) {
+        final ReplayedSubscriber<T> replayed = new ReplayedSubscriber<>(origin, bytes);
+        replayed.onSubscribe(
+            new Flow.Subscription() {
+                @Override
+                public void request(final long count) {
+                    // The body has been read already.
+                }
+
+                @Override
+                public void cancel() {
+                    // The body has been read already.
+                }
+            }
+        );
+        return replayed.getBody().toCompletableFuture().join();
+    }
+
+    /**
+     * Update the quota with the response and check if we should try again.
+     * @param response The response.
+     * @param message The body of a 403 response. Empty for the other responses.
+     * @param attempt The number of the attempt that got the response.
+     * @return The time when we can try again. Empty if we should not try again.
+     */
+    private Optional<Instant> inspect(final HttpResponse<?> response, final String message, final int attempt) {
+        final RateLimit limit = new RateLimit(
+            response.statusCode(),
+            response.headers(),
+            message
+        );
+        this.quota.update(limit);
+        Optional<Instant> result = Optional.empty();
+        if (attempt < ATTEMPTS) {
+            result = limit.blocked(this.clock.instant());
+        }
+        result.ifPresent(until -> {
+            Logging.getLogger(RateLimitedHttpClient.class).warn(
+                "The GitHub API rate limit was reached. We will try {} again at {}.",
+                response.uri(),
+                until
+            );
+            this.quota.pause(until);
+        });
+        return result;
+    }
+
+    /**
+     * Wait until the turn comes.
+     * @param permit It completes when the turn comes.
+     * @throws IOException It won't happen in practice because the permit never fails.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private void await(final CompletableFuture<Void> permit) throws IOException, InterruptedException {
+        try {
+            permit.get();
+        } catch (final InterruptedException exception) {
+            // We need to give the turn back if it came just now.
+            if (!permit.cancel(false)) {
+                this.quota.release();
+            }
+            throw exception;
+        } catch (final ExecutionException exception) {
+            throw new IOException("Failed to wait for the rate limit.", exception);
+        }
+    }
+
+}
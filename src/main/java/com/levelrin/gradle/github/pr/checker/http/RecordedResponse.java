@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import javax.net.ssl.SSLSession;
+
+/**
+ * It's a response that didn't come from the network.
+ * For example, we use this to play a {@link Recording}.
+ * @param <T> The type of the body.
+ */
+public final class RecordedResponse<T> implements HttpResponse<T> {
+
+    /**
+     * The request it answers.
+     */
+    private final HttpRequest request;
+
+    /**
+     * Response status code.
+     */
+    private final int status;
+
+    /**
+     * Response headers.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Response body.
+     */
+    private final T body;
+
+    /**
+     * Constructor.
+     * @param request See {@link RecordedResponse#request}.
+     * @param status See {@link RecordedResponse#status}.
+     * @param headers See {@link RecordedResponse#headers}.
+     * @param body See {@link RecordedResponse#body}.
+     */
+    public RecordedResponse(final HttpRequest request, final int status, final HttpHeaders headers, final T body) {
+        this.request = request;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    @Override
+    public int statusCode() {
+        return this.status;
+    }
+
+    @Override
+    public HttpRequest request() {
+        return this.request;
+    }
+
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return this.headers;
+    }
+
+    @Override
+    public T body() {
+        return this.body;
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return this.request.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+        return HttpClient.Version.HTTP_1_1;
+    }
+
+}
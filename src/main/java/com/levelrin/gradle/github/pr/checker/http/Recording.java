@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * It's a response we recorded in a {@link Cassette}.
+ * It contains the request it answers, the status code, the headers, and the raw body bytes.
+ */
+public final class Recording {
+
+    /**
+     * The request it answers. See {@link RequestKey}.
+     */
+    private final String key;
+
+    /**
+     * Response status code.
+     */
+    private final int status;
+
+    /**
+     * Response headers.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Raw response body.
+     * It's not decoded, so it may be compressed if the server compressed it.
+     */
+    private final byte[] body;
+
+    /**
+     * Constructor.
+     * @param key See {@link Recording#key}.
+     * @param status See {@link Recording#status}.
+     * @param headers See {@link Recording#headers}.
+     * @param body See {@link Recording#body}.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public Recording(final String key, final int status, final HttpHeaders headers, final byte[] body) {
+        this.key = key;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Return the request it answers.
+     * @return Something like 'GET https://api.github.com/repos/owner/repo/pulls?page=1'.
+     */
+    public String key() {
+        return this.key;
+    }
+
+    /**
+     * Return the status code.
+     * @return Response status code.
+     */
+    public int status() {
+        return this.status;
+    }
+
+    /**
+     * Return the headers.
+     * @return Response headers.
+     */
+    public HttpHeaders headers() {
+        return this.headers;
+    }
+
+    /**
+     * Return the raw body.
+     * @return Response body.
+     */
+    public byte[] body() {
+        return this.body.clone();
+    }
+
+    /**
+     * Play the recording as the response of the request.
+     * The body goes through the body handler as if it came from the network.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param <T> The type of the body.
+     * @return The future of the response.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> response(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final HttpResponse.BodySubscriber<T> subscriber = handler.apply(
+            new HttpResponse.ResponseInfo() {
+                @Override
+                public int statusCode() {
+                    return Recording.this.status;
+                }
+
+                @Override
+                public HttpHeaders headers() {
+                    return Recording.this.headers;
+                }
+
+                @Override
+                public HttpClient.Version version() {
+                    return HttpClient.Version.HTTP_1_1;
+                }
+            }
+        );
+        final AtomicBoolean delivered = new AtomicBoolean();
+        subscriber.onSubscribe(
+            new Flow.Subscription() {
+                @Override
+                public void request(final long count) {
+                    if (!delivered.getAndSet(true)) {
+                        subscriber.onNext(List.of(ByteBuffer.wrap(Recording.this.body())));
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    delivered.set(true);
+                }
+            }
+        );
+        return subscriber.getBody().toCompletableFuture().thenApply(
+            content -> new RecordedResponse<>(request, this.status, this.headers, content)
+        );
+    }
+
+}
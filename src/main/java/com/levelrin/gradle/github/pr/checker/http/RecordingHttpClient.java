@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A decorator of {@link HttpClient} that records the responses in a {@link Cassette}.
+ * We can play them later with {@link ReplayingHttpClient} without the network.
+ * It receives the whole body before giving it to the caller,
+ * so the recording is complete even if the caller stops reading in the middle.
+ */
+public final class RecordingHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The file we record the responses in.
+     * We look it up on the first request, so the build can share one instance.
+     */
+    private final Supplier<Cassette> cassette;
+
+    /**
+     * Secondary constructor.
+     * @param origin The client we decorate.
+     * @param cassette The file we record the responses in.
+     */
+    public RecordingHttpClient(final HttpClient origin, final Cassette cassette) {
+        this(origin, () -> cassette);
+    }
+
+    /**
+     * Primary constructor.
+     * @param origin The client we decorate.
+     * @param cassette See {@link RecordingHttpClient#cassette}.
+     */
+    public RecordingHttpClient(final HttpClient origin, final Supplier<Cassette> cassette) {
+        super(origin);
+        this.cassette = cassette;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        final HttpResponse<byte[]> response = super.send(
+            request,
+            HttpResponse.BodyHandlers.ofByteArray()
+        );
+        final Recording recording = new Recording(
+            new RequestKey(request).value(),
+            response.statusCode(),
+            response.headers(),
+            response.body()
+        );
+        this.cassette.get().record(recording);
+        try {
+            // The recorded body is in memory, so it completes right away.
+            return recording.response(request, handler).get();
+        } catch (final ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to record the response.", cause);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final String key = new RequestKey(request).value();
+        final CompletableFuture<HttpResponse<byte[]>> source = super.sendAsync(
+            request,
+            HttpResponse.BodyHandlers.ofByteArray()
+        );
+        return this.linked(
+            source,
+            source.thenCompose(response -> {
+                final Recording recording = new Recording(
+                    key,
+                    response.statusCode(),
+                    response.headers(),
+                    response.body()
+                );
+                try {
+                    this.cassette.get().record(recording);
+                } catch (final IOException exception) {
+                    throw new CompletionException(exception);
+                }
+                return recording.response(request, handler);
+            })
+        );
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * It ignores the body from the network and gives the stored bytes to the origin instead.
+ * For example, we use this when the server says '304 Not Modified'.
+ * @param <T> The type of the body.
+ */
+public final class ReplayedSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    /**
+     * The subscriber that will receive the stored bytes.
+     */
+    private final HttpResponse.BodySubscriber<T> origin;
+
+    /**
+     * The stored bytes.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Whether we have given the bytes to the origin.
+     */
+    private final AtomicBoolean delivered;
+
+    /**
+     * Constructor.
+     * @param origin See {@link ReplayedSubscriber#origin}.
+     * @param bytes See {@link ReplayedSubscriber#bytes}.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public ReplayedSubscriber(final HttpResponse.BodySubscriber<T> origin, final byte[] bytes) {
+        this.origin = origin;
+        this.bytes = bytes;
+        this.delivered = new AtomicBoolean();
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.origin.getBody();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        // We don't need the body from the network.
+        subscription.request(Long.MAX_VALUE);
+        this.origin.onSubscribe(
+            new Flow.Subscription() {
+                @Override
+                public void request(final long count) {
+                    if (!ReplayedSubscriber.this.delivered.getAndSet(true)) {
+                        ReplayedSubscriber.this.origin.onNext(
+                            List.of(ByteBuffer.wrap(ReplayedSubscriber.this.bytes))
+                        );
+                        ReplayedSubscriber.this.origin.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    ReplayedSubscriber.this.delivered.set(true);
+                    subscription.cancel();
+                }
+            }
+        );
+    }
+
+    @Override
+    public void onNext(final List<ByteBuffer> item) {
+        // We ignore the body from the network.
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        if (!this.delivered.getAndSet(true)) {
+            this.origin.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        // The origin will be completed when it requests the stored bytes.
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A decorator of {@link HttpClient} that plays the responses
+ * recorded by {@link RecordingHttpClient} instead of sending the requests.
+ * It never sends anything via the origin, so it works without the network.
+ * The origin only tells the settings of the client such as the connect timeout.
+ * If the cassette doesn't have the response, the request fails.
+ */
+public final class ReplayingHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The file we play the responses from.
+     * We look it up on the first request, so the build can share one instance.
+     */
+    private final Supplier<Cassette> cassette;
+
+    /**
+     * Secondary constructor.
+     * @param origin The client we decorate.
+     * @param cassette The file we play the responses from.
+     */
+    public ReplayingHttpClient(final HttpClient origin, final Cassette cassette) {
+        this(origin, () -> cassette);
+    }
+
+    /**
+     * Primary constructor.
+     * @param origin The client we decorate.
+     * @param cassette See {@link ReplayingHttpClient#cassette}.
+     */
+    public ReplayingHttpClient(final HttpClient origin, final Supplier<Cassette> cassette) {
+        super(origin);
+        this.cassette = cassette;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        try {
+            return this.sendAsync(request, handler).get();
+        } catch (final ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to play the response.", cause);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final String key = new RequestKey(request).value();
+        CompletableFuture<HttpResponse<T>> result;
+        try {
+            final Optional<Recording> recording = this.cassette.get().recording(key);
+            if (recording.isPresent()) {
+                result = recording.get().response(request, handler);
+            } else {
+                result = CompletableFuture.failedFuture(
+                    new IOException(
+                        String.format(
+                            "The cassette doesn't have the response of '%s'. Record it again.",
+                            key
+                        )
+                    )
+                );
+            }
+        } catch (final IOException exception) {
+            result = CompletableFuture.failedFuture(exception);
+        }
+        return result;
+    }
+
+}
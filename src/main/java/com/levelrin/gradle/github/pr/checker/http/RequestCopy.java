@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpRequest;
+
+/**
+ * It creates a builder that has the same values as the original request.
+ * We need this to add headers to a request we didn't build.
+ */
+public final class RequestCopy {
+
+    /**
+     * The original request.
+     */
+    private final HttpRequest origin;
+
+    /**
+     * Constructor.
+     * @param origin See {@link RequestCopy#origin}.
+     */
+    public RequestCopy(final HttpRequest origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Create a builder that has the same values as the original request.
+     * @return The builder.
+     */
+    public HttpRequest.Builder builder() {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(this.origin.uri())
+            .method(
+                this.origin.method(),
+                this.origin.bodyPublisher().orElse(HttpRequest.BodyPublishers.noBody())
+            )
+            .expectContinue(this.origin.expectContinue());
+        this.origin.timeout().ifPresent(builder::timeout);
+        this.origin.version().ifPresent(builder::version);
+        this.origin.headers().map().forEach(
+            (name, values) -> values.forEach(value -> builder.header(name, value))
+        );
+        return builder;
+    }
+
+}
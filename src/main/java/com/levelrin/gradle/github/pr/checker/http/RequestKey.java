@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * It identifies the request in a {@link Cassette}.
+ * It's the method and URI followed by the hash of the body if there is one.
+ * For example, the GraphQL requests have the same URI, and only the bodies differ.
+ * The headers don't count, so the token is not stored
+ * and the recording can be played with any token.
+ */
+public final class RequestKey {
+
+    /**
+     * The request we identify.
+     */
+    private final HttpRequest request;
+
+    /**
+     * Constructor.
+     * @param request See {@link RequestKey#request}.
+     */
+    public RequestKey(final HttpRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Build the key.
+     * @return Something like 'GET https://api.github.com/repos/owner/repo/pulls?page=1'.
+     */
+    public String value() {
+        String result = String.format("%s %s", this.request.method(), this.request.uri());
+        final byte[] body = this.body();
+        if (body.length > 0) {
+            final MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (final NoSuchAlgorithmException exception) {
+                throw new IllegalStateException("SHA-256 is not available.", exception);
+            }
+            result = String.format("%s %064x", result, new BigInteger(1, digest.digest(body)));
+        }
+        return result;
+    }
+
+    /**
+     * Read the body of the request.
+     * The body publishers of the requests we send produce the bytes right away.
+     * @return Empty array if there is no body.
+     */
+    private byte[] body() {
+        final Optional<HttpRequest.BodyPublisher> publisher = this.request.bodyPublisher();
+        byte[] result = new byte[0];
+        if (publisher.isPresent() && publisher.get().contentLength() != 0) {
+            final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            final CompletableFuture<byte[]> future = new CompletableFuture<>();
+            publisher.get().subscribe(
+                new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(final Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(final ByteBuffer item) {
+                        final byte[] bytes = new byte[item.remaining()];
+                        item.get(bytes);
+                        copy.writeBytes(bytes);
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) {
+                        future.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        future.complete(copy.toByteArray());
+                    }
+                }
+            );
+            try {
+                result = future.get();
+            } catch (final ExecutionException exception) {
+                throw new IllegalStateException("Failed to read the request body.", exception);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading the body.", exception);
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A decorator of {@link HttpClient} that tries the request again
+ * if the server responds with 5xx or the connection fails.
+ * It waits between the attempts as the {@link Backoff} says.
+ * It only retries GET and HEAD requests because they are safe to send twice.
+ * The body of a response we are going to discard is not read.
+ */
+public final class RetryingHttpClient extends HttpClientEnvelope {
+
+    /**
+     * The smallest status code of server errors.
+     */
+    private static final int SERVER_ERROR = 500;
+
+    /**
+     * The largest status code of server errors.
+     */
+    private static final int LAST_SERVER_ERROR = 599;
+
+    /**
+     * It decides the number of attempts and the wait between them.
+     */
+    private final Backoff backoff;
+
+    /**
+     * Constructor.
+     * @param origin The client we decorate.
+     * @param backoff See {@link RetryingHttpClient#backoff}.
+     */
+    public RetryingHttpClient(final HttpClient origin, final Backoff backoff) {
+        super(origin);
+        this.backoff = backoff;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        final HttpResponse<T> result;
+        if (this.idempotent(request)) {
+            Optional<HttpResponse<T>> response = Optional.empty();
+            for (int attempt = 1; response.isEmpty(); attempt = attempt + 1) {
+                try {
+                    final HttpResponse<T> current = super.send(
+                        request,
+                        this.handler(handler, attempt)
+                    );
+                    if (!this.retriable(current.statusCode(), attempt)) {
+                        response = Optional.of(current);
+                    }
+                } catch (final IOException exception) {
+                    if (!this.backoff.allows(attempt)) {
+                        throw exception;
+                    }
+                }
+                if (response.isEmpty()) {
+                    Thread.sleep(this.backoff.delay(attempt).toMillis());
+                }
+            }
+            result = response.get();
+        } else {
+            result = super.send(request, handler);
+        }
+        return result;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final CompletableFuture<HttpResponse<T>> result;
+        if (this.idempotent(request)) {
+            result = this.attempt(request, handler, 1);
+        } else {
+            result = super.sendAsync(request, handler);
+        }
+        return result;
+    }
+
+    /**
+     * Send the request asynchronously and schedule the next attempt if it fails.
+     * Cancelling the future cancels the request in flight or the wait for the next attempt.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param attempt The number of this attempt starting from 1.
+     * @param <T> The type of the body.
+     * @return The future of the response.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> attempt(final HttpRequest request, final HttpResponse.BodyHandler<T> handler, final int attempt) {
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        this.attempt(request, handler, attempt, result);
+        return result;
+    }
+
+    /**
+     * Send the request asynchronously and complete the future with the final response.
+     * @param request The request.
+     * @param handler The body handler.
+     * @param attempt The number of this attempt starting from 1.
+     * @param result The future the caller has.
+     * @param <T> The type of the body.
+     */
+    private <T> void attempt(final HttpRequest request, final HttpResponse.BodyHandler<T> handler, final int attempt, final CompletableFuture<HttpResponse<T>> result) {
+        final CompletableFuture<HttpResponse<T>> sent = super.sendAsync(
+            request,
+            this.handler(handler, attempt)
+        );
+        this.linked(sent, result);
+        sent.whenComplete((response, error) -> {
+            if (error == null && !this.retriable(response.statusCode(), attempt)) {
+                result.complete(response);
+            } else if (error == null || this.recoverable(error, attempt)) {
+                final CompletableFuture<Void> backoff = new CompletableFuture<Void>()
+                    .completeOnTimeout(
+                        null,
+                        this.backoff.delay(attempt).toMillis(),
+                        TimeUnit.MILLISECONDS
+                    );
+                this.linked(backoff, result);
+                backoff.thenRun(() -> {
+                    // The caller may have given up during the wait.
+                    if (!result.isDone()) {
+                        this.attempt(request, handler, attempt + 1, result);
+                    }
+                });
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * Wrap the body handler so that it doesn't read the body of a response we will discard.
+     * @param handler The original body handler.
+     * @param attempt The number of the attempt starting from 1.
+     * @param <T> The type of the body.
+     * @return The body handler.
+     */
+    private <T> HttpResponse.BodyHandler<T> handler(final HttpResponse.BodyHandler<T> handler, final int attempt) {
+        return info -> {
+            final HttpResponse.BodySubscriber<T> result;
+            if (this.retriable(info.statusCode(), attempt)) {
+                result = HttpResponse.BodySubscribers.replacing(null);
+            } else {
+                result = handler.apply(info);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Check if we should try again after the response.
+     * @param status The status code of the response.
+     * @param attempt The number of the attempt starting from 1.
+     * @return True if it's a server error and we have attempts left.
+     */
+    private boolean retriable(final int status, final int attempt) {
+        return status >= SERVER_ERROR
+            && status <= LAST_SERVER_ERROR
+            && this.backoff.allows(attempt);
+    }
+
+    /**
+     * Check if the error is worth another attempt.
+     * @param error The error of the asynchronous request.
+     * @param attempt The number of the attempt starting from 1.
+     * @return True if it's an I/O error and we have attempts left.
+     */
+    private boolean recoverable(final Throwable error, final int attempt) {
+        Throwable cause = error;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof IOException && this.backoff.allows(attempt);
+    }
+
+    /**
+     * Check if the request is safe to send more than once.
+     * @param request The request.
+     * @return True if it's GET or HEAD.
+     */
+    private boolean idempotent(final HttpRequest request) {
+        return "GET".equals(request.method()) || "HEAD".equals(request.method());
+    }
+
+}
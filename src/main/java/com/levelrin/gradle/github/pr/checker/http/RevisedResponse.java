@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import javax.net.ssl.SSLSession;
+
+/**
+ * It's the same as the origin except for the status code and headers.
+ * For example, we use this to present a '304 Not Modified' response
+ * as a '200 OK' response with the stored headers.
+ * @param <T> The type of the body.
+ */
+public final class RevisedResponse<T> implements HttpResponse<T> {
+
+    /**
+     * The response we decorate.
+     */
+    private final HttpResponse<T> origin;
+
+    /**
+     * The status code that replaces the origin's.
+     */
+    private final int status;
+
+    /**
+     * The headers that replace the origin's.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Constructor.
+     * @param origin See {@link RevisedResponse#origin}.
+     * @param status See {@link RevisedResponse#status}.
+     * @param headers See {@link RevisedResponse#headers}.
+     */
+    public RevisedResponse(final HttpResponse<T> origin, final int status, final HttpHeaders headers) {
+        this.origin = origin;
+        this.status = status;
+        this.headers = headers;
+    }
+
+    @Override
+    public int statusCode() {
+        return this.status;
+    }
+
+    @Override
+    public HttpRequest request() {
+        return this.origin.request();
+    }
+
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+        return this.origin.previousResponse();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return this.headers;
+    }
+
+    @Override
+    public T body() {
+        return this.origin.body();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return this.origin.sslSession();
+    }
+
+    @Override
+    public URI uri() {
+        return this.origin.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+        return this.origin.version();
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import org.gradle.api.provider.Provider;
+
+/**
+ * It's the {@link java.net.http.HttpClient} of {@link HttpClientService}.
+ * It doesn't touch the service until we send the first request.
+ * That way, configuring the tasks doesn't create the client.
+ */
+public final class SharedHttpClient extends HttpClientEnvelope {
+
+    /**
+     * Secondary constructor.
+     * It waits for the connection as long as the operating system does.
+     * @param service The service registered in the build.
+     */
+    public SharedHttpClient(final Provider<HttpClientService> service) {
+        super(() -> service.get().client());
+    }
+
+    /**
+     * Primary constructor.
+     * @param service The service registered in the build.
+     * @param connect The connect timeout.
+     */
+    public SharedHttpClient(final Provider<HttpClientService> service, final Duration connect) {
+        super(() -> service.get().client(connect));
+    }
+
+}
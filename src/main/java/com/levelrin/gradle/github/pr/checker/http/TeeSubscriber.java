@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * It passes the body to the origin as it is while keeping a copy of the bytes.
+ * Once the body is completed, it gives the copy to the sink.
+ * @param <T> The type of the body.
+ */
+public final class TeeSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    /**
+     * The subscriber we decorate.
+     */
+    private final HttpResponse.BodySubscriber<T> origin;
+
+    /**
+     * It takes the copy of the body once the body is completed.
+     */
+    private final Consumer<byte[]> sink;
+
+    /**
+     * The copy of the body.
+     */
+    private final ByteArrayOutputStream copy;
+
+    /**
+     * Constructor.
+     * @param origin See {@link TeeSubscriber#origin}.
+     * @param sink See {@link TeeSubscriber#sink}.
+     */
+    public TeeSubscriber(final HttpResponse.BodySubscriber<T> origin, final Consumer<byte[]> sink) {
+        this.origin = origin;
+        this.sink = sink;
+        this.copy = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.origin.getBody();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        this.origin.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(final List<ByteBuffer> item) {
+        for (final ByteBuffer buffer : item) {
+            final ByteBuffer view = buffer.duplicate();
+            final byte[] bytes = new byte[view.remaining()];
+            view.get(bytes);
+            this.copy.writeBytes(bytes);
+        }
+        this.origin.onNext(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        this.origin.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        this.sink.accept(this.copy.toByteArray());
+        this.origin.onComplete();
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A decorator of {@link HttpClient} that sends the asynchronous requests
+ * by blocking a thread of the executor.
+ * It calls {@link HttpClient#send} of the origin on the thread,
+ * so the decorators below wait for the deadline, the retries, and the rate limit
+ * by parking the thread instead of chaining futures.
+ * Only the hedged requests still race on futures because they are two requests at once,
+ * and the JDK client below all of them does its I/O on its own threads either way.
+ * With the virtual threads of {@link Workers}, hundreds of requests can wait at the same time cheaply.
+ * Cancelling the future interrupts the thread that is sending the request.
+ */
+public final class ThreadedHttpClient extends HttpClientEnvelope {
+
+    /**
+     * It runs the blocking requests.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     * @param origin The client we decorate.
+     * @param executor See {@link ThreadedHttpClient#executor}.
+     */
+    public ThreadedHttpClient(final HttpClient origin, final Executor executor) {
+        super(origin);
+        this.executor = executor;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        final FutureTask<HttpResponse<T>> task = new FutureTask<>(
+            () -> this.send(request, handler)
+        ) {
+            @Override
+            protected void done() {
+                try {
+                    result.complete(this.get());
+                } catch (final ExecutionException exception) {
+                    result.completeExceptionally(exception.getCause());
+                } catch (final CancellationException | InterruptedException exception) {
+                    result.cancel(true);
+                }
+            }
+        };
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        this.executor.execute(task);
+        return result;
+    }
+
+}
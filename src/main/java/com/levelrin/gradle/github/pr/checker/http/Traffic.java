@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * It counts the bytes of the compressed responses.
+ * We can see how much compression saves by comparing the two numbers.
+ * The compressed bodies replayed from the cache count as well.
+ * It's thread-safe.
+ */
+public final class Traffic {
+
+    /**
+     * The number of bytes we received over the wire.
+     */
+    private final LongAdder wire;
+
+    /**
+     * The number of bytes after decompression.
+     */
+    private final LongAdder decoded;
+
+    /**
+     * Constructor.
+     */
+    public Traffic() {
+        this.wire = new LongAdder();
+        this.decoded = new LongAdder();
+    }
+
+    /**
+     * Count a part of a response.
+     * @param received The number of bytes we received over the wire.
+     * @param inflated The number of bytes after decompression.
+     */
+    public void record(final long received, final long inflated) {
+        this.wire.add(received);
+        this.decoded.add(inflated);
+    }
+
+    /**
+     * Return the number of bytes we received over the wire.
+     * @return The number of bytes.
+     */
+    public long wire() {
+        return this.wire.sum();
+    }
+
+    /**
+     * Return the number of bytes after decompression.
+     * @return The number of bytes.
+     */
+    public long decoded() {
+        return this.decoded.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d bytes over the wire, %d bytes after decompression",
+            this.wire(),
+            this.decoded()
+        );
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * It provides the threads that run the blocking requests.
+ * On JDK 21 or later, each request gets its own virtual thread,
+ * which costs little while it's waiting for the response.
+ * We look for the virtual threads at runtime because the plugin is built for older JDKs.
+ * On older JDKs, the requests share a bounded pool of platform threads.
+ */
+public final class Workers {
+
+    /**
+     * How long an idle platform thread lives.
+     */
+    private static final long IDLE_SECONDS = 60;
+
+    /**
+     * The number of platform threads.
+     * It doesn't limit the virtual threads.
+     */
+    private final int bound;
+
+    /**
+     * Constructor.
+     * @param bound See {@link Workers#bound}.
+     */
+    public Workers(final int bound) {
+        this.bound = bound;
+    }
+
+    /**
+     * Create the executor that suits the runtime.
+     * @return The executor of virtual threads if the JDK supports them.
+     *  Otherwise, the bounded pool of platform threads.
+     */
+    public ExecutorService executor() {
+        return this.virtual().orElseGet(this::platform);
+    }
+
+    /**
+     * Create the executor that starts a virtual thread for each task.
+     * It doesn't need to be shut down because the virtual threads end with the tasks.
+     * @return Empty if the JDK doesn't support the virtual threads.
+     */
+    public Optional<ExecutorService> virtual() {
+        Optional<ExecutorService> result = Optional.empty();
+        try {
+            result = Optional.of(
+                (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null)
+            );
+        } catch (final NoSuchMethodException exception) {
+            // The JDK is older than 19.
+            result = Optional.empty();
+        } catch (final InvocationTargetException | IllegalAccessException exception) {
+            // The JDK 19 and 20 have them as a preview feature, which may be disabled.
+            result = Optional.empty();
+        }
+        return result;
+    }
+
+    /**
+     * Create the bounded pool of platform threads.
+     * The threads are daemons and end after being idle for a while,
+     * so the pool doesn't need to be shut down.
+     * @return The executor.
+     */
+    public ExecutorService platform() {
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadFactory factory = task -> {
+            final Thread thread = new Thread(
+                task,
+                String.format("github-pr-worker-%d", counter.incrementAndGet())
+            );
+            thread.setDaemon(true);
+            return thread;
+        };
+        final ThreadPoolExecutor result = new ThreadPoolExecutor(
+            this.bound,
+            this.bound,
+            IDLE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            factory
+        );
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+/**
+ * This package contains the decorators of {@link java.net.http.HttpClient}
+ * and the classes they need.
+ */
+package com.levelrin.gradle.github.pr.checker.http;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.source;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.gradle.api.logging.Logging;
+
+/**
+ * An implementation of {@link PrSource} that reads the event payload of the CI.
+ * On GitHub Actions, the payload of the event that triggered the workflow
+ * is at the path of the 'GITHUB_EVENT_PATH' environment variable.
+ * https://docs.github.com/en/actions/using-workflows/events-that-trigger-workflows#pull_request
+ * If the event is about a pull request, the payload has the full pull request object,
+ * which is the same as the one from the API.
+ * So, we can find the pull request without calling the API at all.
+ * We use it only if its head SHA is the local HEAD and its base is the configured repository.
+ * Note that 'actions/checkout' checks out the merge commit by default,
+ * whose SHA is not the head SHA.
+ * It should check out 'github.event.pull_request.head.sha' to benefit from this.
+ * Otherwise, such as a push event or a missing file, we use the fallback.
+ */
+public final class EventPrSource implements PrSource {
+
+    /**
+     * It returns the path of the event payload file.
+     * It's empty if we are not on the CI.
+     */
+    private final Supplier<Optional<Path>> event;
+
+    /**
+     * It contains the repository we are looking for.
+     */
+    private final GitHubPrExtension apiParams;
+
+    /**
+     * We use this if the event payload doesn't have the pull request.
+     */
+    private final PrSource fallback;
+
+    /**
+     * Constructor.
+     * @param event See {@link EventPrSource#event}.
+     * @param apiParams See {@link EventPrSource#apiParams}.
+     * @param fallback See {@link EventPrSource#fallback}.
+     */
+    public EventPrSource(final Supplier<Optional<Path>> event, final GitHubPrExtension apiParams, final PrSource fallback) {
+        this.event = event;
+        this.apiParams = apiParams;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Optional<JsonPull> find(final String sha) {
+        Optional<JsonPull> result = Optional.empty();
+        final Optional<Path> path = this.event.get();
+        if (path.isPresent() && Files.isRegularFile(path.get())) {
+            result = this.payload(path.get(), sha);
+        }
+        if (result.isEmpty()) {
+            result = this.fallback.find(sha);
+        }
+        return result;
+    }
+
+    /**
+     * Read the pull request from the event payload.
+     * @param path The event payload file.
+     * @param sha The head SHA we are looking for.
+     * @return Empty if the payload doesn't have the pull request we are looking for.
+     */
+    private Optional<JsonPull> payload(final Path path, final String sha) {
+        Optional<JsonPull> result = Optional.empty();
+        try {
+            final DocumentContext json = JsonPath.parse(
+                Files.readString(path, StandardCharsets.UTF_8)
+            );
+            final Object pull = json.read("$.pull_request");
+            final String head = json.read("$.pull_request.head.sha");
+            final String repository = json.read("$.pull_request.base.repo.full_name");
+            if (sha.equals(head) && this.repository().equalsIgnoreCase(repository)) {
+                result = Optional.of(new BaseJsonPull(JsonPath.parse(pull).jsonString()));
+            } else {
+                Logging.getLogger(EventPrSource.class).info(
+                    "The event payload has the pull request of {} in {}. We will use the API.",
+                    head,
+                    repository
+                );
+            }
+        } catch (final IOException | JsonPathException exception) {
+            Logging.getLogger(EventPrSource.class).info(
+                "The event payload at {} doesn't have the pull request ({}). We will use the API.",
+                path,
+                exception.getMessage()
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Return the full name of the configured repository.
+     * @return Something like 'levelrin/gradle-github-pr-checker'.
+     */
+    private String repository() {
+        return String.format(
+            "%s/%s",
+            this.apiParams.getOwner().get(),
+            this.apiParams.getRepo().get()
+        );
+    }
+
+}
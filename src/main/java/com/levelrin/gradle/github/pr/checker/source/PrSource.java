@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.source;
+
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import java.util.Optional;
+
+/**
+ * It's where we find the pull request of the local HEAD.
+ * Usually, it's the API. See {@link com.levelrin.gradle.github.pr.checker.api.ApiPulls}.
+ * However, the CI may have the pull request on the local disk already.
+ */
+public interface PrSource {
+
+    /**
+     * Find the pull request whose head SHA is the specified one.
+     * @param sha The head SHA of the pull request.
+     * @return Empty if there is no such pull request.
+     */
+    Optional<JsonPull> find(String sha);
+
+}
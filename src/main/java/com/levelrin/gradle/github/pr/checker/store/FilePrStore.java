@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An implementation of {@link PrStore} that keeps everything in a single file.
+ * It reads the whole file on every call and rewrites it on every change.
+ * The file format is like this:
+ * [watermark][number of pull requests]([head SHA][pull request JSON])*.
+ * The numbers are written by {@link DataOutputStream#writeInt(int)}
+ * and the strings are written by {@link DataOutputStream#writeUTF(String)}.
+ * A broken file is the same as an empty one.
+ */
+public final class FilePrStore implements PrStore {
+
+    /**
+     * The location of the file.
+     */
+    private final Path path;
+
+    /**
+     * Constructor.
+     * @param path See {@link FilePrStore#path}.
+     */
+    public FilePrStore(final Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Optional<BaseJsonPull> find(final String sha) {
+        return Optional.ofNullable(this.snapshot().pulls().get(sha));
+    }
+
+    @Override
+    public Optional<String> watermark() {
+        return this.snapshot().watermark();
+    }
+
+    @Override
+    public void update(final List<BaseJsonPull> pulls, final String watermark) throws IOException {
+        final Snapshot snapshot = this.snapshot();
+        final Map<String, BaseJsonPull> map = snapshot.pulls();
+        final Map<Integer, String> numbers = new HashMap<>();
+        map.forEach((sha, pull) -> numbers.put(pull.number(), sha));
+        for (final BaseJsonPull pull : pulls) {
+            final String sha = pull.head().sha();
+            final String previous = numbers.put(pull.number(), sha);
+            if (previous != null) {
+                map.remove(previous);
+            }
+            map.put(sha, pull);
+        }
+        this.save(new Snapshot(Optional.of(watermark), map));
+    }
+
+    @Override
+    public void remove(final String sha) throws IOException {
+        final Snapshot snapshot = this.snapshot();
+        if (snapshot.pulls().remove(sha) != null) {
+            this.save(snapshot);
+        }
+    }
+
+    /**
+     * Read the file.
+     * @return Everything in the file.
+     */
+    private Snapshot snapshot() {
+        Snapshot result = new Snapshot(Optional.empty(), new LinkedHashMap<>());
+        if (Files.isRegularFile(this.path)) {
+            try (InputStream stream = Files.newInputStream(this.path);
+                DataInputStream input = new DataInputStream(stream)) {
+                final String watermark = input.readUTF();
+                final int count = input.readInt();
+                final Map<String, BaseJsonPull> pulls = new LinkedHashMap<>();
+                for (int index = 0; index < count; index = index + 1) {
+                    pulls.put(input.readUTF(), new BaseJsonPull(input.readUTF()));
+                }
+                result = new Snapshot(
+                    Optional.of(watermark).filter(mark -> !mark.isEmpty()),
+                    pulls
+                );
+            } catch (final IOException exception) {
+                // A broken file is the same as no file.
+                // We will sync from scratch and overwrite it.
+                result = new Snapshot(Optional.empty(), new LinkedHashMap<>());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the file.
+     * It writes to a temporary file first and moves it,
+     * so concurrent readers never see a half-written file.
+     * @param snapshot Everything to write.
+     * @throws IOException If it fails to write.
+     */
+    private void save(final Snapshot snapshot) throws IOException {
+        final Path dir = this.path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        final Path temp = Files.createTempFile(dir, this.path.getFileName().toString(), ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp);
+            DataOutputStream output = new DataOutputStream(stream)) {
+            output.writeUTF(snapshot.watermark().orElse(""));
+            output.writeInt(snapshot.pulls().size());
+            for (final Map.Entry<String, BaseJsonPull> entry : snapshot.pulls().entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeUTF(entry.getValue().toString());
+            }
+        }
+        Files.move(
+            temp,
+            this.path,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+
+    /**
+     * Everything in the file.
+     */
+    private static final class Snapshot {
+
+        /**
+         * See {@link PrStore#watermark()}.
+         */
+        private final Optional<String> mark;
+
+        /**
+         * The pull requests keyed by their head SHA.
+         */
+        private final Map<String, BaseJsonPull> map;
+
+        /**
+         * Constructor.
+         * @param mark See {@link Snapshot#mark}.
+         * @param map See {@link Snapshot#map}.
+         */
+        Snapshot(final Optional<String> mark, final Map<String, BaseJsonPull> map) {
+            this.mark = mark;
+            this.map = map;
+        }
+
+        /**
+         * Return the watermark.
+         * @return See {@link PrStore#watermark()}.
+         */
+        Optional<String> watermark() {
+            return this.mark;
+        }
+
+        /**
+         * Return the pull requests.
+         * @return The mutable map of the pull requests keyed by their head SHA.
+         */
+        Map<String, BaseJsonPull> pulls() {
+            return this.map;
+        }
+
+    }
+
+}
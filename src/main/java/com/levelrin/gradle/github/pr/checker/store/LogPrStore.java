@@ -0,0 +1,739 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.gradle.api.logging.Logging;
+
+/**
+ * An implementation of {@link PrStore} that appends the changes to a log.
+ * Unlike {@link FilePrStore}, a change costs as much as the change itself
+ * no matter how many pull requests we have.
+ * It keeps these files in the directory:
+ * 'pulls.log' has a generation number followed by {@link LogRecord}s.
+ * 'pulls.idx' has the offsets of the latest records up to some point of the log,
+ * so we don't have to read the whole log to find them.
+ * 'pulls.lock' is locked while we use the other files,
+ * so the Gradle daemons on the same machine can share the store.
+ * Once the superseded records take more space than the latest ones,
+ * we compact the log in the background by copying the latest records to a new generation.
+ * If the last record is incomplete because the process died while writing it, we discard it.
+ * In memory, it finds the pull request number by the head SHA in a {@link ShaIndex},
+ * so the head SHAs should be 40 hex digits.
+ * Otherwise, it throws {@link IllegalArgumentException} without writing anything.
+ */
+@SuppressWarnings("PMD.GodClass")
+public final class LogPrStore implements PrStore {
+
+    /**
+     * The name of the log file.
+     */
+    private static final String LOG = "pulls.log";
+
+    /**
+     * The name of the index file.
+     */
+    private static final String INDEX = "pulls.idx";
+
+    /**
+     * The name of the lock file.
+     */
+    private static final String LOCK = "pulls.lock";
+
+    /**
+     * The size of the generation number at the beginning of the log.
+     */
+    private static final int GENERATION = 8;
+
+    /**
+     * We don't compact the log until the superseded records take this many bytes.
+     */
+    private static final long MIN_GARBAGE = 65_536;
+
+    /**
+     * We rewrite the index once this many bytes of the log are not in the index.
+     */
+    private static final long CHECKPOINT = 262_144;
+
+    /**
+     * The file locks belong to the whole process.
+     * So, the threads of the process should take turns before locking the file.
+     */
+    private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+    /**
+     * The directory that contains the files.
+     */
+    private final Path dir;
+
+    /**
+     * It compacts the log in the background.
+     */
+    private final Executor background;
+
+    /**
+     * The threads of this process that use the same directory synchronize on it.
+     */
+    private final Object monitor;
+
+    /**
+     * Whether the compaction is scheduled.
+     */
+    private final AtomicBoolean compacting;
+
+    /**
+     * The latest records of the pull requests keyed by their numbers.
+     */
+    private final Map<Integer, Entry> entries;
+
+    /**
+     * The pull request numbers keyed by their head SHA.
+     */
+    private final ShaIndex heads;
+
+    /**
+     * The generation of the log we have read.
+     * It changes when the log is compacted.
+     */
+    private long generation;
+
+    /**
+     * How far we have read the log.
+     */
+    private long end;
+
+    /**
+     * How far the index file covers the log.
+     */
+    private long covered;
+
+    /**
+     * The number of bytes that the superseded records take.
+     */
+    private long garbage;
+
+    /**
+     * The latest watermark.
+     */
+    private Optional<String> mark;
+
+    /**
+     * The size of the record of the latest watermark.
+     */
+    private int markSize;
+
+    /**
+     * Secondary constructor.
+     * It compacts the log in the common pool.
+     * @param dir See {@link LogPrStore#dir}.
+     */
+    public LogPrStore(final Path dir) {
+        this(dir, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Primary constructor.
+     * @param dir See {@link LogPrStore#dir}.
+     * @param background See {@link LogPrStore#background}.
+     */
+    public LogPrStore(final Path dir, final Executor background) {
+        this.dir = dir;
+        this.background = background;
+        this.monitor = MONITORS.computeIfAbsent(
+            dir.toAbsolutePath().normalize(),
+            key -> new Object()
+        );
+        this.compacting = new AtomicBoolean();
+        this.entries = new HashMap<>();
+        this.heads = new ShaIndex();
+        this.mark = Optional.empty();
+    }
+
+    @Override
+    public Optional<BaseJsonPull> find(final String sha) throws IOException {
+        return this.locked(log -> {
+            Optional<BaseJsonPull> result = Optional.empty();
+            final OptionalInt number = this.heads.get(new Sha(sha));
+            if (number.isPresent()) {
+                final Entry entry = this.entries.get(number.getAsInt());
+                result = Optional.of(
+                    new BaseJsonPull(
+                        LogRecord.decoded(this.payload(log, entry.offset(), entry.size())).value()
+                    )
+                );
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public Optional<String> watermark() throws IOException {
+        return this.locked(log -> this.mark);
+    }
+
+    @Override
+    public void update(final List<BaseJsonPull> pulls, final String watermark) throws IOException {
+        final List<LogRecord> records = new ArrayList<>(pulls.size() + 1);
+        for (final BaseJsonPull pull : pulls) {
+            // It fails before writing anything if the head is not a SHA.
+            final Sha head = new Sha(pull.head().sha());
+            records.add(
+                new LogRecord(LogRecord.PUT, pull.number(), head.toString(), pull.toString())
+            );
+        }
+        records.add(new LogRecord(LogRecord.MARK, -1, watermark, ""));
+        this.locked(log -> {
+            this.append(log, records);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(final String sha) throws IOException {
+        this.locked(log -> {
+            if (this.heads.get(new Sha(sha)).isPresent()) {
+                this.append(log, List.of(new LogRecord(LogRecord.REMOVE, -1, sha, "")));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Copy the latest records to a new generation of the log.
+     * It usually happens in the background.
+     * @throws IOException If it fails to write.
+     */
+    public void compact() throws IOException {
+        this.locked(log -> {
+            final Path temp = Files.createTempFile(this.dir, LOG, ".tmp");
+            try {
+                this.rewrite(log, temp);
+                Files.move(
+                    temp,
+                    this.dir.resolve(LOG),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (final IOException exception) {
+                // We may have forgotten where the records are in the old log.
+                // So, we read it again next time.
+                this.generation = 0;
+                Files.deleteIfExists(temp);
+                throw exception;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Write a new generation of the log that contains the latest records only.
+     * It also writes the index of the new generation.
+     * @param log The current log.
+     * @param temp The file for the new generation.
+     * @throws IOException If it fails to read or write.
+     */
+    private void rewrite(final FileChannel log, final Path temp) throws IOException {
+        final long fresh = this.fresh();
+        final Map<Integer, Entry> moved = new HashMap<>();
+        long position = GENERATION;
+        int size = 0;
+        try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            this.write(output, ByteBuffer.allocate(GENERATION).putLong(fresh).flip(), 0);
+            for (final Entry old : this.entries.values()) {
+                this.write(output, this.bytes(log, old.offset(), old.size()), position);
+                moved.put(old.number(), new Entry(old.head(), old.number(), position, old.size()));
+                position = position + old.size();
+            }
+            if (this.mark.isPresent()) {
+                final ByteBuffer record = new LogRecord(LogRecord.MARK, -1, this.mark.get(), "")
+                    .encoded();
+                size = record.remaining();
+                this.write(output, record, position);
+                position = position + size;
+            }
+            output.force(true);
+        }
+        this.generation = fresh;
+        this.entries.clear();
+        this.entries.putAll(moved);
+        this.markSize = size;
+        this.garbage = 0;
+        this.end = position;
+        // The index of the new generation doesn't match the old log.
+        // So, it's safe to write the index before we replace the log.
+        this.checkpoint();
+    }
+
+    /**
+     * Do the work while holding the locks.
+     * Before the work, we read what the other processes have appended to the log.
+     * @param work The work.
+     * @param <T> The type of the result.
+     * @return The result of the work.
+     * @throws IOException If it fails to use the files.
+     */
+    private <T> T locked(final Work<T> work) throws IOException {
+        synchronized (this.monitor) {
+            Files.createDirectories(this.dir);
+            try (FileChannel guard = FileChannel.open(
+                this.dir.resolve(LOCK),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE
+            )) {
+                final FileLock lock = guard.lock();
+                try (FileChannel log = FileChannel.open(
+                    this.dir.resolve(LOG),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+                )) {
+                    this.load(log);
+                    return work.apply(log);
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Catch up with the log.
+     * If the log has been compacted since the last time, we start over from the index file.
+     * @param log The log.
+     * @throws IOException If it fails to read.
+     */
+    private void load(final FileChannel log) throws IOException {
+        if (log.size() < GENERATION) {
+            final long fresh = this.fresh();
+            log.truncate(0);
+            this.write(log, ByteBuffer.allocate(GENERATION).putLong(fresh).flip(), 0);
+            this.reset(fresh);
+        } else {
+            final long current = this.bytes(log, 0, GENERATION).getLong();
+            if (current != this.generation) {
+                this.restore(current, log.size());
+            }
+        }
+        this.replay(log);
+    }
+
+    /**
+     * Read the records we haven't read yet.
+     * @param log The log.
+     * @throws IOException If it fails to read.
+     */
+    private void replay(final FileChannel log) throws IOException {
+        final long size = log.size();
+        long position = this.end;
+        while (position < size) {
+            final int length = this.length(log, position, size);
+            final Optional<LogRecord> record = this.record(log, position, length);
+            if (record.isEmpty()) {
+                // The process died while writing the record.
+                // Nobody else is writing because we have the lock.
+                log.truncate(position);
+                break;
+            }
+            this.apply(record.get(), position, length);
+            position = position + length;
+        }
+        this.end = position;
+    }
+
+    /**
+     * Read the size of the record at the position.
+     * @param log The log.
+     * @param position The position of the record.
+     * @param size The size of the log.
+     * @return The size including the length and the checksum. It's -1 if it's incomplete.
+     * @throws IOException If it fails to read.
+     */
+    private int length(final FileChannel log, final long position, final long size) throws IOException {
+        int result = -1;
+        if (position + LogRecord.HEADER <= size) {
+            final int payload = this.bytes(log, position, LogRecord.HEADER).getInt();
+            if (payload > 0 && position + LogRecord.HEADER + payload <= size) {
+                result = LogRecord.HEADER + payload;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read the record at the position.
+     * @param log The log.
+     * @param position The position of the record.
+     * @param length The size of the record. It's -1 if it's incomplete.
+     * @return Empty if the record is incomplete or broken.
+     * @throws IOException If it fails to read.
+     */
+    private Optional<LogRecord> record(final FileChannel log, final long position, final int length) throws IOException {
+        Optional<LogRecord> result = Optional.empty();
+        if (length > 0) {
+            final int checksum = this.bytes(log, position, LogRecord.HEADER).getInt(Integer.BYTES);
+            final byte[] payload = this.payload(log, position, length);
+            if (LogRecord.checksum(payload) == checksum) {
+                try {
+                    result = Optional.of(LogRecord.decoded(payload));
+                } catch (final IOException exception) {
+                    result = Optional.empty();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reflect the record in the memory.
+     * @param record The record.
+     * @param offset The position of the record.
+     * @param size The size of the record including the length and the checksum.
+     */
+    private void apply(final LogRecord record, final long offset, final int size) {
+        if (record.kind() == LogRecord.PUT) {
+            final Sha head = new Sha(record.key());
+            this.forget(head);
+            final Entry previous = this.entries.get(record.number());
+            if (previous != null) {
+                this.forget(previous.head());
+            }
+            this.entries.put(record.number(), new Entry(head, record.number(), offset, size));
+            this.heads.put(head, record.number());
+        } else if (record.kind() == LogRecord.REMOVE) {
+            this.forget(new Sha(record.key()));
+            this.garbage = this.garbage + size;
+        } else {
+            this.garbage = this.garbage + this.markSize;
+            this.mark = Optional.of(record.key());
+            this.markSize = size;
+        }
+    }
+
+    /**
+     * Forget the pull request and count its record as garbage.
+     * @param sha The head SHA of the pull request.
+     */
+    private void forget(final Sha sha) {
+        final OptionalInt number = this.heads.get(sha);
+        if (number.isPresent()) {
+            this.heads.remove(sha);
+            this.garbage = this.garbage + this.entries.remove(number.getAsInt()).size();
+        }
+    }
+
+    /**
+     * Append the records to the log.
+     * After that, we may write the index or schedule the compaction.
+     * @param log The log.
+     * @param records The records.
+     * @throws IOException If it fails to write.
+     */
+    private void append(final FileChannel log, final List<LogRecord> records) throws IOException {
+        long position = log.size();
+        for (final LogRecord record : records) {
+            final ByteBuffer bytes = record.encoded();
+            final int length = bytes.remaining();
+            this.write(log, bytes, position);
+            position = position + length;
+        }
+        log.force(false);
+        this.replay(log);
+        final long live = this.end - GENERATION - this.garbage;
+        if (this.garbage > MIN_GARBAGE && this.garbage > live) {
+            this.schedule();
+        } else if (this.end - this.covered > CHECKPOINT) {
+            this.checkpoint();
+        }
+    }
+
+    /**
+     * Compact the log in the background unless it's already scheduled.
+     */
+    private void schedule() {
+        if (this.compacting.compareAndSet(false, true)) {
+            this.background.execute(() -> {
+                try {
+                    this.compact();
+                } catch (final IOException exception) {
+                    // The log is still valid. We will try again next time.
+                    Logging.getLogger(LogPrStore.class).warn(
+                        "Failed to compact the pull request store.",
+                        exception
+                    );
+                } finally {
+                    this.compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Write the index file.
+     * The format is like this:
+     * [generation][covered length][garbage][watermark][watermark record size][count]
+     * ([head SHA][number][offset][size])*.
+     * @throws IOException If it fails to write.
+     */
+    private void checkpoint() throws IOException {
+        final Path temp = Files.createTempFile(this.dir, INDEX, ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp);
+            DataOutputStream output = new DataOutputStream(stream)) {
+            output.writeLong(this.generation);
+            output.writeLong(this.end);
+            output.writeLong(this.garbage);
+            output.writeUTF(this.mark.orElse(""));
+            output.writeInt(this.markSize);
+            output.writeInt(this.entries.size());
+            for (final Entry entry : this.entries.values()) {
+                output.writeUTF(entry.head().toString());
+                output.writeInt(entry.number());
+                output.writeLong(entry.offset());
+                output.writeInt(entry.size());
+            }
+        }
+        Files.move(
+            temp,
+            this.dir.resolve(INDEX),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+        this.covered = this.end;
+    }
+
+    /**
+     * Start over from the index file.
+     * If the index file doesn't belong to the generation, we start from the beginning of the log.
+     * @param current The generation of the log.
+     * @param size The size of the log.
+     */
+    private void restore(final long current, final long size) {
+        this.reset(current);
+        final Path index = this.dir.resolve(INDEX);
+        if (Files.isRegularFile(index)) {
+            try (InputStream stream = Files.newInputStream(index);
+                DataInputStream input = new DataInputStream(stream)) {
+                final long stored = input.readLong();
+                final long length = input.readLong();
+                if (stored == current && length <= size) {
+                    this.garbage = input.readLong();
+                    final String watermark = input.readUTF();
+                    this.mark = Optional.of(watermark).filter(text -> !text.isEmpty());
+                    this.markSize = input.readInt();
+                    final int count = input.readInt();
+                    for (int item = 0; item < count; item = item + 1) {
+                        final Entry entry = new Entry(
+                            new Sha(input.readUTF()),
+                            input.readInt(),
+                            input.readLong(),
+                            input.readInt()
+                        );
+                        this.entries.put(entry.number(), entry);
+                        this.heads.put(entry.head(), entry.number());
+                    }
+                    this.end = length;
+                    this.covered = length;
+                }
+            } catch (final IOException | IllegalArgumentException exception) {
+                // A broken index is the same as no index.
+                this.reset(current);
+            }
+        }
+    }
+
+    /**
+     * Forget everything we have read.
+     * @param current The generation of the log.
+     */
+    private void reset(final long current) {
+        this.generation = current;
+        this.entries.clear();
+        this.heads.clear();
+        this.mark = Optional.empty();
+        this.markSize = 0;
+        this.garbage = 0;
+        this.end = GENERATION;
+        this.covered = 0;
+    }
+
+    /**
+     * Create a new generation number.
+     * @return A random number other than the current one and zero.
+     */
+    private long fresh() {
+        long result = 0;
+        while (result == 0 || result == this.generation) {
+            result = ThreadLocalRandom.current().nextLong();
+        }
+        return result;
+    }
+
+    /**
+     * Read the payload of the record.
+     * @param log The log.
+     * @param offset The position of the record.
+     * @param size The size of the record including the length and the checksum.
+     * @return The payload.
+     * @throws IOException If it fails to read.
+     */
+    private byte[] payload(final FileChannel log, final long offset, final int size) throws IOException {
+        final ByteBuffer buffer = this.bytes(
+            log,
+            offset + LogRecord.HEADER,
+            size - LogRecord.HEADER
+        );
+        final byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    /**
+     * Read the bytes.
+     * @param channel The file.
+     * @param offset Where to start.
+     * @param size How many bytes to read.
+     * @return The bytes ready to be read.
+     * @throws IOException If the file is shorter than expected.
+     */
+    private ByteBuffer bytes(final FileChannel channel, final long offset, final int size) throws IOException {
+        final ByteBuffer result = ByteBuffer.allocate(size);
+        while (result.hasRemaining()) {
+            if (channel.read(result, offset + result.position()) < 0) {
+                throw new IOException("The file ended unexpectedly.");
+            }
+        }
+        return result.flip();
+    }
+
+    /**
+     * Write all the bytes.
+     * @param channel The file.
+     * @param bytes The bytes.
+     * @param offset Where to start.
+     * @throws IOException If it fails to write.
+     */
+    private void write(final FileChannel channel, final ByteBuffer bytes, final long offset) throws IOException {
+        long position = offset;
+        while (bytes.hasRemaining()) {
+            position = position + channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * The work to do while holding the locks.
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    private interface Work<T> {
+
+        /**
+         * Do the work.
+         * @param log The log.
+         * @return The result.
+         * @throws IOException If it fails to use the log.
+         */
+        T apply(FileChannel log) throws IOException;
+
+    }
+
+    /**
+     * The location of the latest record of a pull request.
+     */
+    private static final class Entry {
+
+        /**
+         * The head SHA of the pull request.
+         */
+        private final Sha sha;
+
+        /**
+         * The pull request number.
+         */
+        private final int num;
+
+        /**
+         * The position of the record.
+         */
+        private final long start;
+
+        /**
+         * The size of the record including the length and the checksum.
+         */
+        private final int length;
+
+        /**
+         * Constructor.
+         * @param sha See {@link Entry#sha}.
+         * @param num See {@link Entry#num}.
+         * @param start See {@link Entry#start}.
+         * @param length See {@link Entry#length}.
+         */
+        Entry(final Sha sha, final int num, final long start, final int length) {
+            this.sha = sha;
+            this.num = num;
+            this.start = start;
+            this.length = length;
+        }
+
+        /**
+         * Return the head SHA of the pull request.
+         * @return See {@link Entry#sha}.
+         */
+        Sha head() {
+            return this.sha;
+        }
+
+        /**
+         * Return the pull request number.
+         * @return See {@link Entry#num}.
+         */
+        int number() {
+            return this.num;
+        }
+
+        /**
+         * Return the position of the record.
+         * @return See {@link Entry#start}.
+         */
+        long offset() {
+            return this.start;
+        }
+
+        /**
+         * Return the size of the record.
+         * @return See {@link Entry#length}.
+         */
+        int size() {
+            return this.length;
+        }
+
+    }
+
+}
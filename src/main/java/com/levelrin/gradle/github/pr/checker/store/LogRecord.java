@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * It's a record of {@link LogPrStore}.
+ * The format is like this:
+ * [payload length][CRC32 of the payload][kind]([number][head SHA][pull request JSON]|[text]).
+ * The numbers are written by {@link DataOutputStream#writeInt(int)}
+ * and the strings are written by {@link DataOutputStream#writeUTF(String)}.
+ * The checksum tells us whether the record was completely written.
+ */
+final class LogRecord {
+
+    /**
+     * The size of the length and the checksum.
+     */
+    static final int HEADER = 8;
+
+    /**
+     * The kind of the record that stores a pull request.
+     */
+    static final byte PUT = 1;
+
+    /**
+     * The kind of the record that removes a pull request.
+     */
+    static final byte REMOVE = 2;
+
+    /**
+     * The kind of the record that moves the watermark.
+     */
+    static final byte MARK = 3;
+
+    /**
+     * One of {@link LogRecord#PUT}, {@link LogRecord#REMOVE}, and {@link LogRecord#MARK}.
+     */
+    private final byte kind;
+
+    /**
+     * The pull request number. It's -1 unless the kind is {@link LogRecord#PUT}.
+     */
+    private final int num;
+
+    /**
+     * The head SHA or the watermark.
+     */
+    private final String key;
+
+    /**
+     * The pull request JSON. It's empty unless the kind is {@link LogRecord#PUT}.
+     */
+    private final String value;
+
+    /**
+     * Constructor.
+     * @param kind See {@link LogRecord#kind}.
+     * @param num See {@link LogRecord#num}.
+     * @param key See {@link LogRecord#key}.
+     * @param value See {@link LogRecord#value}.
+     */
+    LogRecord(final byte kind, final int num, final String key, final String value) {
+        this.kind = kind;
+        this.num = num;
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Decode the payload.
+     * @param payload The bytes after the length and the checksum.
+     * @return The record.
+     * @throws IOException If the payload is broken.
+     */
+    static LogRecord decoded(final byte[] payload) throws IOException {
+        final LogRecord result;
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            final byte kind = input.readByte();
+            if (kind == PUT) {
+                final int number = input.readInt();
+                final String sha = input.readUTF();
+                result = new LogRecord(kind, number, sha, input.readUTF());
+            } else if (kind == REMOVE || kind == MARK) {
+                result = new LogRecord(kind, -1, input.readUTF(), "");
+            } else {
+                throw new IOException(String.format("Unknown kind of record: %d", kind));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculate the checksum of the payload.
+     * @param payload The payload.
+     * @return The checksum.
+     */
+    static int checksum(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encode the record with its length and checksum.
+     * @return The bytes to append to the log.
+     * @throws IOException It won't happen because we write to the memory.
+     */
+    ByteBuffer encoded() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(this.kind);
+            if (this.kind == PUT) {
+                output.writeInt(this.num);
+                output.writeUTF(this.key);
+                output.writeUTF(this.value);
+            } else {
+                output.writeUTF(this.key);
+            }
+        }
+        final byte[] payload = bytes.toByteArray();
+        final ByteBuffer result = ByteBuffer.allocate(HEADER + payload.length);
+        result.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        return result;
+    }
+
+    /**
+     * Return the kind.
+     * @return See {@link LogRecord#kind}.
+     */
+    byte kind() {
+        return this.kind;
+    }
+
+    /**
+     * Return the pull request number.
+     * @return See {@link LogRecord#num}.
+     */
+    int number() {
+        return this.num;
+    }
+
+    /**
+     * Return the head SHA or the watermark.
+     * @return See {@link LogRecord#key}.
+     */
+    String key() {
+        return this.key;
+    }
+
+    /**
+     * Return the pull request JSON.
+     * @return See {@link LogRecord#value}.
+     */
+    String value() {
+        return this.value;
+    }
+
+}
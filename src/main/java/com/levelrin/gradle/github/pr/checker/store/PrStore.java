@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * It stores the pull requests of a repository on the disk.
+ * The pull requests are keyed by their head SHA.
+ * Each pull request number appears only once, with its latest head SHA.
+ * Each head SHA also appears only once.
+ * If two open pull requests share the head, such as one branch opened against two bases,
+ * the one stored later replaces the other.
+ * It also remembers the last time it was synchronized with the server, which we call a watermark.
+ */
+public interface PrStore {
+
+    /**
+     * Find the pull request by its head SHA.
+     * @param sha The head SHA.
+     * @return Empty if we don't have it.
+     * @throws IOException If it fails to read.
+     */
+    Optional<BaseJsonPull> find(String sha) throws IOException;
+
+    /**
+     * Return the watermark.
+     * @return The 'updated_at' of the latest stored pull request. Empty if never synchronized.
+     * @throws IOException If it fails to read.
+     */
+    Optional<String> watermark() throws IOException;
+
+    /**
+     * Store the pull requests and move the watermark.
+     * They replace the stored ones that have the same number.
+     * @param pulls The pull requests.
+     * @param watermark The new watermark.
+     * @throws IOException If it fails to write.
+     */
+    void update(List<BaseJsonPull> pulls, String watermark) throws IOException;
+
+    /**
+     * Forget the pull request.
+     * We do this if it's closed or its head has moved.
+     * @param sha The head SHA.
+     * @throws IOException If it fails to write.
+     */
+    void remove(String sha) throws IOException;
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import java.nio.ByteBuffer;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * A commit SHA in 20 bytes instead of a string of 40 characters.
+ * The bytes are kept in three primitive fields, big-endian,
+ * so it's easy to put them into arrays like {@link ShaIndex} does.
+ * It converts from and to JGit's {@link ObjectId}.
+ */
+public final class Sha {
+
+    /**
+     * The number of bytes of a SHA.
+     */
+    private static final int BYTES = 20;
+
+    /**
+     * The number of bits of a hex digit.
+     */
+    private static final int NIBBLE = 4;
+
+    /**
+     * The radix of hex.
+     */
+    private static final int HEX = 16;
+
+    /**
+     * The first 8 bytes.
+     */
+    private final long first;
+
+    /**
+     * The next 8 bytes.
+     */
+    private final long second;
+
+    /**
+     * The last 4 bytes.
+     */
+    private final int third;
+
+    /**
+     * Secondary constructor.
+     * @param hex The SHA in 40 hex digits, such as '6dcb09b5b57875f334f61aebed695e2e4193db5e'.
+     */
+    public Sha(final String hex) {
+        this(ByteBuffer.wrap(Sha.parsed(hex)));
+    }
+
+    /**
+     * Secondary constructor.
+     * @param id The object ID of JGit.
+     */
+    public Sha(final AnyObjectId id) {
+        this(ByteBuffer.wrap(Sha.raw(id)));
+    }
+
+    /**
+     * Secondary constructor.
+     * @param bytes The 20 bytes of the SHA.
+     */
+    private Sha(final ByteBuffer bytes) {
+        this(bytes.getLong(), bytes.getLong(), bytes.getInt());
+    }
+
+    /**
+     * Primary constructor.
+     * @param first See {@link Sha#first}.
+     * @param second See {@link Sha#second}.
+     * @param third See {@link Sha#third}.
+     */
+    public Sha(final long first, final long second, final int third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+    }
+
+    /**
+     * Return the first 8 bytes.
+     * @return The bytes as a long.
+     */
+    public long first() {
+        return this.first;
+    }
+
+    /**
+     * Return the next 8 bytes.
+     * @return The bytes as a long.
+     */
+    public long second() {
+        return this.second;
+    }
+
+    /**
+     * Return the last 4 bytes.
+     * @return The bytes as an int.
+     */
+    public int third() {
+        return this.third;
+    }
+
+    /**
+     * Convert it to the object ID of JGit.
+     * @return The object ID.
+     */
+    public ObjectId objectId() {
+        return ObjectId.fromRaw(
+            ByteBuffer.allocate(BYTES)
+                .putLong(this.first)
+                .putLong(this.second)
+                .putInt(this.third)
+                .array()
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        boolean result = false;
+        if (other instanceof Sha) {
+            final Sha sha = (Sha) other;
+            result = this.first == sha.first
+                && this.second == sha.second
+                && this.third == sha.third;
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        // The SHA is random enough, so any part of it is a good hash.
+        return (int) this.first;
+    }
+
+    /**
+     * Return the SHA in 40 lowercase hex digits.
+     * @return Something like '6dcb09b5b57875f334f61aebed695e2e4193db5e'.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x%08x", this.first, this.second, this.third);
+    }
+
+    /**
+     * Parse the hex digits.
+     * @param hex The SHA in 40 hex digits.
+     * @return The 20 bytes.
+     */
+    private static byte[] parsed(final String hex) {
+        if (hex.length() != BYTES * 2) {
+            throw new IllegalArgumentException(
+                String.format("'%s' is not a SHA. It should be %d hex digits.", hex, BYTES * 2)
+            );
+        }
+        final byte[] result = new byte[BYTES];
+        for (int index = 0; index < BYTES; index = index + 1) {
+            final int high = Character.digit(hex.charAt(index * 2), HEX);
+            final int low = Character.digit(hex.charAt(index * 2 + 1), HEX);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException(
+                    String.format("'%s' is not a SHA. It should be %d hex digits.", hex, BYTES * 2)
+                );
+            }
+            result[index] = (byte) (high << NIBBLE | low);
+        }
+        return result;
+    }
+
+    /**
+     * Copy the bytes of the object ID.
+     * @param id The object ID of JGit.
+     * @return The 20 bytes.
+     */
+    private static byte[] raw(final AnyObjectId id) {
+        final byte[] result = new byte[BYTES];
+        id.copyRawTo(result, 0);
+        return result;
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import java.util.OptionalInt;
+
+/**
+ * A hash table from the head SHA to the pull request number.
+ * It uses open addressing with linear probing over two arrays,
+ * so it doesn't create any object per entry.
+ * Each slot takes the first 16 bytes of the SHA in two elements of the long array,
+ * and the last 4 bytes of the SHA and the number in two elements of the int array.
+ * That's 24 bytes per slot, and the table is at most half full.
+ * So, 50,000 pull requests take about 3 MB.
+ * A slot is empty if its number is zero, which is not a pull request number.
+ * It maps a SHA to one number only.
+ * Putting another number with the same SHA replaces the old one.
+ * It's not thread-safe.
+ */
+public final class ShaIndex {
+
+    /**
+     * The initial number of slots.
+     * It must be a power of two.
+     */
+    private static final int INITIAL = 16;
+
+    /**
+     * The first 16 bytes of the SHAs.
+     * The slot i takes the elements 2i and 2i + 1.
+     */
+    private long[] keys;
+
+    /**
+     * The last 4 bytes of the SHAs and the numbers.
+     * The slot i takes the elements 2i and 2i + 1.
+     */
+    private int[] values;
+
+    /**
+     * The number of entries.
+     */
+    private int count;
+
+    /**
+     * Constructor.
+     */
+    public ShaIndex() {
+        this.keys = new long[INITIAL * 2];
+        this.values = new int[INITIAL * 2];
+    }
+
+    /**
+     * Find the number of the pull request.
+     * @param sha The head SHA.
+     * @return Empty if there is no such pull request.
+     */
+    public OptionalInt get(final Sha sha) {
+        final int slot = this.slot(sha);
+        OptionalInt result = OptionalInt.empty();
+        if (this.occupied(slot)) {
+            result = OptionalInt.of(this.values[slot * 2 + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Add or replace the number of the pull request.
+     * @param sha The head SHA.
+     * @param number The pull request number. It must be positive.
+     */
+    public void put(final Sha sha, final int number) {
+        if (number <= 0) {
+            throw new IllegalArgumentException(
+                String.format("The pull request number should be positive, but it was %d.", number)
+            );
+        }
+        int slot = this.slot(sha);
+        if (!this.occupied(slot)) {
+            if ((this.count + 1) * 2 > this.capacity()) {
+                this.grow();
+                slot = this.slot(sha);
+            }
+            this.count = this.count + 1;
+        }
+        this.store(slot, sha.first(), sha.second(), sha.third(), number);
+    }
+
+    /**
+     * Remove the pull request.
+     * It shifts the following entries back instead of leaving a tombstone,
+     * so removals don't make the lookups slower.
+     * @param sha The head SHA.
+     * @return True if it was in the table.
+     */
+    public boolean remove(final Sha sha) {
+        int hole = this.slot(sha);
+        final boolean result = this.occupied(hole);
+        if (result) {
+            final int mask = this.capacity() - 1;
+            int next = (hole + 1) & mask;
+            while (this.occupied(next)) {
+                final int home = this.home(this.keys[next * 2]);
+                // The entry can move back unless its home is between the hole and itself.
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    this.store(
+                        hole,
+                        this.keys[next * 2],
+                        this.keys[next * 2 + 1],
+                        this.values[next * 2],
+                        this.values[next * 2 + 1]
+                    );
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            this.values[hole * 2 + 1] = 0;
+            this.count = this.count - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Return the number of entries.
+     * @return The number of pull requests.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Remove everything.
+     */
+    public void clear() {
+        this.keys = new long[INITIAL * 2];
+        this.values = new int[INITIAL * 2];
+        this.count = 0;
+    }
+
+    /**
+     * Find the slot of the SHA.
+     * @param sha The SHA.
+     * @return The slot that has the SHA, or the empty slot where it should go.
+     */
+    private int slot(final Sha sha) {
+        final int mask = this.capacity() - 1;
+        int result = this.home(sha.first());
+        while (this.occupied(result) && !this.holds(result, sha)) {
+            result = (result + 1) & mask;
+        }
+        return result;
+    }
+
+    /**
+     * Double the slots and put the entries again.
+     */
+    private void grow() {
+        final long[] old = this.keys;
+        final int[] numbers = this.values;
+        this.keys = new long[old.length * 2];
+        this.values = new int[numbers.length * 2];
+        for (int slot = 0; slot < old.length / 2; slot = slot + 1) {
+            if (numbers[slot * 2 + 1] != 0) {
+                final Sha sha = new Sha(old[slot * 2], old[slot * 2 + 1], numbers[slot * 2]);
+                this.store(
+                    this.slot(sha),
+                    sha.first(),
+                    sha.second(),
+                    sha.third(),
+                    numbers[slot * 2 + 1]
+                );
+            }
+        }
+    }
+
+    /**
+     * Fill the slot.
+     * @param slot The slot.
+     * @param first See {@link Sha#first()}.
+     * @param second See {@link Sha#second()}.
+     * @param third See {@link Sha#third()}.
+     * @param number The pull request number.
+     */
+    private void store(final int slot, final long first, final long second, final int third, final int number) {
+        this.keys[slot * 2] = first;
+        this.keys[slot * 2 + 1] = second;
+        this.values[slot * 2] = third;
+        this.values[slot * 2 + 1] = number;
+    }
+
+    /**
+     * Check whether the slot has the SHA.
+     * @param slot The slot, which is occupied.
+     * @param sha The SHA.
+     * @return True if it does.
+     */
+    private boolean holds(final int slot, final Sha sha) {
+        return this.keys[slot * 2] == sha.first()
+            && this.keys[slot * 2 + 1] == sha.second()
+            && this.values[slot * 2] == sha.third();
+    }
+
+    /**
+     * Check whether the slot has an entry.
+     * @param slot The slot.
+     * @return True if it does.
+     */
+    private boolean occupied(final int slot) {
+        return this.values[slot * 2 + 1] != 0;
+    }
+
+    /**
+     * Find where the SHA should be if there were no collisions.
+     * The SHA is random enough, so its lowest bits spread the entries evenly.
+     * @param first See {@link Sha#first()}.
+     * @return The slot.
+     */
+    private int home(final long first) {
+        return (int) first & (this.capacity() - 1);
+    }
+
+    /**
+     * Return the number of slots.
+     * @return A power of two.
+     */
+    private int capacity() {
+        return this.values.length / 2;
+    }
+
+}
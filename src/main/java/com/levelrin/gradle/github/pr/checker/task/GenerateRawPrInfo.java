@@ -8,15 +8,14 @@
 package com.levelrin.gradle.github.pr.checker.task;
 
 import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
-import com.levelrin.gradle.github.pr.checker.api.ApiPulls;
-import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.source.PrSource;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.gradle.api.Action;
@@ -35,13 +34,14 @@ import org.gradle.api.tasks.TaskAction;
 public abstract class GenerateRawPrInfo extends DefaultTask {
 
     /**
-     * It's for getting the list of pull requests from GitHub.
+     * It's for finding the pull request on GitHub.
+     * It may be the API or the event payload of the CI.
      * Unfortunately, we cannot pass this object via constructor
      * because {@link org.gradle.api.tasks.TaskContainer#register(String, Action)}
      * doesn't allow us to use constructor to instantiate this object.
      * We will set the value via a setter method.
      */
-    private ApiPulls pulls;
+    private PrSource pulls;
 
     /**
      * It's for getting the local sha of HEAD in git.
@@ -66,7 +66,7 @@ public abstract class GenerateRawPrInfo extends DefaultTask {
      * @param generateFile See {@link GenerateRawPrInfo#generateFile}.
      */
     @SuppressWarnings("HiddenField")
-    public void constructor(final ApiPulls pulls, final Supplier<String> headSha, final Consumer<String> generateFile) {
+    public void constructor(final PrSource pulls, final Supplier<String> headSha, final Consumer<String> generateFile) {
         this.pulls = pulls;
         this.headSha = headSha;
         this.generateFile = generateFile;
@@ -78,7 +78,7 @@ public abstract class GenerateRawPrInfo extends DefaultTask {
      * @param headSha See {@link GenerateRawPrInfo#headSha}.
      */
     @SuppressWarnings("HiddenField")
-    public void constructor(final ApiPulls pulls, final Supplier<String> headSha) {
+    public void constructor(final PrSource pulls, final Supplier<String> headSha) {
         this.constructor(pulls, headSha, content -> {
             try {
                 Files.writeString(
@@ -142,23 +142,14 @@ public abstract class GenerateRawPrInfo extends DefaultTask {
     /**
      * Execute the task.
      * It will do the following:
-     * 1. Get the list of pull requests from GitHub.
-     * 2. Find the pull request that match the HEAD sha.
-     * 3. Generate the 'pr.json' file.
+     * 1. Find the pull request that match the HEAD sha from GitHub.
+     * 2. Generate the 'pr.json' file.
      */
     @TaskAction
     @SuppressWarnings("RegexpSingleline")
     public void run() {
-        // We will store the matched pull request here.
-        // The matched one represents the target pull request.
-        final List<BaseJsonPull> matched = new ArrayList<>(1);
         final String sha = this.headSha.get();
-        for (final BaseJsonPull pull : this.pulls.list()) {
-            if (pull.head().sha().equals(sha)) {
-                matched.add(pull);
-                break;
-            }
-        }
+        final Optional<JsonPull> matched = this.pulls.find(sha);
         if (matched.isEmpty()) {
             throw new IllegalStateException(
                 String.format(
@@ -177,7 +168,7 @@ public abstract class GenerateRawPrInfo extends DefaultTask {
             );
         } else {
             this.generateFile.accept(
-                matched.get(0).toString()
+                matched.get().toString()
             );
         }
     }
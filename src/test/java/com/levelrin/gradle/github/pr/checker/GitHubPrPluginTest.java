@@ -7,13 +7,24 @@
 
 package com.levelrin.gradle.github.pr.checker;
 
+import com.jayway.jsonpath.JsonPath;
 import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeGitHubServer;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * The test of {@link GitHubPrPlugin}.
@@ -56,4 +67,61 @@ final class GitHubPrPluginTest {
         );
     }
 
+    @Test
+    public void servicesShouldBeSharedAmongProjects() {
+        final Project root = ProjectBuilder.builder().build();
+        final Project child = ProjectBuilder.builder().withParent(root).build();
+        new GitHubPrPlugin().apply(root);
+        new GitHubPrPlugin().apply(child);
+        MatcherAssert.assertThat(
+            root.getGradle().getSharedServices().getRegistrations().getNames(),
+            CoreMatchers.hasItems("githubPrHttpClient", "githubPrSearches")
+        );
+        MatcherAssert.assertThat(
+            root.getGradle().getSharedServices().getRegistrations().size(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void generateRawPrInfoTaskShouldFindPullRequestOnStandInServer(@TempDir final Path dir) throws IOException, GitAPIException {
+        final File root = dir.resolve("project").toFile();
+        final String head;
+        try (Git git = Git.init().setDirectory(root).call()) {
+            head = git.commit().setMessage("Initial commit").setAllowEmpty(true).call().getName();
+        }
+        final int count = 150;
+        final int number = 42;
+        try (FakeGitHubServer server = new FakeGitHubServer(
+            count,
+            pull -> pull == number ? head : FakeGitHubServer.sha(pull),
+            Duration.ZERO,
+            Duration.ZERO,
+            0
+        )) {
+            final Project project = ProjectBuilder.builder()
+                .withProjectDir(root)
+                .withGradleUserHomeDir(dir.resolve("home").toFile())
+                .build();
+            new GitHubPrPlugin().apply(project);
+            final GitHubPrExtension extension = project
+                .getExtensions()
+                .getByType(GitHubPrExtension.class);
+            final Path output = Files.createDirectories(dir.resolve("output"));
+            extension.getDomain().set(server.domain());
+            extension.getOwner().set("levelrin");
+            extension.getRepo().set("test");
+            extension.getToken().set("token");
+            extension.getEventFile().set((File) null);
+            extension.getOutputDir().set(output.toFile());
+            final Task task = project.getTasks().getByName("generateRawPrInfo");
+            task.getActions().forEach(action -> action.execute(task));
+            MatcherAssert.assertThat(
+                JsonPath.parse(Files.readString(output.resolve("pr.json"), StandardCharsets.UTF_8)).read("$.number"),
+                CoreMatchers.equalTo(number)
+            );
+        }
+    }
+
 }
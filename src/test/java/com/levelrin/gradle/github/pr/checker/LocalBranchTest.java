@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link LocalBranch}.
+ */
+final class LocalBranchTest {
+
+    @Test
+    public void shouldReadBranchOnlyOnce(@TempDir final Path dir) throws GitAPIException, IOException {
+        final File root = dir.toFile();
+        final String sha;
+        try (Git git = Git.init().setDirectory(root).call()) {
+            sha = git.commit().setMessage("Initial commit").setAllowEmpty(true).call().getName();
+            git.checkout().setCreateBranch(true).setName("feature").call();
+        }
+        final Provider<String> branch = this.branch(root);
+        MatcherAssert.assertThat(
+            branch.get(),
+            CoreMatchers.equalTo("feature")
+        );
+        try (Git git = Git.open(root)) {
+            git.checkout().setName(sha).call();
+        }
+        MatcherAssert.assertThat(
+            branch.get(),
+            CoreMatchers.equalTo("feature")
+        );
+    }
+
+    @Test
+    public void shouldHaveNoValueIfHeadIsDetached(@TempDir final Path dir) throws GitAPIException {
+        final File root = dir.toFile();
+        try (Git git = Git.init().setDirectory(root).call()) {
+            final String sha = git.commit()
+                .setMessage("Initial commit")
+                .setAllowEmpty(true)
+                .call()
+                .getName();
+            git.checkout().setName(sha).call();
+        }
+        MatcherAssert.assertThat(
+            this.branch(root).isPresent(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+    /**
+     * Create the provider of the branch in a fresh build.
+     * @param root The directory of the Git repository.
+     * @return The provider.
+     */
+    private Provider<String> branch(final File root) {
+        final Project project = ProjectBuilder.builder().withProjectDir(root).build();
+        return project.getProviders().of(
+            LocalBranch.class,
+            spec -> spec.getParameters().getRoot().set(project.getRootDir())
+        );
+    }
+
+}
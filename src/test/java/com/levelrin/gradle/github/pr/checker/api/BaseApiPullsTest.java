@@ -7,13 +7,22 @@
 
 package com.levelrin.gradle.github.pr.checker.api;
 
+import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
 import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeGitHubServer;
 import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
 import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.hamcrest.CoreMatchers;
+import org.gradle.testfixtures.ProjectBuilder;
 import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -28,7 +37,7 @@ final class BaseApiPullsTest {
             counter.incrementAndGet();
             // The target class doesn't care about the JSON content.
             // To avoid having really long fake data, we just use empty JSONs.
-            return "[{}, {}, {}]";
+            return new FakeResponse("[{}, {}, {}]");
         });
         new BaseApiPulls(http, new FakeGitHubPrExtension()).list();
         MatcherAssert.assertThat(
@@ -41,7 +50,7 @@ final class BaseApiPullsTest {
     public void shouldCallNextPageIfThereAre100PullRequests() {
         final AtomicInteger counter = new AtomicInteger();
         final HttpClient http = new FakeHttpClient(request -> {
-            final String result;
+            final FakeResponse result;
             final int currentCount = counter.getAndIncrement();
             if (currentCount == 0) {
                 // We will create 100 empty JSONs like {}, {}, ..., {}
@@ -51,9 +60,9 @@ final class BaseApiPullsTest {
                 for (int iteration = 0; iteration < maxPull; iteration = iteration + 1) {
                     firstPulls.add("{}");
                 }
-                result = String.format("[%s]", firstPulls);
+                result = new FakeResponse(String.format("[%s]", firstPulls));
             } else if (currentCount == 1) {
-                result = "[]";
+                result = new FakeResponse("[]");
             } else {
                 throw new IllegalStateException(
                     String.format(
@@ -72,4 +81,157 @@ final class BaseApiPullsTest {
         );
     }
 
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldStopWhenLinkHeaderHasNoNextPage() {
+        final AtomicInteger counter = new AtomicInteger();
+        final StringJoiner pulls = new StringJoiner(",");
+        final int maxPull = 100;
+        for (int iteration = 0; iteration < maxPull; iteration = iteration + 1) {
+            pulls.add("{}");
+        }
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            // The last page is full, but the 'Link' header says there is no next page.
+            return new FakeResponse(
+                Map.of(
+                    "Link",
+                    List.of(
+                        "<https://api.github.com/repositories/1/pulls?per_page=100&page=1>; rel=\"first\""
+                    )
+                ),
+                String.format("[%s]", pulls)
+            );
+        });
+        new BaseApiPulls(http, new FakeGitHubPrExtension()).list();
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldNotFetchNextPageOnceItFindsPullRequest() {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            // The 'Link' header says there are more pages, but we don't need them.
+            return new FakeResponse(
+                Map.of(
+                    "Link",
+                    List.of(
+                        "<https://api.github.com/repositories/1/pulls?per_page=100&page=2>; rel=\"next\", <https://api.github.com/repositories/1/pulls?per_page=100&page=9>; rel=\"last\""
+                    )
+                ),
+                """
+                [
+                  {"number": 1, "head": {"sha": "aaa"}, "base": {"sha": "ccc"}},
+                  {"number": 2, "head": {"sha": "bbb"}, "base": {"sha": "ccc"}}
+                ]
+                """
+            );
+        });
+        MatcherAssert.assertThat(
+            new BaseApiPulls(http, new FakeGitHubPrExtension()).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepOnlyProjectedFieldsInList() {
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse("[{\"number\": 1, \"body\": \"Long description\", \"head\": {\"sha\": \"aaa\", \"ref\": \"feature\"}, \"base\": {\"sha\": \"ccc\"}}]")
+        );
+        MatcherAssert.assertThat(
+            new BaseApiPulls(http, new FakeGitHubPrExtension()).list().get(0).toString(),
+            CoreMatchers.equalTo("{\"number\":1,\"head\":{\"sha\":\"aaa\"},\"base\":{\"sha\":\"ccc\"}}")
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepAllFieldsOfFoundPullRequest() {
+        final String pull = "{\"number\": 1, \"body\": \"Long description\", \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}";
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(String.format("[%s]", pull))
+        );
+        MatcherAssert.assertThat(
+            new BaseApiPulls(http, new FakeGitHubPrExtension()).find("aaa").orElseThrow().toString(),
+            CoreMatchers.equalTo(pull)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFailIfPageIsNotOk() {
+        final int unauthorized = 401;
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(unauthorized, Map.of(), "{\"message\": \"Bad credentials\"}")
+        );
+        final IllegalStateException exception = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new BaseApiPulls(http, new FakeGitHubPrExtension()).list()
+        );
+        MatcherAssert.assertThat(
+            exception.getMessage(),
+            CoreMatchers.containsString("401")
+        );
+        MatcherAssert.assertThat(
+            exception.getMessage(),
+            CoreMatchers.containsString("Bad credentials")
+        );
+    }
+
+    @Test
+    public void shouldSendFilterAsQueryParameters() {
+        final HttpClient http = new FakeHttpClient(request -> {
+            MatcherAssert.assertThat(
+                request.uri().getRawQuery(),
+                CoreMatchers.equalTo("per_page=100&page=1&head=levelrin%3Afeature&base=main")
+            );
+            return new FakeResponse("[]");
+        });
+        new BaseApiPulls(
+            http,
+            new FakeGitHubPrExtension(),
+            new PullsFilter(() -> Optional.of("levelrin:feature"), () -> Optional.of("main"))
+        ).list();
+    }
+
+    @Test
+    public void shouldGoThroughPagesServedOverSocket() throws IOException {
+        final int count = 250;
+        final int number = 7;
+        final int pages = 3;
+        try (FakeGitHubServer server = new FakeGitHubServer(count)) {
+            final GitHubPrExtension extension = ProjectBuilder.builder()
+                .build()
+                .getObjects()
+                .newInstance(GitHubPrExtension.class);
+            extension.getDomain().set(server.domain());
+            extension.getOwner().set("levelrin");
+            extension.getRepo().set("test");
+            extension.getToken().set("token");
+            final ApiPulls pulls = new BaseApiPulls(HttpClient.newHttpClient(), extension);
+            MatcherAssert.assertThat(
+                pulls.list().size(),
+                CoreMatchers.equalTo(count)
+            );
+            MatcherAssert.assertThat(
+                server.requests(),
+                CoreMatchers.equalTo(pages)
+            );
+            MatcherAssert.assertThat(
+                pulls.find(FakeGitHubServer.sha(number)).orElseThrow().number(),
+                CoreMatchers.equalTo(number)
+            );
+        }
+    }
+
 }
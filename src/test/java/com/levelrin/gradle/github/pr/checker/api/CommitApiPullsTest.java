@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.net.http.HttpClient;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link CommitApiPulls}.
+ */
+final class CommitApiPullsTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFindPullRequestWithOneRequest() {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            MatcherAssert.assertThat(
+                request.uri().getPath(),
+                CoreMatchers.equalTo("/repos/levelrin/gradle-github-pr-checker/commits/bbb/pulls")
+            );
+            // The first one is a merged pull request that contains the commit.
+            return new FakeResponse(
+                """
+                [
+                  {"number": 1, "state": "closed", "head": {"sha": "aaa"}, "base": {"sha": "ccc"}},
+                  {"number": 2, "state": "open", "head": {"sha": "bbb"}, "base": {"sha": "ccc"}}
+                ]
+                """
+            );
+        });
+        MatcherAssert.assertThat(
+            new CommitApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                () -> {
+                    throw new IllegalStateException("The fallback should not be used.");
+                }
+            ).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldUseFallbackIfApiIsUnavailable() {
+        final int notFound = 404;
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(notFound, Map.of(), "{\"message\": \"Not Found\"}")
+        );
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            new CommitApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                () -> List.of(
+                    new BaseJsonPull("{\"number\": 3, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}}")
+                )
+            ).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldUseFallbackIfOnlyClosedPullRequestHasCommit() {
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(
+                "[{\"number\": 1, \"state\": \"closed\", \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}}]"
+            )
+        );
+        MatcherAssert.assertThat(
+            new CommitApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                Collections::emptyList
+            ).find("bbb").isPresent(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldUseFallbackIfCommitIsNotAssociatedYet() {
+        final HttpClient http = new FakeHttpClient(request -> new FakeResponse("[]"));
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            new CommitApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                () -> List.of(
+                    new BaseJsonPull("{\"number\": 3, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}}")
+                )
+            ).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFailOnOtherErrors() {
+        final int unauthorized = 401;
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(unauthorized, Map.of(), "{\"message\": \"Bad credentials\"}")
+        );
+        final IllegalStateException exception = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new CommitApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                () -> {
+                    throw new IllegalStateException("The fallback should not be used.");
+                }
+            ).find("bbb")
+        );
+        MatcherAssert.assertThat(
+            exception.getMessage(),
+            CoreMatchers.containsString("Bad credentials")
+        );
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.Projection;
+import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.net.http.HttpClient;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link ConcurrentApiPulls}.
+ */
+final class ConcurrentApiPullsTest {
+
+    @Test
+    public void shouldFetchAllPagesUpToLastLink() {
+        final AtomicInteger counter = new AtomicInteger();
+        final int last = 4;
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            return new FakeResponse(this.link(last), "[{}, {}]");
+        });
+        final int expectedPulls = 8;
+        MatcherAssert.assertThat(
+            new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), 2).list().size(),
+            CoreMatchers.equalTo(expectedPulls)
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(last)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepAllFieldsOfFoundPullRequestOnly() {
+        final String pull = "{\"number\": 1, \"body\": \"Long description\", \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}";
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(this.link(2), String.format("[%s]", pull))
+        );
+        final ApiPulls pulls = new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), 2, new Projection(List.of("number")));
+        MatcherAssert.assertThat(
+            pulls.list().get(1).toString(),
+            CoreMatchers.equalTo("{\"number\":1,\"head\":{\"sha\":\"aaa\"},\"base\":{\"sha\":\"ccc\"}}")
+        );
+        MatcherAssert.assertThat(
+            pulls.find("aaa").orElseThrow().toString(),
+            CoreMatchers.equalTo(pull)
+        );
+    }
+
+    @Test
+    public void shouldGoOnPageByPageIfFullPageHasNoLastLink() {
+        final List<String> pages = new CopyOnWriteArrayList<>();
+        final int full = 100;
+        final HttpClient http = new FakeHttpClient(request -> {
+            final String query = request.uri().getQuery();
+            pages.add(query.substring(query.lastIndexOf('=') + 1));
+            final FakeResponse response;
+            if (query.endsWith("&page=1")) {
+                response = new FakeResponse(
+                    String.format("[%s]", String.join(", ", Collections.nCopies(full, "{}")))
+                );
+            } else {
+                response = new FakeResponse("[{}, {}, {}]");
+            }
+            return response;
+        });
+        final int concurrency = 8;
+        final int expected = 103;
+        MatcherAssert.assertThat(
+            new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), concurrency).list().size(),
+            CoreMatchers.equalTo(expected)
+        );
+        MatcherAssert.assertThat(
+            pages,
+            CoreMatchers.equalTo(List.of("1", "2"))
+        );
+    }
+
+    @Test
+    public void shouldNotExceedConcurrencyCap() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final int last = 10;
+        final long latency = 20;
+        final HttpClient http = new FakeHttpClient(request -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            } catch (final InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+            inFlight.decrementAndGet();
+            return new FakeResponse(this.link(last), "[{}]");
+        });
+        final int concurrency = 3;
+        new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), concurrency).list();
+        MatcherAssert.assertThat(
+            peak.get(),
+            Matchers.lessThanOrEqualTo(concurrency)
+        );
+    }
+
+    @Test
+    public void shouldFailIfAnyPageFails() {
+        final int last = 5;
+        final HttpClient http = new FakeHttpClient(request -> {
+            if (request.uri().getQuery().endsWith("page=3")) {
+                throw new IllegalStateException("Page 3 is broken.");
+            }
+            return new FakeResponse(this.link(last), "[{}]");
+        });
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), 2).list()
+        );
+    }
+
+    @Test
+    public void shouldFailIfAnyPageIsNotOk() {
+        final int last = 5;
+        final int error = 502;
+        final HttpClient http = new FakeHttpClient(request -> {
+            final FakeResponse response;
+            if (request.uri().getQuery().endsWith("page=3")) {
+                response = new FakeResponse(error, Map.of(), "{\"message\": \"Server Error\"}");
+            } else {
+                response = new FakeResponse(this.link(last), "[{}]");
+            }
+            return response;
+        });
+        final IllegalStateException exception = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), 2).list()
+        );
+        MatcherAssert.assertThat(
+            exception.getCause().getCause().getMessage(),
+            CoreMatchers.containsString("Server Error")
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFailIfFirstPageIsNotOk() {
+        final int unauthorized = 401;
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(unauthorized, Map.of(), "{\"message\": \"Bad credentials\"}")
+        );
+        final IllegalStateException exception = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), 2).find("aaa")
+        );
+        MatcherAssert.assertThat(
+            exception.getMessage(),
+            CoreMatchers.containsString("Bad credentials")
+        );
+    }
+
+    @Test
+    public void shouldStopFetchingOnceItFindsPullRequest() throws InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final int last = 50;
+        final long latency = 20;
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            } catch (final InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return new FakeResponse(
+                this.link(last),
+                "[{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}]"
+            );
+        });
+        new ConcurrentApiPulls(http, new FakeGitHubPrExtension(), 2).find("aaa");
+        // Give the requests in flight a chance to start new ones if they were not cancelled.
+        final long grace = 200;
+        TimeUnit.MILLISECONDS.sleep(grace);
+        MatcherAssert.assertThat(
+            counter.get(),
+            Matchers.lessThan(last)
+        );
+    }
+
+    /**
+     * Create the 'Link' header that points to the last page.
+     * @param last The last page number.
+     * @return Response headers.
+     */
+    @SuppressWarnings("LineLength")
+    private Map<String, List<String>> link(final int last) {
+        return Map.of(
+            "Link",
+            List.of(
+                String.format(
+                    "<https://api.github.com/repositories/1/pulls?per_page=100&page=2>; rel=\"next\", <https://api.github.com/repositories/1/pulls?per_page=100&page=%d>; rel=\"last\"",
+                    last
+                )
+            )
+        );
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link GraphqlApiPulls}.
+ */
+final class GraphqlApiPullsTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFollowCursorUntilLastPage() {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new FakeHttpClient(request -> {
+            MatcherAssert.assertThat(
+                request.method(),
+                CoreMatchers.equalTo("POST")
+            );
+            MatcherAssert.assertThat(
+                request.uri().toString(),
+                CoreMatchers.equalTo("https://api.github.com/graphql")
+            );
+            final FakeResponse result;
+            if (counter.getAndIncrement() == 0) {
+                result = new FakeResponse(
+                    """
+                    {"data": {"repository": {"pullRequests": {
+                      "pageInfo": {"hasNextPage": true, "endCursor": "abc"},
+                      "nodes": [{"number": 1, "headRefOid": "aaa", "baseRefOid": "ccc"}]
+                    }}}}
+                    """
+                );
+            } else {
+                result = new FakeResponse(
+                    """
+                    {"data": {"repository": {"pullRequests": {
+                      "pageInfo": {"hasNextPage": false, "endCursor": "def"},
+                      "nodes": [{"number": 2, "headRefOid": "bbb", "baseRefOid": "ccc"}]
+                    }}}}
+                    """
+                );
+            }
+            return result;
+        });
+        MatcherAssert.assertThat(
+            new GraphqlApiPulls(http, new FakeGitHubPrExtension())
+                .list()
+                .stream()
+                .map(BaseJsonPull::number)
+                .collect(Collectors.toList()),
+            CoreMatchers.equalTo(List.of(1, 2))
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldStopOnceItFindsPullRequest() {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            return new FakeResponse(
+                """
+                {"data": {"repository": {"pullRequests": {
+                  "pageInfo": {"hasNextPage": true, "endCursor": "abc"},
+                  "nodes": [{"number": 7, "headRefOid": "aaa", "baseRefOid": "ccc"}]
+                }}}}
+                """
+            );
+        });
+        final int expected = 7;
+        MatcherAssert.assertThat(
+            new GraphqlApiPulls(http, new FakeGitHubPrExtension()).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    public void shouldFailIfStatusIsNotOk() {
+        final int unauthorized = 401;
+        final HttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(
+                unauthorized,
+                Map.of(),
+                "{\"message\": \"Bad credentials\"}"
+            )
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new GraphqlApiPulls(http, new FakeGitHubPrExtension()).list()
+        );
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import com.levelrin.gradle.github.pr.checker.store.FilePrStore;
+import com.levelrin.gradle.github.pr.checker.store.LogPrStore;
+import com.levelrin.gradle.github.pr.checker.store.PrStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link IndexedApiPulls}.
+ */
+final class IndexedApiPullsTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldStopSyncingAtWatermark(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-01T00:00:00Z\"}")),
+            "2022-01-01T00:00:00Z"
+        );
+        final List<String> queries = new ArrayList<>();
+        final FakeHttpClient http = new FakeHttpClient(request -> {
+            queries.add(request.uri().getQuery());
+            return new FakeResponse(
+                """
+                [
+                  {"number": 2, "head": {"sha": "bbb"}, "base": {"sha": "ccc"}, "updated_at": "2022-01-02T00:00:00Z"},
+                  {"number": 1, "head": {"sha": "aaa"}, "base": {"sha": "ccc"}, "updated_at": "2021-12-31T00:00:00Z"}
+                ]
+                """
+            );
+        });
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                store,
+                () -> {
+                    throw new IllegalStateException("The origin should not be used.");
+                }
+            ).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            queries,
+            CoreMatchers.equalTo(List.of("per_page=100&page=1&sort=updated&direction=desc"))
+        );
+        MatcherAssert.assertThat(
+            store.find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.of("2022-01-02T00:00:00Z"))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldGetUnchangedPullRequestByNumber(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-01T00:00:00Z\"}")),
+            "2022-01-02T00:00:00Z"
+        );
+        final FakeHttpClient http = new FakeHttpClient(request -> {
+            final FakeResponse response;
+            if (request.uri().getPath().endsWith("/pulls/1")) {
+                response = new FakeResponse("{\"number\": 1, \"state\": \"open\", \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}");
+            } else {
+                response = new FakeResponse("[{\"number\": 2, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-01T12:00:00Z\"}]");
+            }
+            return response;
+        });
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                store,
+                () -> {
+                    throw new IllegalStateException("The origin should not be used.");
+                }
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldForgetClosedPullRequestAndUseOrigin(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-01T00:00:00Z\"}")),
+            "2022-01-02T00:00:00Z"
+        );
+        final FakeHttpClient http = new FakeHttpClient(request -> {
+            final FakeResponse response;
+            if (request.uri().getPath().endsWith("/pulls/1")) {
+                response = new FakeResponse("{\"number\": 1, \"state\": \"closed\", \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}");
+            } else {
+                response = new FakeResponse("[]");
+            }
+            return response;
+        });
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                store,
+                () -> List.of(new BaseJsonPull("{\"number\": 3, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}"))
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+        MatcherAssert.assertThat(
+            store.find("aaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldNotStoreAnythingWithoutUpdateTime(@TempDir final Path dir) {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        final FakeHttpClient http = new FakeHttpClient(
+            request -> new FakeResponse("[{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}]")
+        );
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                store,
+                () -> List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}"))
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            new FilePrStore(dir.resolve("repo")).watermark(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldUseOriginIfStoreFails(@TempDir final Path dir) throws IOException {
+        final Path blocked = Files.createFile(dir.resolve("blocked"));
+        final FakeHttpClient http = new FakeHttpClient(
+            request -> new FakeResponse("[{\"number\": 2, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-02T00:00:00Z\"}]")
+        );
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                new FilePrStore(blocked.resolve("repo")),
+                () -> List.of(new BaseJsonPull("{\"number\": 3, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}}"))
+            ).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldUseOriginIfStoreRejectsHead(@TempDir final Path dir) {
+        final FakeHttpClient http = new FakeHttpClient(
+            request -> new FakeResponse("[{\"number\": 2, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-02T00:00:00Z\"}]")
+        );
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                new LogPrStore(dir.resolve("repo")),
+                () -> List.of(new BaseJsonPull("{\"number\": 3, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}}"))
+            ).find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepLatestOfPullRequestsSharingHead(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        final FakeHttpClient http = new FakeHttpClient(
+            request -> new FakeResponse(
+                """
+                [
+                  {"number": 2, "head": {"sha": "aaa"}, "base": {"sha": "ccc"}, "updated_at": "2022-01-02T00:00:00Z"},
+                  {"number": 1, "head": {"sha": "aaa"}, "base": {"sha": "ddd"}, "updated_at": "2022-01-01T00:00:00Z"}
+                ]
+                """
+            )
+        );
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                store,
+                () -> {
+                    throw new IllegalStateException("The origin should not be used.");
+                }
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            store.find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldNotListAgainAfterFirstFullSync(@TempDir final Path dir) {
+        final List<String> queries = new ArrayList<>();
+        final FakeHttpClient http = new FakeHttpClient(request -> {
+            queries.add(request.uri().getQuery());
+            return new FakeResponse("[{\"number\": 2, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}, \"updated_at\": \"2022-01-02T00:00:00Z\"}]");
+        });
+        MatcherAssert.assertThat(
+            new IndexedApiPulls(
+                http,
+                new FakeGitHubPrExtension(),
+                new FilePrStore(dir.resolve("repo")),
+                () -> {
+                    throw new IllegalStateException("The origin should not be used.");
+                }
+            ).find("aaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            queries,
+            CoreMatchers.equalTo(List.of("per_page=100&page=1&sort=updated&direction=desc"))
+        );
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.util.List;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link NarrowedApiPulls}.
+ */
+final class NarrowedApiPullsTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFindPullRequestInNarrowedList() {
+        MatcherAssert.assertThat(
+            new NarrowedApiPulls(
+                new PullsFilter(() -> Optional.of("levelrin:feature"), Optional::empty),
+                () -> List.of(
+                    new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")
+                ),
+                () -> {
+                    throw new IllegalStateException("The full list should not be used.");
+                }
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldUseFullListIfNarrowedListDoesNotHavePullRequest() {
+        // For example, the pull request came from a fork.
+        final int expected = 2;
+        MatcherAssert.assertThat(
+            new NarrowedApiPulls(
+                new PullsFilter(() -> Optional.of("levelrin:feature"), Optional::empty),
+                List::of,
+                () -> List.of(
+                    new BaseJsonPull("{\"number\": 2, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")
+                )
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldSkipNarrowedListIfFilterIsInactive() {
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            new NarrowedApiPulls(
+                new PullsFilter(),
+                () -> {
+                    throw new IllegalStateException("The narrowed list should not be used.");
+                },
+                () -> List.of(
+                    new BaseJsonPull("{\"number\": 3, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")
+                )
+            ).find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link PullsFilter}.
+ */
+final class PullsFilterTest {
+
+    @Test
+    public void shouldEncodeHeadAndBase() {
+        MatcherAssert.assertThat(
+            new PullsFilter(
+                () -> Optional.of("levelrin:feature/a b"),
+                () -> Optional.of("release/1.0")
+            ).query(),
+            CoreMatchers.equalTo("&head=levelrin%3Afeature%2Fa+b&base=release%2F1.0")
+        );
+    }
+
+    @Test
+    public void shouldOmitUnknownValues() {
+        final PullsFilter filter = new PullsFilter(Optional::empty, () -> Optional.of("main"));
+        MatcherAssert.assertThat(
+            filter.query(),
+            CoreMatchers.equalTo("&base=main")
+        );
+        MatcherAssert.assertThat(
+            filter.active(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldBeInactiveWithoutValues() {
+        final PullsFilter filter = new PullsFilter();
+        MatcherAssert.assertThat(
+            filter.query(),
+            CoreMatchers.equalTo("")
+        );
+        MatcherAssert.assertThat(
+            filter.active(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+}
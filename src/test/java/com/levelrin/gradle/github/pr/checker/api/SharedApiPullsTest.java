@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link SharedApiPulls}.
+ */
+final class SharedApiPullsTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void projectsShouldShareSearch() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ApiPulls origin = () -> {
+            calls.incrementAndGet();
+            return List.of(
+                new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")
+            );
+        };
+        final SingleFlight<List<String>, Optional<JsonPull>> flights = new SingleFlight<>();
+        final ApiPulls first = new SharedApiPulls(origin, new FakeGitHubPrExtension(), () -> flights);
+        final ApiPulls second = new SharedApiPulls(origin, new FakeGitHubPrExtension(), () -> flights);
+        MatcherAssert.assertThat(
+            first.find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(second.find("aaa").orElseThrow().number())
+        );
+        MatcherAssert.assertThat(
+            calls.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    public void differentShaShouldBeSearchedSeparately() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ApiPulls origin = () -> {
+            calls.incrementAndGet();
+            return List.of();
+        };
+        final SingleFlight<List<String>, Optional<JsonPull>> flights = new SingleFlight<>();
+        new SharedApiPulls(origin, new FakeGitHubPrExtension(), () -> flights).find("aaa");
+        new SharedApiPulls(origin, new FakeGitHubPrExtension(), () -> flights).find("bbb");
+        MatcherAssert.assertThat(
+            calls.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link SingleFlight}.
+ */
+final class SingleFlightTest {
+
+    @Test
+    public void concurrentCallersShouldShareOneComputation() throws ExecutionException, InterruptedException {
+        final int callers = 8;
+        final SingleFlight<String, String> flight = new SingleFlight<>();
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<String> release = new CompletableFuture<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            results.add(
+                executor.submit(
+                    () -> flight.value("key", () -> {
+                        computations.incrementAndGet();
+                        started.countDown();
+                        return release.join();
+                    })
+                )
+            );
+            started.await();
+            for (int index = 1; index < callers; index = index + 1) {
+                results.add(
+                    executor.submit(
+                        () -> flight.value("key", () -> {
+                            computations.incrementAndGet();
+                            return "other";
+                        })
+                    )
+                );
+            }
+            release.complete("value");
+            for (final Future<String> result : results) {
+                MatcherAssert.assertThat(
+                    result.get(),
+                    CoreMatchers.equalTo("value")
+                );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        MatcherAssert.assertThat(
+            computations.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    public void laterCallerShouldGetStoredValue() {
+        final SingleFlight<String, String> flight = new SingleFlight<>();
+        flight.value("key", () -> "value");
+        MatcherAssert.assertThat(
+            flight.value("key", () -> "other"),
+            CoreMatchers.equalTo("value")
+        );
+    }
+
+    @Test
+    public void differentKeysShouldNotShareValue() {
+        final SingleFlight<String, String> flight = new SingleFlight<>();
+        flight.value("one", () -> "first");
+        MatcherAssert.assertThat(
+            flight.value("two", () -> "second"),
+            CoreMatchers.equalTo("second")
+        );
+    }
+
+    @Test
+    public void failureShouldNotBeStored() {
+        final SingleFlight<String, String> flight = new SingleFlight<>();
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> flight.value("key", () -> {
+                throw new IllegalStateException("API is down.");
+            })
+        );
+        MatcherAssert.assertThat(
+            flight.value("key", () -> "value"),
+            CoreMatchers.equalTo("value")
+        );
+    }
+
+}
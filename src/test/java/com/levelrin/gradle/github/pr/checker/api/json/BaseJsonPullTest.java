@@ -7,7 +7,10 @@
 
 package com.levelrin.gradle.github.pr.checker.api.json;
 
+import com.jayway.jsonpath.JsonPath;
 import com.levelrin.gradle.github.pr.checker.fake.api.json.FakeJsonPull;
+import java.util.Map;
+import java.util.Optional;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Test;
@@ -48,6 +51,34 @@ final class BaseJsonPullTest {
         );
     }
 
+    @Test
+    public void shouldParseUpdatedAt() {
+        MatcherAssert.assertThat(
+            new BaseJsonPull(
+                new FakeJsonPull().toString()
+            ).updatedAt(),
+            CoreMatchers.equalTo(Optional.of("2011-01-26T19:01:12Z"))
+        );
+    }
+
+    @Test
+    public void shouldReturnEmptyIfUpdatedAtIsMissing() {
+        MatcherAssert.assertThat(
+            new BaseJsonPull("{\"number\": 1}").updatedAt(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldParseState() {
+        MatcherAssert.assertThat(
+            new BaseJsonPull(
+                new FakeJsonPull().toString()
+            ).state(),
+            CoreMatchers.equalTo("open")
+        );
+    }
+
     @Test
     public void shouldReturnRawJsonWhenToStringMethodIsUsed() {
         final String raw = new FakeJsonPull().toString();
@@ -57,4 +88,44 @@ final class BaseJsonPullTest {
         );
     }
 
+    @Test
+    public void shouldKeepReadingFromParsedJson() {
+        final int number = 3;
+        final BaseJsonPull pull = new BaseJsonPull(
+            "{\"number\": 3, \"head\": {\"sha\": \"abc\"}, \"base\": {\"sha\": \"def\"}}"
+        );
+        for (int round = 0; round < 2; round = round + 1) {
+            MatcherAssert.assertThat(
+                pull.number(),
+                CoreMatchers.equalTo(number)
+            );
+            MatcherAssert.assertThat(
+                pull.head().sha(),
+                CoreMatchers.equalTo("abc")
+            );
+            MatcherAssert.assertThat(
+                pull.base().sha(),
+                CoreMatchers.equalTo("def")
+            );
+        }
+    }
+
+    @Test
+    public void shouldWriteParsedJsonOnDemand() {
+        final int number = 4;
+        final BaseJsonPull pull = new BaseJsonPull(
+            JsonPath.parse(
+                Map.of("number", number, "head", Map.of("sha", "abc"))
+            )
+        );
+        MatcherAssert.assertThat(
+            pull.head().sha(),
+            CoreMatchers.equalTo("abc")
+        );
+        MatcherAssert.assertThat(
+            JsonPath.parse(pull.toString()).read("$.number"),
+            CoreMatchers.equalTo(number)
+        );
+    }
+
 }
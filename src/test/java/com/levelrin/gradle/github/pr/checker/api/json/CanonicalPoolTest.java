@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import com.jayway.jsonpath.JsonPath;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link CanonicalPool}.
+ */
+final class CanonicalPoolTest {
+
+    @Test
+    @SuppressWarnings({"unchecked", "LineLength"})
+    public void shouldShareEqualObjectsAndStrings() {
+        final CanonicalPool pool = new CanonicalPool();
+        final Map<String, Object> first = (Map<String, Object>) pool.apply(
+            JsonPath.parse("{\"number\": 1, \"user\": {\"login\": \"octocat\"}, \"labels\": [\"bug\"], \"url\": \"https://api.github.com/repos/octocat/Hello-World\"}").json()
+        );
+        final Map<String, Object> second = (Map<String, Object>) pool.apply(
+            JsonPath.parse("{\"number\": 2, \"user\": {\"login\": \"octocat\"}, \"labels\": [\"bug\"], \"url\": \"https://api.github.com/repos/octocat/Hello-World\"}").json()
+        );
+        MatcherAssert.assertThat(
+            second.get("user"),
+            CoreMatchers.sameInstance(first.get("user"))
+        );
+        MatcherAssert.assertThat(
+            second.get("labels"),
+            CoreMatchers.sameInstance(first.get("labels"))
+        );
+        MatcherAssert.assertThat(
+            second.get("url"),
+            CoreMatchers.sameInstance(first.get("url"))
+        );
+        MatcherAssert.assertThat(
+            second,
+            CoreMatchers.not(CoreMatchers.sameInstance(first))
+        );
+    }
+
+    @Test
+    public void shouldKeepJsonAsItIs() {
+        final String json = "{\"b\":[1,2.5,true,null,{\"c\":\"d\"}],\"a\":\"\\\"e\\\"\"}";
+        MatcherAssert.assertThat(
+            JsonPath.parse(new CanonicalPool().apply(JsonPath.parse(json).json())).jsonString(),
+            CoreMatchers.equalTo(json)
+        );
+    }
+
+    @Test
+    public void shouldNotShareDifferentValues() {
+        final CanonicalPool pool = new CanonicalPool();
+        final Object first = pool.apply(JsonPath.parse("{\"login\": \"octocat\"}").json());
+        MatcherAssert.assertThat(
+            pool.apply(JsonPath.parse("{\"login\": \"monalisa\"}").json()),
+            CoreMatchers.not(CoreMatchers.sameInstance(first))
+        );
+        MatcherAssert.assertThat(
+            pool.apply(JsonPath.parse("[\"octocat\"]").json()),
+            CoreMatchers.not(CoreMatchers.sameInstance(first))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReturnUnmodifiableValues() {
+        final Map<String, Object> json = (Map<String, Object>) new CanonicalPool().apply(
+            JsonPath.parse("{\"labels\": [\"bug\"]}").json()
+        );
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> json.put("number", 1)
+        );
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> ((List<Object>) json.get("labels")).add("feature")
+        );
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link GraphqlPage}.
+ */
+final class GraphqlPageTest {
+
+    @Test
+    public void shouldConvertNodeIntoRestShape() {
+        final JsonPull pull = new GraphqlPage(
+            """
+            {"data": {"repository": {"pullRequests": {
+              "pageInfo": {"hasNextPage": false, "endCursor": null},
+              "nodes": [{"number": 3, "headRefOid": "aaa", "baseRefOid": "bbb"}]
+            }}}}
+            """
+        ).list().get(0);
+        final int expected = 3;
+        MatcherAssert.assertThat(
+            pull.number(),
+            CoreMatchers.equalTo(expected)
+        );
+        MatcherAssert.assertThat(
+            pull.head().sha(),
+            CoreMatchers.equalTo("aaa")
+        );
+        MatcherAssert.assertThat(
+            pull.base().sha(),
+            CoreMatchers.equalTo("bbb")
+        );
+    }
+
+    @Test
+    public void shouldReturnCursorIfThereIsNextPage() {
+        MatcherAssert.assertThat(
+            new GraphqlPage(
+                """
+                {"data": {"repository": {"pullRequests": {
+                  "pageInfo": {"hasNextPage": true, "endCursor": "abc"},
+                  "nodes": []
+                }}}}
+                """
+            ).next(),
+            CoreMatchers.equalTo(Optional.of("abc"))
+        );
+    }
+
+    @Test
+    public void shouldFailIfResponseHasErrors() {
+        final GraphqlPage page = new GraphqlPage(
+            """
+            {"data": null, "errors": [{"message": "Could not resolve to a Repository."}]}
+            """
+        );
+        Assertions.assertThrows(IllegalStateException.class, page::list);
+    }
+
+}
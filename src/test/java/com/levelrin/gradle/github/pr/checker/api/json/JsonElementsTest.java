@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link JsonElements}.
+ */
+final class JsonElementsTest {
+
+    @Test
+    public void shouldReturnNothingForEmptyArray() {
+        MatcherAssert.assertThat(
+            new JsonElements(this.input(" [ ] ")).hasNext(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+    @Test
+    public void shouldKeepOriginalTextOfEachElement() {
+        final List<String> elements = new ArrayList<>();
+        new JsonElements(
+            this.input("[{\"a\": 1}, {\"b\": [2, {\"c\": \"]}\\\"\"}]}, 3, \"text\", null]")
+        ).forEachRemaining(elements::add);
+        MatcherAssert.assertThat(
+            elements,
+            CoreMatchers.equalTo(
+                List.of("{\"a\": 1}", "{\"b\": [2, {\"c\": \"]}\\\"\"}]}", "3", "\"text\"", "null")
+            )
+        );
+    }
+
+    @Test
+    public void shouldNotReadAheadOfRequestedElement() {
+        final StringBuilder consumed = new StringBuilder();
+        final InputStream input = new ByteArrayInputStream(
+            "[{\"a\": 1}, {\"b\": 2}]".getBytes(StandardCharsets.UTF_8)
+        ) {
+            @Override
+            public synchronized int read(final byte[] buffer, final int offset, final int length) {
+                // Give one byte at a time to observe how far it reads.
+                final int result = super.read(buffer, offset, Math.min(1, length));
+                if (result > 0) {
+                    consumed.append((char) buffer[offset]);
+                }
+                return result;
+            }
+        };
+        final JsonElements elements = new JsonElements(input);
+        elements.next();
+        MatcherAssert.assertThat(
+            consumed.toString(),
+            CoreMatchers.equalTo("[{\"a\": 1},")
+        );
+    }
+
+    @Test
+    public void shouldRejectNonArray() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new JsonElements(this.input("{\"message\": \"Bad credentials\"}")).hasNext()
+        );
+    }
+
+    @Test
+    public void shouldRejectTruncatedArray() {
+        final JsonElements elements = new JsonElements(this.input("[{\"a\": 1}, {\"b\""));
+        elements.next();
+        Assertions.assertThrows(IllegalStateException.class, elements::next);
+    }
+
+    /**
+     * Create the input stream of the JSON.
+     * @param json The JSON.
+     * @return The bytes in UTF-8.
+     */
+    private InputStream input(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
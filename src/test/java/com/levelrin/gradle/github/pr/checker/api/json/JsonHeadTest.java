@@ -7,6 +7,8 @@
 
 package com.levelrin.gradle.github.pr.checker.api.json;
 
+import com.jayway.jsonpath.JsonPath;
+import java.util.Map;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Test;
@@ -168,4 +170,15 @@ final class JsonHeadTest {
         );
     }
 
+    @Test
+    public void shouldReadShaFromParsedJson() {
+        final String sha = "6dcb09b5b57875f334f61aebed695e2e4193db5e";
+        MatcherAssert.assertThat(
+            new JsonHead(
+                JsonPath.parse(Map.of("ref", "new-topic", "sha", sha))
+            ).sha(),
+            CoreMatchers.equalTo(sha)
+        );
+    }
+
 }
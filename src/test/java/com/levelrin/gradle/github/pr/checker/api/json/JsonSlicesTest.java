@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link JsonSlices}.
+ */
+final class JsonSlicesTest {
+
+    @Test
+    public void shouldReturnNothingForEmptyArray() {
+        MatcherAssert.assertThat(
+            new JsonSlices(this.input(" [ ] ")).hasNext(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepOriginalBytesOfEachElement() {
+        final List<String> elements = new ArrayList<>();
+        new JsonSlices(
+            this.input("[{\"a\": \"\u00e9\"}, {\"b\": [2, {\"c\": \"]}\\\"\"}]}, 3, \"text\", null]")
+        ).forEachRemaining(view -> elements.add(view.toString()));
+        MatcherAssert.assertThat(
+            elements,
+            CoreMatchers.equalTo(
+                List.of("{\"a\": \"\u00e9\"}", "{\"b\": [2, {\"c\": \"]}\\\"\"}]}", "3", "\"text\"", "null")
+            )
+        );
+    }
+
+    @Test
+    public void shouldLetViewReadMembers() {
+        MatcherAssert.assertThat(
+            new JsonSlices(this.input("[{\"head\": {\"sha\": \"abc\"}}]"))
+                .next()
+                .member("head")
+                .orElseThrow()
+                .member("sha")
+                .orElseThrow()
+                .text(),
+            CoreMatchers.equalTo("abc")
+        );
+    }
+
+    @Test
+    public void shouldNotReadAheadOfRequestedElement() {
+        final StringBuilder consumed = new StringBuilder();
+        final InputStream input = new ByteArrayInputStream(
+            "[{\"a\": 1}, {\"b\": 2}]".getBytes(StandardCharsets.UTF_8)
+        ) {
+            @Override
+            public synchronized int read(final byte[] buffer, final int offset, final int length) {
+                // Give one byte at a time to observe how far it reads.
+                final int result = super.read(buffer, offset, Math.min(1, length));
+                if (result > 0) {
+                    consumed.append((char) buffer[offset]);
+                }
+                return result;
+            }
+        };
+        new JsonSlices(input).next();
+        MatcherAssert.assertThat(
+            consumed.toString(),
+            CoreMatchers.equalTo("[{\"a\": 1},")
+        );
+    }
+
+    @Test
+    public void shouldKeepEarlierViewsWhenPageGrows() {
+        final int size = 20_000;
+        final String large = String.format("\"%s\"", "x".repeat(size));
+        final JsonSlices slices = new JsonSlices(this.input(String.format("[1, %s, 2]", large)));
+        final JsonView first = slices.next();
+        final List<String> rest = new ArrayList<>();
+        slices.forEachRemaining(view -> rest.add(view.toString()));
+        MatcherAssert.assertThat(
+            first.toString(),
+            CoreMatchers.equalTo("1")
+        );
+        MatcherAssert.assertThat(
+            rest,
+            CoreMatchers.equalTo(List.of(large, "2"))
+        );
+    }
+
+    @Test
+    public void shouldRejectNonArray() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new JsonSlices(this.input("{\"message\": \"Bad credentials\"}")).hasNext()
+        );
+    }
+
+    @Test
+    public void shouldRejectTruncatedArray() {
+        final JsonSlices slices = new JsonSlices(this.input("[{\"a\": 1}, {\"b\""));
+        slices.next();
+        Assertions.assertThrows(IllegalStateException.class, slices::next);
+    }
+
+    /**
+     * Create the input stream of the JSON.
+     * @param json The JSON.
+     * @return The bytes in UTF-8.
+     */
+    private InputStream input(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
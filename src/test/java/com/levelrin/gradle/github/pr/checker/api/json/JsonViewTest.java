@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link JsonView}.
+ */
+final class JsonViewTest {
+
+    @Test
+    public void shouldSliceElementsAsTheyAre() {
+        MatcherAssert.assertThat(
+            this.view("[ {\"a\": \"]\"}, [1, [2]] ,\"x,y\", 3, null ]").elements()
+                .stream()
+                .map(JsonView::toString)
+                .collect(Collectors.toList()),
+            CoreMatchers.equalTo(List.of("{\"a\": \"]\"}", "[1, [2]]", "\"x,y\"", "3", "null"))
+        );
+    }
+
+    @Test
+    public void shouldReturnNoElementsOfEmptyArray() {
+        MatcherAssert.assertThat(
+            this.view(" [ ] ").elements(),
+            CoreMatchers.equalTo(List.of())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFindTopLevelMemberOnly() {
+        final JsonView json = this.view(
+            "{\"head\": {\"sha\": \"aaa\"}, \"title\": \"\\\"sha\\\": \\\"bbb\\\"\", \"sha\": \"ccc\"}"
+        );
+        MatcherAssert.assertThat(
+            json.member("sha").orElseThrow().text(),
+            CoreMatchers.equalTo("ccc")
+        );
+        MatcherAssert.assertThat(
+            json.member("head").orElseThrow().member("sha").orElseThrow().text(),
+            CoreMatchers.equalTo("aaa")
+        );
+        MatcherAssert.assertThat(
+            json.member("base"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldDecodeEscapedString() {
+        MatcherAssert.assertThat(
+            this.view("\"a\\\"b\\\\c\\/d\\ne\\u00e9f\"").text(),
+            CoreMatchers.equalTo("a\"b\\c/d\ne\u00e9f")
+        );
+    }
+
+    @Test
+    public void shouldDecodeMultiByteCharacters() {
+        final String title = "\ud55c\uae00 \ud83d\ude00";
+        MatcherAssert.assertThat(
+            this.view(String.format("{\"title\": \"%s\"}", title))
+                .member("title")
+                .orElseThrow()
+                .text(),
+            CoreMatchers.equalTo(title)
+        );
+    }
+
+    @Test
+    public void shouldDecodeInteger() {
+        final int number = 42;
+        MatcherAssert.assertThat(
+            this.view("{\"number\":42}").member("number").orElseThrow().integer(),
+            CoreMatchers.equalTo(number)
+        );
+    }
+
+    @Test
+    public void shouldShareBytesWithParent() {
+        final String json = "[{\"n\": 1}, {\"n\": 2}]";
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final JsonView second = new JsonView(bytes).elements().get(1);
+        final int changed = 3;
+        bytes[json.lastIndexOf('2')] = '3';
+        MatcherAssert.assertThat(
+            second.member("n").orElseThrow().integer(),
+            CoreMatchers.equalTo(changed)
+        );
+    }
+
+    @Test
+    public void shouldFailOnMalformedJson() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> this.view("[{\"a\": 1}").elements()
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> this.view("[1 2]").elements()
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> this.view("[1]").member("a")
+        );
+    }
+
+    /**
+     * Create the view of the whole JSON.
+     * @param json The JSON.
+     * @return The view.
+     */
+    private JsonView view(final String json) {
+        return new JsonView(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * The test of {@link PooledProjection}.
+ */
+final class PooledProjectionTest {
+
+    /**
+     * The fields the user may choose, which have objects in common.
+     */
+    private static final List<String> FIELDS = List.of(
+        "number", "head.sha", "base.sha", "user", "labels", "head.repo", "base.repo"
+    );
+
+    /**
+     * The URLs of a repository from the API except for 'url' and 'html_url'.
+     */
+    private static final List<String> REPO_URLS = List.of(
+        "forks", "keys{/key_id}", "collaborators{/collaborator}", "teams", "hooks",
+        "issues/events{/number}", "events", "assignees{/user}", "branches{/branch}", "tags",
+        "git/blobs{/sha}", "git/tags{/sha}", "git/refs{/sha}", "git/trees{/sha}",
+        "statuses/{sha}", "languages", "stargazers", "contributors", "subscribers",
+        "subscription", "commits{/sha}", "git/commits{/sha}", "comments{/number}",
+        "issues/comments{/number}", "contents/{+path}", "compare/{base}...{head}", "merges",
+        "downloads", "issues{/number}", "pulls{/number}",
+        "milestones{/number}", "notifications{?since,all,participating}", "labels{/name}",
+        "releases{/id}", "deployments"
+    );
+
+    /**
+     * The URLs of a user from the API except for 'url' and 'html_url'.
+     */
+    private static final List<String> USER_URLS = List.of(
+        "followers", "following{/other_user}", "gists{/gist_id}", "starred{/owner}{/repo}",
+        "subscriptions", "orgs", "repos", "events{/privacy}", "received_events"
+    );
+
+    @Test
+    public void shouldKeepSameFieldsAsProjection() {
+        final Projection projection = new Projection(FIELDS);
+        final String raw = this.pull(1);
+        final BaseJsonPull pull = new PooledProjection(projection).apply(raw);
+        MatcherAssert.assertThat(
+            pull.toString(),
+            CoreMatchers.equalTo(projection.apply(raw))
+        );
+        MatcherAssert.assertThat(
+            pull.number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            pull.head().sha(),
+            CoreMatchers.equalTo(String.format("%040x", 1))
+        );
+        MatcherAssert.assertThat(
+            pull.base().sha(),
+            CoreMatchers.equalTo("7f1e2d3c4b5a69788796a5b4c3d2e1f0a9b8c7d6")
+        );
+    }
+
+    @Test
+    public void shouldTakeLessHeapForManyPullRequests() {
+        final int count = 5000;
+        final List<String> raws = IntStream.rangeClosed(1, count)
+            .mapToObj(this::pull)
+            .collect(Collectors.toList());
+        final Projection projection = new Projection(FIELDS);
+        final long text = this.retained(
+            raws,
+            raw -> new BaseJsonPull(projection.apply(raw))
+        );
+        final long pooled = this.retained(raws, new PooledProjection(projection));
+        MatcherAssert.assertThat(
+            String.format("As text: %d bytes, pooled: %d bytes", text, pooled),
+            pooled,
+            Matchers.lessThan(text / 2)
+        );
+    }
+
+    /**
+     * Measure the heap the pull requests take.
+     * It walks the objects reachable from the list and counts the shared ones once,
+     * so the result doesn't depend on the garbage collector.
+     * @param raws The JSON of the pull requests.
+     * @param projection It takes the JSON of a pull request and returns the one we keep.
+     * @return The number of bytes.
+     */
+    private long retained(final List<String> raws, final Function<String, BaseJsonPull> projection) {
+        final List<BaseJsonPull> pulls = raws.stream()
+            .map(projection)
+            .collect(Collectors.toList());
+        return GraphLayout.parseInstance(pulls).totalSize();
+    }
+
+    /**
+     * Create a pull request that looks like the one from the API.
+     * There are 20 authors and 5 labels, and all of them are in the same repository.
+     * The repositories and users have all the URLs like the ones from the API.
+     * @param number The pull request number.
+     * @return The JSON.
+     */
+    @SuppressWarnings("LineLength")
+    private String pull(final int number) {
+        final int authors = 20;
+        final int labels = 5;
+        final String author = this.user(number % authors + 1);
+        final String repo = String.format(
+            "{\"id\": 1296269, \"name\": \"Hello-World\", \"full_name\": \"octocat/Hello-World\", \"owner\": %s, \"private\": false, \"html_url\": \"https://github.com/octocat/Hello-World\", \"description\": \"This your first repo!\", \"url\": \"https://api.github.com/repos/octocat/Hello-World\", %s, \"default_branch\": \"master\"}",
+            this.user(0),
+            this.urls("https://api.github.com/repos/octocat/Hello-World", REPO_URLS)
+        );
+        return String.format(
+            "{\"number\": %d, \"title\": \"Change %d\", \"user\": %s, \"labels\": [{\"name\": \"bug\", \"color\": \"f29513\"}, {\"name\": \"label%d\", \"color\": \"ededed\"}], \"head\": {\"ref\": \"topic%d\", \"sha\": \"%040x\", \"user\": %s, \"repo\": %s}, \"base\": {\"ref\": \"master\", \"sha\": \"7f1e2d3c4b5a69788796a5b4c3d2e1f0a9b8c7d6\", \"user\": %s, \"repo\": %s}}",
+            number,
+            number,
+            author,
+            number % labels,
+            number,
+            number,
+            author,
+            repo,
+            this.user(0),
+            repo
+        );
+    }
+
+    /**
+     * Create a user that looks like the one from the API.
+     * @param id The user ID.
+     * @return The JSON.
+     */
+    @SuppressWarnings("LineLength")
+    private String user(final int id) {
+        final String login = String.format("user%d", id);
+        return String.format(
+            "{\"login\": \"%s\", \"id\": %d, \"avatar_url\": \"https://avatars.githubusercontent.com/u/%d?v=4\", \"url\": \"https://api.github.com/users/%s\", \"html_url\": \"https://github.com/%s\", %s, \"type\": \"User\", \"site_admin\": false}",
+            login,
+            id,
+            id,
+            login,
+            login,
+            this.urls(String.format("https://api.github.com/users/%s", login), USER_URLS)
+        );
+    }
+
+    /**
+     * Create the URL members of an object from the API.
+     * For example, the path 'git/blobs{/sha}' becomes
+     * "git_blobs_url": "https://api.github.com/repos/octocat/Hello-World/git/blobs{/sha}".
+     * @param base The URL of the object.
+     * @param paths The paths from the URL of the object.
+     * @return The members without braces.
+     */
+    private String urls(final String base, final List<String> paths) {
+        return paths.stream()
+            .map(
+                path -> String.format(
+                    "\"%s_url\": \"%s/%s\"",
+                    path.replaceAll("/?[{?].*", "").replace('/', '_'),
+                    base,
+                    path
+                )
+            )
+            .collect(Collectors.joining(", "));
+    }
+
+}
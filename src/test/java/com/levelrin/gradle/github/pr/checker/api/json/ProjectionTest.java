@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.util.List;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Projection}.
+ */
+final class ProjectionTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepNumberAndShasByDefault() {
+        MatcherAssert.assertThat(
+            new Projection().apply(
+                "{\"url\": \"https://api.github.com/repos/o/r/pulls/1\", \"number\": 1, \"head\": {\"sha\": \"aaa\", \"user\": {\"login\": \"levelrin\"}}, \"base\": {\"sha\": \"ccc\", \"ref\": \"main\"}}"
+            ),
+            CoreMatchers.equalTo("{\"number\":1,\"head\":{\"sha\":\"aaa\"},\"base\":{\"sha\":\"ccc\"}}")
+        );
+    }
+
+    @Test
+    public void shouldLeaveOutMissingFields() {
+        MatcherAssert.assertThat(
+            new Projection(List.of("number", "head.sha", "merged_at")).apply(
+                "{\"number\": 1, \"merged_at\": null}"
+            ),
+            CoreMatchers.equalTo("{\"number\":1}")
+        );
+    }
+
+    @Test
+    public void shouldKeepWholeObjectOfField() {
+        MatcherAssert.assertThat(
+            new Projection(List.of("head")).apply(
+                "{\"number\": 1, \"head\": {\"sha\": \"aaa\", \"ref\": \"feature\"}}"
+            ),
+            CoreMatchers.equalTo("{\"number\":1,\"head\":{\"sha\":\"aaa\",\"ref\":\"feature\"}}")
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldAlwaysKeepNumberAndShas() {
+        MatcherAssert.assertThat(
+            new Projection(List.of("title")).apply(
+                "{\"number\": 1, \"title\": \"Fix\", \"state\": \"open\", \"head\": {\"sha\": \"aaa\", \"ref\": \"feature\"}, \"base\": {\"sha\": \"ccc\"}}"
+            ),
+            CoreMatchers.equalTo("{\"number\":1,\"head\":{\"sha\":\"aaa\"},\"base\":{\"sha\":\"ccc\"},\"title\":\"Fix\"}")
+        );
+    }
+
+}
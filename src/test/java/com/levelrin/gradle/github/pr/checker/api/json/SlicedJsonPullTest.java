@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.api.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link SlicedJsonPull}.
+ */
+final class SlicedJsonPullTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldReadNumberAndShas() {
+        final int number = 1347;
+        final SlicedJsonPull pull = new SlicedJsonPull(
+            String.join(
+                "",
+                "{\"url\": \"https://api.github.com/repos/octocat/Hello-World/pulls/1347\",",
+                " \"number\": 1347,",
+                " \"head\": {\"ref\": \"new-topic\", \"sha\": \"6dcb09b5\", \"repo\": {\"sha\": \"x\"}},",
+                " \"base\": {\"ref\": \"master\", \"sha\": \"7f1e2d3c\"}}"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        MatcherAssert.assertThat(
+            pull.number(),
+            CoreMatchers.equalTo(number)
+        );
+        MatcherAssert.assertThat(
+            pull.head().sha(),
+            CoreMatchers.equalTo("6dcb09b5")
+        );
+        MatcherAssert.assertThat(
+            pull.base().sha(),
+            CoreMatchers.equalTo("7f1e2d3c")
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldKeepExactBytesOfPullRequestInPage() {
+        final String first = "{\"number\": 1,\n  \"title\": \"Caf\\u00e9 \\\"menu\\\"\", \"head\": {\"sha\": \"aaa\"}}";
+        final String second = "{ \"number\":2 , \"head\":{\"sha\":\"bbb\"} }";
+        final List<JsonView> elements = new JsonView(
+            String.format("[\n  %s,\n  %s\n]", first, second).getBytes(StandardCharsets.UTF_8)
+        ).elements();
+        MatcherAssert.assertThat(
+            new SlicedJsonPull(elements.get(0)).toString(),
+            CoreMatchers.equalTo(first)
+        );
+        MatcherAssert.assertThat(
+            new SlicedJsonPull(elements.get(1)).toString(),
+            CoreMatchers.equalTo(second)
+        );
+        MatcherAssert.assertThat(
+            new SlicedJsonPull(elements.get(1)).head().sha(),
+            CoreMatchers.equalTo("bbb")
+        );
+    }
+
+    @Test
+    public void shouldFailIfFieldIsMissing() {
+        final SlicedJsonPull pull = new SlicedJsonPull(
+            "{\"number\": 1}".getBytes(StandardCharsets.UTF_8)
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> pull.head().sha()
+        );
+    }
+
+}
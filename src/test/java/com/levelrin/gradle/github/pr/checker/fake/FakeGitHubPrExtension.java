@@ -8,7 +8,9 @@
 package com.levelrin.gradle.github.pr.checker.fake;
 
 import com.levelrin.gradle.github.pr.checker.GitHubPrExtension;
+import java.time.Duration;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 import org.mockito.Mockito;
 
@@ -50,6 +52,96 @@ public final class FakeGitHubPrExtension extends GitHubPrExtension {
         return property;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<String> getBase() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<String> getBackend() {
+        final Property<String> property = Mockito.mock(Property.class);
+        Mockito.doReturn("rest").when(property).get();
+        return property;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<Integer> getConcurrency() {
+        final Property<Integer> property = Mockito.mock(Property.class);
+        Mockito.doReturn(1).when(property).get();
+        return property;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<String> getExecution() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<Integer> getRetries() {
+        final Property<Integer> property = Mockito.mock(Property.class);
+        Mockito.doReturn(2).when(property).get();
+        return property;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<Double> getHedgePercentile() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<Duration> getConnectTimeout() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<Duration> getRequestTimeout() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<Duration> getDeadline() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    public RegularFileProperty getEventFile() {
+        // It's optional and not set.
+        return Mockito.mock(RegularFileProperty.class);
+    }
+
+    @Override
+    public RegularFileProperty getCassette() {
+        // It's optional and not set.
+        return Mockito.mock(RegularFileProperty.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Property<String> getCassetteMode() {
+        // It's optional and not set.
+        return Mockito.mock(Property.class);
+    }
+
+    @Override
+    public DirectoryProperty getCacheDir() {
+        return Mockito.mock(DirectoryProperty.class);
+    }
+
     @Override
     public DirectoryProperty getOutputDir() {
         return Mockito.mock(DirectoryProperty.class);
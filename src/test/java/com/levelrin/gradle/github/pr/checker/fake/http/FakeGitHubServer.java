@@ -0,0 +1,580 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.fake.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * It's a local stand-in of the GitHub REST API that listens on a real socket.
+ * We can point {@link com.levelrin.gradle.github.pr.checker.GitHubPrExtension#getDomain()}
+ * at {@link FakeGitHubServer#domain()} and use the real clients as they are.
+ * It has the open pull requests #1 to #count of any repository, and their base is 'main'.
+ * The head branch of the pull request #n is 'branch-n'.
+ * The larger the number, the more recently the pull request was updated.
+ * It serves the following like GitHub does:
+ * - GET /repos/{owner}/{repo}/pulls with 'page', 'per_page', 'head', and 'base'.
+ * - GET /repos/{owner}/{repo}/pulls/{number}
+ * - GET /repos/{owner}/{repo}/commits/{sha}/pulls
+ * The responses have the 'Link', 'ETag', and 'X-RateLimit-*' headers.
+ * It answers a conditional request with '304 Not Modified', which doesn't count against the rate limit.
+ * It compresses the body if the client accepts gzip.
+ * Each response is delayed by the latency plus a random jitter,
+ * and some of them fail with '502 Bad Gateway' at the error rate.
+ * It may also stall in the middle of each body like a slow network.
+ * The random numbers have a fixed seed, so a sequential run is repeatable.
+ * It serves the requests concurrently.
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+public final class FakeGitHubServer implements AutoCloseable {
+
+    /**
+     * The status code of '200 OK'.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The status code of '304 Not Modified'.
+     */
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * The status code of '403 Forbidden'.
+     */
+    private static final int FORBIDDEN = 403;
+
+    /**
+     * The status code of '404 Not Found'.
+     */
+    private static final int NOT_FOUND = 404;
+
+    /**
+     * The status code of '502 Bad Gateway'.
+     */
+    private static final int BAD_GATEWAY = 502;
+
+    /**
+     * The default number of pull requests per page.
+     */
+    private static final int PER_PAGE = 30;
+
+    /**
+     * The largest number of pull requests per page.
+     */
+    private static final int MAX_PER_PAGE = 100;
+
+    /**
+     * The number of requests per hour.
+     */
+    private static final int RATE_LIMIT = 5000;
+
+    /**
+     * The seed of the random numbers.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * The paths we serve.
+     */
+    private static final Pattern PATH = Pattern.compile(
+        "/repos/(?<owner>[^/]+)/(?<repo>[^/]+)/"
+            + "(?:pulls|pulls/(?<number>\\d+)|commits/(?<sha>[0-9a-f]+)/pulls)"
+    );
+
+    /**
+     * The number of pull requests.
+     */
+    private final int count;
+
+    /**
+     * It takes the number of a pull request and returns its head SHA.
+     */
+    private final IntFunction<String> heads;
+
+    /**
+     * The delay of each response.
+     */
+    private final Duration latency;
+
+    /**
+     * The largest random delay we add to the latency.
+     */
+    private final Duration jitter;
+
+    /**
+     * A number between 0 and 1.
+     * It's the chance that a request fails with '502 Bad Gateway'.
+     */
+    private final double errors;
+
+    /**
+     * How long it stops after sending the first half of each body.
+     */
+    private final Duration stall;
+
+    /**
+     * It decides the jitter and the errors.
+     */
+    private final Random random;
+
+    /**
+     * The number of requests we have received.
+     */
+    private final AtomicInteger requests;
+
+    /**
+     * The number of requests left in the rate limit.
+     */
+    private final AtomicInteger remaining;
+
+    /**
+     * When the rate limit resets in epoch seconds.
+     */
+    private final long reset;
+
+    /**
+     * The threads that serve the requests.
+     */
+    private final ExecutorService threads;
+
+    /**
+     * The server that listens on the socket.
+     */
+    private final HttpServer server;
+
+    /**
+     * Secondary constructor.
+     * It responds right away and never fails.
+     * @param count See {@link FakeGitHubServer#count}.
+     * @throws IOException If it fails to listen on the socket.
+     */
+    public FakeGitHubServer(final int count) throws IOException {
+        this(count, Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    /**
+     * Secondary constructor.
+     * The head SHA of each pull request is the SHA-1 of its number.
+     * See {@link FakeGitHubServer#sha(int)}.
+     * @param count See {@link FakeGitHubServer#count}.
+     * @param latency See {@link FakeGitHubServer#latency}.
+     * @param jitter See {@link FakeGitHubServer#jitter}.
+     * @param errors See {@link FakeGitHubServer#errors}.
+     * @throws IOException If it fails to listen on the socket.
+     */
+    public FakeGitHubServer(final int count, final Duration latency, final Duration jitter, final double errors) throws IOException {
+        this(count, FakeGitHubServer::sha, latency, jitter, errors);
+    }
+
+    /**
+     * Secondary constructor.
+     * The bodies never stall.
+     * @param count See {@link FakeGitHubServer#count}.
+     * @param heads See {@link FakeGitHubServer#heads}.
+     * @param latency See {@link FakeGitHubServer#latency}.
+     * @param jitter See {@link FakeGitHubServer#jitter}.
+     * @param errors See {@link FakeGitHubServer#errors}.
+     * @throws IOException If it fails to listen on the socket.
+     */
+    public FakeGitHubServer(final int count, final IntFunction<String> heads, final Duration latency, final Duration jitter, final double errors) throws IOException {
+        this(count, heads, latency, jitter, errors, Duration.ZERO);
+    }
+
+    /**
+     * Primary constructor.
+     * It starts listening on a random port of the loopback address.
+     * @param count See {@link FakeGitHubServer#count}.
+     * @param heads See {@link FakeGitHubServer#heads}.
+     * @param latency See {@link FakeGitHubServer#latency}.
+     * @param jitter See {@link FakeGitHubServer#jitter}.
+     * @param errors See {@link FakeGitHubServer#errors}.
+     * @param stall See {@link FakeGitHubServer#stall}.
+     * @throws IOException If it fails to listen on the socket.
+     */
+    public FakeGitHubServer(final int count, final IntFunction<String> heads, final Duration latency, final Duration jitter, final double errors, final Duration stall) throws IOException {
+        this.count = count;
+        this.heads = heads;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errors = errors;
+        this.stall = stall;
+        this.random = new Random(SEED);
+        this.requests = new AtomicInteger();
+        this.remaining = new AtomicInteger(RATE_LIMIT);
+        this.reset = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+        this.threads = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+            0
+        );
+        this.server.setExecutor(this.threads);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * The default head SHA of the pull request.
+     * @param number The pull request number.
+     * @return The SHA-1 of the number.
+     */
+    public static String sha(final int number) {
+        return hash(String.valueOf(number));
+    }
+
+    /**
+     * Calculate the SHA-1 of the text.
+     * @param text The text.
+     * @return The 40 hexadecimal digits.
+     */
+    private static String hash(final String text) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-1 is not available.", exception);
+        }
+        return String.format(
+            "%040x",
+            new BigInteger(1, digest.digest(text.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
+    /**
+     * Return the domain of the API.
+     * @return Something like 'http://127.0.0.1:54321'.
+     */
+    public String domain() {
+        return String.format(
+            "http://%s:%d",
+            this.server.getAddress().getHostString(),
+            this.server.getAddress().getPort()
+        );
+    }
+
+    /**
+     * Return the number of requests we have received.
+     * @return The number of requests.
+     */
+    public int requests() {
+        return this.requests.get();
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.threads.shutdownNow();
+    }
+
+    /**
+     * Serve the request.
+     * @param exchange The request and response.
+     * @throws IOException If it fails to respond.
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            this.requests.incrementAndGet();
+            this.delay();
+            final Matcher matcher = PATH.matcher(exchange.getRequestURI().getPath());
+            if (this.random.nextDouble() < this.errors) {
+                this.respond(exchange, BAD_GATEWAY, "{\"message\": \"Server Error\"}");
+            } else if (!"GET".equals(exchange.getRequestMethod()) || !matcher.matches()) {
+                this.respond(exchange, NOT_FOUND, "{\"message\": \"Not Found\"}");
+            } else if (matcher.group("number") != null) {
+                final int number = Integer.parseInt(matcher.group("number"));
+                if (number >= 1 && number <= this.count) {
+                    this.respond(
+                        exchange,
+                        OK,
+                        this.pull(matcher.group("owner"), matcher.group("repo"), number)
+                    );
+                } else {
+                    this.respond(exchange, NOT_FOUND, "{\"message\": \"Not Found\"}");
+                }
+            } else if (matcher.group("sha") != null) {
+                this.respond(
+                    exchange,
+                    OK,
+                    this.array(
+                        matcher.group("owner"),
+                        matcher.group("repo"),
+                        this.numbers()
+                            .filter(number -> this.heads.apply(number).equals(matcher.group("sha")))
+                            .boxed()
+                            .collect(Collectors.toList())
+                    )
+                );
+            } else {
+                this.page(exchange, matcher.group("owner"), matcher.group("repo"));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Serve a page of the pull requests.
+     * @param exchange The request and response.
+     * @param owner The repository owner.
+     * @param repo The repository name.
+     * @throws IOException If it fails to respond.
+     */
+    private void page(final HttpExchange exchange, final String owner, final String repo) throws IOException {
+        final Map<String, String> query = this.query(exchange);
+        final int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        final int size = Math.min(
+            Integer.parseInt(query.getOrDefault("per_page", String.valueOf(PER_PAGE))),
+            MAX_PER_PAGE
+        );
+        final Optional<String> head = Optional.ofNullable(query.get("head"));
+        final String base = query.getOrDefault("base", "main");
+        final List<Integer> matched = this.numbers()
+            .filter(
+                number -> head.isEmpty()
+                    || head.get().equals(String.format("%s:branch-%d", owner, number))
+            )
+            .filter(number -> "main".equals(base))
+            .boxed()
+            .collect(Collectors.toList());
+        final int last = Math.max(1, (matched.size() + size - 1) / size);
+        final List<String> links = new ArrayList<>(2);
+        if (page < last) {
+            links.add(this.link(exchange, query, page + 1, "next"));
+            links.add(this.link(exchange, query, last, "last"));
+        }
+        if (page > 1) {
+            links.add(this.link(exchange, query, 1, "first"));
+            links.add(this.link(exchange, query, page - 1, "prev"));
+        }
+        if (!links.isEmpty()) {
+            exchange.getResponseHeaders().add("Link", String.join(", ", links));
+        }
+        final int from = Math.min((page - 1) * size, matched.size());
+        this.respond(
+            exchange,
+            OK,
+            this.array(owner, repo, matched.subList(from, Math.min(from + size, matched.size())))
+        );
+    }
+
+    /**
+     * The pull request numbers from the most recently updated one.
+     * @return The numbers from count to 1.
+     */
+    private IntStream numbers() {
+        return IntStream.rangeClosed(1, this.count).map(number -> this.count + 1 - number);
+    }
+
+    /**
+     * Build the JSON array of the pull requests.
+     * @param owner The repository owner.
+     * @param repo The repository name.
+     * @param numbers The pull request numbers.
+     * @return Something like '[{"number": 2, ...}, {"number": 1, ...}]'.
+     */
+    private String array(final String owner, final String repo, final List<Integer> numbers) {
+        return numbers.stream()
+            .map(number -> this.pull(owner, repo, number))
+            .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /**
+     * Build the JSON of a pull request.
+     * It has the fields the plugin uses and a few more.
+     * @param owner The repository owner.
+     * @param repo The repository name.
+     * @param number The pull request number.
+     * @return The JSON object.
+     */
+    @SuppressWarnings("RegexpSingleline")
+    private String pull(final String owner, final String repo, final int number) {
+        return String.format(
+            """
+            {
+              "url": "%1$s/repos/%2$s/%3$s/pulls/%4$d",
+              "id": %4$d,
+              "number": %4$d,
+              "state": "open",
+              "title": "Pull request #%4$d",
+              "user": {"login": "%2$s"},
+              "body": "It's a synthetic pull request.",
+              "head": {
+                "label": "%2$s:branch-%4$d",
+                "ref": "branch-%4$d",
+                "sha": "%5$s",
+                "repo": {"full_name": "%2$s/%3$s"}
+              },
+              "base": {
+                "label": "%2$s:main",
+                "ref": "main",
+                "sha": "%6$s",
+                "repo": {"full_name": "%2$s/%3$s"}
+              },
+              "created_at": "%7$s",
+              "updated_at": "%7$s"
+            }""",
+            this.domain(),
+            owner,
+            repo,
+            number,
+            this.heads.apply(number),
+            sha(0),
+            Instant.parse("2022-01-01T00:00:00Z").plus(Duration.ofMinutes(number))
+        );
+    }
+
+    /**
+     * Build a link to another page with the same query.
+     * @param exchange The request.
+     * @param query The query parameters of the request.
+     * @param page The page number of the link.
+     * @param rel The relation such as 'next'.
+     * @return Something like '&lt;http://127.0.0.1:54321/repos/o/r/pulls?page=2&gt;; rel="next"'.
+     */
+    private String link(final HttpExchange exchange, final Map<String, String> query, final int page, final String rel) {
+        final Map<String, String> changed = new HashMap<>(query);
+        changed.put("page", String.valueOf(page));
+        return String.format(
+            "<%s%s?%s>; rel=\"%s\"",
+            this.domain(),
+            exchange.getRequestURI().getPath(),
+            changed.entrySet().stream()
+                .map(entry -> String.format("%s=%s", entry.getKey(), entry.getValue()))
+                .sorted()
+                .collect(Collectors.joining("&")),
+            rel
+        );
+    }
+
+    /**
+     * Parse the query string of the request.
+     * @param exchange The request.
+     * @return The query parameters.
+     */
+    private Map<String, String> query(final HttpExchange exchange) {
+        final Map<String, String> result = new HashMap<>();
+        final String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (final String pair : raw.split("&")) {
+                final int index = pair.indexOf('=');
+                if (index > 0) {
+                    result.put(
+                        pair.substring(0, index),
+                        URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8)
+                    );
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Wait for the latency plus a random jitter.
+     */
+    private void delay() {
+        long nanos = this.latency.toNanos();
+        if (!this.jitter.isZero()) {
+            nanos = nanos + (long) (this.random.nextDouble() * this.jitter.toNanos());
+        }
+        this.pause(Duration.ofNanos(nanos));
+    }
+
+    /**
+     * Stop the current thread for a while.
+     * @param duration How long.
+     */
+    private void pause(final Duration duration) {
+        if (!duration.isZero() && !duration.isNegative()) {
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Send the response with the validator and the rate limit headers.
+     * @param exchange The request and response.
+     * @param status The status code.
+     * @param body The JSON body.
+     * @throws IOException If it fails to respond.
+     */
+    private void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final String etag = String.format("\"%s\"", hash(body));
+        int code = status;
+        String content = body;
+        final List<String> none = List.of();
+        if (status == OK
+            && exchange.getRequestHeaders().getOrDefault("If-None-Match", none).contains(etag)) {
+            code = NOT_MODIFIED;
+            content = "";
+        } else if (status != BAD_GATEWAY
+            && this.remaining.getAndUpdate(left -> Math.max(0, left - 1)) == 0) {
+            code = FORBIDDEN;
+            content = "{\"message\": \"API rate limit exceeded\"}";
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.getResponseHeaders().add("X-RateLimit-Limit", String.valueOf(RATE_LIMIT));
+        final int left = this.remaining.get();
+        exchange.getResponseHeaders().add("X-RateLimit-Remaining", String.valueOf(left));
+        exchange.getResponseHeaders().add("X-RateLimit-Used", String.valueOf(RATE_LIMIT - left));
+        exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(this.reset));
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final boolean gzipped = exchange.getRequestHeaders()
+            .getOrDefault("Accept-Encoding", none)
+            .stream()
+            .anyMatch(value -> value.contains("gzip"));
+        if (bytes.length > 0 && gzipped) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        if (bytes.length == 0) {
+            exchange.sendResponseHeaders(code, -1);
+        } else {
+            exchange.sendResponseHeaders(code, bytes.length);
+            final int half = bytes.length / 2;
+            exchange.getResponseBody().write(bytes, 0, half);
+            exchange.getResponseBody().flush();
+            this.pause(this.stall);
+            exchange.getResponseBody().write(bytes, half, bytes.length - half);
+        }
+    }
+
+}
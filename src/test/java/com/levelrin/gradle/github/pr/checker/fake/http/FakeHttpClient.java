@@ -7,23 +7,34 @@
 
 package com.levelrin.gradle.github.pr.checker.fake.http;
 
+import java.io.IOException;
 import java.net.Authenticator;
 import java.net.CookieHandler;
 import java.net.ProxySelector;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import org.mockito.Mockito;
 
 /**
- * We can use this when we want to return a fake response body.
+ * We can use this when we want to return a fake response.
+ * The body goes through the given body handler like the real client does.
+ * So, the caller can use any body handler such as
+ * {@link HttpResponse.BodyHandlers#ofString()} or {@link HttpResponse.BodyHandlers#ofInputStream()}.
  */
 public final class FakeHttpClient extends HttpClient {
 
@@ -34,16 +45,16 @@ public final class FakeHttpClient extends HttpClient {
     private static final String ERROR_MESSAGE = "You should not call this method.";
 
     /**
-     * It's a fake response body generator.
+     * It's a fake response generator.
      * The parameter is the request object.
      */
-    private final Function<HttpRequest, String> resGenerator;
+    private final Function<HttpRequest, FakeResponse> resGenerator;
 
     /**
      * Constructor.
      * @param resGenerator See {@link FakeHttpClient#resGenerator}.
      */
-    public FakeHttpClient(final Function<HttpRequest, String> resGenerator) {
+    public FakeHttpClient(final Function<HttpRequest, FakeResponse> resGenerator) {
         super();
         this.resGenerator = resGenerator;
     }
@@ -95,24 +106,72 @@ public final class FakeHttpClient extends HttpClient {
 
     @Override
     @SuppressWarnings("unchecked")
-    public <T> HttpResponse<T> send(final HttpRequest httpRequest, final HttpResponse.BodyHandler<T> bodyHandler) {
-        final HttpResponse<T> response = Mockito.mock(HttpResponse.class);
-        Mockito.when(
-            response.body()
-        ).thenReturn(
-            (T) this.resGenerator.apply(httpRequest)
+    public <T> HttpResponse<T> send(final HttpRequest httpRequest, final HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        final FakeResponse fake = this.resGenerator.apply(httpRequest);
+        final HttpResponse.BodySubscriber<T> subscriber = bodyHandler.apply(
+            new HttpResponse.ResponseInfo() {
+                @Override
+                public int statusCode() {
+                    return fake.status();
+                }
+
+                @Override
+                public HttpHeaders headers() {
+                    return fake.headers();
+                }
+
+                @Override
+                public Version version() {
+                    return Version.HTTP_1_1;
+                }
+            }
+        );
+        final AtomicBoolean delivered = new AtomicBoolean();
+        subscriber.onSubscribe(
+            new Flow.Subscription() {
+                @Override
+                public void request(final long count) {
+                    if (!delivered.getAndSet(true)) {
+                        subscriber.onNext(List.of(ByteBuffer.wrap(fake.body())));
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    delivered.set(true);
+                }
+            }
         );
+        final T body;
+        try {
+            body = subscriber.getBody().toCompletableFuture().get();
+        } catch (final ExecutionException exception) {
+            throw new IOException("The body handler failed.", exception);
+        }
+        final HttpResponse<T> response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.statusCode()).thenReturn(fake.status());
+        Mockito.when(response.headers()).thenReturn(fake.headers());
+        Mockito.when(response.request()).thenReturn(httpRequest);
+        Mockito.when(response.uri()).thenReturn(httpRequest.uri());
+        Mockito.when(response.body()).thenReturn(body);
         return response;
     }
 
     @Override
     public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest httpRequest, final HttpResponse.BodyHandler<T> bodyHandler) {
-        throw new UnsupportedOperationException(ERROR_MESSAGE);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.send(httpRequest, bodyHandler);
+            } catch (final IOException | InterruptedException exception) {
+                throw new CompletionException(exception);
+            }
+        });
     }
 
     @Override
     public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest httpRequest, final HttpResponse.BodyHandler<T> bodyHandler, final HttpResponse.PushPromiseHandler<T> pushHandler) {
-        throw new UnsupportedOperationException(ERROR_MESSAGE);
+        return this.sendAsync(httpRequest, bodyHandler);
     }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.fake.http;
+
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * It represents a fake response that {@link FakeHttpClient} will return.
+ */
+public final class FakeResponse {
+
+    /**
+     * The default status code.
+     */
+    private static final int OK = 200;
+
+    /**
+     * HTTP status code.
+     */
+    private final int status;
+
+    /**
+     * Response headers.
+     */
+    private final Map<String, List<String>> headers;
+
+    /**
+     * Response body.
+     */
+    private final byte[] body;
+
+    /**
+     * Secondary constructor.
+     * The status will be 200 and there will be no headers.
+     * @param body See {@link FakeResponse#body}.
+     */
+    public FakeResponse(final String body) {
+        this(OK, Map.of(), body);
+    }
+
+    /**
+     * Secondary constructor.
+     * The status will be 200.
+     * @param headers See {@link FakeResponse#headers}.
+     * @param body See {@link FakeResponse#body}.
+     */
+    public FakeResponse(final Map<String, List<String>> headers, final String body) {
+        this(OK, headers, body);
+    }
+
+    /**
+     * Secondary constructor.
+     * @param status See {@link FakeResponse#status}.
+     * @param headers See {@link FakeResponse#headers}.
+     * @param body See {@link FakeResponse#body}.
+     */
+    public FakeResponse(final int status, final Map<String, List<String>> headers, final String body) {
+        this(status, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Primary constructor.
+     * It's for the bodies that are not text, such as compressed ones.
+     * @param status See {@link FakeResponse#status}.
+     * @param headers See {@link FakeResponse#headers}.
+     * @param body See {@link FakeResponse#body}.
+     */
+    public FakeResponse(final int status, final Map<String, List<String>> headers, final byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body.clone();
+    }
+
+    /**
+     * Return the status code.
+     * @return HTTP status code.
+     */
+    public int status() {
+        return this.status;
+    }
+
+    /**
+     * Return the headers.
+     * @return Response headers.
+     */
+    public HttpHeaders headers() {
+        return HttpHeaders.of(this.headers, (name, value) -> true);
+    }
+
+    /**
+     * Return the body in bytes.
+     * @return Response body.
+     */
+    public byte[] body() {
+        return this.body.clone();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Backoff}.
+ */
+final class BackoffTest {
+
+    @Test
+    public void shouldDoubleDelayUntilCap() {
+        final int attempts = 10;
+        final long base = 100;
+        final long cap = 500;
+        final Backoff backoff = new Backoff(
+            attempts,
+            Duration.ofMillis(base),
+            Duration.ofMillis(cap),
+            () -> 1.0
+        );
+        final List<Long> delays = new ArrayList<>();
+        final int fourth = 4;
+        for (int attempt = 1; attempt <= fourth; attempt = attempt + 1) {
+            delays.add(backoff.delay(attempt).toMillis());
+        }
+        MatcherAssert.assertThat(
+            delays,
+            CoreMatchers.equalTo(List.of(base, base * 2, base * 2 * 2, cap))
+        );
+    }
+
+    @Test
+    public void shouldApplyJitter() {
+        final long base = 100;
+        final double random = 0.25;
+        final long expected = 25;
+        MatcherAssert.assertThat(
+            new Backoff(2, Duration.ofMillis(base), Duration.ofSeconds(1), () -> random)
+                .delay(1)
+                .toMillis(),
+            CoreMatchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    public void shouldCountFirstAttempt() {
+        final Backoff backoff = new Backoff(2);
+        final int third = 3;
+        MatcherAssert.assertThat(
+            List.of(backoff.allows(1), backoff.allows(2), backoff.allows(third)),
+            CoreMatchers.equalTo(List.of(true, true, false))
+        );
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link CacheDir}.
+ */
+final class CacheDirTest {
+
+    @Test
+    public void shouldDeleteOnlyUnusedEntries(@TempDir final Path dir) throws IOException {
+        final Instant now = Instant.parse("2022-06-01T00:00:00Z");
+        final Path unused = Files.write(dir.resolve("unused"), new byte[0]);
+        Files.setLastModifiedTime(unused, FileTime.from(now.minus(Duration.ofDays(2))));
+        final Path used = Files.write(dir.resolve("used"), new byte[0]);
+        Files.setLastModifiedTime(used, FileTime.from(now.minus(Duration.ofHours(1))));
+        new CacheDir(dir, Duration.ofDays(1)).evict(now);
+        MatcherAssert.assertThat(
+            Files.exists(unused),
+            CoreMatchers.equalTo(false)
+        );
+        MatcherAssert.assertThat(
+            Files.exists(used),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldIgnoreMissingDirectory(@TempDir final Path dir) throws IOException {
+        final Path missing = dir.resolve("missing");
+        new CacheDir(missing, Duration.ofDays(1)).evict(Instant.now());
+        MatcherAssert.assertThat(
+            Files.exists(missing),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+}
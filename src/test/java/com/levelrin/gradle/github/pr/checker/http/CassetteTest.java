@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link Cassette}.
+ */
+final class CassetteTest {
+
+    @Test
+    public void shouldPlayRecordingAcrossInstances(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("cassettes/pulls.cassette");
+        final int notFound = 404;
+        final Cassette recorder = new Cassette(path);
+        recorder.record(this.recording("GET https://api.github.com/a", "[1]"));
+        recorder.record(
+            new Recording(
+                "GET https://api.github.com/b",
+                notFound,
+                HttpHeaders.of(Map.of(), (name, value) -> true),
+                new byte[0]
+            )
+        );
+        final Cassette player = new Cassette(path);
+        final Recording first = player.recording("GET https://api.github.com/a").orElseThrow();
+        MatcherAssert.assertThat(
+            new String(first.body(), StandardCharsets.UTF_8),
+            CoreMatchers.equalTo("[1]")
+        );
+        MatcherAssert.assertThat(
+            first.headers().firstValue("etag"),
+            CoreMatchers.equalTo(Optional.of("\"abc\""))
+        );
+        MatcherAssert.assertThat(
+            player.recording("GET https://api.github.com/b").orElseThrow().status(),
+            CoreMatchers.equalTo(notFound)
+        );
+        MatcherAssert.assertThat(
+            player.recording("GET https://api.github.com/c"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldReplaceOldCassetteWhenRecording(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("pulls.cassette");
+        new Cassette(path).record(this.recording("GET https://api.github.com/a", "[1]"));
+        final Cassette cassette = new Cassette(path);
+        cassette.record(this.recording("GET https://api.github.com/b", "[2]"));
+        cassette.record(this.recording("GET https://api.github.com/b", "[3]"));
+        final Cassette player = new Cassette(path);
+        MatcherAssert.assertThat(
+            player.recording("GET https://api.github.com/a"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            new String(
+                player.recording("GET https://api.github.com/b").orElseThrow().body(),
+                StandardCharsets.UTF_8
+            ),
+            CoreMatchers.equalTo("[3]")
+        );
+    }
+
+    @Test
+    public void shouldIgnoreHalfWrittenRecording(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("pulls.cassette");
+        final Cassette cassette = new Cassette(path);
+        cassette.record(this.recording("GET https://api.github.com/a", "[1]"));
+        final long complete = Files.size(path);
+        cassette.record(this.recording("GET https://api.github.com/b", "[2]"));
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, (int) complete + 2));
+        final Cassette player = new Cassette(path);
+        MatcherAssert.assertThat(
+            player.recording("GET https://api.github.com/a").isPresent(),
+            CoreMatchers.equalTo(true)
+        );
+        MatcherAssert.assertThat(
+            player.recording("GET https://api.github.com/b"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    /**
+     * Create a '200 OK' recording for testing.
+     * @param key The request.
+     * @param body The response body.
+     * @return The recording.
+     */
+    private Recording recording(final String key, final String body) {
+        final int status = 200;
+        return new Recording(
+            key,
+            status,
+            HttpHeaders.of(Map.of("ETag", List.of("\"abc\"")), (name, value) -> true),
+            body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+}
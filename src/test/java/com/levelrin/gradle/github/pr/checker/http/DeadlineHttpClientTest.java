@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeGitHubServer;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link DeadlineHttpClient}.
+ */
+final class DeadlineHttpClientTest {
+
+    @Test
+    public void shouldSetPerRequestTimeout() throws IOException, InterruptedException {
+        final List<Duration> timeouts = new CopyOnWriteArrayList<>();
+        final HttpClient http = new FakeHttpClient(request -> {
+            timeouts.add(request.timeout().orElseThrow());
+            return new FakeResponse("[]");
+        });
+        final Duration request = Duration.ofSeconds(30);
+        new DeadlineHttpClient(http, new Deadline(request))
+            .send(this.request(1), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            timeouts,
+            CoreMatchers.equalTo(List.of(request))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldGiveEachRemainingPageItsShare() throws IOException, InterruptedException {
+        final List<Duration> timeouts = new CopyOnWriteArrayList<>();
+        final HttpClient http = new FakeHttpClient(request -> {
+            timeouts.add(request.timeout().orElseThrow());
+            return new FakeResponse(
+                Map.of(
+                    "Link",
+                    List.of("<https://api.github.com/repositories/1/pulls?per_page=100&page=2>; rel=\"next\", <https://api.github.com/repositories/1/pulls?per_page=100&page=5>; rel=\"last\"")
+                ),
+                "[]"
+            );
+        });
+        final Duration budget = Duration.ofMinutes(1);
+        final HttpClient deadline = new DeadlineHttpClient(
+            http,
+            new Deadline(Duration.ofMinutes(1), budget)
+        );
+        deadline.send(this.request(1), HttpResponse.BodyHandlers.ofString());
+        deadline.send(this.request(2), HttpResponse.BodyHandlers.ofString());
+        final int left = 4;
+        MatcherAssert.assertThat(
+            timeouts.get(1).compareTo(budget.dividedBy(left)) <= 0,
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldFailFastOnceBudgetRunsOut() {
+        final Duration stuck = Duration.ofSeconds(10);
+        final HttpClient http = new FakeHttpClient(request -> {
+            this.sleep(stuck);
+            return new FakeResponse("[]");
+        });
+        final Duration budget = Duration.ofMillis(200);
+        final long start = System.nanoTime();
+        final HttpTimeoutException exception = Assertions.assertThrows(
+            HttpTimeoutException.class,
+            () -> new DeadlineHttpClient(
+                http,
+                new Deadline(stuck, budget)
+            ).send(this.request(1), HttpResponse.BodyHandlers.ofString())
+        );
+        MatcherAssert.assertThat(
+            Duration.ofNanos(System.nanoTime() - start).compareTo(stuck) < 0,
+            CoreMatchers.equalTo(true)
+        );
+        MatcherAssert.assertThat(
+            exception.getMessage(),
+            CoreMatchers.containsString("GET /repos/levelrin/gradle-github-pr-checker/pulls?page=1")
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFailStalledBodyOnceBudgetRunsOut() throws IOException, InterruptedException {
+        final Duration stall = Duration.ofSeconds(10);
+        final Duration budget = Duration.ofMillis(500);
+        try (FakeGitHubServer server = new FakeGitHubServer(2, FakeGitHubServer::sha, Duration.ZERO, Duration.ZERO, 0, stall)) {
+            final HttpResponse<InputStream> response = new DeadlineHttpClient(
+                HttpClient.newHttpClient(),
+                new Deadline(stall, budget)
+            ).send(
+                HttpRequest.newBuilder(
+                    URI.create(String.format("%s/repos/levelrin/gradle-github-pr-checker/pulls", server.domain()))
+                ).build(),
+                HttpResponse.BodyHandlers.ofInputStream()
+            );
+            final long start = System.nanoTime();
+            final IOException exception = Assertions.assertThrows(
+                IOException.class,
+                () -> response.body().readAllBytes()
+            );
+            MatcherAssert.assertThat(
+                Duration.ofNanos(System.nanoTime() - start).compareTo(stall) < 0,
+                CoreMatchers.equalTo(true)
+            );
+            MatcherAssert.assertThat(
+                exception.getCause(),
+                CoreMatchers.instanceOf(HttpTimeoutException.class)
+            );
+        }
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldInterruptBlockingDecoratorOnceBudgetRunsOut() {
+        final Duration stuck = Duration.ofSeconds(10);
+        final HttpClient blocking = new HttpClientEnvelope(new FakeHttpClient(request -> new FakeResponse("[]"))) {
+            @Override
+            public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+                Thread.sleep(stuck.toMillis());
+                return super.send(request, handler);
+            }
+        };
+        final Duration budget = Duration.ofMillis(200);
+        final long start = System.nanoTime();
+        Assertions.assertThrows(
+            HttpTimeoutException.class,
+            () -> new DeadlineHttpClient(
+                blocking,
+                new Deadline(stuck, budget)
+            ).send(this.request(1), HttpResponse.BodyHandlers.ofString())
+        );
+        MatcherAssert.assertThat(
+            Duration.ofNanos(System.nanoTime() - start).compareTo(stuck) < 0,
+            CoreMatchers.equalTo(true)
+        );
+        MatcherAssert.assertThat(
+            Thread.currentThread().isInterrupted(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+    /**
+     * Sleep without the checked exception.
+     * @param duration How long.
+     */
+    private void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Build a request of a page.
+     * @param page The page number.
+     * @return The request.
+     */
+    private HttpRequest request(final int page) {
+        return HttpRequest.newBuilder(
+            URI.create(
+                String.format(
+                    "https://api.github.com/repos/levelrin/gradle-github-pr-checker/pulls?page=%d",
+                    page
+                )
+            )
+        ).build();
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Deadline}.
+ */
+final class DeadlineTest {
+
+    @Test
+    public void shouldUsePerRequestTimeoutWithoutBudget() throws HttpTimeoutException {
+        final Duration request = Duration.ofSeconds(30);
+        MatcherAssert.assertThat(
+            new Deadline(request).timeout(0),
+            CoreMatchers.equalTo(request)
+        );
+    }
+
+    @Test
+    public void shouldSpreadRemainingBudgetAcrossPages() throws HttpTimeoutException {
+        final Duration request = Duration.ofSeconds(30);
+        final Duration budget = Duration.ofSeconds(60);
+        final Deadline deadline = new Deadline(
+            request,
+            budget,
+            Clock.fixed(Instant.parse("2022-01-01T00:00:00Z"), ZoneOffset.UTC)
+        );
+        final int pages = 6;
+        deadline.pages(pages);
+        MatcherAssert.assertThat(
+            deadline.timeout(0),
+            CoreMatchers.equalTo(budget.dividedBy(pages))
+        );
+        MatcherAssert.assertThat(
+            deadline.timeout(1),
+            CoreMatchers.equalTo(budget.dividedBy(pages).multipliedBy(2))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldTellWhereTimeWentOnceBudgetRunsOut() {
+        final Deadline deadline = new Deadline(Duration.ofSeconds(30), Duration.ZERO);
+        deadline.spent("GET /repos/levelrin/gradle-github-pr-checker/pulls", deadline.now(), "200");
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                HttpTimeoutException.class,
+                () -> deadline.timeout(0)
+            ).getMessage(),
+            CoreMatchers.containsString("GET /repos/levelrin/gradle-github-pr-checker/pulls: 0 ms (200)")
+        );
+    }
+
+}
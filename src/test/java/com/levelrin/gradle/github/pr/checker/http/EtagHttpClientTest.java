@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link EtagHttpClient}.
+ */
+final class EtagHttpClientTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldReuseStoredBodyIfNotModified(@TempDir final Path dir) throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final AtomicReference<Optional<String>> condition = new AtomicReference<>();
+        final int notModified = 304;
+        final HttpClient http = new EtagHttpClient(
+            new FakeHttpClient(request -> {
+                final FakeResponse result;
+                if (counter.getAndIncrement() == 0) {
+                    result = new FakeResponse(
+                        Map.of(
+                            "ETag", List.of("\"abc\""),
+                            "Link", List.of("<https://api.github.com/repositories/1/pulls?page=2>; rel=\"next\"")
+                        ),
+                        "[{}]"
+                    );
+                } else {
+                    condition.set(request.headers().firstValue("If-None-Match"));
+                    result = new FakeResponse(notModified, Map.of(), "");
+                }
+                return result;
+            }),
+            dir
+        );
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        final HttpResponse<String> response = http.send(
+            this.request(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        MatcherAssert.assertThat(
+            condition.get(),
+            CoreMatchers.equalTo(Optional.of("\"abc\""))
+        );
+        final int expectedStatus = 200;
+        MatcherAssert.assertThat(
+            response.statusCode(),
+            CoreMatchers.equalTo(expectedStatus)
+        );
+        MatcherAssert.assertThat(
+            response.body(),
+            CoreMatchers.equalTo("[{}]")
+        );
+        MatcherAssert.assertThat(
+            response.headers().firstValue("Link").isPresent(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldNotSendConditionalRequestWithoutValidators(@TempDir final Path dir) throws IOException, InterruptedException {
+        final AtomicReference<Optional<String>> condition = new AtomicReference<>();
+        final HttpClient http = new EtagHttpClient(
+            new FakeHttpClient(request -> {
+                condition.set(request.headers().firstValue("If-None-Match"));
+                return new FakeResponse("[]");
+            }),
+            dir
+        );
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            condition.get(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldNotShareEntryBetweenTokens(@TempDir final Path dir) throws IOException, InterruptedException {
+        final AtomicReference<Optional<String>> condition = new AtomicReference<>();
+        final HttpClient http = new EtagHttpClient(
+            new FakeHttpClient(request -> {
+                condition.set(request.headers().firstValue("If-None-Match"));
+                return new FakeResponse(Map.of("ETag", List.of("\"abc\"")), "[]");
+            }),
+            dir
+        );
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        http.send(
+            HttpRequest.newBuilder(URI.create("https://api.github.com/repos/levelrin/test/pulls"))
+                .header("Authorization", "token other")
+                .GET()
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        MatcherAssert.assertThat(
+            condition.get(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldDeleteUnusedEntriesWhenStoring(@TempDir final Path dir) throws IOException, InterruptedException {
+        final Path unused = Files.write(dir.resolve("unused"), new byte[0]);
+        final int days = 31;
+        Files.setLastModifiedTime(
+            unused,
+            FileTime.from(Instant.now().minus(Duration.ofDays(days)))
+        );
+        final HttpClient http = new EtagHttpClient(
+            new FakeHttpClient(
+                request -> new FakeResponse(Map.of("ETag", List.of("\"abc\"")), "[]")
+            ),
+            dir
+        );
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            Files.exists(unused),
+            CoreMatchers.equalTo(false)
+        );
+        try (Stream<Path> files = Files.list(dir)) {
+            MatcherAssert.assertThat(
+                files.count(),
+                CoreMatchers.equalTo(1L)
+            );
+        }
+    }
+
+    @Test
+    public void shouldMarkEntryAsUsedIfNotModified(@TempDir final Path dir) throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final int notModified = 304;
+        final HttpClient http = new EtagHttpClient(
+            new FakeHttpClient(request -> {
+                final FakeResponse result;
+                if (counter.getAndIncrement() == 0) {
+                    result = new FakeResponse(Map.of("ETag", List.of("\"abc\"")), "[]");
+                } else {
+                    result = new FakeResponse(notModified, Map.of(), "");
+                }
+                return result;
+            }),
+            dir
+        );
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        final Path entry;
+        try (Stream<Path> files = Files.list(dir)) {
+            entry = files.findFirst().orElseThrow();
+        }
+        final Instant old = Instant.now().minus(Duration.ofDays(1));
+        Files.setLastModifiedTime(entry, FileTime.from(old));
+        http.send(this.request(), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            Files.getLastModifiedTime(entry).toInstant().isAfter(old),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    /**
+     * Create a request for testing.
+     * @return The request.
+     */
+    private HttpRequest request() {
+        return HttpRequest
+            .newBuilder(URI.create("https://api.github.com/repos/levelrin/test/pulls"))
+            .header("Authorization", "token secret")
+            .GET()
+            .build();
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Gunzip}.
+ */
+final class GunzipTest {
+
+    @Test
+    public void shouldDecompressOneByteAtATime() throws IOException {
+        final int times = 100;
+        final String text = "[{\"number\": 1}, {\"number\": 2}]".repeat(times);
+        final byte[] compressed = this.gzip(text);
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (Gunzip gunzip = new Gunzip()) {
+            for (final byte single : compressed) {
+                for (final ByteBuffer chunk : gunzip.update(ByteBuffer.wrap(new byte[] {single}))) {
+                    decoded.write(chunk.array(), chunk.position(), chunk.remaining());
+                }
+            }
+            gunzip.finish();
+        }
+        MatcherAssert.assertThat(
+            decoded.toString(StandardCharsets.UTF_8),
+            CoreMatchers.equalTo(text)
+        );
+    }
+
+    @Test
+    public void shouldSkipOptionalHeaderFields() throws IOException {
+        final byte[] plain = this.gzip("[]");
+        final int fixed = 10;
+        final int flags = 3;
+        final int name = 8;
+        final ByteArrayOutputStream named = new ByteArrayOutputStream();
+        named.write(plain, 0, fixed);
+        named.write("pulls.json\0".getBytes(StandardCharsets.US_ASCII));
+        named.write(plain, fixed, plain.length - fixed);
+        final byte[] compressed = named.toByteArray();
+        compressed[flags] = (byte) name;
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (Gunzip gunzip = new Gunzip()) {
+            for (final ByteBuffer chunk : gunzip.update(ByteBuffer.wrap(compressed))) {
+                decoded.write(chunk.array(), chunk.position(), chunk.remaining());
+            }
+            gunzip.finish();
+        }
+        MatcherAssert.assertThat(
+            decoded.toString(StandardCharsets.UTF_8),
+            CoreMatchers.equalTo("[]")
+        );
+    }
+
+    @Test
+    public void shouldRejectTruncatedBody() throws IOException {
+        final byte[] compressed = this.gzip("[{\"number\": 1}]");
+        try (Gunzip gunzip = new Gunzip()) {
+            gunzip.update(ByteBuffer.wrap(Arrays.copyOf(compressed, compressed.length - 2)));
+            Assertions.assertThrows(IOException.class, gunzip::finish);
+        }
+    }
+
+    @Test
+    public void shouldRejectNonGzip() {
+        final byte[] plain = "[{\"number\": 1}]".getBytes(StandardCharsets.UTF_8);
+        try (Gunzip gunzip = new Gunzip()) {
+            Assertions.assertThrows(
+                IOException.class,
+                () -> gunzip.update(ByteBuffer.wrap(plain))
+            );
+        }
+    }
+
+    @Test
+    public void shouldAcceptEmptyBody() throws IOException {
+        try (Gunzip gunzip = new Gunzip()) {
+            gunzip.finish();
+        }
+    }
+
+    /**
+     * Compress the text.
+     * @param text The text.
+     * @return The gzip bytes.
+     * @throws IOException It won't happen.
+     */
+    private byte[] gzip(final String text) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPOutputStream;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link GzipHttpClient}.
+ */
+final class GzipHttpClientTest {
+
+    /**
+     * The status code of '200 OK'.
+     */
+    private static final int OK = 200;
+
+    @Test
+    public void shouldAskForGzip() throws IOException, InterruptedException {
+        final StringBuilder encoding = new StringBuilder();
+        new GzipHttpClient(
+            new FakeHttpClient(request -> {
+                encoding.append(request.headers().firstValue("Accept-Encoding").orElse(""));
+                return new FakeResponse("[]");
+            }),
+            new Traffic()
+        ).send(this.request(), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            encoding.toString(),
+            CoreMatchers.equalTo("gzip")
+        );
+    }
+
+    @Test
+    public void shouldDecompressStreamedBody() throws IOException, InterruptedException {
+        final String text = "[{\"number\": 1}]";
+        final HttpResponse<InputStream> response = new GzipHttpClient(
+            this.compressing(text),
+            new Traffic()
+        ).send(this.request(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            MatcherAssert.assertThat(
+                new String(body.readAllBytes(), StandardCharsets.UTF_8),
+                CoreMatchers.equalTo(text)
+            );
+        }
+    }
+
+    @Test
+    public void shouldDecompressAsynchronously() throws ExecutionException, InterruptedException {
+        final String text = "[{\"number\": 1}]";
+        MatcherAssert.assertThat(
+            new GzipHttpClient(this.compressing(text), new Traffic())
+                .sendAsync(this.request(), HttpResponse.BodyHandlers.ofString())
+                .get()
+                .body(),
+            CoreMatchers.equalTo(text)
+        );
+    }
+
+    @Test
+    public void shouldCountBytes() throws IOException, InterruptedException {
+        final int times = 100;
+        final String text = "[{\"number\": 1}, {\"number\": 2}]".repeat(times);
+        final Traffic traffic = new Traffic();
+        new GzipHttpClient(this.compressing(text), traffic)
+            .send(this.request(), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            traffic.decoded(),
+            CoreMatchers.equalTo((long) text.length())
+        );
+        MatcherAssert.assertThat(
+            traffic.wire() < traffic.decoded(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldPassUncompressedBody() throws IOException, InterruptedException {
+        final Traffic traffic = new Traffic();
+        MatcherAssert.assertThat(
+            new GzipHttpClient(new FakeHttpClient(request -> new FakeResponse("[]")), traffic)
+                .send(this.request(), HttpResponse.BodyHandlers.ofString())
+                .body(),
+            CoreMatchers.equalTo("[]")
+        );
+        MatcherAssert.assertThat(
+            traffic.wire(),
+            CoreMatchers.equalTo(0L)
+        );
+    }
+
+    /**
+     * Create a fake client that compresses the body.
+     * @param text The body.
+     * @return The fake client.
+     */
+    private FakeHttpClient compressing(final String text) {
+        return new FakeHttpClient(request -> {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(text.getBytes(StandardCharsets.UTF_8));
+            } catch (final IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return new FakeResponse(
+                OK,
+                Map.of("Content-Encoding", List.of("gzip")),
+                bytes.toByteArray()
+            );
+        });
+    }
+
+    /**
+     * Create a GET request.
+     * @return The request.
+     */
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(
+            URI.create("https://api.github.com/repos/levelrin/test/pulls")
+        ).build();
+    }
+
+}
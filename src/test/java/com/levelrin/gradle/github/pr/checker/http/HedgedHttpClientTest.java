@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link HedgedHttpClient}.
+ */
+final class HedgedHttpClientTest {
+
+    @Test
+    public void shouldUseFasterResponseOfHedgedRequest() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final Duration stuck = Duration.ofSeconds(10);
+        final HttpClient http = new FakeHttpClient(request -> {
+            final String result;
+            if (counter.getAndIncrement() == 0) {
+                // The first request is stuck.
+                this.sleep(stuck);
+                result = "slow";
+            } else {
+                result = "fast";
+            }
+            return new FakeResponse(result);
+        });
+        final int window = 10;
+        final Latencies latencies = new Latencies(window, 1);
+        final Duration usual = Duration.ofMillis(10);
+        latencies.record(usual);
+        final double percentile = 0.95;
+        final long start = System.nanoTime();
+        MatcherAssert.assertThat(
+            new HedgedHttpClient(http, percentile, latencies)
+                .send(this.request(), HttpResponse.BodyHandlers.ofString())
+                .body(),
+            CoreMatchers.equalTo("fast")
+        );
+        MatcherAssert.assertThat(
+            Duration.ofNanos(System.nanoTime() - start).compareTo(stuck) < 0,
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldNotHedgeWithoutSamples() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final Duration latency = Duration.ofMillis(50);
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            this.sleep(latency);
+            return new FakeResponse("[]");
+        });
+        final double median = 0.5;
+        final int window = 10;
+        new HedgedHttpClient(http, median, new Latencies(window, 1))
+            .send(this.request(), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Sleep without the checked exception.
+     * @param duration How long.
+     */
+    private void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Build a request.
+     * @return The request.
+     */
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(
+            URI.create("https://api.github.com/repos/levelrin/gradle-github-pr-checker/pulls")
+        ).build();
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.Duration;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Histogram}.
+ */
+final class HistogramTest {
+
+    @Test
+    public void shouldCountLatenciesInBuckets() {
+        final int fast = 3;
+        final int slow = 30;
+        final int count = 3;
+        final int bound = 5;
+        final int buckets = 14;
+        final Histogram histogram = new Histogram();
+        histogram.record(Duration.ofMillis(fast));
+        histogram.record(Duration.ofMillis(fast));
+        histogram.record(Duration.ofSeconds(slow));
+        final String json = JsonPath.parse(histogram.map()).jsonString();
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.count"),
+            CoreMatchers.equalTo(count)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.buckets[2].lessThanMillis"),
+            CoreMatchers.equalTo(bound)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.buckets[2].count"),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.buckets[-1].lessThanMillis"),
+            CoreMatchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.buckets[-1].count"),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.<Number>read(json, "$.maxMicros").longValue(),
+            CoreMatchers.equalTo(Duration.ofSeconds(slow).toNanos() / Histogram.NANOS)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.buckets.length()"),
+            CoreMatchers.equalTo(buckets)
+        );
+    }
+
+}
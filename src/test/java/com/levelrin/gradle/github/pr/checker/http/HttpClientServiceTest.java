@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link HttpClientService}.
+ */
+final class HttpClientServiceTest {
+
+    @Test
+    public void shouldShareClientOfSameConnectTimeout() {
+        final HttpClientService service = this.service();
+        final Duration connect = Duration.ofSeconds(10);
+        MatcherAssert.assertThat(
+            service.client(connect),
+            CoreMatchers.sameInstance(service.client(connect))
+        );
+        MatcherAssert.assertThat(
+            service.client(),
+            CoreMatchers.not(CoreMatchers.sameInstance(service.client(connect)))
+        );
+    }
+
+    @Test
+    public void shouldStopThreadsOnClose() {
+        final HttpClientService service = this.service();
+        final HttpClient before = service.client();
+        final Executor threads = before.executor().orElseThrow();
+        service.close();
+        MatcherAssert.assertThat(
+            ((ExecutorService) threads).isShutdown(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldStopWorkersOnClose() {
+        final HttpClientService service = this.service();
+        final int bound = 4;
+        final ExecutorService workers = service.workers(bound);
+        MatcherAssert.assertThat(
+            service.workers(bound),
+            CoreMatchers.sameInstance(workers)
+        );
+        service.close();
+        MatcherAssert.assertThat(
+            workers.isShutdown(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldShareCassetteOfSameFile(@TempDir final Path dir) throws IOException {
+        final HttpClientService service = this.service();
+        final Path path = dir.resolve("pulls.cassette");
+        final Cassette first = service.cassette(path);
+        final Cassette second = service.cassette(dir.resolve("cassettes/../pulls.cassette"));
+        MatcherAssert.assertThat(
+            second,
+            CoreMatchers.sameInstance(first)
+        );
+        first.record(this.recording("GET https://api.github.com/repos/a/a/pulls"));
+        second.record(this.recording("GET https://api.github.com/repos/b/b/pulls"));
+        MatcherAssert.assertThat(
+            new Cassette(path).recording("GET https://api.github.com/repos/a/a/pulls").isPresent(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    /**
+     * Create a recording of an empty page.
+     * @param key See {@link RequestKey}.
+     * @return The recording.
+     */
+    private Recording recording(final String key) {
+        final int status = 200;
+        return new Recording(
+            key,
+            status,
+            HttpHeaders.of(Map.of(), (name, value) -> true),
+            "[]".getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Register the service in a fresh build.
+     * @return The service.
+     */
+    private HttpClientService service() {
+        final Project project = ProjectBuilder.builder().build();
+        return project.getGradle().getSharedServices().registerIfAbsent(
+            "githubPrHttpClient",
+            HttpClientService.class,
+            spec -> {
+                // It doesn't have any parameters.
+            }
+        ).get();
+    }
+
+}
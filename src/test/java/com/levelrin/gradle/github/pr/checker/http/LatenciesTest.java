@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Latencies}.
+ */
+final class LatenciesTest {
+
+    @Test
+    public void shouldCalculatePercentile() {
+        final int count = 100;
+        final Latencies latencies = new Latencies(count, 1);
+        for (int millis = count; millis >= 1; millis = millis - 1) {
+            latencies.record(Duration.ofMillis(millis));
+        }
+        final double percentile = 0.95;
+        final long expected = 95;
+        MatcherAssert.assertThat(
+            latencies.percentile(percentile),
+            CoreMatchers.equalTo(Optional.of(Duration.ofMillis(expected)))
+        );
+    }
+
+    @Test
+    public void shouldWaitForEnoughSamples() {
+        final int window = 10;
+        final int minimum = 3;
+        final Latencies latencies = new Latencies(window, minimum);
+        latencies.record(Duration.ofMillis(1));
+        latencies.record(Duration.ofMillis(2));
+        final double median = 0.5;
+        MatcherAssert.assertThat(
+            latencies.percentile(median),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldKeepRecentSamplesOnly() {
+        final Latencies latencies = new Latencies(2, 1);
+        final Duration old = Duration.ofSeconds(10);
+        latencies.record(old);
+        latencies.record(Duration.ofMillis(1));
+        latencies.record(Duration.ofMillis(1));
+        MatcherAssert.assertThat(
+            latencies.percentile(1.0),
+            CoreMatchers.equalTo(Optional.of(Duration.ofMillis(1)))
+        );
+    }
+
+}
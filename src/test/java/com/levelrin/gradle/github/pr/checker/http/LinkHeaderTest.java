@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link LinkHeader}.
+ */
+final class LinkHeaderTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldParseNextAndLastPages() {
+        final LinkHeader link = new LinkHeader(
+            HttpHeaders.of(
+                Map.of(
+                    "Link",
+                    List.of(
+                        "<https://api.github.com/repositories/1300192/pulls?per_page=100&page=2>; rel=\"next\", <https://api.github.com/repositories/1300192/pulls?per_page=100&page=34>; rel=\"last\""
+                    )
+                ),
+                (name, value) -> true
+            )
+        );
+        final int last = 34;
+        MatcherAssert.assertThat(
+            link.next(),
+            CoreMatchers.equalTo(OptionalInt.of(2))
+        );
+        MatcherAssert.assertThat(
+            link.last(),
+            CoreMatchers.equalTo(OptionalInt.of(last))
+        );
+    }
+
+    @Test
+    public void shouldReturnEmptyIfThereIsNoHeader() {
+        final LinkHeader link = new LinkHeader(
+            HttpHeaders.of(Map.of(), (name, value) -> true)
+        );
+        MatcherAssert.assertThat(
+            link.exists(),
+            CoreMatchers.equalTo(false)
+        );
+        MatcherAssert.assertThat(
+            link.last(),
+            CoreMatchers.equalTo(OptionalInt.empty())
+        );
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.jayway.jsonpath.JsonPath;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeGitHubServer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link MeteredHttpClient}.
+ */
+final class MeteredHttpClientTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldMeasureEachRequest() throws IOException, InterruptedException, ExecutionException {
+        final int count = 150;
+        final int latency = 50;
+        final int ok = 200;
+        final int number = 7;
+        try (FakeGitHubServer server = new FakeGitHubServer(count, Duration.ofMillis(latency), Duration.ZERO, 0)) {
+            final Metrics metrics = new Metrics();
+            final HttpClient http = new MeteredHttpClient(HttpClient.newHttpClient(), metrics);
+            final String body = http.send(
+                this.request(server, "pulls?per_page=100&page=2"),
+                HttpResponse.BodyHandlers.ofString()
+            ).body();
+            http.sendAsync(
+                this.request(server, String.format("pulls/%d", number)),
+                HttpResponse.BodyHandlers.ofString()
+            ).get();
+            final String json = metrics.toString();
+            MatcherAssert.assertThat(
+                JsonPath.read(json, "$.requests"),
+                CoreMatchers.equalTo(2)
+            );
+            MatcherAssert.assertThat(
+                JsonPath.read(json, "$.exchanges[0].request"),
+                CoreMatchers.equalTo("GET /repos/levelrin/test/pulls?per_page=100&page=2")
+            );
+            MatcherAssert.assertThat(
+                JsonPath.read(json, "$.exchanges[0].page"),
+                CoreMatchers.equalTo(2)
+            );
+            MatcherAssert.assertThat(
+                JsonPath.read(json, "$.exchanges[0].status"),
+                CoreMatchers.equalTo(ok)
+            );
+            MatcherAssert.assertThat(
+                JsonPath.<Number>read(json, "$.exchanges[0].bytes").longValue(),
+                CoreMatchers.equalTo((long) body.length())
+            );
+            MatcherAssert.assertThat(
+                JsonPath.<Number>read(json, "$.exchanges[0].firstByteMicros").longValue()
+                    >= Duration.ofMillis(latency).toNanos() / Histogram.NANOS,
+                CoreMatchers.equalTo(true)
+            );
+            MatcherAssert.assertThat(
+                JsonPath.read(json, "$.exchanges[0].rateLimitRemaining"),
+                CoreMatchers.notNullValue()
+            );
+            MatcherAssert.assertThat(
+                JsonPath.read(json, "$.exchanges[1].page"),
+                CoreMatchers.nullValue()
+            );
+        }
+    }
+
+    /**
+     * Create a request to the server.
+     * @param server The server.
+     * @param path The path under the repository.
+     * @return The request.
+     */
+    private HttpRequest request(final FakeGitHubServer server, final String path) {
+        return HttpRequest
+            .newBuilder(
+                URI.create(String.format("%s/repos/levelrin/test/%s", server.domain(), path))
+            )
+            .GET()
+            .build();
+    }
+
+}
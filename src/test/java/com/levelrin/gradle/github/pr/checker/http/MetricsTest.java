@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.jayway.jsonpath.JsonPath;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link Metrics}.
+ */
+final class MetricsTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldWriteReport(@TempDir final Path dir) throws IOException {
+        final int ok = 200;
+        final int modified = 304;
+        final int bytes = 1024;
+        final long high = 4990;
+        final long low = 4989;
+        final int millis = 30;
+        final Metrics metrics = new Metrics();
+        metrics.record(
+            new Exchange("GET /repos/levelrin/test/pulls?page=1", OptionalInt.of(1), ok, Duration.ofMillis(millis), Duration.ofMillis(millis), bytes, OptionalLong.of(high))
+        );
+        metrics.record(
+            new Exchange("GET /repos/levelrin/test/pulls?page=2", OptionalInt.of(2), modified, Duration.ofMillis(millis), Duration.ZERO, 0, OptionalLong.of(low))
+        );
+        metrics.record(
+            new Exchange("GET /repos/levelrin/test/pulls/7", OptionalInt.empty(), ok, Duration.ofMillis(millis), Duration.ofMillis(millis), bytes, OptionalLong.empty())
+        );
+        final Path report = dir.resolve("metrics.json");
+        metrics.write(report);
+        final String json = Files.readString(report, StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.requests"),
+            CoreMatchers.equalTo(2 + 1)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.bytes"),
+            CoreMatchers.equalTo(bytes * 2)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.statuses.200"),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.statuses.304"),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.<Number>read(json, "$.rateLimitRemaining").longValue(),
+            CoreMatchers.equalTo(low)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.transfer.count"),
+            CoreMatchers.equalTo(2 + 1)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.total.buckets[?(@.lessThanMillis == 100)].count"),
+            CoreMatchers.hasItem(2)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.exchanges[1].page"),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.exchanges[2].page"),
+            CoreMatchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            JsonPath.read(json, "$.exchanges[2].rateLimitRemaining"),
+            CoreMatchers.nullValue()
+        );
+    }
+
+}
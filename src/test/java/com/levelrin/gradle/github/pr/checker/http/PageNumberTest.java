@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.URI;
+import java.util.OptionalInt;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link PageNumber}.
+ */
+final class PageNumberTest {
+
+    @Test
+    public void shouldFindPageOfQuery() {
+        final int page = 34;
+        MatcherAssert.assertThat(
+            new PageNumber(
+                URI.create("https://api.github.com/repos/levelrin/test/pulls?per_page=100&page=34")
+            ).value(),
+            CoreMatchers.equalTo(OptionalInt.of(page))
+        );
+    }
+
+    @Test
+    public void shouldNotMistakeOtherParameterForPage() {
+        MatcherAssert.assertThat(
+            new PageNumber(
+                URI.create("https://api.github.com/repos/levelrin/test/pulls?per_page=100")
+            ).value(),
+            CoreMatchers.equalTo(OptionalInt.empty())
+        );
+    }
+
+    @Test
+    public void shouldReturnEmptyWithoutQuery() {
+        MatcherAssert.assertThat(
+            new PageNumber(URI.create("https://api.github.com/repos/levelrin/test/pulls")).value(),
+            CoreMatchers.equalTo(OptionalInt.empty())
+        );
+    }
+
+}
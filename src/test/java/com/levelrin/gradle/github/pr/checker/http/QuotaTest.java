@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpHeaders;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Quota}.
+ */
+final class QuotaTest {
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    @Test
+    public void shouldLimitRequestsInFlight() {
+        final Quota quota = new Quota(2);
+        final CompletableFuture<Void> first = quota.acquire();
+        final CompletableFuture<Void> second = quota.acquire();
+        final CompletableFuture<Void> third = quota.acquire();
+        MatcherAssert.assertThat(
+            List.of(first.isDone(), second.isDone(), third.isDone()),
+            CoreMatchers.equalTo(List.of(true, true, false))
+        );
+        quota.release();
+        MatcherAssert.assertThat(
+            third.isDone(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldShrinkLimitAsQuotaShrinks() {
+        final int max = 4;
+        final Quota quota = new Quota(max);
+        quota.update(
+            new RateLimit(
+                OK,
+                HttpHeaders.of(
+                    Map.of(
+                        "X-RateLimit-Limit", List.of("5000"),
+                        "X-RateLimit-Remaining", List.of("10")
+                    ),
+                    (name, value) -> true
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            List.of(quota.acquire().isDone(), quota.acquire().isDone()),
+            CoreMatchers.equalTo(List.of(true, false))
+        );
+    }
+
+    @Test
+    public void shouldHoldRequestsBackWhilePaused() {
+        final Instant now = Instant.ofEpochSecond(1_650_000_000L);
+        final Quota quota = new Quota(2, Clock.fixed(now, ZoneOffset.UTC));
+        quota.pause(now.plusSeconds(1));
+        MatcherAssert.assertThat(
+            quota.acquire().isDone(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+    @Test
+    public void shouldSkipRequestsThatGaveUp() {
+        final Quota quota = new Quota(1);
+        quota.acquire();
+        final CompletableFuture<Void> cancelled = quota.acquire();
+        final CompletableFuture<Void> waiting = quota.acquire();
+        cancelled.cancel(false);
+        quota.release();
+        MatcherAssert.assertThat(
+            waiting.isDone(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+}
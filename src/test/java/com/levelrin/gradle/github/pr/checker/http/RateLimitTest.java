@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link RateLimit}.
+ */
+final class RateLimitTest {
+
+    /**
+     * The status code of a successful response.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The status code GitHub uses for the rate limit.
+     */
+    private static final int FORBIDDEN = 403;
+
+    @Test
+    public void shouldUseFullConcurrencyWhileQuotaIsPlenty() {
+        final int max = 8;
+        MatcherAssert.assertThat(
+            new RateLimit(OK, this.headers("5000", "4000")).allowed(max),
+            CoreMatchers.equalTo(max)
+        );
+    }
+
+    @Test
+    public void shouldShrinkConcurrencyAsQuotaShrinks() {
+        final int max = 8;
+        final int expected = 4;
+        MatcherAssert.assertThat(
+            new RateLimit(OK, this.headers("5000", "250")).allowed(max),
+            CoreMatchers.equalTo(expected)
+        );
+        MatcherAssert.assertThat(
+            new RateLimit(OK, this.headers("5000", "1")).allowed(max),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    public void shouldWaitUntilResetIfQuotaIsUsedUp() {
+        final long reset = 1_650_000_000L;
+        final RateLimit limit = new RateLimit(
+            FORBIDDEN,
+            HttpHeaders.of(
+                Map.of(
+                    "X-RateLimit-Limit", List.of("5000"),
+                    "X-RateLimit-Remaining", List.of("0"),
+                    "X-RateLimit-Reset", List.of(String.valueOf(reset))
+                ),
+                (name, value) -> true
+            )
+        );
+        MatcherAssert.assertThat(
+            limit.blocked(Instant.ofEpochSecond(reset - 1)),
+            CoreMatchers.equalTo(Optional.of(Instant.ofEpochSecond(reset)))
+        );
+        MatcherAssert.assertThat(
+            limit.exhausted(),
+            CoreMatchers.equalTo(Optional.of(Instant.ofEpochSecond(reset)))
+        );
+    }
+
+    @Test
+    public void shouldFollowRetryAfterOfSecondaryRateLimit() {
+        final Instant now = Instant.ofEpochSecond(1_650_000_000L);
+        final long seconds = 30;
+        MatcherAssert.assertThat(
+            new RateLimit(
+                FORBIDDEN,
+                HttpHeaders.of(Map.of("Retry-After", List.of("30")), (name, value) -> true)
+            ).blocked(now),
+            CoreMatchers.equalTo(Optional.of(now.plusSeconds(seconds)))
+        );
+    }
+
+    @Test
+    public void shouldNotBlockOtherForbiddenResponses() {
+        MatcherAssert.assertThat(
+            new RateLimit(FORBIDDEN, this.headers("5000", "4000")).blocked(Instant.now()),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    public void shouldBlockForbiddenResponseAboutSecondaryRateLimit() {
+        final Instant now = Instant.ofEpochSecond(1_650_000_000L);
+        MatcherAssert.assertThat(
+            new RateLimit(
+                FORBIDDEN,
+                this.headers("5000", "4000"),
+                "{\"message\":\"You have exceeded a Secondary Rate Limit. Please wait.\"}"
+            ).blocked(now),
+            CoreMatchers.equalTo(Optional.of(now.plus(Duration.ofMinutes(1))))
+        );
+    }
+
+    /**
+     * Build the rate limit headers.
+     * @param limit The value of 'X-RateLimit-Limit'.
+     * @param remaining The value of 'X-RateLimit-Remaining'.
+     * @return Headers.
+     */
+    private HttpHeaders headers(final String limit, final String remaining) {
+        return HttpHeaders.of(
+            Map.of(
+                "X-RateLimit-Limit", List.of(limit),
+                "X-RateLimit-Remaining", List.of(remaining)
+            ),
+            (name, value) -> true
+        );
+    }
+
+}
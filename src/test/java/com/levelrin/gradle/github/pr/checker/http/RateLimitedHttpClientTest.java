@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link RateLimitedHttpClient}.
+ */
+final class RateLimitedHttpClientTest {
+
+    /**
+     * The status code GitHub uses for the rate limit.
+     */
+    private static final int FORBIDDEN = 403;
+
+    @Test
+    public void shouldTryAgainAfterSecondaryRateLimit() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new RateLimitedHttpClient(this.limited(counter), 2);
+        MatcherAssert.assertThat(
+            http.send(this.request(), HttpResponse.BodyHandlers.ofString()).body(),
+            CoreMatchers.equalTo("[]")
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldTryAgainIfOnlyMessageTellsSecondaryRateLimit() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new RateLimitedHttpClient(
+            new FakeHttpClient(request -> {
+                final FakeResponse result;
+                if (counter.getAndIncrement() == 0) {
+                    result = new FakeResponse(
+                        FORBIDDEN,
+                        Map.of(),
+                        "{\"message\":\"You have exceeded a secondary rate limit.\"}"
+                    );
+                } else {
+                    result = new FakeResponse("[]");
+                }
+                return result;
+            }),
+            new Quota(1),
+            // The default wait of a minute has passed by the time we see the response.
+            Clock.offset(Clock.systemUTC(), Duration.ofMinutes(-1))
+        );
+        final HttpResponse<InputStream> response = http.send(
+            this.request(),
+            HttpResponse.BodyHandlers.ofInputStream()
+        );
+        try (InputStream body = response.body()) {
+            MatcherAssert.assertThat(
+                new String(body.readAllBytes(), StandardCharsets.UTF_8),
+                CoreMatchers.equalTo("[]")
+            );
+        }
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldPassBodyOfOtherForbiddenResponse() throws IOException, InterruptedException {
+        final String message = "{\"message\":\"Resource not accessible by integration\"}";
+        final HttpClient http = new RateLimitedHttpClient(
+            new FakeHttpClient(request -> new FakeResponse(FORBIDDEN, Map.of(), message)),
+            1
+        );
+        final HttpResponse<InputStream> response = http.send(
+            this.request(),
+            HttpResponse.BodyHandlers.ofInputStream()
+        );
+        try (InputStream body = response.body()) {
+            MatcherAssert.assertThat(
+                new String(body.readAllBytes(), StandardCharsets.UTF_8),
+                CoreMatchers.equalTo(message)
+            );
+        }
+    }
+
+    @Test
+    public void shouldTryAgainAsynchronously() throws ExecutionException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new RateLimitedHttpClient(this.limited(counter), 2);
+        MatcherAssert.assertThat(
+            http.sendAsync(this.request(), HttpResponse.BodyHandlers.ofString()).get().body(),
+            CoreMatchers.equalTo("[]")
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldGiveUpAfterFewAttempts() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new RateLimitedHttpClient(
+            new FakeHttpClient(request -> {
+                counter.incrementAndGet();
+                return new FakeResponse(FORBIDDEN, Map.of("Retry-After", List.of("0")), "");
+            }),
+            1
+        );
+        MatcherAssert.assertThat(
+            http.send(this.request(), HttpResponse.BodyHandlers.ofString()).statusCode(),
+            CoreMatchers.equalTo(FORBIDDEN)
+        );
+        final int attempts = 3;
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(attempts)
+        );
+    }
+
+    @Test
+    public void shouldNotSendIfCancelledWhileWaiting() {
+        final AtomicInteger counter = new AtomicInteger();
+        final Quota quota = new Quota(1);
+        quota.acquire();
+        final HttpClient http = new RateLimitedHttpClient(
+            this.limited(counter),
+            quota,
+            Clock.systemUTC()
+        );
+        http.sendAsync(this.request(), HttpResponse.BodyHandlers.ofString()).cancel(true);
+        quota.release();
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(0)
+        );
+        MatcherAssert.assertThat(
+            "The cancelled request should not hold the turn.",
+            quota.acquire().isDone(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldCloseBodyOfRejectedResponse() throws ExecutionException, InterruptedException {
+        final List<AtomicBoolean> closed = new CopyOnWriteArrayList<>();
+        final HttpResponse.BodyHandler<InputStream> handler = info -> {
+            final AtomicBoolean flag = new AtomicBoolean();
+            closed.add(flag);
+            return HttpResponse.BodySubscribers.replacing(
+                new ByteArrayInputStream(new byte[0]) {
+                    @Override
+                    public void close() {
+                        flag.set(true);
+                    }
+                }
+            );
+        };
+        final CompletableFuture<HttpResponse<InputStream>> future = new RateLimitedHttpClient(
+            this.limited(new AtomicInteger()),
+            2
+        ).sendAsync(this.request(), handler);
+        future.get();
+        MatcherAssert.assertThat(
+            List.of(closed.get(0).get(), closed.get(1).get()),
+            CoreMatchers.equalTo(List.of(true, false))
+        );
+    }
+
+    /**
+     * Build a client that rejects the first request due to the secondary rate limit.
+     * @param counter It counts the requests.
+     * @return Fake client.
+     */
+    private HttpClient limited(final AtomicInteger counter) {
+        return new FakeHttpClient(request -> {
+            final FakeResponse result;
+            if (counter.getAndIncrement() == 0) {
+                result = new FakeResponse(FORBIDDEN, Map.of("Retry-After", List.of("0")), "");
+            } else {
+                result = new FakeResponse("[]");
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Build a request.
+     * @return The request of the first page.
+     */
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(
+            URI.create("https://api.github.com/repos/levelrin/gradle-github-pr-checker/pulls")
+        ).build();
+    }
+
+}
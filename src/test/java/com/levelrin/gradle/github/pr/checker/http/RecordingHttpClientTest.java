@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link RecordingHttpClient}.
+ */
+final class RecordingHttpClientTest {
+
+    @Test
+    public void shouldReturnAndRecordResponse(@TempDir final Path dir) throws IOException, InterruptedException {
+        final Path path = dir.resolve("pulls.cassette");
+        final HttpClient http = new RecordingHttpClient(
+            new FakeHttpClient(
+                request -> new FakeResponse(Map.of("ETag", List.of("\"abc\"")), "[{}]")
+            ),
+            new Cassette(path)
+        );
+        final HttpResponse<String> response = http.send(
+            this.request(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        MatcherAssert.assertThat(
+            response.body(),
+            CoreMatchers.equalTo("[{}]")
+        );
+        MatcherAssert.assertThat(
+            response.headers().firstValue("ETag"),
+            CoreMatchers.equalTo(Optional.of("\"abc\""))
+        );
+        final Recording recording = new Cassette(path).recording(
+            "GET https://api.github.com/repos/levelrin/test/pulls"
+        ).orElseThrow();
+        MatcherAssert.assertThat(
+            new String(recording.body(), StandardCharsets.UTF_8),
+            CoreMatchers.equalTo("[{}]")
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldRecordWholeBodyEvenIfCallerStopsReading(@TempDir final Path dir) throws IOException, InterruptedException {
+        final Path path = dir.resolve("pulls.cassette");
+        final HttpClient http = new RecordingHttpClient(
+            new FakeHttpClient(request -> new FakeResponse("[{\"number\": 1}, {\"number\": 2}]")),
+            new Cassette(path)
+        );
+        try (InputStream body = http.sendAsync(this.request(), HttpResponse.BodyHandlers.ofInputStream()).join().body()) {
+            MatcherAssert.assertThat(
+                body.read(),
+                CoreMatchers.equalTo((int) '[')
+            );
+        }
+        MatcherAssert.assertThat(
+            new String(
+                new Cassette(path).recording(
+                    "GET https://api.github.com/repos/levelrin/test/pulls"
+                ).orElseThrow().body(),
+                StandardCharsets.UTF_8
+            ),
+            CoreMatchers.equalTo("[{\"number\": 1}, {\"number\": 2}]")
+        );
+    }
+
+    /**
+     * Create a request for testing.
+     * @return The request.
+     */
+    private HttpRequest request() {
+        return HttpRequest
+            .newBuilder(URI.create("https://api.github.com/repos/levelrin/test/pulls"))
+            .header("Authorization", "token secret")
+            .GET()
+            .build();
+    }
+
+}
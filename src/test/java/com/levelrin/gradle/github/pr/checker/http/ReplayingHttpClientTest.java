@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link ReplayingHttpClient}.
+ */
+final class ReplayingHttpClientTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldPlayRecordedResponseWithoutOrigin(@TempDir final Path dir) throws IOException, InterruptedException {
+        final int status = 200;
+        final Cassette cassette = new Cassette(dir.resolve("pulls.cassette"));
+        cassette.record(
+            new Recording(
+                "GET https://api.github.com/repos/levelrin/test/pulls",
+                status,
+                HttpHeaders.of(
+                    Map.of("Link", List.of("<https://api.github.com/repositories/1/pulls?page=2>; rel=\"next\"")),
+                    (name, value) -> true
+                ),
+                "[{}]".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        final HttpClient http = new ReplayingHttpClient(
+            new FakeHttpClient(request -> {
+                throw new IllegalStateException("It should not send the request.");
+            }),
+            new Cassette(dir.resolve("pulls.cassette"))
+        );
+        final HttpResponse<String> response = http.send(
+            this.request(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        MatcherAssert.assertThat(
+            response.statusCode(),
+            CoreMatchers.equalTo(status)
+        );
+        MatcherAssert.assertThat(
+            response.body(),
+            CoreMatchers.equalTo("[{}]")
+        );
+        MatcherAssert.assertThat(
+            response.headers().firstValue("Link").isPresent(),
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    public void shouldFailIfCassetteDoesNotHaveResponse(@TempDir final Path dir) {
+        final HttpClient http = new ReplayingHttpClient(
+            new FakeHttpClient(request -> {
+                throw new IllegalStateException("It should not send the request.");
+            }),
+            new Cassette(dir.resolve("pulls.cassette"))
+        );
+        Assertions.assertThrows(
+            IOException.class,
+            () -> http.send(this.request(), HttpResponse.BodyHandlers.ofString())
+        );
+    }
+
+    /**
+     * Create a request for testing.
+     * @return The request.
+     */
+    private HttpRequest request() {
+        return HttpRequest
+            .newBuilder(URI.create("https://api.github.com/repos/levelrin/test/pulls"))
+            .header("Authorization", "token secret")
+            .GET()
+            .build();
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link RequestKey}.
+ */
+final class RequestKeyTest {
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldIgnoreHeaders() {
+        MatcherAssert.assertThat(
+            new RequestKey(
+                HttpRequest.newBuilder(URI.create("https://api.github.com/repos/levelrin/test/pulls?page=2"))
+                    .header("Authorization", "token secret")
+                    .GET()
+                    .build()
+            ).value(),
+            CoreMatchers.equalTo("GET https://api.github.com/repos/levelrin/test/pulls?page=2")
+        );
+    }
+
+    @Test
+    public void shouldTellBodiesApart() {
+        final String first = new RequestKey(this.graphql("{\"query\": \"a\"}")).value();
+        MatcherAssert.assertThat(
+            first.startsWith("POST https://api.github.com/graphql "),
+            CoreMatchers.equalTo(true)
+        );
+        MatcherAssert.assertThat(
+            first,
+            CoreMatchers.equalTo(new RequestKey(this.graphql("{\"query\": \"a\"}")).value())
+        );
+        MatcherAssert.assertThat(
+            first,
+            CoreMatchers.not(
+                CoreMatchers.equalTo(new RequestKey(this.graphql("{\"query\": \"b\"}")).value())
+            )
+        );
+    }
+
+    /**
+     * Create a GraphQL request for testing.
+     * @param body The request body.
+     * @return The request.
+     */
+    private HttpRequest graphql(final String body) {
+        return HttpRequest.newBuilder(URI.create("https://api.github.com/graphql"))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link RetryingHttpClient}.
+ */
+final class RetryingHttpClientTest {
+
+    /**
+     * The status code of a server error.
+     */
+    private static final int BAD_GATEWAY = 502;
+
+    @Test
+    public void shouldRetryServerError() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new RetryingHttpClient(this.flaky(counter), this.backoff())
+                .send(this.request("GET"), HttpResponse.BodyHandlers.ofString())
+                .body(),
+            CoreMatchers.equalTo("[]")
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldRetryServerErrorAsynchronously() throws ExecutionException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new RetryingHttpClient(this.flaky(counter), this.backoff())
+                .sendAsync(this.request("GET"), HttpResponse.BodyHandlers.ofString())
+                .get()
+                .body(),
+            CoreMatchers.equalTo("[]")
+        );
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldRetryConnectionFailure() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient fake = new FakeHttpClient(request -> new FakeResponse("[]"));
+        final HttpClient failing = new HttpClientEnvelope(fake) {
+            @Override
+            public <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+                if (counter.getAndIncrement() == 0) {
+                    throw new IOException("Connection reset");
+                }
+                return super.send(request, handler);
+            }
+        };
+        MatcherAssert.assertThat(
+            new RetryingHttpClient(failing, this.backoff())
+                .send(this.request("GET"), HttpResponse.BodyHandlers.ofString())
+                .body(),
+            CoreMatchers.equalTo("[]")
+        );
+    }
+
+    @Test
+    public void shouldReturnLastServerErrorIfAttemptsRunOut() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final HttpClient http = new FakeHttpClient(request -> {
+            counter.incrementAndGet();
+            return new FakeResponse(BAD_GATEWAY, Map.of(), "oops");
+        });
+        final HttpResponse<String> response = new RetryingHttpClient(http, this.backoff())
+            .send(this.request("GET"), HttpResponse.BodyHandlers.ofString());
+        MatcherAssert.assertThat(
+            response.body(),
+            CoreMatchers.equalTo("oops")
+        );
+        final int attempts = 3;
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(attempts)
+        );
+    }
+
+    @Test
+    public void shouldNotRetryPost() throws IOException, InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new RetryingHttpClient(this.flaky(counter), this.backoff())
+                .send(this.request("POST"), HttpResponse.BodyHandlers.ofString())
+                .statusCode(),
+            CoreMatchers.equalTo(BAD_GATEWAY)
+        );
+    }
+
+    @Test
+    public void shouldNotRetryAfterCancelledDuringBackoff() throws InterruptedException {
+        final AtomicInteger counter = new AtomicInteger();
+        final List<CompletableFuture<?>> sent = new CopyOnWriteArrayList<>();
+        final HttpClient http = new HttpClientEnvelope(this.flaky(counter)) {
+            @Override
+            public <T> CompletableFuture<HttpResponse<T>> sendAsync(final HttpRequest request, final HttpResponse.BodyHandler<T> handler) {
+                final CompletableFuture<HttpResponse<T>> result = super.sendAsync(request, handler);
+                sent.add(result);
+                return result;
+            }
+        };
+        final Duration delay = Duration.ofMillis(200);
+        final CompletableFuture<HttpResponse<String>> future = new RetryingHttpClient(
+            http,
+            new Backoff(2, delay, delay, () -> 1.0)
+        ).sendAsync(this.request("GET"), HttpResponse.BodyHandlers.ofString());
+        // The first attempt got 502, so it's waiting for the next attempt.
+        sent.get(0).join();
+        future.cancel(true);
+        Thread.sleep(delay.multipliedBy(2).toMillis());
+        MatcherAssert.assertThat(
+            counter.get(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Build a client that fails the first request with 502.
+     * @param counter It counts the requests.
+     * @return Fake client.
+     */
+    private HttpClient flaky(final AtomicInteger counter) {
+        return new FakeHttpClient(request -> {
+            final FakeResponse result;
+            if (counter.getAndIncrement() == 0) {
+                result = new FakeResponse(BAD_GATEWAY, Map.of(), "Bad Gateway");
+            } else {
+                result = new FakeResponse("[]");
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Build a backoff that doesn't wait long.
+     * @return Three attempts with a tiny delay.
+     */
+    private Backoff backoff() {
+        final int attempts = 3;
+        return new Backoff(attempts, Duration.ofMillis(1), Duration.ofMillis(1), () -> 1.0);
+    }
+
+    /**
+     * Build a request.
+     * @param method HTTP method.
+     * @return The request.
+     */
+    private HttpRequest request(final String method) {
+        return HttpRequest.newBuilder(
+            URI.create("https://api.github.com/repos/levelrin/gradle-github-pr-checker/pulls")
+        ).method(method, HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+}
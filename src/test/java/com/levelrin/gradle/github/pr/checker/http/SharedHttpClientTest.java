@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link SharedHttpClient}.
+ */
+final class SharedHttpClientTest {
+
+    @Test
+    public void shouldNotCreateServiceBeforeFirstRequest() {
+        final Project project = ProjectBuilder.builder().build();
+        final AtomicBoolean created = new AtomicBoolean();
+        new SharedHttpClient(
+            project.provider(() -> {
+                created.set(true);
+                return null;
+            })
+        );
+        MatcherAssert.assertThat(
+            created.get(),
+            CoreMatchers.equalTo(false)
+        );
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeHttpClient;
+import com.levelrin.gradle.github.pr.checker.fake.http.FakeResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link ThreadedHttpClient}.
+ */
+final class ThreadedHttpClientTest {
+
+    @Test
+    public void shouldSendRequestOnWorkerThread() throws ExecutionException, InterruptedException {
+        final AtomicReference<String> thread = new AtomicReference<>();
+        final ExecutorService executor = new Workers(1).platform();
+        try {
+            final HttpClient http = new ThreadedHttpClient(
+                new FakeHttpClient(request -> {
+                    thread.set(Thread.currentThread().getName());
+                    return new FakeResponse("[]");
+                }),
+                executor
+            );
+            MatcherAssert.assertThat(
+                http.sendAsync(this.request(), HttpResponse.BodyHandlers.ofString()).get().body(),
+                CoreMatchers.equalTo("[]")
+            );
+            MatcherAssert.assertThat(
+                thread.get(),
+                CoreMatchers.startsWith("github-pr-worker-")
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFailWithCauseOfOrigin() {
+        final ExecutorService executor = new Workers(1).platform();
+        try {
+            final HttpClient http = new ThreadedHttpClient(
+                new FakeHttpClient(request -> {
+                    throw new UncheckedIOException(new IOException("Connection reset"));
+                }),
+                executor
+            );
+            final ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> http.sendAsync(this.request(), HttpResponse.BodyHandlers.ofString()).get()
+            );
+            MatcherAssert.assertThat(
+                exception.getCause(),
+                CoreMatchers.instanceOf(UncheckedIOException.class)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldInterruptWorkerWhenCancelled() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final ExecutorService executor = new Workers(1).platform();
+        try {
+            final HttpClient http = new ThreadedHttpClient(
+                new FakeHttpClient(request -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (final InterruptedException exception) {
+                        interrupted.countDown();
+                    }
+                    return new FakeResponse("[]");
+                }),
+                executor
+            );
+            final CompletableFuture<HttpResponse<String>> future = http.sendAsync(
+                this.request(),
+                HttpResponse.BodyHandlers.ofString()
+            );
+            started.await();
+            future.cancel(true);
+            MatcherAssert.assertThat(
+                interrupted.await(1, TimeUnit.MINUTES),
+                CoreMatchers.equalTo(true)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Create a request for testing.
+     * @return The request.
+     */
+    private HttpRequest request() {
+        return HttpRequest
+            .newBuilder(URI.create("https://api.github.com/repos/levelrin/test/pulls"))
+            .GET()
+            .build();
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.http;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Workers}.
+ */
+final class WorkersTest {
+
+    @Test
+    public void shouldUseVirtualThreadsOnlyIfRuntimeSupportsThem() {
+        final int virtual = 21;
+        MatcherAssert.assertThat(
+            new Workers(2).virtual().isPresent(),
+            CoreMatchers.equalTo(Runtime.version().feature() >= virtual)
+        );
+    }
+
+    @Test
+    public void shouldRunTasksOnDaemonPlatformThreads() throws ExecutionException, InterruptedException {
+        final ExecutorService executor = new Workers(2).platform();
+        try {
+            MatcherAssert.assertThat(
+                executor.submit(() -> Thread.currentThread().isDaemon()).get(),
+                CoreMatchers.equalTo(true)
+            );
+            MatcherAssert.assertThat(
+                executor.submit(() -> Thread.currentThread().getName()).get(),
+                CoreMatchers.startsWith("github-pr-worker-")
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRunTasksOnSuitableExecutor() throws ExecutionException, InterruptedException {
+        final ExecutorService executor = new Workers(1).executor();
+        try {
+            MatcherAssert.assertThat(
+                executor.submit(() -> "done").get(),
+                CoreMatchers.equalTo("done")
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
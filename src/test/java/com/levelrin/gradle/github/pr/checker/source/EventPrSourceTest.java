@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.source;
+
+import com.jayway.jsonpath.JsonPath;
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import com.levelrin.gradle.github.pr.checker.api.json.JsonPull;
+import com.levelrin.gradle.github.pr.checker.fake.FakeGitHubPrExtension;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link EventPrSource}.
+ */
+final class EventPrSourceTest {
+
+    /**
+     * The head SHA of the pull request in the fixture payloads.
+     */
+    private static final String SHA = "a3b1c0e2f4d5c6b7a8e9f0d1c2b3a4e5f6d7c8b9";
+
+    @Test
+    public void shouldReadPullRequestFromEventPayload() throws URISyntaxException {
+        final int number = 7;
+        final Path event = this.fixture("pull_request.json");
+        final JsonPull pull = new EventPrSource(
+            () -> Optional.of(event),
+            new FakeGitHubPrExtension(),
+            sha -> {
+                throw new IllegalStateException("It should not call the API.");
+            }
+        ).find(SHA).orElseThrow();
+        MatcherAssert.assertThat(
+            pull.number(),
+            CoreMatchers.equalTo(number)
+        );
+        MatcherAssert.assertThat(
+            JsonPath.parse(pull.toString()).read("$.title"),
+            CoreMatchers.equalTo("Read the pull request from the event payload")
+        );
+        MatcherAssert.assertThat(
+            JsonPath.parse(pull.toString()).read("$.base.sha"),
+            CoreMatchers.equalTo("7f1e2d3c4b5a69788796a5b4c3d2e1f0a9b8c7d6")
+        );
+    }
+
+    @Test
+    public void shouldUseFallbackIfHeadShaIsDifferent() throws URISyntaxException {
+        final Path event = this.fixture("pull_request.json");
+        MatcherAssert.assertThat(
+            new EventPrSource(
+                () -> Optional.of(event),
+                new FakeGitHubPrExtension(),
+                this::fallback
+            ).find("0f5b3a2c6b0fd1d35e1f6d7b6f4a86f0d6c1e2a3").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldUseFallbackIfPullRequestIsOfOtherRepository() throws URISyntaxException {
+        final Path event = this.fixture("other_repository.json");
+        MatcherAssert.assertThat(
+            new EventPrSource(
+                () -> Optional.of(event),
+                new FakeGitHubPrExtension(),
+                this::fallback
+            ).find(SHA).orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldUseFallbackIfEventIsNotAboutPullRequest() throws URISyntaxException {
+        final Path event = this.fixture("push.json");
+        MatcherAssert.assertThat(
+            new EventPrSource(
+                () -> Optional.of(event),
+                new FakeGitHubPrExtension(),
+                this::fallback
+            ).find(SHA).orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    @Test
+    public void shouldUseFallbackWithoutEventPayload(@TempDir final Path dir) {
+        MatcherAssert.assertThat(
+            new EventPrSource(
+                Optional::empty,
+                new FakeGitHubPrExtension(),
+                this::fallback
+            ).find(SHA).orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            new EventPrSource(
+                () -> Optional.of(dir.resolve("event.json")),
+                new FakeGitHubPrExtension(),
+                this::fallback
+            ).find(SHA).orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+    }
+
+    /**
+     * Locate the fixture payload file.
+     * @param name The file name under 'events'.
+     * @return The path of the file.
+     * @throws URISyntaxException It should not happen.
+     */
+    private Path fixture(final String name) throws URISyntaxException {
+        return Paths.get(
+            EventPrSourceTest.class.getResource(String.format("/events/%s", name)).toURI()
+        );
+    }
+
+    /**
+     * It represents the API, which always finds the pull request #2.
+     * @param sha The head SHA.
+     * @return The pull request #2.
+     */
+    private Optional<JsonPull> fallback(final String sha) {
+        return Optional.of(
+            new BaseJsonPull(
+                String.format("{\"number\": 2, \"head\": {\"sha\": \"%s\"}}", sha)
+            )
+        );
+    }
+
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+/**
+ * Tests.
+ */
+package com.levelrin.gradle.github.pr.checker.source;
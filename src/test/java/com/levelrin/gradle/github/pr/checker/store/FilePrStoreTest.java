@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link FilePrStore}.
+ */
+final class FilePrStoreTest {
+
+    @Test
+    public void shouldBeEmptyWithoutFile(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        MatcherAssert.assertThat(
+            store.find("aaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFindStoredPullRequestAcrossInstances(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("owner/repo");
+        new FilePrStore(path).update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        final PrStore store = new FilePrStore(path);
+        MatcherAssert.assertThat(
+            store.find("aaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.of("2022-01-01T00:00:00Z"))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldReplacePullRequestWithSameNumber(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"bbb\"}, \"base\": {\"sha\": \"ccc\"}}")),
+            "2022-01-02T00:00:00Z"
+        );
+        MatcherAssert.assertThat(
+            store.find("aaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            store.find("bbb").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldRemovePullRequest(@TempDir final Path dir) throws IOException {
+        final PrStore store = new FilePrStore(dir.resolve("repo"));
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        store.remove("aaa");
+        MatcherAssert.assertThat(
+            store.find("aaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.of("2022-01-01T00:00:00Z"))
+        );
+    }
+
+    @Test
+    public void shouldTreatBrokenFileAsEmpty(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        Files.writeString(path, "broken", StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            new FilePrStore(path).watermark(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import com.levelrin.gradle.github.pr.checker.api.json.BaseJsonPull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test of {@link LogPrStore}.
+ */
+final class LogPrStoreTest {
+
+    @Test
+    public void shouldBeEmptyWithoutFiles(@TempDir final Path dir) throws IOException {
+        final PrStore store = new LogPrStore(dir.resolve("repo"));
+        MatcherAssert.assertThat(
+            store.find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldFindStoredPullRequestAcrossInstances(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("owner/repo");
+        new LogPrStore(path).update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        final PrStore store = new LogPrStore(path);
+        MatcherAssert.assertThat(
+            store.find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").orElseThrow().base().sha(),
+            CoreMatchers.equalTo("cccccccccccccccccccccccccccccccccccccccc")
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.of("2022-01-01T00:00:00Z"))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldReplacePullRequestWithSameNumber(@TempDir final Path dir) throws IOException {
+        final PrStore store = new LogPrStore(dir.resolve("repo"));
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-02T00:00:00Z"
+        );
+        MatcherAssert.assertThat(
+            store.find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            store.find("bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            store.watermark(),
+            CoreMatchers.equalTo(Optional.of("2022-01-02T00:00:00Z"))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldRejectHeadThatIsNotShaWithoutWritingIt(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        final PrStore store = new LogPrStore(path);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> store.update(
+                List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaa\"}, \"base\": {\"sha\": \"ccc\"}}")),
+                "2022-01-01T00:00:00Z"
+            )
+        );
+        MatcherAssert.assertThat(
+            new LogPrStore(path).watermark(),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldRemovePullRequest(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        new LogPrStore(path).update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        new LogPrStore(path).remove("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+        MatcherAssert.assertThat(
+            new LogPrStore(path).find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldSeeWhatAnotherInstanceAppended(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        final PrStore first = new LogPrStore(path);
+        final PrStore second = new LogPrStore(path);
+        first.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        second.update(
+            List.of(new BaseJsonPull("{\"number\": 2, \"head\": {\"sha\": \"bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-02T00:00:00Z"
+        );
+        MatcherAssert.assertThat(
+            first.find("bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb").orElseThrow().number(),
+            CoreMatchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            second.find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            first.watermark(),
+            CoreMatchers.equalTo(Optional.of("2022-01-02T00:00:00Z"))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldDiscardIncompleteRecord(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        new LogPrStore(path).update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        final long size = Files.size(path.resolve("pulls.log"));
+        final ByteBuffer torn = new LogRecord(LogRecord.PUT, 2, "bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb", "{\"number\": 2, \"head\": {\"sha\": \"bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\"}}").encoded();
+        torn.limit(torn.limit() - 2);
+        try (FileChannel log = FileChannel.open(path.resolve("pulls.log"), StandardOpenOption.APPEND)) {
+            log.write(torn);
+        }
+        final PrStore store = new LogPrStore(path);
+        MatcherAssert.assertThat(
+            store.find("bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb"),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            store.find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            Files.size(path.resolve("pulls.log")),
+            CoreMatchers.equalTo(size)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldCompactInBackgroundOnceMostRecordsAreSuperseded(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        final List<Runnable> background = new ArrayList<>();
+        final PrStore store = new LogPrStore(path, background::add);
+        final int times = 50;
+        for (int round = 0; round < times; round = round + 1) {
+            final List<BaseJsonPull> pulls = new ArrayList<>();
+            for (int number = 1; number <= times; number = number + 1) {
+                pulls.add(
+                    new BaseJsonPull(
+                        String.format("{\"number\": %d, \"head\": {\"sha\": \"%020x%020x\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}", number, number, round)
+                    )
+                );
+            }
+            store.update(pulls, String.format("round %d", round));
+        }
+        MatcherAssert.assertThat(
+            background.size(),
+            CoreMatchers.equalTo(1)
+        );
+        final long before = Files.size(path.resolve("pulls.log"));
+        background.get(0).run();
+        final PrStore reopened = new LogPrStore(path);
+        final int number = 7;
+        MatcherAssert.assertThat(
+            reopened.find(String.format("%020x%020x", number, times - 1)).orElseThrow().number(),
+            CoreMatchers.equalTo(number)
+        );
+        MatcherAssert.assertThat(
+            reopened.find(String.format("%020x%020x", number, 0)),
+            CoreMatchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            reopened.watermark(),
+            CoreMatchers.equalTo(Optional.of(String.format("round %d", times - 1)))
+        );
+        MatcherAssert.assertThat(
+            Files.size(path.resolve("pulls.log")) < before,
+            CoreMatchers.equalTo(true)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldReadLogWhenIndexIsBroken(@TempDir final Path dir) throws IOException {
+        final Path path = dir.resolve("repo");
+        final LogPrStore store = new LogPrStore(path);
+        store.update(
+            List.of(new BaseJsonPull("{\"number\": 1, \"head\": {\"sha\": \"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"}, \"base\": {\"sha\": \"cccccccccccccccccccccccccccccccccccccccc\"}}")),
+            "2022-01-01T00:00:00Z"
+        );
+        store.compact();
+        Files.writeString(path.resolve("pulls.idx"), "broken");
+        MatcherAssert.assertThat(
+            new LogPrStore(path).find("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa").orElseThrow().number(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link LogRecord}.
+ */
+final class LogRecordTest {
+
+    @Test
+    public void shouldDecodeWhatItEncoded() throws IOException {
+        final ByteBuffer bytes = new LogRecord(LogRecord.PUT, 1, "aaa", "{\"number\": 1}")
+            .encoded();
+        final int length = bytes.getInt();
+        final int checksum = bytes.getInt();
+        final byte[] payload = new byte[length];
+        bytes.get(payload);
+        MatcherAssert.assertThat(
+            LogRecord.checksum(payload),
+            CoreMatchers.equalTo(checksum)
+        );
+        final LogRecord record = LogRecord.decoded(payload);
+        MatcherAssert.assertThat(
+            record.number(),
+            CoreMatchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            record.key(),
+            CoreMatchers.equalTo("aaa")
+        );
+        MatcherAssert.assertThat(
+            record.value(),
+            CoreMatchers.equalTo("{\"number\": 1}")
+        );
+    }
+
+    @Test
+    public void shouldRejectUnknownKind() {
+        Assertions.assertThrows(
+            IOException.class,
+            () -> LogRecord.decoded(new byte[] {0})
+        );
+    }
+
+}
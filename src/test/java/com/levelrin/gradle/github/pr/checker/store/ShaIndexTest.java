@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link ShaIndex}.
+ */
+final class ShaIndexTest {
+
+    @Test
+    public void shouldFindPutNumber() {
+        final int number = 7;
+        final ShaIndex index = new ShaIndex();
+        index.put(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e"), number);
+        MatcherAssert.assertThat(
+            index.get(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e")),
+            CoreMatchers.equalTo(OptionalInt.of(number))
+        );
+        MatcherAssert.assertThat(
+            index.get(new Sha("7f1e2d3c4b5a69788796a5b4c3d2e1f0a9b8c7d6")),
+            CoreMatchers.equalTo(OptionalInt.empty())
+        );
+    }
+
+    @Test
+    public void shouldReplaceNumberOfSameSha() {
+        final ShaIndex index = new ShaIndex();
+        index.put(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e"), 1);
+        index.put(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e"), 2);
+        MatcherAssert.assertThat(
+            index.get(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e")),
+            CoreMatchers.equalTo(OptionalInt.of(2))
+        );
+        MatcherAssert.assertThat(
+            index.size(),
+            CoreMatchers.equalTo(1)
+        );
+    }
+
+    @Test
+    public void shouldRejectNumberThatIsNotPositive() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ShaIndex().put(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e"), 0)
+        );
+    }
+
+    @Test
+    public void shouldKeepFindingEntriesAfterCollidingRemovals() {
+        final int count = 5000;
+        final int removals = 3;
+        final ShaIndex index = new ShaIndex();
+        final Map<Sha, Integer> expected = new HashMap<>();
+        for (int number = 1; number <= count; number = number + 1) {
+            // Their home slots are next to each other, so they form long clusters.
+            final Sha sha = new Sha(number, number, number);
+            index.put(sha, number);
+            expected.put(sha, number);
+        }
+        final Random random = new Random(count);
+        for (int round = 0; round < count / removals; round = round + 1) {
+            final int number = random.nextInt(count) + 1;
+            final Sha sha = new Sha(number, number, number);
+            MatcherAssert.assertThat(
+                index.remove(sha),
+                CoreMatchers.equalTo(expected.remove(sha) != null)
+            );
+        }
+        MatcherAssert.assertThat(
+            index.size(),
+            CoreMatchers.equalTo(expected.size())
+        );
+        for (int number = 1; number <= count; number = number + 1) {
+            final Sha sha = new Sha(number, number, number);
+            final OptionalInt found = index.get(sha);
+            if (expected.containsKey(sha)) {
+                MatcherAssert.assertThat(
+                    found,
+                    CoreMatchers.equalTo(OptionalInt.of(number))
+                );
+            } else {
+                MatcherAssert.assertThat(
+                    found,
+                    CoreMatchers.equalTo(OptionalInt.empty())
+                );
+            }
+        }
+    }
+
+    @Test
+    public void shouldForgetEverythingWhenCleared() {
+        final ShaIndex index = new ShaIndex();
+        index.put(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e"), 1);
+        index.clear();
+        MatcherAssert.assertThat(
+            index.get(new Sha("6dcb09b5b57875f334f61aebed695e2e4193db5e")),
+            CoreMatchers.equalTo(OptionalInt.empty())
+        );
+        MatcherAssert.assertThat(
+            index.size(),
+            CoreMatchers.equalTo(0)
+        );
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022 Rin (https://www.levelrin.com)
+ *
+ * This file has been created under the terms of the MIT License.
+ * See the details at https://github.com/levelrin/gradle-github-pr-checker/blob/main/LICENSE
+ */
+
+package com.levelrin.gradle.github.pr.checker.store;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test of {@link Sha}.
+ */
+final class ShaTest {
+
+    /**
+     * A SHA for testing.
+     */
+    private static final String HEX = "6dcb09b5b57875f334f61aebed695e2e4193db5e";
+
+    @Test
+    public void shouldReturnSameHexDigits() {
+        MatcherAssert.assertThat(
+            new Sha(HEX).toString(),
+            CoreMatchers.equalTo(HEX)
+        );
+        MatcherAssert.assertThat(
+            new Sha(HEX.toUpperCase()).toString(),
+            CoreMatchers.equalTo(HEX)
+        );
+    }
+
+    @Test
+    public void shouldConvertFromAndToObjectId() {
+        MatcherAssert.assertThat(
+            new Sha(HEX).objectId(),
+            CoreMatchers.equalTo(ObjectId.fromString(HEX))
+        );
+        MatcherAssert.assertThat(
+            new Sha(ObjectId.fromString(HEX)),
+            CoreMatchers.equalTo(new Sha(HEX))
+        );
+    }
+
+    @Test
+    @SuppressWarnings("LineLength")
+    public void shouldBeEqualToSameSha() {
+        MatcherAssert.assertThat(
+            new Sha(HEX),
+            CoreMatchers.equalTo(new Sha(HEX))
+        );
+        MatcherAssert.assertThat(
+            new Sha(HEX).hashCode(),
+            CoreMatchers.equalTo(new Sha(HEX).hashCode())
+        );
+        MatcherAssert.assertThat(
+            new Sha(HEX),
+            CoreMatchers.not(CoreMatchers.equalTo(new Sha("7f1e2d3c4b5a69788796a5b4c3d2e1f0a9b8c7d6")))
+        );
+    }
+
+    @Test
+    public void shouldRejectWhatIsNotSha() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Sha("6dcb09b")
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Sha("6dcb09b5b57875f334f61aebed695e2e4193dbzz")
+        );
+    }
+
+}